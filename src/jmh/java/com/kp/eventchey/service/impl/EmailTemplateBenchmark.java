@@ -0,0 +1,154 @@
+package com.kp.eventchey.service.impl;
+
+import com.kp.eventchey.domain.Attendee;
+import com.kp.eventchey.domain.Event;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Invitation bodies for one send, built per recipient with {@code String.format} as before
+ * {@link EmailTemplate}, against binding {@link EmailServiceImpl#INVITATION_TEMPLATE} once and
+ * rendering it per recipient. Run with {@code mvn -Pjmh -DskipTests test}; add {@code -prof gc}
+ * to {@code jmh.args} to compare allocation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class EmailTemplateBenchmark {
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("MMMM dd, yyyy 'at' hh:mm a");
+
+    @Param({"1", "100"})
+    private int recipients;
+
+    private Event event;
+    private List<Attendee> attendees;
+
+    @Setup
+    public void setUp() {
+        event = new Event();
+        event.setId("event-1");
+        event.setName("Spring Developer Summit");
+        event.setDescription("Two days of talks and workshops on the Spring ecosystem");
+        event.setStartDate(LocalDateTime.of(2025, 9, 18, 9, 0));
+        event.setEndDate(LocalDateTime.of(2025, 9, 19, 17, 30));
+        event.setCreatedBy("organizer@example.com");
+
+        attendees = new ArrayList<>();
+        for (int i = 0; i < recipients; i++) {
+            Attendee attendee = new Attendee();
+            attendee.setName("Attendee " + i);
+            attendees.add(attendee);
+        }
+
+        // Both sides have to produce the same email for the comparison to mean anything
+        Attendee first = attendees.getFirst();
+        if (!formatInvitationBody(event, first).equals(renderInvitationBody(bindInvitation(event), first))) {
+            throw new IllegalStateException("Template output differs from the String.format body");
+        }
+    }
+
+    @Benchmark
+    public void stringFormat(Blackhole blackhole) {
+        for (Attendee attendee : attendees) {
+            blackhole.consume(formatInvitationBody(event, attendee));
+        }
+    }
+
+    @Benchmark
+    public void compiledTemplate(Blackhole blackhole) {
+        EmailTemplate body = bindInvitation(event);
+        for (Attendee attendee : attendees) {
+            blackhole.consume(renderInvitationBody(body, attendee));
+        }
+    }
+
+    private static EmailTemplate bindInvitation(Event event) {
+        return EmailServiceImpl.INVITATION_TEMPLATE.bind(EmailServiceImpl.eventSlots(event));
+    }
+
+    private static String renderInvitationBody(EmailTemplate body, Attendee attendee) {
+        return body.render(Map.of("attendeeName", String.valueOf(attendee.getName())));
+    }
+
+    /**
+     * The invitation body as EmailServiceImpl built it before it used templates.
+     */
+    private static String formatInvitationBody(Event event, Attendee attendee) {
+        return String.format("""
+                <!DOCTYPE html>
+                <html>
+                <head>
+                    <style>
+                        body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }
+                        .container { max-width: 600px; margin: 0 auto; padding: 20px; }
+                        .header { background-color: #4CAF50; color: white; padding: 20px; text-align: center; border-radius: 5px 5px 0 0; }
+                        .content { background-color: #f9f9f9; padding: 30px; border-radius: 0 0 5px 5px; }
+                        .event-details { background-color: white; padding: 20px; margin: 20px 0; border-left: 4px solid #4CAF50; }
+                        .detail-row { margin: 10px 0; }
+                        .label { font-weight: bold; color: #555; }
+                        .footer { text-align: center; margin-top: 30px; color: #777; font-size: 12px; }
+                    </style>
+                </head>
+                <body>
+                    <div class="container">
+                        <div class="header">
+                            <h1>You're Invited! 🎉</h1>
+                        </div>
+                        <div class="content">
+                            <p>Hi %s,</p>
+                            <p>You've been invited to attend the following event:</p>
+                            
+                            <div class="event-details">
+                                <h2 style="margin-top: 0; color: #4CAF50;">%s</h2>
+                                <div class="detail-row">
+                                    <span class="label">📅 Starts:</span> %s
+                                </div>
+                                <div class="detail-row">
+                                    <span class="label">🏁 Ends:</span> %s
+                                </div>
+                                %s
+                                <div class="detail-row">
+                                    <span class="label">👤 Organized by:</span> %s
+                                </div>
+                            </div>
+                            
+                            <p>We look forward to seeing you there!</p>
+                            <p>Best regards,<br>Event Chey Team</p>
+                        </div>
+                        <div class="footer">
+                            <p>This is an automated message from Event Chey. Please do not reply to this email.</p>
+                        </div>
+                    </div>
+                </body>
+                </html>
+                """,
+                attendee.getName(),
+                event.getName(),
+                event.getStartDate().format(DATE_FORMATTER),
+                event.getEndDate().format(DATE_FORMATTER),
+                event.getDescription() != null ? String.format("<div class=\"detail-row\"><span class=\"label\">📝 Description:</span> %s</div>", event.getDescription()) : "",
+                event.getCreatedBy()
+        );
+    }
+}
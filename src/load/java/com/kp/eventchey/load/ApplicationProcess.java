@@ -0,0 +1,134 @@
+package com.kp.eventchey.load;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The application started in its own JVM with a fixed CPU budget, so the load driver does not
+ * compete with it for cores and runs of different stacks get the same resources. The JVM sees
+ * {@code cpus} processors, and on Linux the process is also pinned to that many cores with
+ * taskset.
+ */
+final class ApplicationProcess implements AutoCloseable {
+
+	private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+	private static final ObjectMapper mapper = new ObjectMapper();
+	private static final HttpClient http = HttpClient.newHttpClient();
+
+	private final Process process;
+	private final String baseUrl;
+	private final Path log;
+
+	private ApplicationProcess(Process process, String baseUrl, Path log) {
+		this.process = process;
+		this.baseUrl = baseUrl;
+		this.log = log;
+	}
+
+	static ApplicationProcess start(String name, int cpus, Map<String, String> properties) throws Exception {
+		int port = freePort();
+		List<String> command = new ArrayList<>();
+		if (new File("/usr/bin/taskset").canExecute() && cpus <= Runtime.getRuntime().availableProcessors()) {
+			command.addAll(List.of("/usr/bin/taskset", "-c", "0-" + (cpus - 1)));
+		}
+		command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+		command.add("-XX:ActiveProcessorCount=" + cpus);
+		command.add("-Xmx" + System.getProperty("load.app.heap", "1g"));
+		command.addAll(List.of("-cp", System.getProperty("java.class.path"), "com.kp.eventchey.EventCheyApiApplication"));
+		command.add("--server.port=" + port);
+		command.add("--logging.level.com.kp.eventchey=WARN");
+		command.add("--logging.level.org.springframework.data.mongodb=WARN");
+		properties.forEach((key, value) -> command.add("--" + key + "=" + value));
+
+		Path log = Files.createTempFile("load-" + name + "-", ".log");
+		Process process = new ProcessBuilder(command)
+				.redirectErrorStream(true)
+				.redirectOutput(log.toFile())
+				.start();
+		ApplicationProcess application = new ApplicationProcess(process, "http://localhost:" + port, log);
+		application.awaitHealthy();
+		return application;
+	}
+
+	String baseUrl() {
+		return baseUrl;
+	}
+
+	HttpRequest get(String path) {
+		return HttpRequest.newBuilder(URI.create(baseUrl + path)).build();
+	}
+
+	HttpRequest postRequest(String path, Object body) {
+		try {
+			return HttpRequest.newBuilder(URI.create(baseUrl + path))
+					.header("Content-Type", "application/json")
+					.POST(HttpRequest.BodyPublishers.ofString(mapper.writeValueAsString(body)))
+					.build();
+		} catch (JsonProcessingException e) {
+			throw new IllegalArgumentException(e);
+		}
+	}
+
+	/**
+	 * Sends a JSON body, for seeding data before the load starts.
+	 */
+	JsonNode post(String path, Object body) throws Exception {
+		HttpRequest request = postRequest(path, body);
+		HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+		if (response.statusCode() / 100 != 2) {
+			throw new IllegalStateException("POST " + path + " returned " + response.statusCode() + ": " + response.body());
+		}
+		return mapper.readTree(response.body());
+	}
+
+	private void awaitHealthy() throws Exception {
+		HttpRequest health = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health")).build();
+		long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+		while (System.nanoTime() < deadline) {
+			if (!process.isAlive()) {
+				throw new IllegalStateException("Application exited during startup, see " + log);
+			}
+			try {
+				if (http.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+					return;
+				}
+			} catch (IOException e) {
+				// Not listening yet
+			}
+			Thread.sleep(250);
+		}
+		close();
+		throw new IllegalStateException("Application did not become healthy, see " + log);
+	}
+
+	private static int freePort() throws IOException {
+		try (ServerSocket socket = new ServerSocket(0)) {
+			return socket.getLocalPort();
+		}
+	}
+
+	@Override
+	public void close() throws InterruptedException {
+		process.destroy();
+		if (!process.waitFor(30, TimeUnit.SECONDS)) {
+			process.destroyForcibly();
+		}
+	}
+
+}
@@ -0,0 +1,174 @@
+package com.kp.eventchey.load;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Closed-loop HTTP load: every client of a workload sends its next request as soon as the last
+ * one completed, each on its own virtual thread. Requests completed during warmup are not
+ * counted; afterwards every response is timed and counted by status.
+ */
+final class LoadDriver {
+
+	/**
+	 * Builds the request a client sends next.
+	 */
+	@FunctionalInterface
+	interface RequestFactory {
+		HttpRequest next(int client, long sequence);
+	}
+
+	/**
+	 * @param prepare request sent before each measured one and left out of the results, or null
+	 */
+	record Workload(String name, int clients, RequestFactory requests, RequestFactory prepare) {
+
+		Workload(String name, int clients, RequestFactory requests) {
+			this(name, clients, requests, null);
+		}
+	}
+
+	record WorkloadResult(String name, int clients, long requests, double throughput, double p50Ms,
+						  double p99Ms, double maxMs, Map<Integer, Long> statuses, long errors) {
+	}
+
+	private final HttpClient client = HttpClient.newBuilder()
+			.version(HttpClient.Version.HTTP_1_1)
+			.connectTimeout(Duration.ofSeconds(5))
+			.build();
+
+	List<WorkloadResult> run(Duration warmup, Duration measurement, List<Workload> workloads) throws Exception {
+		long start = System.nanoTime();
+		long measureFrom = start + warmup.toNanos();
+		long stopAt = measureFrom + measurement.toNanos();
+
+		List<List<Future<Recorder>>> running = new ArrayList<>();
+		try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (Workload workload : workloads) {
+				List<Future<Recorder>> futures = new ArrayList<>();
+				for (int i = 0; i < workload.clients(); i++) {
+					int clientIndex = i;
+					futures.add(clients.submit(() -> drive(workload, clientIndex, measureFrom, stopAt)));
+				}
+				running.add(futures);
+			}
+
+			List<WorkloadResult> results = new ArrayList<>();
+			double seconds = measurement.toNanos() / 1e9;
+			for (int w = 0; w < workloads.size(); w++) {
+				Recorder merged = new Recorder();
+				for (Future<Recorder> future : running.get(w)) {
+					merged.merge(future.get());
+				}
+				results.add(merged.result(workloads.get(w), seconds));
+			}
+			return results;
+		}
+	}
+
+	private Recorder drive(Workload workload, int clientIndex, long measureFrom, long stopAt) {
+		Recorder recorder = new Recorder();
+		long sequence = 0;
+		long now;
+		while ((now = System.nanoTime()) < stopAt) {
+			int status;
+			try {
+				if (workload.prepare() != null) {
+					client.send(workload.prepare().next(clientIndex, sequence), HttpResponse.BodyHandlers.discarding());
+					now = System.nanoTime();
+				}
+				HttpRequest request = workload.requests().next(clientIndex, sequence++);
+				status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+			} catch (IOException e) {
+				status = -1;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break;
+			}
+			long end = System.nanoTime();
+			// Only requests that started and finished inside the measurement window count
+			if (now >= measureFrom && end <= stopAt) {
+				recorder.record(status, end - now);
+			}
+		}
+		return recorder;
+	}
+
+	static String format(String title, List<WorkloadResult> results) {
+		StringBuilder table = new StringBuilder("\n=== ").append(title).append(" ===\n");
+		table.append(String.format("%-28s %7s %9s %9s %9s %9s %9s  %s%n",
+				"workload", "clients", "requests", "req/s", "p50 ms", "p99 ms", "max ms", "statuses"));
+		for (WorkloadResult result : results) {
+			StringBuilder statuses = new StringBuilder();
+			result.statuses().forEach((status, count) -> statuses.append(status).append('=').append(count).append(' '));
+			if (result.errors() > 0) {
+				statuses.append("io-errors=").append(result.errors());
+			}
+			table.append(String.format("%-28s %7d %9d %9.1f %9.1f %9.1f %9.1f  %s%n",
+					result.name(), result.clients(), result.requests(), result.throughput(),
+					result.p50Ms(), result.p99Ms(), result.maxMs(), statuses.toString().trim()));
+		}
+		return table.toString();
+	}
+
+	/**
+	 * Latencies and statuses of one client, merged per workload at the end.
+	 */
+	private static final class Recorder {
+		private long[] latencies = new long[1024];
+		private int count;
+		private final Map<Integer, Long> statuses = new TreeMap<>();
+		private long errors;
+
+		private void record(int status, long latencyNanos) {
+			if (status < 0) {
+				errors++;
+				return;
+			}
+			statuses.merge(status, 1L, Long::sum);
+			if (count == latencies.length) {
+				latencies = Arrays.copyOf(latencies, count * 2);
+			}
+			latencies[count++] = latencyNanos;
+		}
+
+		private void merge(Recorder other) {
+			for (int i = 0; i < other.count; i++) {
+				if (count == latencies.length) {
+					latencies = Arrays.copyOf(latencies, Math.max(count * 2, count + other.count));
+				}
+				latencies[count++] = other.latencies[i];
+			}
+			other.statuses.forEach((status, n) -> statuses.merge(status, n, Long::sum));
+			errors += other.errors;
+		}
+
+		private WorkloadResult result(Workload workload, double seconds) {
+			long[] sorted = Arrays.copyOf(latencies, count);
+			Arrays.sort(sorted);
+			return new WorkloadResult(workload.name(), workload.clients(), count, count / seconds,
+					percentileMs(sorted, 0.50), percentileMs(sorted, 0.99),
+					count > 0 ? sorted[count - 1] / 1e6 : 0, statuses, errors);
+		}
+
+		private static double percentileMs(long[] sorted, double percentile) {
+			if (sorted.length == 0) {
+				return 0;
+			}
+			int index = (int) Math.ceil(percentile * sorted.length) - 1;
+			return sorted[Math.max(0, index)] / 1e6;
+		}
+	}
+
+}
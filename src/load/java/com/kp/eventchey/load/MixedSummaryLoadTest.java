@@ -0,0 +1,120 @@
+package com.kp.eventchey.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Throughput of cheap event reads while a growing number of clients wait for event summaries with
+ * {@code GET /api/events/{id}/summary?wait=true}, which holds its request thread for the whole
+ * LLM call. Each summarizing client first asks a question on its own event, untimed, so that
+ * every summary is stale and reaches the LLM. Runs once on platform threads and once with the
+ * virtual-threads profile, against MongoDB in a container and a stand-in LLM that answers after
+ * {@code load.llm-delay-ms}.
+ * <p>
+ * Run with {@code mvn -Pload-test test}; {@code load.cpus}, {@code load.duration-s},
+ * {@code load.get-clients} and {@code load.summary-clients} change the CPU budget of the
+ * application and the shape of the load. The report tables are printed to the test output.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class MixedSummaryLoadTest {
+
+	@Container
+	private static final MongoDBContainer mongo = new MongoDBContainer("mongo:7.0");
+
+	private final int cpus = Integer.getInteger("load.cpus", 2);
+	private final Duration warmup = Duration.ofSeconds(Integer.getInteger("load.warmup-s", 5));
+	private final Duration duration = Duration.ofSeconds(Integer.getInteger("load.duration-s", 20));
+	private final int getClients = Integer.getInteger("load.get-clients", 32);
+	private final int[] summaryClients = Arrays.stream(System.getProperty("load.summary-clients", "0,16,64,256").split(","))
+			.mapToInt(value -> Integer.parseInt(value.trim()))
+			.toArray();
+	private final Duration llmDelay = Duration.ofMillis(Integer.getInteger("load.llm-delay-ms", 1000));
+
+	@ParameterizedTest(name = "{0}")
+	@ValueSource(strings = {"default", "virtual-threads"})
+	void readsUnderConcurrentSummaries(String profile) throws Exception {
+		try (StubOpenAi llm = new StubOpenAi(llmDelay);
+			 ApplicationProcess application = ApplicationProcess.start(profile, cpus, Map.of(
+					 "spring.profiles.active", profile,
+					 "spring.data.mongodb.uri", mongo.getReplicaSetUrl("load-" + profile.replace('-', '_')),
+					 "openai.api.key", "load-test",
+					 "openai.base-url", llm.baseUrl(),
+					 // Every summary reaches the LLM and none is turned away, so request threads are what runs out
+					 "app.llm.cache.enabled", "false",
+					 "app.llm.bulkhead.max-concurrent", "1024",
+					 "app.llm.bulkhead.max-queued", "1024",
+					 "app.email.enabled", "false",
+					 "management.health.mail.enabled", "false"))) {
+			int eventCount = Math.max(Arrays.stream(summaryClients).max().orElse(0), getClients);
+			List<String[]> events = seed(application, eventCount);
+
+			LoadDriver driver = new LoadDriver();
+			List<LoadDriver.WorkloadResult> reads = new ArrayList<>();
+			for (int clients : summaryClients) {
+				List<LoadDriver.Workload> workloads = new ArrayList<>();
+				workloads.add(new LoadDriver.Workload("GET event, " + clients + " summarizing", getClients,
+						(client, sequence) -> application.get("/api/events/"
+								+ events.get(ThreadLocalRandom.current().nextInt(events.size()))[0])));
+				if (clients > 0) {
+					// Each client summarizes its own event so that no calls are collapsed
+					workloads.add(new LoadDriver.Workload("GET summary?wait=true", clients,
+							(client, sequence) -> application.get("/api/events/" + events.get(client)[0]
+									+ "/summary?wait=true"),
+							(client, sequence) -> application.postRequest("/api/events/" + events.get(client)[0]
+									+ "/agenda/" + events.get(client)[1] + "/questions",
+									Map.of("askedBy", "client-" + client, "question", "Question " + sequence + "?"))));
+				}
+				List<LoadDriver.WorkloadResult> results = driver.run(warmup, duration, workloads);
+				System.out.println(LoadDriver.format(profile + ", " + cpus + " CPUs, " + clients
+						+ " summary clients, LLM delay " + llmDelay.toMillis() + " ms", results));
+				reads.add(results.get(0));
+			}
+			System.out.println(LoadDriver.format(profile + ": reads by summary concurrency", reads));
+
+			assertThat(reads).allSatisfy(result -> {
+				assertThat(result.requests()).isPositive();
+				assertThat(result.statuses().keySet()).allMatch(status -> status < 500);
+			});
+		}
+	}
+
+	/**
+	 * Creates events with one agenda item each and returns their event and agenda item ids.
+	 */
+	private static List<String[]> seed(ApplicationProcess application, int count) throws Exception {
+		LocalDateTime start = LocalDateTime.now().plusDays(30).withNano(0);
+		List<String[]> events = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			JsonNode event = application.post("/api/events", Map.of(
+					"name", "Load event " + i,
+					"description", "Event created by the load test",
+					"startDate", start.toString(),
+					"endDate", start.plusHours(8).toString(),
+					"createdBy", "load-test"));
+			String eventId = event.get("id").asText();
+			JsonNode agendaItem = application.post("/api/events/" + eventId + "/agenda", Map.of(
+					"title", "Session " + i,
+					"startTime", start.plusHours(1).toString(),
+					"endTime", start.plusHours(2).toString(),
+					"description", "A talk about throughput",
+					"speaker", "Speaker " + i));
+			events.add(new String[]{eventId, agendaItem.get("id").asText()});
+		}
+		return events;
+	}
+
+}
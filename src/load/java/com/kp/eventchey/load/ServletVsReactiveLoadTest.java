@@ -0,0 +1,144 @@
+package com.kp.eventchey.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Live-session traffic against the servlet stack and the reactive profile with the same CPU
+ * budget: poll votes, question posts and poll result reads spread over a number of sessions,
+ * at growing client counts. Both stacks use the same MongoDB container, each in its own database.
+ * <p>
+ * Run with {@code mvn -Pload-test test -Dtest=ServletVsReactiveLoadTest}; {@code load.cpus},
+ * {@code load.duration-s}, {@code load.clients} and {@code load.sessions} change the CPU budget
+ * and the shape of the load, and {@code load.buffered-voting} turns on buffered voting for both.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ServletVsReactiveLoadTest {
+
+	private static final List<String> OPTIONS = List.of("A", "B", "C", "D");
+
+	@Container
+	private static final MongoDBContainer mongo = new MongoDBContainer("mongo:7.0");
+
+	private final int cpus = Integer.getInteger("load.cpus", 2);
+	private final Duration warmup = Duration.ofSeconds(Integer.getInteger("load.warmup-s", 10));
+	private final Duration duration = Duration.ofSeconds(Integer.getInteger("load.duration-s", 20));
+	private final int sessions = Integer.getInteger("load.sessions", 20);
+	private final int[] clients = Arrays.stream(System.getProperty("load.clients", "16,64,256").split(","))
+			.mapToInt(value -> Integer.parseInt(value.trim()))
+			.toArray();
+
+	@ParameterizedTest(name = "{0}")
+	@ValueSource(strings = {"default", "reactive"})
+	void liveSessionTraffic(String profile) throws Exception {
+		try (StubOpenAi llm = new StubOpenAi(Duration.ofMillis(50));
+			 ApplicationProcess application = ApplicationProcess.start(profile, cpus, Map.of(
+					 "spring.profiles.active", profile,
+					 "spring.data.mongodb.uri", mongo.getReplicaSetUrl("load-" + profile),
+					 "openai.api.key", "load-test",
+					 "openai.base-url", llm.baseUrl(),
+					 "app.polls.buffered-voting.enabled", System.getProperty("load.buffered-voting", "false"),
+					 "app.email.enabled", "false",
+					 "management.health.mail.enabled", "false"))) {
+			List<Session> seeded = seed(application, sessions);
+
+			LoadDriver driver = new LoadDriver();
+			List<LoadDriver.WorkloadResult> totals = new ArrayList<>();
+			for (int total : clients) {
+				// Three votes for every question posted and every results read
+				int voters = Math.max(1, total * 3 / 5);
+				int askers = Math.max(1, total / 5);
+				int readers = Math.max(1, total - voters - askers);
+				List<LoadDriver.WorkloadResult> results = driver.run(warmup, duration, List.of(
+						new LoadDriver.Workload("POST vote", voters, (client, sequence) -> {
+							Session session = pick(seeded);
+							return post(application, session.path() + "/polls/" + session.pollId() + "/vote",
+									"{\"optionId\":\"" + OPTIONS.get((int) (sequence % OPTIONS.size())) + "\"}");
+						}),
+						new LoadDriver.Workload("POST question", askers, (client, sequence) ->
+								post(application, pick(seeded).path() + "/questions",
+										"{\"askedBy\":\"client-" + client + "\",\"question\":\"Question " + sequence + "?\"}")),
+						new LoadDriver.Workload("GET results", readers, (client, sequence) ->
+								application.get(pick(seeded).path() + "/results"))));
+				System.out.println(LoadDriver.format(profile + ", " + cpus + " CPUs, " + total + " clients", results));
+
+				assertThat(results).allSatisfy(result -> {
+					assertThat(result.requests()).isPositive();
+					assertThat(result.statuses().keySet()).allMatch(status -> status < 500);
+				});
+				totals.add(total(profile + ", " + total + " clients", results));
+			}
+			System.out.println(LoadDriver.format(profile + ": all requests by client count", totals));
+		}
+	}
+
+	private record Session(String path, String pollId) {
+	}
+
+	/**
+	 * Creates events with one agenda item and one poll each.
+	 */
+	private static List<Session> seed(ApplicationProcess application, int count) throws Exception {
+		LocalDateTime start = LocalDateTime.now().plusDays(30).withNano(0);
+		List<Session> seeded = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			JsonNode event = application.post("/api/events", Map.of(
+					"name", "Live session " + i,
+					"description", "Event created by the load test",
+					"startDate", start.toString(),
+					"endDate", start.plusHours(8).toString(),
+					"createdBy", "load-test"));
+			String eventPath = "/api/events/" + event.get("id").asText();
+			JsonNode agendaItem = application.post(eventPath + "/agenda", Map.of(
+					"title", "Session " + i,
+					"startTime", start.plusHours(1).toString(),
+					"endTime", start.plusHours(2).toString()));
+			String path = eventPath + "/agenda/" + agendaItem.get("id").asText();
+			JsonNode poll = application.post(path + "/polls", Map.of("question", "Pick one", "options", OPTIONS));
+			seeded.add(new Session(path, poll.get("id").asText()));
+		}
+		return seeded;
+	}
+
+	private static Session pick(List<Session> seeded) {
+		return seeded.get(ThreadLocalRandom.current().nextInt(seeded.size()));
+	}
+
+	private static HttpRequest post(ApplicationProcess application, String path, String json) {
+		return HttpRequest.newBuilder(URI.create(application.baseUrl() + path))
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(json))
+				.build();
+	}
+
+	/**
+	 * All workloads of a stage as one row; the latency columns are those of the slowest workload.
+	 */
+	private static LoadDriver.WorkloadResult total(String name, List<LoadDriver.WorkloadResult> results) {
+		return new LoadDriver.WorkloadResult(name,
+				results.stream().mapToInt(LoadDriver.WorkloadResult::clients).sum(),
+				results.stream().mapToLong(LoadDriver.WorkloadResult::requests).sum(),
+				results.stream().mapToDouble(LoadDriver.WorkloadResult::throughput).sum(),
+				results.stream().mapToDouble(LoadDriver.WorkloadResult::p50Ms).max().orElse(0),
+				results.stream().mapToDouble(LoadDriver.WorkloadResult::p99Ms).max().orElse(0),
+				results.stream().mapToDouble(LoadDriver.WorkloadResult::maxMs).max().orElse(0),
+				Map.of(), results.stream().mapToLong(LoadDriver.WorkloadResult::errors).sum());
+	}
+
+}
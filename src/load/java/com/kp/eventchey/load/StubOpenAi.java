@@ -0,0 +1,67 @@
+package com.kp.eventchey.load;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stand-in for the OpenAI chat completions API that answers every call after a fixed delay, so
+ * load tests see LLM latency without a key or cost.
+ */
+final class StubOpenAi implements AutoCloseable {
+
+	private static final String COMPLETION = """
+			{"id":"chatcmpl-load","object":"chat.completion","created":0,"model":"gpt-4",
+			 "choices":[{"index":0,"message":{"role":"assistant","content":"A summary of the event %d."},
+			 "finish_reason":"stop"}],
+			 "usage":{"prompt_tokens":100,"completion_tokens":20,"total_tokens":120}}
+			""";
+
+	private final HttpServer server;
+	private final Duration delay;
+	private final AtomicLong calls = new AtomicLong();
+
+	StubOpenAi(Duration delay) throws IOException {
+		this.delay = delay;
+		this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+		server.createContext("/v1/chat/completions", this::complete);
+		server.start();
+	}
+
+	String baseUrl() {
+		return "http://localhost:" + server.getAddress().getPort() + "/";
+	}
+
+	long calls() {
+		return calls.get();
+	}
+
+	private void complete(HttpExchange exchange) throws IOException {
+		try (exchange) {
+			exchange.getRequestBody().readAllBytes();
+			Thread.sleep(delay);
+			byte[] body = COMPLETION.formatted(calls.incrementAndGet()).getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().set("Content-Type", "application/json");
+			exchange.sendResponseHeaders(200, body.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	@Override
+	public void close() {
+		server.stop(0);
+	}
+
+}
@@ -0,0 +1,158 @@
+package com.kp.eventchey.service.impl;
+
+import com.kp.eventchey.domain.AgendaItem;
+import com.kp.eventchey.domain.Event;
+import com.kp.eventchey.domain.Poll;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Votes per second on one hot poll with the read-modify-save the service used to vote with and
+ * with the single {@code findAndModify} and {@code $inc} it votes with now, at growing numbers of
+ * concurrent voters. Events are versioned, so the read-modify-save retries when another vote saved
+ * first, as any read-modify-save of an event has to; the retries it needed are reported as well.
+ * Both run against MongoDB in a container, without the HTTP layer.
+ * <p>
+ * Run with {@code mvn -Pload-test test -Dtest=VoteThroughputLoadTest}; {@code load.duration-s}
+ * and {@code load.voters} change the shape of the load.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class VoteThroughputLoadTest {
+
+	private static final List<String> OPTIONS = List.of("A", "B", "C", "D");
+
+	@Container
+	private static final MongoDBContainer mongo = new MongoDBContainer("mongo:7.0");
+
+	private static MongoClient client;
+	private static MongoTemplate mongoTemplate;
+
+	private final Duration duration = Duration.ofSeconds(Integer.getInteger("load.duration-s", 10));
+	private final int[] voters = Arrays.stream(System.getProperty("load.voters", "1,8,32,128").split(","))
+			.mapToInt(value -> Integer.parseInt(value.trim()))
+			.toArray();
+
+	@BeforeAll
+	static void connect() {
+		client = MongoClients.create(mongo.getReplicaSetUrl("votes"));
+		mongoTemplate = new MongoTemplate(client, "votes");
+	}
+
+	@AfterAll
+	static void disconnect() {
+		client.close();
+	}
+
+	@Test
+	void readModifySaveAgainstAtomicIncrement() throws Exception {
+		StringBuilder report = new StringBuilder(String.format("%n%-20s %7s %10s %10s %10s%n",
+				"strategy", "voters", "votes", "votes/s", "retries"));
+		for (int count : voters) {
+			report.append(run("read-modify-save", count, this::readModifySave));
+			report.append(run("findAndModify $inc", count, this::atomicIncrement));
+		}
+		System.out.println(report);
+	}
+
+	private String run(String strategy, int count, Vote vote) throws Exception {
+		Poll poll = new Poll(UUID.randomUUID().toString(), "Pick one", OPTIONS, new HashMap<>());
+		OPTIONS.forEach(option -> poll.getVotes().put(option, 0));
+		AgendaItem agendaItem = new AgendaItem();
+		agendaItem.setId(UUID.randomUUID().toString());
+		agendaItem.setTitle("Session");
+		agendaItem.getPolls().add(poll);
+		Event event = new Event();
+		event.setName("Vote throughput");
+		event.setAgenda(new ArrayList<>(List.of(agendaItem)));
+		event = mongoTemplate.insert(event);
+		Target target = new Target(event.getId(), agendaItem.getId(), poll.getId());
+
+		LongAdder votes = new LongAdder();
+		LongAdder retries = new LongAdder();
+		long stopAt = System.nanoTime() + duration.toNanos();
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			List<Future<?>> running = new ArrayList<>();
+			for (int i = 0; i < count; i++) {
+				running.add(executor.submit(() -> {
+					long sequence = 0;
+					while (System.nanoTime() < stopAt) {
+						vote.cast(target, OPTIONS.get((int) (sequence++ % OPTIONS.size())), retries);
+						votes.increment();
+					}
+					return null;
+				}));
+			}
+			for (Future<?> future : running) {
+				future.get();
+			}
+		}
+
+		// Neither strategy may lose a vote it acknowledged
+		Poll stored = mongoTemplate.findById(target.eventId(), Event.class).getAgenda().get(0).getPolls().get(0);
+		assertThat(stored.getVotes().values().stream().mapToLong(Integer::longValue).sum()).isEqualTo(votes.sum());
+
+		return String.format("%-20s %7d %10d %10.1f %10d%n", strategy, count, votes.sum(),
+				votes.sum() / (duration.toNanos() / 1e9), retries.sum());
+	}
+
+	/**
+	 * The vote as it was applied before the atomic update: the whole event is read, changed and
+	 * saved, and read again when another save changed its version in the meantime.
+	 */
+	private void readModifySave(Target target, String option, LongAdder retries) {
+		while (true) {
+			Event event = mongoTemplate.findById(target.eventId(), Event.class);
+			Poll poll = event.getAgenda().get(0).getPolls().get(0);
+			Map<String, Integer> votes = poll.getVotes();
+			votes.put(option, votes.get(option) + 1);
+			event.setUpdatedAt(LocalDateTime.now());
+			try {
+				mongoTemplate.save(event);
+				return;
+			} catch (OptimisticLockingFailureException e) {
+				retries.increment();
+			}
+		}
+	}
+
+	private void atomicIncrement(Target target, String option, LongAdder retries) {
+		Event updated = mongoTemplate.findAndModify(
+				PollServiceImpl.voteQuery(target.eventId(), target.agendaId(), target.pollId(), option),
+				PollServiceImpl.voteUpdate(target.agendaId(), target.pollId(), option),
+				FindAndModifyOptions.options().returnNew(true), Event.class);
+		assertThat(updated).isNotNull();
+	}
+
+	@FunctionalInterface
+	private interface Vote {
+		void cast(Target target, String option, LongAdder retries);
+	}
+
+	private record Target(String eventId, String agendaId, String pollId) {
+	}
+
+}
@@ -3,6 +3,7 @@ package com.kp.eventchey.ai;
 import com.kp.eventchey.domain.AgendaItem;
 import com.kp.eventchey.domain.Event;
 import com.kp.eventchey.domain.Question;
+import com.kp.eventchey.service.LlmPriority;
 
 import java.util.List;
 
@@ -12,6 +13,6 @@ public interface AiSummaryService {
 
     String summarizeQna(List<Question> questions);
 
-    String summarizeEvent(Event event);
+    String summarizeEvent(Event event, LlmPriority priority);
 }
 
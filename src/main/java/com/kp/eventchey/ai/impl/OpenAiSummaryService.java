@@ -5,9 +5,9 @@ import com.kp.eventchey.domain.AgendaItem;
 import com.kp.eventchey.domain.Event;
 import com.kp.eventchey.domain.Question;
 import com.kp.eventchey.service.LLMService;
+import com.kp.eventchey.service.LlmPriority;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -17,8 +17,11 @@ public class OpenAiSummaryService implements AiSummaryService {
 
     private static final Logger logger = LoggerFactory.getLogger(OpenAiSummaryService.class);
 
-    @Autowired
-    private  LLMService llmService = new LLMService();
+    private final LLMService llmService;
+
+    public OpenAiSummaryService(LLMService llmService) {
+        this.llmService = llmService;
+    }
 
     @Override
     public String summarizeAgenda(AgendaItem agendaItem) {
@@ -55,10 +58,10 @@ public class OpenAiSummaryService implements AiSummaryService {
     }
 
     @Override
-    public String summarizeEvent(Event event) {
+    public String summarizeEvent(Event event, LlmPriority priority) {
         logger.info("Generating AI summary for event: {}", event.getId());
 
-        return llmService.summarizeEvent(event);
+        return llmService.summarizeEvent(event, priority);
         // Stub implementation - no real API calls
 //        return String.format(
 //                "AI Summary not available in development mode. Event: '%s' with %d attendees and %d agenda items. Created by: %s",
@@ -0,0 +1,40 @@
+package com.kp.eventchey.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.theokanning.openai.client.OpenAiApi;
+import com.theokanning.openai.service.OpenAiService;
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import retrofit2.Retrofit;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class OpenAiConfig {
+
+    /**
+     * One client for the whole application, so the HTTP/2 and TLS connections to the API are kept
+     * and reused between calls instead of being set up per request. The base URL can point at a
+     * stand-in API, as the load tests do.
+     */
+    @Bean(destroyMethod = "shutdownExecutor")
+    public OpenAiService openAiService(@Value("${openai.api.key}") String apiKey,
+                                       @Value("${openai.base-url:https://api.openai.com/}") String baseUrl,
+                                       @Value("${openai.timeout-ms:60000}") long timeoutMs,
+                                       @Value("${openai.pool.max-idle-connections:8}") int maxIdleConnections,
+                                       @Value("${openai.pool.keep-alive-ms:300000}") long keepAliveMs) {
+        OkHttpClient client = OpenAiService.defaultClient(apiKey, Duration.ofMillis(timeoutMs))
+                .newBuilder()
+                .connectionPool(new ConnectionPool(maxIdleConnections, keepAliveMs, TimeUnit.MILLISECONDS))
+                .build();
+        ObjectMapper mapper = OpenAiService.defaultObjectMapper();
+        Retrofit retrofit = OpenAiService.defaultRetrofit(client, mapper).newBuilder()
+                .baseUrl(baseUrl)
+                .build();
+        return new OpenAiService(retrofit.create(OpenAiApi.class), client.dispatcher().executorService());
+    }
+}
@@ -1,19 +1,25 @@
 package com.kp.eventchey.controller;
 
 import com.kp.eventchey.dto.request.AddAgendaItemRequest;
+import com.kp.eventchey.dto.request.FieldSelection;
 import com.kp.eventchey.dto.request.UpdateAgendaItemRequest;
 import com.kp.eventchey.dto.response.AgendaItemResponse;
 import com.kp.eventchey.service.AgendaService;
+import com.kp.eventchey.service.EventService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/events")
 @CrossOrigin(origins = {"http://localhost:3000", "http://127.0.0.1:3000", "https://event-chey.netlify.app"},
              allowCredentials = "true",
@@ -23,9 +29,11 @@ import java.util.List;
 public class AgendaController {
 
     private final AgendaService agendaService;
+    private final EventService eventService;
 
-    public AgendaController(AgendaService agendaService) {
+    public AgendaController(AgendaService agendaService, EventService eventService) {
         this.agendaService = agendaService;
+        this.eventService = eventService;
     }
 
     @PostMapping("/{eventId}/agenda")
@@ -38,10 +46,31 @@ public class AgendaController {
     }
 
     @GetMapping("/{eventId}/agenda")
-    @Operation(summary = "Get all agenda items for an event")
-    public ResponseEntity<List<AgendaItemResponse>> getAgendaItems(@PathVariable String eventId) {
-        List<AgendaItemResponse> response = agendaService.getAgendaItems(eventId);
-        return ResponseEntity.ok(response);
+    @Operation(summary = "Get all agenda items for an event",
+            description = "fields limits the returned properties and expand picks the collections to include "
+                    + "(polls, questions). Without questions the agenda is tagged with the event ETag; send it "
+                    + "as If-None-Match to get 304 Not Modified while the event is unchanged")
+    public ResponseEntity<MappingJacksonValue> getAgendaItems(
+            @PathVariable String eventId,
+            @RequestParam(defaultValue = "false") boolean includeQuestions,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String expand,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        FieldSelection selection = FieldSelection.forAgendaItem(fields, expand);
+        if (selection != null && includeQuestions) {
+            selection = selection.withExpansion("questions");
+        }
+        if (selection != null ? selection.expands("questions") : includeQuestions) {
+            // Questions are written without touching the event, so its version does not cover them
+            return ResponseEntity.ok(FieldFilters.agendaItems(agendaItems(eventId, true, selection), selection));
+        }
+
+        String etag = EventETag.of(eventService.getEventVersion(eventId));
+        if (EventETag.matchesIfNoneMatch(ifNoneMatch, etag)) {
+            return EventETag.notModified(etag);
+        }
+        List<AgendaItemResponse> response = agendaItems(eventId, false, selection);
+        return ResponseEntity.ok().eTag(etag).body(FieldFilters.agendaItems(response, selection));
     }
 
     @GetMapping("/{eventId}/agenda/{agendaId}/summary")
@@ -54,13 +83,23 @@ public class AgendaController {
     }
 
     @PutMapping("/{eventId}/agenda/{agendaId}")
-    @Operation(summary = "Update an agenda item")
+    @Operation(summary = "Update an agenda item",
+            description = "Send the ETag of the event as If-Match to reject the update if the event changed since")
     public ResponseEntity<AgendaItemResponse> updateAgendaItem(
             @PathVariable String eventId,
             @PathVariable String agendaId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody UpdateAgendaItemRequest request) {
-        AgendaItemResponse response = agendaService.updateAgendaItem(eventId, agendaId, request);
+        AgendaItemResponse response = agendaService.updateAgendaItem(eventId, agendaId, request,
+                EventETag.parseIfMatch(ifMatch));
         return ResponseEntity.ok(response);
     }
+
+    private List<AgendaItemResponse> agendaItems(String eventId, boolean includeQuestions,
+                                                 FieldSelection selection) {
+        return selection != null
+                ? agendaService.getAgendaItems(eventId, selection)
+                : agendaService.getAgendaItems(eventId, includeQuestions);
+    }
 }
 
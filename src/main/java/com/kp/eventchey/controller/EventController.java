@@ -1,26 +1,50 @@
 package com.kp.eventchey.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.kp.eventchey.ai.AiSummaryService;
 import com.kp.eventchey.dto.request.CreateEventRequest;
+import com.kp.eventchey.dto.request.FieldSelection;
 import com.kp.eventchey.dto.request.InviteAttendeeRequest;
 import com.kp.eventchey.dto.request.InviteAttendeesRequest;
 import com.kp.eventchey.dto.request.UpdateAttendeeStatusRequest;
 import com.kp.eventchey.dto.request.UpdateEventRequest;
+import com.kp.eventchey.dto.response.AttendeeImportResponse;
 import com.kp.eventchey.dto.response.AttendeeResponse;
+import com.kp.eventchey.dto.response.CursorPage;
 import com.kp.eventchey.dto.response.EventResponse;
+import com.kp.eventchey.dto.response.SummaryJobResponse;
+import com.kp.eventchey.exception.BadRequestException;
+import com.kp.eventchey.service.AttendeeImportService;
 import com.kp.eventchey.service.EventService;
+import com.kp.eventchey.service.LlmPriority;
+import com.kp.eventchey.service.SummaryJobService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.context.annotation.Profile;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/events")
 @CrossOrigin(origins = {"http://localhost:3000", "http://127.0.0.1:3000", "https://event-chey.netlify.app"},
              allowCredentials = "true",
@@ -29,12 +53,26 @@ import java.util.List;
 @Tag(name = "Event Management", description = "APIs for managing events")
 public class EventController {
 
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String NDJSON = "application/x-ndjson";
+
     private final EventService eventService;
     private final AiSummaryService aiSummaryService;
+    private final AttendeeImportService attendeeImportService;
+    private final SummaryJobService summaryJobService;
+    private final ObjectWriter ndjsonWriter;
 
-    public EventController(EventService eventService, AiSummaryService aiSummaryService) {
+    public EventController(EventService eventService, AiSummaryService aiSummaryService,
+                           AttendeeImportService attendeeImportService, SummaryJobService summaryJobService,
+                           ObjectMapper objectMapper) {
         this.eventService = eventService;
         this.aiSummaryService = aiSummaryService;
+        this.attendeeImportService = attendeeImportService;
+        this.summaryJobService = summaryJobService;
+        // Let the servlet stream buffer instead of flushing to the client after every event
+        this.ndjsonWriter = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator((String) null);
     }
 
     @PostMapping
@@ -45,19 +83,42 @@ public class EventController {
     }
 
     @GetMapping("/{id}")
-    @Operation(summary = "Get event by ID")
-    public ResponseEntity<EventResponse> getEventById(@PathVariable String id) {
-        EventResponse response = eventService.getEventById(id);
-        return ResponseEntity.ok(response);
+    @Operation(summary = "Get event by ID",
+            description = "fields limits the returned properties and expand picks the collections to include "
+                    + "(attendees, agenda, agenda.polls, agenda.questions); without either the whole event is "
+                    + "returned. Send the ETag of the event as If-None-Match to get 304 Not Modified while it "
+                    + "is unchanged")
+    public ResponseEntity<MappingJacksonValue> getEventById(
+            @PathVariable String id,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String expand,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        FieldSelection selection = FieldSelection.forEvent(fields, expand);
+        if (selection != null && selection.expands("agenda.questions")) {
+            // Questions are written without touching the event, so its version does not cover them
+            return ResponseEntity.ok(FieldFilters.event(eventService.getEventById(id, selection), selection));
+        }
+
+        if (ifNoneMatch != null) {
+            // Compared against a version-only read, so an unchanged event is never loaded or serialized
+            String etag = EventETag.of(eventService.getEventVersion(id));
+            if (EventETag.matchesIfNoneMatch(ifNoneMatch, etag)) {
+                return EventETag.notModified(etag);
+            }
+        }
+        EventResponse response = eventService.getEventById(id, selection);
+        return ResponseEntity.ok().eTag(EventETag.of(response.version())).body(FieldFilters.event(response, selection));
     }
 
     @PutMapping("/{id}")
-    @Operation(summary = "Update an existing event")
+    @Operation(summary = "Update an existing event",
+            description = "Send the ETag of the event as If-Match to reject the update if it changed since")
     public ResponseEntity<EventResponse> updateEvent(
             @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody UpdateEventRequest request) {
-        EventResponse response = eventService.updateEvent(id, request);
-        return ResponseEntity.ok(response);
+        EventResponse response = eventService.updateEvent(id, request, EventETag.parseIfMatch(ifMatch));
+        return ResponseEntity.ok().eTag(EventETag.of(response.version())).body(response);
     }
 
     @DeleteMapping("/{eventId}")
@@ -84,6 +145,36 @@ public class EventController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping(value = "/{eventId}/attendees/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Import attendees from a CSV file",
+            description = "The file needs email and name columns and may have a phone column. Rows are imported "
+                    + "in the background; poll the returned import for progress")
+    public ResponseEntity<AttendeeImportResponse> importAttendees(
+            @PathVariable String eventId,
+            @RequestParam("file") MultipartFile file) throws IOException {
+        if (file.isEmpty()) {
+            throw new BadRequestException("The CSV file is empty");
+        }
+        // The multipart upload is removed when the request ends, so the import reads its own copy
+        Path csv = Files.createTempFile("attendee-import-", ".csv");
+        try {
+            file.transferTo(csv);
+        } catch (IOException e) {
+            Files.deleteIfExists(csv);
+            throw e;
+        }
+        AttendeeImportResponse response = attendeeImportService.startImport(eventId, file.getOriginalFilename(), csv);
+        return ResponseEntity.accepted().body(response);
+    }
+
+    @GetMapping("/{eventId}/attendees/import/{importId}")
+    @Operation(summary = "Get the progress of an attendee import")
+    public ResponseEntity<AttendeeImportResponse> getAttendeeImport(
+            @PathVariable String eventId,
+            @PathVariable String importId) {
+        return ResponseEntity.ok(attendeeImportService.getImport(eventId, importId));
+    }
+
     @DeleteMapping("/{eventId}/attendees/{attendeeId}")
     @Operation(summary = "Remove an attendee from an event")
     public ResponseEntity<EventResponse> removeAttendee(
@@ -98,9 +189,11 @@ public class EventController {
     public ResponseEntity<EventResponse> updateAttendeeStatus(
             @PathVariable String eventId,
             @PathVariable String attendeeId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody UpdateAttendeeStatusRequest request) {
-        EventResponse response = eventService.updateAttendeeStatus(eventId, attendeeId, request.status());
-        return ResponseEntity.ok(response);
+        EventResponse response = eventService.updateAttendeeStatus(eventId, attendeeId, request.status(),
+                EventETag.parseIfMatch(ifMatch));
+        return ResponseEntity.ok().eTag(EventETag.of(response.version())).body(response);
     }
 
     // Legacy endpoint for backward compatibility
@@ -115,20 +208,72 @@ public class EventController {
     }
 
     @GetMapping
-    @Operation(summary = "List events with optional filters")
-    public ResponseEntity<List<EventResponse>> listEvents(
+    @Operation(summary = "List events with optional filters, one page at a time",
+            description = "Returns event summaries unless view=full. Pass the X-Next-Cursor response header "
+                    + "back as cursor to fetch the next page")
+    public ResponseEntity<List<?>> listEvents(
+            @RequestParam(required = false) String createdBy,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(defaultValue = "summary") String view) {
+        CursorPage<?> page = switch (view) {
+            case "summary" -> eventService.listEventSummaries(createdBy, from, to, cursor, limit);
+            case "full" -> eventService.listEvents(createdBy, from, to, cursor, limit);
+            default -> throw new BadRequestException("Unknown view: " + view);
+        };
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.items());
+    }
+
+    @GetMapping(value = "/stream", produces = NDJSON)
+    @Operation(summary = "Export events with optional filters as newline-delimited JSON",
+            description = "Streams every matching event in listing order without paging")
+    public ResponseEntity<StreamingResponseBody> streamEvents(
             @RequestParam(required = false) String createdBy,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
-        List<EventResponse> response = eventService.listEvents(createdBy, from, to);
-        return ResponseEntity.ok(response);
+        StreamingResponseBody body = out -> {
+            // One generator for the whole response; events are written as they come off the cursor
+            try (Stream<EventResponse> events = eventService.streamEvents(createdBy, from, to);
+                 JsonGenerator generator = ndjsonWriter.createGenerator(out)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                Iterator<EventResponse> iterator = events.iterator();
+                while (iterator.hasNext()) {
+                    ndjsonWriter.writeValue(generator, iterator.next());
+                    generator.writeRaw('\n');
+                }
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
     }
 
     @GetMapping("/{id}/summary")
-    @Operation(summary = "Summarize Event with AI")
-    public ResponseEntity<EventResponse> summarizeEvent(
-            @PathVariable String id) {
-        return ResponseEntity.ok(eventService.generateEventSummary(id));
+    @Operation(summary = "Summarize Event with AI",
+            description = "Returns the event when its AI summary is up to date. Otherwise queues the summary "
+                    + "and returns 202 Accepted with the job to poll, or with wait=true generates it before responding")
+    public ResponseEntity<?> summarizeEvent(
+            @PathVariable String id,
+            @RequestParam(defaultValue = "false") boolean wait) {
+        if (wait) {
+            // The caller holds the request open, so its LLM call is served ahead of queued jobs
+            return ResponseEntity.ok(eventService.generateEventSummary(id, LlmPriority.INTERACTIVE));
+        }
+        return eventService.findFreshSummary(id)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.accepted().body(summaryJobService.requestSummary(id)));
+    }
+
+    @GetMapping("/{eventId}/summary/jobs/{jobId}")
+    @Operation(summary = "Get the status of an AI summary job")
+    public ResponseEntity<SummaryJobResponse> getSummaryJob(
+            @PathVariable String eventId,
+            @PathVariable String jobId) {
+        return ResponseEntity.ok(summaryJobService.getJob(eventId, jobId));
     }
 
 }
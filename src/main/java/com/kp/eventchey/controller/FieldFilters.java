@@ -0,0 +1,61 @@
+package com.kp.eventchey.controller;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.kp.eventchey.dto.request.FieldSelection;
+import com.kp.eventchey.dto.response.AgendaItemResponse;
+import com.kp.eventchey.dto.response.EventResponse;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Serialization side of sparse fieldsets: wraps a response so that only the selected properties
+ * and expanded collections are written.
+ */
+final class FieldFilters {
+
+    private FieldFilters() {
+    }
+
+    static MappingJacksonValue event(EventResponse response, FieldSelection selection) {
+        MappingJacksonValue value = new MappingJacksonValue(response);
+        if (selection != null) {
+            Set<String> properties = new HashSet<>(selection.fields());
+            if (selection.expands("attendees")) {
+                properties.add("attendees");
+            }
+            if (selection.expands("agenda")) {
+                properties.add("agenda");
+            }
+            value.setFilters(new SimpleFilterProvider()
+                    .addFilter(EventResponse.FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(properties))
+                    .addFilter(AgendaItemResponse.FILTER, agendaItemFilter(FieldSelection.AGENDA_ITEM_FIELDS,
+                            selection.expands("agenda.polls"), selection.expands("agenda.questions"))));
+        }
+        return value;
+    }
+
+    static MappingJacksonValue agendaItems(List<AgendaItemResponse> response, FieldSelection selection) {
+        MappingJacksonValue value = new MappingJacksonValue(response);
+        if (selection != null) {
+            value.setFilters(new SimpleFilterProvider()
+                    .addFilter(AgendaItemResponse.FILTER, agendaItemFilter(selection.fields(),
+                            selection.expands("polls"), selection.expands("questions"))));
+        }
+        return value;
+    }
+
+    private static SimpleBeanPropertyFilter agendaItemFilter(Set<String> fields, boolean polls, boolean questions) {
+        Set<String> properties = new HashSet<>(fields);
+        if (polls) {
+            properties.add("polls");
+        }
+        if (questions) {
+            properties.add("questions");
+        }
+        return SimpleBeanPropertyFilter.filterOutAllExcept(properties);
+    }
+}
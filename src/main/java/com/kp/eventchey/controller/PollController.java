@@ -4,16 +4,24 @@ import com.kp.eventchey.dto.request.CreatePollRequest;
 import com.kp.eventchey.dto.request.SubmitVoteRequest;
 import com.kp.eventchey.dto.response.PollResponse;
 import com.kp.eventchey.service.PollService;
+import com.kp.eventchey.service.impl.PollResultsBroadcaster;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/events")
 @CrossOrigin(origins = {"http://localhost:3000", "http://127.0.0.1:3000", "https://event-chey.netlify.app"},
              allowCredentials = "true",
@@ -22,10 +30,17 @@ import java.util.List;
 @Tag(name = "Poll Management", description = "APIs for managing live polls and voting")
 public class PollController {
 
+    private static final String RESULTS_EVENT = "poll-results";
+
     private final PollService pollService;
+    private final PollResultsBroadcaster resultsBroadcaster;
+    private final long resultsStreamTimeoutMs;
 
-    public PollController(PollService pollService) {
+    public PollController(PollService pollService, PollResultsBroadcaster resultsBroadcaster,
+                          @Value("${app.polls.results-stream.timeout-ms:1800000}") long resultsStreamTimeoutMs) {
         this.pollService = pollService;
+        this.resultsBroadcaster = resultsBroadcaster;
+        this.resultsStreamTimeoutMs = resultsStreamTimeoutMs;
     }
 
     @PostMapping("/{eventId}/agenda/{agendaId}/polls")
@@ -50,12 +65,47 @@ public class PollController {
     }
 
     @GetMapping("/{eventId}/agenda/{agendaId}/results")
-    @Operation(summary = "List all polls for an agenda item")
+    @Operation(summary = "List all polls for an agenda item",
+            description = "Send the returned ETag as If-None-Match to get 304 Not Modified while no vote was cast")
     public ResponseEntity<List<PollResponse>> listPolls(
             @PathVariable String eventId,
-            @PathVariable String agendaId) {
+            @PathVariable String agendaId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // Read before the polls, so the tag never claims votes the body does not contain
+        String etag = EventETag.of(pollService.getResultsVersion(eventId, agendaId));
+        if (EventETag.matchesIfNoneMatch(ifNoneMatch, etag)) {
+            return EventETag.notModified(etag);
+        }
         List<PollResponse> response = pollService.listPolls(eventId, agendaId);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(etag).body(response);
     }
-}
 
+    @GetMapping(value = "/{eventId}/agenda/{agendaId}/results/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream live poll results for an agenda item",
+            description = "Sends every poll first, then the polls whose tallies changed, at most once per "
+                    + "broadcast window. Clients that fall behind are disconnected")
+    public SseEmitter streamResults(
+            @PathVariable String eventId,
+            @PathVariable String agendaId) {
+        List<PollResponse> snapshot = pollService.listPolls(eventId, agendaId);
+
+        SseEmitter emitter = new SseEmitter(resultsStreamTimeoutMs);
+        Runnable unsubscribe = resultsBroadcaster.subscribe(eventId, agendaId, snapshot,
+                new PollResultsBroadcaster.Subscriber() {
+                    @Override
+                    public void send(String payload) throws IOException {
+                        // The payload is already JSON and is shared by every subscriber
+                        emitter.send(SseEmitter.event().name(RESULTS_EVENT).data(payload));
+                    }
+
+                    @Override
+                    public void close() {
+                        emitter.complete();
+                    }
+                });
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(e -> unsubscribe.run());
+        return emitter;
+    }
+}
@@ -3,10 +3,12 @@ package com.kp.eventchey.controller;
 import com.kp.eventchey.dto.request.AddQuestionRequest;
 import com.kp.eventchey.dto.request.AnswerQuestionRequest;
 import com.kp.eventchey.dto.response.QuestionResponse;
+import com.kp.eventchey.exception.BadRequestException;
 import com.kp.eventchey.service.QuestionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -14,6 +16,7 @@ import org.springframework.web.bind.annotation.*;
 import java.util.List;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/events")
 @CrossOrigin(origins = {"http://localhost:3000", "http://127.0.0.1:3000", "https://event-chey.netlify.app"},
              allowCredentials = "true",
@@ -60,12 +63,30 @@ public class QuestionController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/{eventId}/agenda/{agendaId}/questions/{questionId}/upvote")
+    @Operation(summary = "Upvote a question")
+    public ResponseEntity<QuestionResponse> upvoteQuestion(
+            @PathVariable String eventId,
+            @PathVariable String agendaId,
+            @PathVariable String questionId) {
+        QuestionResponse response = questionService.upvoteQuestion(eventId, agendaId, questionId);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/{eventId}/agenda/{agendaId}/questions")
-    @Operation(summary = "List all questions for an agenda item")
+    @Operation(summary = "List questions for an agenda item",
+            description = "Returns all questions in the order they were asked, or with sort=top the "
+                    + "limit most upvoted ones")
     public ResponseEntity<List<QuestionResponse>> listQuestions(
             @PathVariable String eventId,
-            @PathVariable String agendaId) {
-        List<QuestionResponse> response = questionService.listQuestions(eventId, agendaId);
+            @PathVariable String agendaId,
+            @RequestParam(defaultValue = "asked") String sort,
+            @RequestParam(defaultValue = "20") int limit) {
+        List<QuestionResponse> response = switch (sort) {
+            case "asked" -> questionService.listQuestions(eventId, agendaId);
+            case "top" -> questionService.listTopQuestions(eventId, agendaId, limit);
+            default -> throw new BadRequestException("Unknown sort: " + sort);
+        };
         return ResponseEntity.ok(response);
     }
 }
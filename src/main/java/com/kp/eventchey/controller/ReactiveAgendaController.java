@@ -0,0 +1,115 @@
+package com.kp.eventchey.controller;
+
+import com.kp.eventchey.dto.request.AddAgendaItemRequest;
+import com.kp.eventchey.dto.request.FieldSelection;
+import com.kp.eventchey.dto.request.UpdateAgendaItemRequest;
+import com.kp.eventchey.dto.response.AgendaItemResponse;
+import com.kp.eventchey.service.AgendaService;
+import com.kp.eventchey.service.ReactiveEventService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Agenda endpoints for the reactive profile. Agenda reads fan out to questions and summaries go
+ * through the LLM, so the blocking {@link AgendaService} is called on the bounded elastic pool.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/events")
+@CrossOrigin(origins = {"http://localhost:3000", "http://127.0.0.1:3000", "https://event-chey.netlify.app"},
+             allowCredentials = "true",
+             allowedHeaders = "*",
+             methods = {RequestMethod.GET, RequestMethod.POST, RequestMethod.PUT, RequestMethod.DELETE, RequestMethod.OPTIONS, RequestMethod.PATCH})
+@Tag(name = "Agenda Management", description = "APIs for managing event agenda items")
+public class ReactiveAgendaController {
+
+    private final AgendaService agendaService;
+    private final ReactiveEventService eventService;
+
+    public ReactiveAgendaController(AgendaService agendaService, ReactiveEventService eventService) {
+        this.agendaService = agendaService;
+        this.eventService = eventService;
+    }
+
+    @PostMapping("/{eventId}/agenda")
+    @Operation(summary = "Add agenda item to an event")
+    public Mono<ResponseEntity<AgendaItemResponse>> addAgendaItem(
+            @PathVariable String eventId,
+            @Valid @RequestBody AddAgendaItemRequest request) {
+        return blocking(() -> agendaService.addAgendaItem(eventId, request))
+                .map(response -> new ResponseEntity<>(response, HttpStatus.CREATED));
+    }
+
+    @GetMapping("/{eventId}/agenda")
+    @Operation(summary = "Get all agenda items for an event",
+            description = "fields limits the returned properties and expand picks the collections to include "
+                    + "(polls, questions). Without questions the agenda is tagged with the event ETag; send it "
+                    + "as If-None-Match to get 304 Not Modified while the event is unchanged")
+    public Mono<ResponseEntity<MappingJacksonValue>> getAgendaItems(
+            @PathVariable String eventId,
+            @RequestParam(defaultValue = "false") boolean includeQuestions,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String expand,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        FieldSelection requested = FieldSelection.forAgendaItem(fields, expand);
+        FieldSelection selection = requested != null && includeQuestions
+                ? requested.withExpansion("questions")
+                : requested;
+        if (selection != null ? selection.expands("questions") : includeQuestions) {
+            // Questions are written without touching the event, so its version does not cover them
+            return blocking(() -> agendaItems(eventId, true, selection))
+                    .map(agenda -> ResponseEntity.ok(FieldFilters.agendaItems(agenda, selection)));
+        }
+
+        return eventService.getEventVersion(eventId)
+                .map(EventETag::of)
+                .flatMap(etag -> EventETag.matchesIfNoneMatch(ifNoneMatch, etag)
+                        ? Mono.just(EventETag.<MappingJacksonValue>notModified(etag))
+                        : blocking(() -> agendaItems(eventId, false, selection))
+                                .map(agenda -> ResponseEntity.ok().eTag(etag)
+                                        .body(FieldFilters.agendaItems(agenda, selection))));
+    }
+
+    @GetMapping("/{eventId}/agenda/{agendaId}/summary")
+    @Operation(summary = "Summarize Agenda with AI")
+    public Mono<String> summarizeAgenda(
+            @PathVariable String eventId,
+            @PathVariable String agendaId) {
+        return blocking(() -> agendaService.generateAgendaSummary(eventId, agendaId));
+    }
+
+    @PutMapping("/{eventId}/agenda/{agendaId}")
+    @Operation(summary = "Update an agenda item",
+            description = "Send the ETag of the event as If-Match to reject the update if the event changed since")
+    public Mono<AgendaItemResponse> updateAgendaItem(
+            @PathVariable String eventId,
+            @PathVariable String agendaId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody UpdateAgendaItemRequest request) {
+        Long expectedVersion = EventETag.parseIfMatch(ifMatch);
+        return blocking(() -> agendaService.updateAgendaItem(eventId, agendaId, request, expectedVersion));
+    }
+
+    private List<AgendaItemResponse> agendaItems(String eventId, boolean includeQuestions,
+                                                 FieldSelection selection) {
+        return selection != null
+                ? agendaService.getAgendaItems(eventId, selection)
+                : agendaService.getAgendaItems(eventId, includeQuestions);
+    }
+
+    private static <T> Mono<T> blocking(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(Schedulers.boundedElastic());
+    }
+}
@@ -0,0 +1,242 @@
+package com.kp.eventchey.controller;
+
+import com.kp.eventchey.dto.request.CreateEventRequest;
+import com.kp.eventchey.dto.request.FieldSelection;
+import com.kp.eventchey.dto.request.InviteAttendeeRequest;
+import com.kp.eventchey.dto.request.InviteAttendeesRequest;
+import com.kp.eventchey.dto.request.UpdateAttendeeStatusRequest;
+import com.kp.eventchey.dto.request.UpdateEventRequest;
+import com.kp.eventchey.dto.response.AttendeeImportResponse;
+import com.kp.eventchey.dto.response.AttendeeResponse;
+import com.kp.eventchey.dto.response.CursorPage;
+import com.kp.eventchey.dto.response.EventResponse;
+import com.kp.eventchey.dto.response.SummaryJobResponse;
+import com.kp.eventchey.exception.BadRequestException;
+import com.kp.eventchey.service.ReactiveEventService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.multipart.FilePart;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/events")
+@CrossOrigin(origins = {"http://localhost:3000", "http://127.0.0.1:3000", "https://event-chey.netlify.app"},
+             allowCredentials = "true",
+             allowedHeaders = "*",
+             methods = {RequestMethod.GET, RequestMethod.POST, RequestMethod.PUT, RequestMethod.DELETE, RequestMethod.OPTIONS, RequestMethod.PATCH})
+@Tag(name = "Event Management", description = "APIs for managing events")
+public class ReactiveEventController {
+
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private final ReactiveEventService eventService;
+
+    public ReactiveEventController(ReactiveEventService eventService) {
+        this.eventService = eventService;
+    }
+
+    @PostMapping
+    @Operation(summary = "Create a new event")
+    public Mono<ResponseEntity<EventResponse>> createEvent(@Valid @RequestBody CreateEventRequest request) {
+        return eventService.createEvent(request)
+                .map(response -> new ResponseEntity<>(response, HttpStatus.CREATED));
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get event by ID",
+            description = "fields limits the returned properties and expand picks the collections to include "
+                    + "(attendees, agenda, agenda.polls, agenda.questions); without either the whole event is "
+                    + "returned. Send the ETag of the event as If-None-Match to get 304 Not Modified while it "
+                    + "is unchanged")
+    public Mono<ResponseEntity<MappingJacksonValue>> getEventById(
+            @PathVariable String id,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String expand,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        FieldSelection selection = FieldSelection.forEvent(fields, expand);
+        if (selection != null && selection.expands("agenda.questions")) {
+            // Questions are written without touching the event, so its version does not cover them
+            return eventService.getEventById(id, selection)
+                    .map(response -> ResponseEntity.ok(FieldFilters.event(response, selection)));
+        }
+
+        Mono<ResponseEntity<MappingJacksonValue>> read = eventService.getEventById(id, selection)
+                .map(response -> ResponseEntity.ok().eTag(EventETag.of(response.version()))
+                        .body(FieldFilters.event(response, selection)));
+        if (ifNoneMatch == null) {
+            return read;
+        }
+        return eventService.getEventVersion(id)
+                .map(EventETag::of)
+                .flatMap(etag -> EventETag.matchesIfNoneMatch(ifNoneMatch, etag)
+                        ? Mono.just(EventETag.<MappingJacksonValue>notModified(etag))
+                        : read);
+    }
+
+    @PutMapping("/{id}")
+    @Operation(summary = "Update an existing event",
+            description = "Send the ETag of the event as If-Match to reject the update if it changed since")
+    public Mono<ResponseEntity<EventResponse>> updateEvent(
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody UpdateEventRequest request) {
+        return eventService.updateEvent(id, request, EventETag.parseIfMatch(ifMatch))
+                .map(ReactiveEventController::withETag);
+    }
+
+    @DeleteMapping("/{eventId}")
+    @Operation(summary = "Remove event")
+    public Mono<ResponseEntity<Void>> deleteEvent(@PathVariable String eventId) {
+        return eventService.deleteEvent(eventId)
+                .thenReturn(ResponseEntity.noContent().build());
+    }
+
+    @GetMapping("/{eventId}/attendees")
+    @Operation(summary = "Get all attendees for an event")
+    public Flux<AttendeeResponse> getAttendees(@PathVariable String eventId) {
+        return eventService.getAttendees(eventId);
+    }
+
+    @PostMapping("/{eventId}/attendees/invite")
+    @Operation(summary = "Invite attendees to an event")
+    public Mono<EventResponse> inviteAttendees(
+            @PathVariable String eventId,
+            @Valid @RequestBody InviteAttendeesRequest request) {
+        return eventService.inviteAttendees(eventId, request.attendees());
+    }
+
+    @PostMapping(value = "/{eventId}/attendees/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Import attendees from a CSV file",
+            description = "The file needs email and name columns and may have a phone column. Rows are imported "
+                    + "in the background; poll the returned import for progress")
+    public Mono<ResponseEntity<AttendeeImportResponse>> importAttendees(
+            @PathVariable String eventId,
+            @RequestPart("file") FilePart file) {
+        // Spooled to a file of our own; the import outlives the request
+        return Mono.fromCallable(() -> Files.createTempFile("attendee-import-", ".csv"))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(csv -> file.transferTo(csv)
+                        .onErrorResume(e -> Mono.fromCallable(() -> Files.deleteIfExists(csv))
+                                .subscribeOn(Schedulers.boundedElastic())
+                                .then(Mono.error(e)))
+                        .then(eventService.importAttendees(eventId, file.filename(), csv)))
+                .map(response -> ResponseEntity.accepted().body(response));
+    }
+
+    @GetMapping("/{eventId}/attendees/import/{importId}")
+    @Operation(summary = "Get the progress of an attendee import")
+    public Mono<AttendeeImportResponse> getAttendeeImport(
+            @PathVariable String eventId,
+            @PathVariable String importId) {
+        return eventService.getAttendeeImport(eventId, importId);
+    }
+
+    @DeleteMapping("/{eventId}/attendees/{attendeeId}")
+    @Operation(summary = "Remove an attendee from an event")
+    public Mono<EventResponse> removeAttendee(
+            @PathVariable String eventId,
+            @PathVariable String attendeeId) {
+        return eventService.removeAttendee(eventId, attendeeId);
+    }
+
+    @PatchMapping("/{eventId}/attendees/{attendeeId}")
+    @Operation(summary = "Update attendee status")
+    public Mono<ResponseEntity<EventResponse>> updateAttendeeStatus(
+            @PathVariable String eventId,
+            @PathVariable String attendeeId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody UpdateAttendeeStatusRequest request) {
+        return eventService.updateAttendeeStatus(eventId, attendeeId, request.status(),
+                        EventETag.parseIfMatch(ifMatch))
+                .map(ReactiveEventController::withETag);
+    }
+
+    // Legacy endpoint for backward compatibility
+    @PostMapping("/{id}/invite")
+    @Operation(summary = "Invite attendees to an event (legacy)")
+    @Deprecated
+    public Mono<EventResponse> inviteAttendeesLegacy(
+            @PathVariable String id,
+            @Valid @RequestBody List<InviteAttendeeRequest> attendees) {
+        return eventService.inviteAttendees(id, attendees);
+    }
+
+    @GetMapping
+    @Operation(summary = "List events with optional filters, one page at a time",
+            description = "Returns event summaries unless view=full. Pass the X-Next-Cursor response header "
+                    + "back as cursor to fetch the next page")
+    public Mono<ResponseEntity<List<?>>> listEvents(
+            @RequestParam(required = false) String createdBy,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(defaultValue = "summary") String view) {
+        Mono<? extends CursorPage<?>> page = switch (view) {
+            case "summary" -> eventService.listEventSummaries(createdBy, from, to, cursor, limit);
+            case "full" -> eventService.listEvents(createdBy, from, to, cursor, limit);
+            default -> Mono.error(new BadRequestException("Unknown view: " + view));
+        };
+        return page.map(result -> {
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (result.nextCursor() != null) {
+                response.header(NEXT_CURSOR_HEADER, result.nextCursor());
+            }
+            return response.body(result.items());
+        });
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export events with optional filters as newline-delimited JSON",
+            description = "Streams every matching event in listing order without paging")
+    public Flux<EventResponse> streamEvents(
+            @RequestParam(required = false) String createdBy,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        // Each event is encoded as a line as the cursor emits it, paced by the client's demand
+        return eventService.streamEvents(createdBy, from, to);
+    }
+
+    @GetMapping("/{id}/summary")
+    @Operation(summary = "Summarize Event with AI",
+            description = "Returns the event when its AI summary is up to date. Otherwise queues the summary "
+                    + "and returns 202 Accepted with the job to poll, or with wait=true generates it before responding")
+    public Mono<ResponseEntity<?>> summarizeEvent(@PathVariable String id,
+                                                  @RequestParam(defaultValue = "false") boolean wait) {
+        if (wait) {
+            return eventService.generateEventSummary(id).map(ResponseEntity::ok);
+        }
+        return eventService.findFreshSummary(id)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .switchIfEmpty(Mono.defer(() -> eventService.requestSummary(id)
+                        .map(job -> ResponseEntity.accepted().body(job))));
+    }
+
+    @GetMapping("/{eventId}/summary/jobs/{jobId}")
+    @Operation(summary = "Get the status of an AI summary job")
+    public Mono<SummaryJobResponse> getSummaryJob(
+            @PathVariable String eventId,
+            @PathVariable String jobId) {
+        return eventService.getSummaryJob(eventId, jobId);
+    }
+
+    private static ResponseEntity<EventResponse> withETag(EventResponse response) {
+        return ResponseEntity.ok().eTag(EventETag.of(response.version())).body(response);
+    }
+}
@@ -0,0 +1,121 @@
+package com.kp.eventchey.controller;
+
+import com.kp.eventchey.dto.request.CreatePollRequest;
+import com.kp.eventchey.dto.request.SubmitVoteRequest;
+import com.kp.eventchey.dto.response.PollResponse;
+import com.kp.eventchey.service.ReactivePollService;
+import com.kp.eventchey.service.impl.PollResultsBroadcaster;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/events")
+@CrossOrigin(origins = {"http://localhost:3000", "http://127.0.0.1:3000", "https://event-chey.netlify.app"},
+             allowCredentials = "true",
+             allowedHeaders = "*",
+             methods = {RequestMethod.GET, RequestMethod.POST, RequestMethod.PUT, RequestMethod.DELETE, RequestMethod.OPTIONS, RequestMethod.PATCH})
+@Tag(name = "Poll Management", description = "APIs for managing live polls and voting")
+public class ReactivePollController {
+
+    private static final String RESULTS_EVENT = "poll-results";
+
+    private final ReactivePollService pollService;
+    private final PollResultsBroadcaster resultsBroadcaster;
+    private final Duration resultsStreamTimeout;
+
+    public ReactivePollController(ReactivePollService pollService, PollResultsBroadcaster resultsBroadcaster,
+                                  @Value("${app.polls.results-stream.timeout-ms:1800000}") long resultsStreamTimeoutMs) {
+        this.pollService = pollService;
+        this.resultsBroadcaster = resultsBroadcaster;
+        this.resultsStreamTimeout = Duration.ofMillis(resultsStreamTimeoutMs);
+    }
+
+    @PostMapping("/{eventId}/agenda/{agendaId}/polls")
+    @Operation(summary = "Create a poll for an agenda item")
+    public Mono<ResponseEntity<PollResponse>> createPoll(
+            @PathVariable String eventId,
+            @PathVariable String agendaId,
+            @Valid @RequestBody CreatePollRequest request) {
+        return pollService.createPoll(eventId, agendaId, request)
+                .map(response -> new ResponseEntity<>(response, HttpStatus.CREATED));
+    }
+
+    @PostMapping("/{eventId}/agenda/{agendaId}/polls/{pollId}/vote")
+    @Operation(summary = "Submit a vote for a poll")
+    public Mono<PollResponse> submitVote(
+            @PathVariable String eventId,
+            @PathVariable String agendaId,
+            @PathVariable String pollId,
+            @Valid @RequestBody SubmitVoteRequest request) {
+        return pollService.submitVote(eventId, agendaId, pollId, request);
+    }
+
+    @GetMapping("/{eventId}/agenda/{agendaId}/results")
+    @Operation(summary = "List all polls for an agenda item",
+            description = "Send the returned ETag as If-None-Match to get 304 Not Modified while no vote was cast")
+    public Mono<ResponseEntity<List<PollResponse>>> listPolls(
+            @PathVariable String eventId,
+            @PathVariable String agendaId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // Read before the polls, so the tag never claims votes the body does not contain
+        return pollService.getResultsVersion(eventId, agendaId)
+                .map(EventETag::of)
+                .flatMap(etag -> EventETag.matchesIfNoneMatch(ifNoneMatch, etag)
+                        ? Mono.just(EventETag.<List<PollResponse>>notModified(etag))
+                        : pollService.listPolls(eventId, agendaId).collectList()
+                                .map(polls -> ResponseEntity.ok().eTag(etag).body(polls)));
+    }
+
+    @GetMapping(value = "/{eventId}/agenda/{agendaId}/results/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream live poll results for an agenda item",
+            description = "Sends every poll first, then the polls whose tallies changed, at most once per "
+                    + "broadcast window. Clients that fall behind are disconnected")
+    public Flux<ServerSentEvent<String>> streamResults(
+            @PathVariable String eventId,
+            @PathVariable String agendaId) {
+        return pollService.listPolls(eventId, agendaId)
+                .collectList()
+                .flatMapMany(snapshot -> {
+                    // The broadcaster writes one message at a time, so a single-producer buffer is enough;
+                    // when the client stops reading it fills up and the subscriber is dropped
+                    Sinks.Many<String> sink = Sinks.many().unicast()
+                            .onBackpressureBuffer(Queues.<String>small().get());
+                    Runnable unsubscribe = resultsBroadcaster.subscribe(eventId, agendaId, snapshot,
+                            new PollResultsBroadcaster.Subscriber() {
+                                @Override
+                                public void send(String payload) throws IOException {
+                                    if (sink.tryEmitNext(payload).isFailure()) {
+                                        throw new IOException("Poll results subscriber is not keeping up");
+                                    }
+                                }
+
+                                @Override
+                                public void close() {
+                                    sink.tryEmitComplete();
+                                }
+                            });
+                    return sink.asFlux()
+                            .take(resultsStreamTimeout)
+                            .doFinally(signal -> unsubscribe.run());
+                })
+                .map(payload -> ServerSentEvent.builder(payload).event(RESULTS_EVENT).build());
+    }
+}
@@ -0,0 +1,88 @@
+package com.kp.eventchey.controller;
+
+import com.kp.eventchey.dto.request.AddQuestionRequest;
+import com.kp.eventchey.dto.request.AnswerQuestionRequest;
+import com.kp.eventchey.dto.response.QuestionResponse;
+import com.kp.eventchey.exception.BadRequestException;
+import com.kp.eventchey.service.ReactiveQuestionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/events")
+@CrossOrigin(origins = {"http://localhost:3000", "http://127.0.0.1:3000", "https://event-chey.netlify.app"},
+             allowCredentials = "true",
+             allowedHeaders = "*",
+             methods = {RequestMethod.GET, RequestMethod.POST, RequestMethod.PUT, RequestMethod.DELETE, RequestMethod.OPTIONS, RequestMethod.PATCH})
+@Tag(name = "Question & Answer Management", description = "APIs for managing Q&A in agenda items")
+public class ReactiveQuestionController {
+
+    private final ReactiveQuestionService questionService;
+
+    public ReactiveQuestionController(ReactiveQuestionService questionService) {
+        this.questionService = questionService;
+    }
+
+    @PostMapping("/{eventId}/agenda/{agendaId}/questions")
+    @Operation(summary = "Add a question to an agenda item")
+    public Mono<ResponseEntity<QuestionResponse>> addQuestion(
+            @PathVariable String eventId,
+            @PathVariable String agendaId,
+            @Valid @RequestBody AddQuestionRequest request) {
+        return questionService.addQuestion(eventId, agendaId, request)
+                .map(response -> new ResponseEntity<>(response, HttpStatus.CREATED));
+    }
+
+    @PostMapping("/{eventId}/agenda/{agendaId}/questions/{questionId}/answer")
+    @Operation(summary = "Answer a question")
+    public Mono<QuestionResponse> answerQuestion(
+            @PathVariable String eventId,
+            @PathVariable String agendaId,
+            @PathVariable String questionId,
+            @Valid @RequestBody AnswerQuestionRequest request) {
+        return questionService.answerQuestion(eventId, agendaId, questionId, request);
+    }
+
+    @PutMapping("/{eventId}/agenda/{agendaId}/questions/{questionId}/answer")
+    @Operation(summary = "edit answer to a question")
+    public Mono<QuestionResponse> updateAnswer(
+            @PathVariable String eventId,
+            @PathVariable String agendaId,
+            @PathVariable String questionId,
+            @Valid @RequestBody AnswerQuestionRequest request) {
+        return questionService.answerQuestion(eventId, agendaId, questionId, request);
+    }
+
+    @PostMapping("/{eventId}/agenda/{agendaId}/questions/{questionId}/upvote")
+    @Operation(summary = "Upvote a question")
+    public Mono<QuestionResponse> upvoteQuestion(
+            @PathVariable String eventId,
+            @PathVariable String agendaId,
+            @PathVariable String questionId) {
+        return questionService.upvoteQuestion(eventId, agendaId, questionId);
+    }
+
+    @GetMapping("/{eventId}/agenda/{agendaId}/questions")
+    @Operation(summary = "List questions for an agenda item",
+            description = "Returns all questions in the order they were asked, or with sort=top the "
+                    + "limit most upvoted ones")
+    public Flux<QuestionResponse> listQuestions(
+            @PathVariable String eventId,
+            @PathVariable String agendaId,
+            @RequestParam(defaultValue = "asked") String sort,
+            @RequestParam(defaultValue = "20") int limit) {
+        return switch (sort) {
+            case "asked" -> questionService.listQuestions(eventId, agendaId);
+            case "top" -> questionService.listTopQuestions(eventId, agendaId, limit);
+            default -> Flux.error(new BadRequestException("Unknown sort: " + sort));
+        };
+    }
+}
@@ -1,5 +1,7 @@
 package com.kp.eventchey.domain;
 
+import org.springframework.data.annotation.Transient;
+
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -12,6 +14,9 @@ public class AgendaItem {
     private LocalDateTime endTime;
     private String description;
     private String speaker;
+    // Stored in the questions collection and filled in for responses and summaries only; mapping
+    // it would also create the Question indexes on events under agenda.questions
+    @Transient
     private List<Question> questions;
     private List<Poll> polls;
     private String aiSummary;
@@ -1,10 +1,22 @@
 package com.kp.eventchey.domain;
 
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Locale;
 import java.util.Objects;
 
+@Document(collection = "attendees")
+// Also resolved on the legacy embedded events.attendees path; sparse keeps events without embedded
+// attendees out of it, otherwise every such event would share the same empty key
+@CompoundIndex(name = "event_email_unique", def = "{'eventId': 1, 'normalizedEmail': 1}", unique = true, sparse = true)
 public class Attendee {
+    @Id
     private String id;
+    private String eventId;
     private String email;
+    private String normalizedEmail;
     private String phone;
     private String name;
     private AttendeeStatus status;
@@ -12,9 +24,11 @@ public class Attendee {
     public Attendee() {
     }
 
-    public Attendee(String id, String email, String phone, String name, AttendeeStatus status) {
+    public Attendee(String id, String eventId, String email, String phone, String name, AttendeeStatus status) {
         this.id = id;
+        this.eventId = eventId;
         this.email = email;
+        this.normalizedEmail = normalizeEmail(email);
         this.phone = phone;
         this.name = name;
         this.status = status;
@@ -28,12 +42,33 @@ public class Attendee {
         this.id = id;
     }
 
+    public String getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(String eventId) {
+        this.eventId = eventId;
+    }
+
     public String getEmail() {
         return email;
     }
 
     public void setEmail(String email) {
         this.email = email;
+        this.normalizedEmail = normalizeEmail(email);
+    }
+
+    public String getNormalizedEmail() {
+        return normalizedEmail;
+    }
+
+    public void setNormalizedEmail(String normalizedEmail) {
+        this.normalizedEmail = normalizedEmail;
+    }
+
+    public static String normalizeEmail(String email) {
+        return email != null ? email.trim().toLowerCase(Locale.ROOT) : null;
     }
 
     public String getPhone() {
@@ -66,6 +101,7 @@ public class Attendee {
         if (o == null || getClass() != o.getClass()) return false;
         Attendee attendee = (Attendee) o;
         return Objects.equals(id, attendee.id) &&
+                Objects.equals(eventId, attendee.eventId) &&
                 Objects.equals(email, attendee.email) &&
                 Objects.equals(phone, attendee.phone) &&
                 Objects.equals(name, attendee.name) &&
@@ -74,13 +110,14 @@ public class Attendee {
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, email, phone, name, status);
+        return Objects.hash(id, eventId, email, phone, name, status);
     }
 
     @Override
     public String toString() {
         return "Attendee{" +
                 "id='" + id + '\'' +
+                ", eventId='" + eventId + '\'' +
                 ", email='" + email + '\'' +
                 ", phone='" + phone + '\'' +
                 ", name='" + name + '\'' +
@@ -1,6 +1,9 @@
 package com.kp.eventchey.domain;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
@@ -9,6 +12,13 @@ import java.util.List;
 import java.util.Objects;
 
 @Document(collection = "events")
+// Index definitions are not mapped, so they use the stored names: embedded ids are written as _id.
+// Both date indexes end in _id to also serve the (startDate, id) keyset sort of the listing.
+@CompoundIndexes({
+        @CompoundIndex(name = "createdBy_startDate", def = "{'createdBy': 1, 'startDate': 1, '_id': 1}"),
+        @CompoundIndex(name = "startDate", def = "{'startDate': 1, '_id': 1}"),
+        @CompoundIndex(name = "agenda_id", def = "{'agenda._id': 1}")
+})
 public class Event {
     @Id
     private String id;
@@ -23,6 +33,12 @@ public class Event {
     private LocalDateTime updatedAt;
     private String cachedAiSummary;
     private LocalDateTime aiSummaryGeneratedAt;
+    // Content the cached summary was generated from; see SummaryFingerprint
+    private String aiSummaryFingerprint;
+    // XOR of the hashes of the event's attendees, kept up to date by the services
+    private Long attendeeDigest;
+    @Version
+    private Long version;
 
     public Event() {
         this.attendees = new ArrayList<>();
@@ -34,7 +50,7 @@ public class Event {
     public Event(String id, String name, String description, LocalDateTime startDate,
                  LocalDateTime endDate, String createdBy, List<Attendee> attendees,
                  List<AgendaItem> agenda, LocalDateTime createdAt, LocalDateTime updatedAt,
-                 String cachedAiSummary, LocalDateTime aiSummaryGeneratedAt) {
+                 String cachedAiSummary, LocalDateTime aiSummaryGeneratedAt, Long version) {
         this.id = id;
         this.name = name;
         this.description = description;
@@ -47,6 +63,7 @@ public class Event {
         this.updatedAt = updatedAt != null ? updatedAt : LocalDateTime.now();
         this.cachedAiSummary = cachedAiSummary;
         this.aiSummaryGeneratedAt = aiSummaryGeneratedAt;
+        this.version = version;
     }
 
     public String getId() {
@@ -145,6 +162,30 @@ public class Event {
         this.aiSummaryGeneratedAt = aiSummaryGeneratedAt;
     }
 
+    public String getAiSummaryFingerprint() {
+        return aiSummaryFingerprint;
+    }
+
+    public void setAiSummaryFingerprint(String aiSummaryFingerprint) {
+        this.aiSummaryFingerprint = aiSummaryFingerprint;
+    }
+
+    public Long getAttendeeDigest() {
+        return attendeeDigest;
+    }
+
+    public void setAttendeeDigest(Long attendeeDigest) {
+        this.attendeeDigest = attendeeDigest;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -161,13 +202,17 @@ public class Event {
                 Objects.equals(createdAt, event.createdAt) &&
                 Objects.equals(updatedAt, event.updatedAt) &&
                 Objects.equals(cachedAiSummary, event.cachedAiSummary) &&
-                Objects.equals(aiSummaryGeneratedAt, event.aiSummaryGeneratedAt);
+                Objects.equals(aiSummaryGeneratedAt, event.aiSummaryGeneratedAt) &&
+                Objects.equals(aiSummaryFingerprint, event.aiSummaryFingerprint) &&
+                Objects.equals(attendeeDigest, event.attendeeDigest) &&
+                Objects.equals(version, event.version);
     }
 
     @Override
     public int hashCode() {
         return Objects.hash(id, name, description, startDate, endDate, createdBy,
-                          attendees, agenda, createdAt, updatedAt, cachedAiSummary, aiSummaryGeneratedAt);
+                          attendees, agenda, createdAt, updatedAt, cachedAiSummary, aiSummaryGeneratedAt,
+                          aiSummaryFingerprint, attendeeDigest, version);
     }
 
     @Override
@@ -185,6 +230,9 @@ public class Event {
                 ", updatedAt=" + updatedAt +
                 ", cachedAiSummary='" + cachedAiSummary + '\'' +
                 ", aiSummaryGeneratedAt=" + aiSummaryGeneratedAt +
+                ", aiSummaryFingerprint='" + aiSummaryFingerprint + '\'' +
+                ", attendeeDigest=" + attendeeDigest +
+                ", version=" + version +
                 '}';
     }
 }
@@ -0,0 +1,94 @@
+package com.kp.eventchey.domain;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * A chat completion stored under the hash of the request that produced it, shared by every
+ * instance. Entries are removed by MongoDB a week after they were written.
+ */
+@Document(collection = "llm_responses")
+public class LlmResponse {
+    @Id
+    private String id;
+    private String model;
+    private String content;
+    private long promptTokens;
+    private long completionTokens;
+    private long latencyMs;
+    @Indexed(name = "created_ttl", expireAfter = "7d")
+    private LocalDateTime createdAt;
+
+    public LlmResponse() {
+    }
+
+    public LlmResponse(String id, String model, String content, long promptTokens, long completionTokens,
+                       long latencyMs, LocalDateTime createdAt) {
+        this.id = id;
+        this.model = model;
+        this.content = content;
+        this.promptTokens = promptTokens;
+        this.completionTokens = completionTokens;
+        this.latencyMs = latencyMs;
+        this.createdAt = createdAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getModel() {
+        return model;
+    }
+
+    public void setModel(String model) {
+        this.model = model;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+    }
+
+    public long getPromptTokens() {
+        return promptTokens;
+    }
+
+    public void setPromptTokens(long promptTokens) {
+        this.promptTokens = promptTokens;
+    }
+
+    public long getCompletionTokens() {
+        return completionTokens;
+    }
+
+    public void setCompletionTokens(long completionTokens) {
+        this.completionTokens = completionTokens;
+    }
+
+    public long getLatencyMs() {
+        return latencyMs;
+    }
+
+    public void setLatencyMs(long latencyMs) {
+        this.latencyMs = latencyMs;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,140 @@
+package com.kp.eventchey.domain;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * An invitation waiting to be sent. The id is derived from the attendee, so writing the same
+ * invitation twice leaves one message. The email itself is rendered from the current event when
+ * it is sent.
+ */
+@Document(collection = "email_outbox")
+@CompoundIndexes({
+        @CompoundIndex(name = "status_next_attempt", def = "{'status': 1, 'nextAttemptAt': 1}"),
+        @CompoundIndex(name = "status_lease_expiry", def = "{'status': 1, 'leaseExpiresAt': 1}")
+})
+public class OutboxEmail {
+    @Id
+    private String id;
+    private String eventId;
+    private String attendeeId;
+    private OutboxEmailStatus status;
+    private int attempts;
+    private LocalDateTime nextAttemptAt;
+    private String leaseOwner;
+    private LocalDateTime leaseExpiresAt;
+    private String lastError;
+    private LocalDateTime createdAt;
+    // Sent messages are kept for a week for troubleshooting
+    @Indexed(name = "sent_ttl", expireAfter = "7d")
+    private LocalDateTime sentAt;
+
+    public OutboxEmail() {
+    }
+
+    public OutboxEmail(String eventId, String attendeeId, OutboxEmailStatus status, LocalDateTime createdAt) {
+        this.id = invitationId(attendeeId);
+        this.eventId = eventId;
+        this.attendeeId = attendeeId;
+        this.status = status;
+        this.nextAttemptAt = createdAt;
+        this.createdAt = createdAt;
+    }
+
+    public static String invitationId(String attendeeId) {
+        return "invitation:" + attendeeId;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(String eventId) {
+        this.eventId = eventId;
+    }
+
+    public String getAttendeeId() {
+        return attendeeId;
+    }
+
+    public void setAttendeeId(String attendeeId) {
+        this.attendeeId = attendeeId;
+    }
+
+    public OutboxEmailStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(OutboxEmailStatus status) {
+        this.status = status;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public String getLeaseOwner() {
+        return leaseOwner;
+    }
+
+    public void setLeaseOwner(String leaseOwner) {
+        this.leaseOwner = leaseOwner;
+    }
+
+    public LocalDateTime getLeaseExpiresAt() {
+        return leaseExpiresAt;
+    }
+
+    public void setLeaseExpiresAt(LocalDateTime leaseExpiresAt) {
+        this.leaseExpiresAt = leaseExpiresAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getSentAt() {
+        return sentAt;
+    }
+
+    public void setSentAt(LocalDateTime sentAt) {
+        this.sentAt = sentAt;
+    }
+}
@@ -0,0 +1,10 @@
+package com.kp.eventchey.domain;
+
+public enum OutboxEmailStatus {
+    /** Written ahead of the attendee it belongs to; not sent until that write is confirmed */
+    HELD,
+    PENDING,
+    SENDING,
+    SENT,
+    FAILED
+}
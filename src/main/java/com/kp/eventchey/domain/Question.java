@@ -1,10 +1,19 @@
 package com.kp.eventchey.domain;
 
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
 import java.time.LocalDateTime;
 import java.util.Objects;
 
+@Document(collection = "questions")
+@CompoundIndex(name = "event_agenda_timestamp", def = "{'eventId': 1, 'agendaId': 1, 'timestamp': 1}")
 public class Question {
+    @Id
     private String id;
+    private String eventId;
+    private String agendaId;
     private String askedBy;
     private String question;
     private String answer;
@@ -15,9 +24,11 @@ public class Question {
         this.upvotes = 0;
     }
 
-    public Question(String id, String askedBy, String question, String answer,
-                    LocalDateTime timestamp, Integer upvotes) {
+    public Question(String id, String eventId, String agendaId, String askedBy, String question,
+                    String answer, LocalDateTime timestamp, Integer upvotes) {
         this.id = id;
+        this.eventId = eventId;
+        this.agendaId = agendaId;
         this.askedBy = askedBy;
         this.question = question;
         this.answer = answer;
@@ -33,6 +44,22 @@ public class Question {
         this.id = id;
     }
 
+    public String getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(String eventId) {
+        this.eventId = eventId;
+    }
+
+    public String getAgendaId() {
+        return agendaId;
+    }
+
+    public void setAgendaId(String agendaId) {
+        this.agendaId = agendaId;
+    }
+
     public String getAskedBy() {
         return askedBy;
     }
@@ -79,6 +106,8 @@ public class Question {
         if (o == null || getClass() != o.getClass()) return false;
         Question question = (Question) o;
         return Objects.equals(id, question.id) &&
+                Objects.equals(eventId, question.eventId) &&
+                Objects.equals(agendaId, question.agendaId) &&
                 Objects.equals(askedBy, question.askedBy) &&
                 Objects.equals(question, question.question) &&
                 Objects.equals(answer, question.answer) &&
@@ -88,13 +117,15 @@ public class Question {
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, askedBy, question, answer, timestamp, upvotes);
+        return Objects.hash(id, eventId, agendaId, askedBy, question, answer, timestamp, upvotes);
     }
 
     @Override
     public String toString() {
         return "Question{" +
                 "id='" + id + '\'' +
+                ", eventId='" + eventId + '\'' +
+                ", agendaId='" + agendaId + '\'' +
                 ", askedBy='" + askedBy + '\'' +
                 ", question='" + question + '\'' +
                 ", answer='" + answer + '\'' +
@@ -0,0 +1,39 @@
+package com.kp.eventchey.domain;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * XOR of the hashes of an event's questions, stored by event id. Kept outside the event so that
+ * asking or answering a question never writes the event document.
+ */
+@Document(collection = "question_digests")
+public class QuestionDigest {
+    @Id
+    private String id;
+    private long digest;
+
+    public QuestionDigest() {
+    }
+
+    public QuestionDigest(String id, long digest) {
+        this.id = id;
+        this.digest = digest;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public long getDigest() {
+        return digest;
+    }
+
+    public void setDigest(long digest) {
+        this.digest = digest;
+    }
+}
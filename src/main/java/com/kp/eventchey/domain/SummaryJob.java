@@ -0,0 +1,146 @@
+package com.kp.eventchey.domain;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Background generation of an event's AI summary. activeKey holds the event id while the job is
+ * pending or running and is removed when it ends; its unique index allows one active job per event.
+ */
+@Document(collection = "summary_jobs")
+@CompoundIndexes({
+        @CompoundIndex(name = "status_next_attempt", def = "{'status': 1, 'nextAttemptAt': 1}"),
+        @CompoundIndex(name = "status_lease_expiry", def = "{'status': 1, 'leaseExpiresAt': 1}")
+})
+public class SummaryJob {
+    @Id
+    private String id;
+    private String eventId;
+    @Indexed(name = "active_event_unique", unique = true, sparse = true)
+    private String activeKey;
+    private SummaryJobStatus status;
+    private int attempts;
+    private LocalDateTime nextAttemptAt;
+    private String leaseOwner;
+    private LocalDateTime leaseExpiresAt;
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    // Finished jobs are kept for a day so that clients can still poll them
+    @Indexed(name = "completed_ttl", expireAfter = "1d")
+    private LocalDateTime completedAt;
+
+    public SummaryJob() {
+    }
+
+    public SummaryJob(String id, String eventId, LocalDateTime createdAt) {
+        this.id = id;
+        this.eventId = eventId;
+        this.activeKey = eventId;
+        this.status = SummaryJobStatus.PENDING;
+        this.nextAttemptAt = createdAt;
+        this.createdAt = createdAt;
+        this.updatedAt = createdAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(String eventId) {
+        this.eventId = eventId;
+    }
+
+    public String getActiveKey() {
+        return activeKey;
+    }
+
+    public void setActiveKey(String activeKey) {
+        this.activeKey = activeKey;
+    }
+
+    public SummaryJobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(SummaryJobStatus status) {
+        this.status = status;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public String getLeaseOwner() {
+        return leaseOwner;
+    }
+
+    public void setLeaseOwner(String leaseOwner) {
+        this.leaseOwner = leaseOwner;
+    }
+
+    public LocalDateTime getLeaseExpiresAt() {
+        return leaseExpiresAt;
+    }
+
+    public void setLeaseExpiresAt(LocalDateTime leaseExpiresAt) {
+        this.leaseExpiresAt = leaseExpiresAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+}
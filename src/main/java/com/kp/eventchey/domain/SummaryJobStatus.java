@@ -0,0 +1,8 @@
+package com.kp.eventchey.domain;
+
+public enum SummaryJobStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,74 @@
+package com.kp.eventchey.dto.request;
+
+import com.kp.eventchey.exception.BadRequestException;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Sparse fieldset requested with the {@code fields} and {@code expand} query parameters: the
+ * scalar properties to return and the nested collections to include. The id is always returned.
+ */
+public record FieldSelection(Set<String> fields, Set<String> expand) {
+
+    public static final Set<String> EVENT_FIELDS = Set.of("id", "name", "description", "startDate", "endDate",
+            "createdBy", "createdAt", "updatedAt", "cachedAiSummary", "aiSummaryGeneratedAt", "version");
+    public static final Set<String> EVENT_EXPANSIONS = Set.of("attendees", "agenda", "agenda.polls",
+            "agenda.questions");
+    public static final Set<String> AGENDA_ITEM_FIELDS = Set.of("id", "title", "startTime", "endTime",
+            "description", "speaker", "aiSummary");
+    public static final Set<String> AGENDA_ITEM_EXPANSIONS = Set.of("polls", "questions");
+
+    /**
+     * @return the selection, or null when neither parameter was given and the full event is wanted
+     */
+    public static FieldSelection forEvent(String fields, String expand) {
+        return parse(fields, expand, EVENT_FIELDS, EVENT_EXPANSIONS);
+    }
+
+    /**
+     * @return the selection, or null when neither parameter was given and full agenda items are wanted
+     */
+    public static FieldSelection forAgendaItem(String fields, String expand) {
+        return parse(fields, expand, AGENDA_ITEM_FIELDS, AGENDA_ITEM_EXPANSIONS);
+    }
+
+    /**
+     * Whether the path, or a path nested under it, was expanded.
+     */
+    public boolean expands(String path) {
+        return expand.stream().anyMatch(expanded -> expanded.equals(path) || expanded.startsWith(path + "."));
+    }
+
+    public FieldSelection withExpansion(String path) {
+        Set<String> expanded = new HashSet<>(expand);
+        expanded.add(path);
+        return new FieldSelection(fields, Set.copyOf(expanded));
+    }
+
+    private static FieldSelection parse(String fields, String expand, Set<String> knownFields,
+                                        Set<String> knownExpansions) {
+        if (fields == null && expand == null) {
+            return null;
+        }
+        Set<String> selected = new HashSet<>(fields != null ? split(fields, knownFields, "field") : knownFields);
+        selected.add("id");
+        Set<String> expanded = expand != null ? split(expand, knownExpansions, "expansion") : Set.of();
+        return new FieldSelection(Set.copyOf(selected), expanded);
+    }
+
+    private static Set<String> split(String names, Set<String> known, String kind) {
+        Set<String> parsed = new HashSet<>();
+        for (String name : names.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            if (!known.contains(trimmed)) {
+                throw new BadRequestException("Unknown " + kind + ": " + trimmed);
+            }
+            parsed.add(trimmed);
+        }
+        return Set.copyOf(parsed);
+    }
+}
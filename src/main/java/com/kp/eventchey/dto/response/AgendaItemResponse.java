@@ -1,8 +1,11 @@
 package com.kp.eventchey.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
+
 import java.time.LocalDateTime;
 import java.util.List;
 
+@JsonFilter(AgendaItemResponse.FILTER)
 public record AgendaItemResponse(
         String id,
         String title,
@@ -14,5 +17,10 @@ public record AgendaItemResponse(
         List<PollResponse> polls,
         String aiSummary
 ) {
+
+    /**
+     * Jackson filter that sparse fieldsets use to drop unselected properties.
+     */
+    public static final String FILTER = "agendaItemFields";
 }
 
@@ -0,0 +1,22 @@
+package com.kp.eventchey.dto.response;
+
+import com.kp.eventchey.domain.AttendeeImportStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record AttendeeImportResponse(
+        String id,
+        String eventId,
+        String fileName,
+        AttendeeImportStatus status,
+        long rowsRead,
+        long imported,
+        long duplicates,
+        long invalid,
+        List<String> errors,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        LocalDateTime completedAt
+) {
+}
@@ -1,8 +1,11 @@
 package com.kp.eventchey.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
+
 import java.time.LocalDateTime;
 import java.util.List;
 
+@JsonFilter(EventResponse.FILTER)
 public record EventResponse(
         String id,
         String name,
@@ -15,7 +18,13 @@ public record EventResponse(
         LocalDateTime createdAt,
         LocalDateTime updatedAt,
         String cachedAiSummary,
-        LocalDateTime aiSummaryGeneratedAt
+        LocalDateTime aiSummaryGeneratedAt,
+        Long version
 ) {
+
+    /**
+     * Jackson filter that sparse fieldsets use to drop unselected properties.
+     */
+    public static final String FILTER = "eventFields";
 }
 
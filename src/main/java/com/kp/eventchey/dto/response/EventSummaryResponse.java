@@ -0,0 +1,14 @@
+package com.kp.eventchey.dto.response;
+
+import java.time.LocalDateTime;
+
+public record EventSummaryResponse(
+        String id,
+        String name,
+        LocalDateTime startDate,
+        LocalDateTime endDate,
+        String createdBy,
+        long attendeeCount,
+        int agendaCount
+) {
+}
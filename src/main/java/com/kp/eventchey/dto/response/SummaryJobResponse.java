@@ -0,0 +1,17 @@
+package com.kp.eventchey.dto.response;
+
+import com.kp.eventchey.domain.SummaryJobStatus;
+
+import java.time.LocalDateTime;
+
+public record SummaryJobResponse(
+        String id,
+        String eventId,
+        SummaryJobStatus status,
+        int attempts,
+        String error,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        LocalDateTime completedAt
+) {
+}
@@ -0,0 +1,11 @@
+package com.kp.eventchey.mapper;
+
+import com.kp.eventchey.domain.AttendeeImport;
+import com.kp.eventchey.dto.response.AttendeeImportResponse;
+import org.mapstruct.Mapper;
+
+@Mapper(componentModel = "spring")
+public interface AttendeeImportMapper {
+
+    AttendeeImportResponse toResponse(AttendeeImport attendeeImport);
+}
@@ -18,6 +18,9 @@ public interface EventMapper {
     @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "cachedAiSummary", ignore = true)
     @Mapping(target = "aiSummaryGeneratedAt", ignore = true)
+    @Mapping(target = "aiSummaryFingerprint", ignore = true)
+    @Mapping(target = "attendeeDigest", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Event toEntity(CreateEventRequest request);
 
     EventResponse toResponse(Event event);
@@ -0,0 +1,11 @@
+package com.kp.eventchey.mapper;
+
+import com.kp.eventchey.domain.SummaryJob;
+import com.kp.eventchey.dto.response.SummaryJobResponse;
+import org.mapstruct.Mapper;
+
+@Mapper(componentModel = "spring")
+public interface SummaryJobMapper {
+
+    SummaryJobResponse toResponse(SummaryJob summaryJob);
+}
@@ -0,0 +1,113 @@
+package com.kp.eventchey.migration;
+
+import com.kp.eventchey.domain.Attendee;
+import com.kp.eventchey.domain.Event;
+import com.mongodb.ErrorCategory;
+import com.mongodb.bulk.BulkWriteError;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One-shot startup job that moves attendees still embedded in {@code events.attendees} into the
+ * {@code attendees} collection. Safe to run repeatedly: attendees that were already copied, and
+ * embedded duplicates of the same email, are skipped by the unique (eventId, normalizedEmail) index.
+ * Runs before the web server starts, so attendee reads and invitations only see the moved attendees.
+ * <p>
+ * Events are moved in batches in id order, each batch one bulk insert and one update, so no
+ * cursor stays open for the whole collection and progress is logged as it goes.
+ */
+@Component
+public class EmbeddedAttendeeMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmbeddedAttendeeMigration.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+
+    public EmbeddedAttendeeMigration(MongoTemplate mongoTemplate,
+                                     @Value("${app.migration.embedded-attendees.enabled:true}") boolean enabled,
+                                     @Value("${app.migration.batch-size:500}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+    }
+
+    @PostConstruct
+    public void run() {
+        if (!enabled) {
+            return;
+        }
+
+        int migratedEvents = 0;
+        int migratedAttendees = 0;
+        String lastId = null;
+        while (true) {
+            Criteria criteria = Criteria.where("attendees.0").exists(true);
+            if (lastId != null) {
+                criteria = criteria.and("id").gt(lastId);
+            }
+            Query query = new Query(criteria).with(Sort.by("id")).limit(batchSize);
+            query.fields().include("attendees");
+            List<Event> events = mongoTemplate.find(query, Event.class);
+            if (events.isEmpty()) {
+                break;
+            }
+
+            migratedAttendees += migrate(events);
+            migratedEvents += events.size();
+            lastId = events.get(events.size() - 1).getId();
+            logger.info("Moved {} embedded attendees of {} events into the attendees collection so far",
+                    migratedAttendees, migratedEvents);
+        }
+
+        if (migratedEvents > 0) {
+            logger.info("Finished moving embedded attendees: {} attendees of {} events", migratedAttendees,
+                    migratedEvents);
+        }
+    }
+
+    private int migrate(List<Event> events) {
+        List<Attendee> attendees = new ArrayList<>();
+        List<String> eventIds = new ArrayList<>();
+        for (Event event : events) {
+            eventIds.add(event.getId());
+            for (Attendee attendee : event.getAttendees()) {
+                attendee.setEventId(event.getId());
+                attendee.setNormalizedEmail(Attendee.normalizeEmail(attendee.getEmail()));
+                attendees.add(attendee);
+            }
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Attendee.class);
+        bulk.insert(attendees);
+        try {
+            bulk.execute();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                if (ErrorCategory.fromErrorCode(error.getCode()) != ErrorCategory.DUPLICATE_KEY) {
+                    throw e;
+                }
+            }
+        }
+
+        mongoTemplate.updateMulti(new Query(Criteria.where("id").in(eventIds)),
+                new Update().set("attendees", List.of()),
+                Event.class);
+        logger.debug("Moved {} attendees out of {} events", attendees.size(), events.size());
+        return attendees.size();
+    }
+}
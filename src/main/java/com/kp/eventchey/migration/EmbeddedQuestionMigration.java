@@ -0,0 +1,123 @@
+package com.kp.eventchey.migration;
+
+import com.kp.eventchey.domain.Event;
+import com.kp.eventchey.domain.Question;
+import com.mongodb.ErrorCategory;
+import com.mongodb.bulk.BulkWriteError;
+import jakarta.annotation.PostConstruct;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One-shot startup job that moves questions still embedded in {@code events.agenda.questions}
+ * into the {@code questions} collection. Safe to run repeatedly: questions that were already
+ * copied are skipped by their id, and only events that still carry embedded questions are read.
+ * Runs while the context starts, so no request sees questions that have only partly been moved.
+ * {@code AgendaItem.questions} is not mapped, so the embedded questions are read as raw documents.
+ * <p>
+ * Events are moved in batches in {@code _id} order, each batch one bulk insert and one update,
+ * so no cursor stays open for the whole collection and progress is logged as it goes.
+ */
+@Component
+public class EmbeddedQuestionMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmbeddedQuestionMigration.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+
+    public EmbeddedQuestionMigration(MongoTemplate mongoTemplate,
+                                     @Value("${app.migration.embedded-questions.enabled:true}") boolean enabled,
+                                     @Value("${app.migration.batch-size:500}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+    }
+
+    @PostConstruct
+    public void run() {
+        if (!enabled) {
+            return;
+        }
+
+        String collection = mongoTemplate.getCollectionName(Event.class);
+        int migratedEvents = 0;
+        int migratedQuestions = 0;
+        Object lastId = null;
+        while (true) {
+            Criteria criteria = Criteria.where("agenda.questions.0").exists(true);
+            if (lastId != null) {
+                criteria = criteria.and("_id").gt(lastId);
+            }
+            Query query = new Query(criteria).with(Sort.by("_id")).limit(batchSize);
+            query.fields().include("agenda");
+            List<Document> events = mongoTemplate.find(query, Document.class, collection);
+            if (events.isEmpty()) {
+                break;
+            }
+
+            migratedQuestions += migrate(events);
+            migratedEvents += events.size();
+            lastId = events.get(events.size() - 1).get("_id");
+            logger.info("Moved {} embedded questions of {} events into the questions collection so far",
+                    migratedQuestions, migratedEvents);
+        }
+
+        if (migratedEvents > 0) {
+            logger.info("Finished moving embedded questions: {} questions of {} events", migratedQuestions,
+                    migratedEvents);
+        }
+    }
+
+    private int migrate(List<Document> events) {
+        List<Question> questions = new ArrayList<>();
+        List<Object> eventIds = new ArrayList<>();
+        for (Document event : events) {
+            eventIds.add(event.get("_id"));
+            String eventId = event.get("_id").toString();
+            for (Document item : event.getList("agenda", Document.class, List.of())) {
+                for (Document embedded : item.getList("questions", Document.class, List.of())) {
+                    Question question = mongoTemplate.getConverter().read(Question.class, embedded);
+                    question.setEventId(eventId);
+                    question.setAgendaId(item.getString("_id"));
+                    questions.add(question);
+                }
+            }
+        }
+
+        if (!questions.isEmpty()) {
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Question.class);
+            bulk.insert(questions);
+            try {
+                bulk.execute();
+            } catch (BulkOperationException e) {
+                // Duplicates were copied by an earlier, interrupted run and may have changed since
+                for (BulkWriteError error : e.getErrors()) {
+                    if (ErrorCategory.fromErrorCode(error.getCode()) != ErrorCategory.DUPLICATE_KEY) {
+                        throw e;
+                    }
+                }
+            }
+        }
+
+        mongoTemplate.updateMulti(new Query(Criteria.where("_id").in(eventIds)),
+                new Update().unset("agenda.$[].questions"),
+                mongoTemplate.getCollectionName(Event.class));
+        logger.debug("Moved {} questions out of {} events", questions.size(), events.size());
+        return questions.size();
+    }
+}
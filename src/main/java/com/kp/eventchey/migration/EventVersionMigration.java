@@ -0,0 +1,76 @@
+package com.kp.eventchey.migration;
+
+import com.kp.eventchey.domain.Event;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Startup job that gives events written before {@link Event#getVersion()} existed a version of 0.
+ * A versioned entity loaded with a null version is treated as new, so saving it would attempt an
+ * insert and fail on the duplicate id. Runs while the context starts, before any request can load
+ * such an event. Safe to run repeatedly.
+ * <p>
+ * Events are versioned a batch of ids at a time, so no single update holds the whole collection
+ * and progress is logged as it goes.
+ */
+@Component
+public class EventVersionMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventVersionMigration.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+
+    public EventVersionMigration(MongoTemplate mongoTemplate,
+                                 @Value("${app.migration.event-version.enabled:true}") boolean enabled,
+                                 @Value("${app.migration.batch-size:500}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+    }
+
+    @PostConstruct
+    public void run() {
+        if (!enabled) {
+            return;
+        }
+
+        long initialized = 0;
+        String lastId = null;
+        while (true) {
+            Criteria unversioned = Criteria.where("version").exists(false);
+            if (lastId != null) {
+                unversioned = unversioned.and("id").gt(lastId);
+            }
+            Query batch = new Query(unversioned).with(Sort.by("id")).limit(batchSize);
+            batch.fields().include("id");
+            List<String> ids = mongoTemplate.find(batch, Event.class).stream().map(Event::getId).toList();
+            if (ids.isEmpty()) {
+                break;
+            }
+
+            // Still matched on the missing version, in case the event was saved in between
+            initialized += mongoTemplate.updateMulti(
+                    new Query(Criteria.where("id").in(ids).and("version").exists(false)),
+                    new Update().set("version", 0L),
+                    Event.class).getModifiedCount();
+            lastId = ids.get(ids.size() - 1);
+            logger.info("Initialized the version of {} events so far", initialized);
+        }
+
+        if (initialized > 0) {
+            logger.info("Finished initializing the version of {} events", initialized);
+        }
+    }
+}
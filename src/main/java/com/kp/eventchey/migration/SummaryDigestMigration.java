@@ -0,0 +1,105 @@
+package com.kp.eventchey.migration;
+
+import com.kp.eventchey.domain.Attendee;
+import com.kp.eventchey.domain.Event;
+import com.kp.eventchey.domain.Question;
+import com.kp.eventchey.domain.QuestionDigest;
+import com.kp.eventchey.service.impl.SummaryFingerprint;
+import jakarta.annotation.PostConstruct;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.stream.Stream;
+
+/**
+ * Startup job that seeds the attendee digest of events and the question digest of events that
+ * had attendees or questions before the digests were maintained, so that every digest is the XOR
+ * over all of its entries and later updates can XOR entries out again. Runs after the embedded
+ * attendee and question migrations, whose output it hashes. Safe to run repeatedly: only events
+ * without a digest are seeded.
+ */
+@Component
+@DependsOn({"embeddedAttendeeMigration", "embeddedQuestionMigration"})
+public class SummaryDigestMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(SummaryDigestMigration.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean enabled;
+
+    public SummaryDigestMigration(MongoTemplate mongoTemplate,
+                                  @Value("${app.migration.summary-digests.enabled:true}") boolean enabled) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+    }
+
+    @PostConstruct
+    public void run() {
+        if (!enabled) {
+            return;
+        }
+
+        int attendeeDigests = seedAttendeeDigests();
+        int questionDigests = seedQuestionDigests();
+        if (attendeeDigests > 0 || questionDigests > 0) {
+            logger.info("Seeded the attendee digest of {} events and the question digest of {} events",
+                    attendeeDigests, questionDigests);
+        }
+    }
+
+    private int seedAttendeeDigests() {
+        Query query = new Query(Criteria.where("attendeeDigest").exists(false));
+        query.fields().include("id");
+
+        int seeded = 0;
+        try (Stream<Event> events = mongoTemplate.stream(query, Event.class)) {
+            for (Event event : (Iterable<Event>) events::iterator) {
+                long digest = SummaryFingerprint.attendees(
+                        mongoTemplate.find(new Query(Criteria.where("eventId").is(event.getId())), Attendee.class));
+                // Left alone if an attendee write set the digest in the meantime
+                mongoTemplate.updateFirst(new Query(Criteria.where("id").is(event.getId())
+                                .and("attendeeDigest").exists(false)),
+                        new Update().set("attendeeDigest", digest), Event.class);
+                seeded++;
+            }
+        }
+        return seeded;
+    }
+
+    private int seedQuestionDigests() {
+        // Events that have questions but no digest yet
+        Aggregation missing = Aggregation.newAggregation(
+                Aggregation.group("eventId"),
+                Aggregation.lookup(mongoTemplate.getCollectionName(QuestionDigest.class), "_id", "_id", "digest"),
+                Aggregation.match(Criteria.where("digest").size(0)));
+
+        int seeded = 0;
+        for (Document group : mongoTemplate.aggregate(missing, Question.class, Document.class)) {
+            String eventId = group.getString("_id");
+            long digest = 0;
+            try (Stream<Question> questions = mongoTemplate.stream(
+                    new Query(Criteria.where("eventId").is(eventId)), Question.class)) {
+                for (Question question : (Iterable<Question>) questions::iterator) {
+                    digest ^= SummaryFingerprint.question(question);
+                }
+            }
+            try {
+                mongoTemplate.insert(new QuestionDigest(eventId, digest));
+                seeded++;
+            } catch (DuplicateKeyException e) {
+                logger.debug("Question digest of event {} was created while seeding it", eventId);
+            }
+        }
+        return seeded;
+    }
+}
@@ -0,0 +1,7 @@
+package com.kp.eventchey.repository;
+
+public record AttendeeCount(
+        String id,
+        long count
+) {
+}
@@ -0,0 +1,13 @@
+package com.kp.eventchey.repository;
+
+import com.kp.eventchey.domain.AttendeeImport;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface AttendeeImportRepository extends MongoRepository<AttendeeImport, String> {
+
+    Optional<AttendeeImport> findByIdAndEventId(String id, String eventId);
+}
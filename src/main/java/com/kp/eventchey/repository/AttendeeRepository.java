@@ -0,0 +1,23 @@
+package com.kp.eventchey.repository;
+
+import com.kp.eventchey.domain.Attendee;
+import org.springframework.data.mongodb.repository.Aggregation;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface AttendeeRepository extends MongoRepository<Attendee, String> {
+
+    List<Attendee> findByEventId(String eventId);
+
+    void deleteByEventId(String eventId);
+
+    @Aggregation(pipeline = {
+            "{ '$match': { 'eventId': { '$in': ?0 } } }",
+            "{ '$group': { '_id': '$eventId', 'count': { '$sum': 1 } } }"
+    })
+    List<AttendeeCount> countByEventIds(Collection<String> eventIds);
+}
@@ -0,0 +1,46 @@
+package com.kp.eventchey.repository;
+
+import com.kp.eventchey.domain.Event;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position of the last event on a page: its start date and id. Handed to clients as an
+ * opaque URL-safe token.
+ */
+public record EventCursor(LocalDateTime startDate, String id) {
+
+    private static final String SEPARATOR = "|";
+
+    public static EventCursor of(Event event) {
+        return new EventCursor(event.getStartDate(), event.getId());
+    }
+
+    public static EventCursor of(EventSummaryView event) {
+        return new EventCursor(event.startDate(), event.id());
+    }
+
+    public String encode() {
+        String raw = startDate + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the token was not produced by {@link #encode()}
+     */
+    public static EventCursor decode(String token) {
+        String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        int separator = raw.indexOf(SEPARATOR);
+        if (separator < 0) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        try {
+            return new EventCursor(LocalDateTime.parse(raw.substring(0, separator)), raw.substring(separator + 1));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+    }
+}
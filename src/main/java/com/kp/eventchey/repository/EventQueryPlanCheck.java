@@ -0,0 +1,122 @@
+package com.kp.eventchey.repository;
+
+import com.kp.eventchey.domain.Event;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Startup check that explains the query behind each {@link EventRepository} finder and reports
+ * the ones whose winning plan scans the whole events collection. Under the strict flag such a
+ * plan fails startup instead of only logging a warning.
+ */
+@Component
+public class EventQueryPlanCheck implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventQueryPlanCheck.class);
+
+    private static final String PROBE = "query-plan-probe";
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean enabled;
+    private final boolean strict;
+
+    public EventQueryPlanCheck(MongoTemplate mongoTemplate,
+                               @Value("${app.events.query-plan-check.enabled:true}") boolean enabled,
+                               @Value("${app.events.query-plan-check.strict:false}") boolean strict) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+        this.strict = strict;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+
+        Map<String, Query> probes = probes();
+        for (Method method : EventRepository.class.getDeclaredMethods()) {
+            if (!probes.containsKey(method.getName())) {
+                logger.warn("No query plan probe for EventRepository.{}", method.getName());
+            }
+        }
+
+        MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext()
+                .getRequiredPersistentEntity(Event.class);
+        QueryMapper queryMapper = new QueryMapper(mongoTemplate.getConverter());
+
+        List<String> collectionScans = new ArrayList<>();
+        probes.forEach((name, query) -> {
+            Document filter = queryMapper.getMappedObject(query.getQueryObject(), entity);
+            Document sort = queryMapper.getMappedSort(query.getSortObject(), entity);
+            Document explain = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Event.class))
+                    .find(filter)
+                    .sort(sort)
+                    .explain();
+
+            Document queryPlanner = explain.get("queryPlanner", Document.class);
+            Object winningPlan = queryPlanner != null ? queryPlanner.get("winningPlan") : null;
+            if (hasStage(winningPlan, "COLLSCAN")) {
+                logger.warn("EventRepository.{} runs as a collection scan: {}", name, filter.toJson());
+                collectionScans.add(name);
+            } else {
+                logger.debug("EventRepository.{} uses an index", name);
+            }
+        });
+
+        if (strict && !collectionScans.isEmpty()) {
+            throw new IllegalStateException("Event queries without a usable index: " + collectionScans);
+        }
+    }
+
+    /**
+     * One query per finder, built with the same criteria the finder derives from its name or
+     * declares in its annotation. Values are placeholders; only the shape matters to the planner.
+     */
+    private Map<String, Query> probes() {
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, Query> probes = new LinkedHashMap<>();
+        probes.put("findByCreatedBy", new Query(Criteria.where("createdBy").is(PROBE)));
+        probes.put("findEventByAgendaItemId", new Query(Criteria.where("agenda.id").is(PROBE)));
+        probes.put("existsAgendaItem", new Query(Criteria.where("id").is(PROBE).and("agenda.id").is(PROBE)));
+        probes.put("findByStartDateBetween", new Query(Criteria.where("startDate").gt(now).lt(now.plusDays(1))));
+        probes.put("findByCreatedByAndStartDateBetween", new Query(Criteria.where("createdBy").is(PROBE)
+                .and("startDate").gt(now).lt(now.plusDays(1))));
+        probes.put("findPage", new Query(new Criteria().andOperator(
+                EventRepositoryCustomImpl.filterCriteria(PROBE, now, now.plusDays(1))))
+                .with(Sort.by(Sort.Direction.ASC, "startDate", "id")));
+        probes.put("findVersion", EventRepositoryCustomImpl.versionQuery(PROBE));
+        return probes;
+    }
+
+    private static boolean hasStage(Object plan, String stage) {
+        if (plan instanceof Document document) {
+            if (stage.equals(document.get("stage"))) {
+                return true;
+            }
+            return document.values().stream().anyMatch(value -> hasStage(value, stage));
+        }
+        if (plan instanceof List<?> list) {
+            return list.stream().anyMatch(value -> hasStage(value, stage));
+        }
+        return false;
+    }
+}
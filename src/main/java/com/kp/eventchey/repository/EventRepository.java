@@ -10,16 +10,16 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface EventRepository extends MongoRepository<Event, String> {
+public interface EventRepository extends MongoRepository<Event, String>, EventRepositoryCustom {
 
     List<Event> findByCreatedBy(String createdBy);
 
-    @Query("{ 'attendees.email': ?0 }")
-    List<Event> findByAttendeesEmail(String email);
-
     @Query("{ 'agenda.id': ?0 }")
     Optional<Event> findEventByAgendaItemId(String agendaItemId);
 
+    @Query(value = "{ '_id': ?0, 'agenda.id': ?1 }", exists = true)
+    boolean existsAgendaItem(String eventId, String agendaId);
+
     List<Event> findByStartDateBetween(LocalDateTime startDate, LocalDateTime endDate);
 
     List<Event> findByCreatedByAndStartDateBetween(String createdBy, LocalDateTime startDate, LocalDateTime endDate);
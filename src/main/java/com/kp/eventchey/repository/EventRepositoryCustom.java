@@ -0,0 +1,42 @@
+package com.kp.eventchey.repository;
+
+import com.kp.eventchey.domain.Event;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface EventRepositoryCustom {
+
+    /**
+     * Returns up to {@code limit} events ordered by (startDate, id), starting after {@code after}.
+     * Filters are optional and combine like the derived finders on {@link EventRepository}.
+     */
+    List<Event> findPage(String createdBy, LocalDateTime from, LocalDateTime to, EventCursor after, int limit);
+
+    /**
+     * Same page as {@link #findPage}, reduced to scalar fields and the agenda size without reading
+     * the embedded arrays.
+     */
+    List<EventSummaryView> findSummaryPage(String createdBy, LocalDateTime from, LocalDateTime to,
+                                           EventCursor after, int limit);
+
+    /**
+     * All matching events ordered by (startDate, id), read lazily from a server cursor. The
+     * stream holds the cursor open and must be closed.
+     */
+    Stream<Event> streamEvents(String createdBy, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Only the version of an event, projected on the server so the agenda is never read.
+     */
+    Optional<EventVersionView> findVersion(String eventId);
+
+    /**
+     * The event with only the given document paths read; embedded arrays that are not listed
+     * stay on the server and come back null.
+     */
+    Optional<Event> findProjected(String eventId, Collection<String> paths);
+}
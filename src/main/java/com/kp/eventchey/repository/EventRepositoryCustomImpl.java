@@ -0,0 +1,124 @@
+package com.kp.eventchey.repository;
+
+import com.kp.eventchey.domain.Event;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ArrayOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public class EventRepositoryCustomImpl implements EventRepositoryCustom {
+
+    private static final int STREAM_BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+
+    public EventRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public List<Event> findPage(String createdBy, LocalDateTime from, LocalDateTime to, EventCursor after, int limit) {
+        return mongoTemplate.find(pageQuery(createdBy, from, to, after, limit), Event.class);
+    }
+
+    @Override
+    public List<EventSummaryView> findSummaryPage(String createdBy, LocalDateTime from, LocalDateTime to,
+                                                  EventCursor after, int limit) {
+        return mongoTemplate.aggregate(summaryAggregation(createdBy, from, to, after, limit), EventSummaryView.class)
+                .getMappedResults();
+    }
+
+    @Override
+    public Stream<Event> streamEvents(String createdBy, LocalDateTime from, LocalDateTime to) {
+        return mongoTemplate.stream(streamQuery(createdBy, from, to), Event.class);
+    }
+
+    @Override
+    public Optional<EventVersionView> findVersion(String eventId) {
+        return Optional.ofNullable(mongoTemplate.query(Event.class)
+                .as(EventVersionView.class)
+                .matching(versionQuery(eventId))
+                .oneValue());
+    }
+
+    @Override
+    public Optional<Event> findProjected(String eventId, Collection<String> paths) {
+        return Optional.ofNullable(mongoTemplate.findOne(projectedQuery(eventId, paths), Event.class));
+    }
+
+    static Query pageQuery(String createdBy, LocalDateTime from, LocalDateTime to, EventCursor after, int limit) {
+        return new Query(pageCriteria(createdBy, from, to, after))
+                .with(Sort.by(Sort.Direction.ASC, "startDate", "id"))
+                .limit(limit);
+    }
+
+    static TypedAggregation<Event> summaryAggregation(String createdBy, LocalDateTime from, LocalDateTime to,
+                                                      EventCursor after, int limit) {
+        // Only scalar fields leave the server; the embedded arrays are reduced to their size in the pipeline
+        return Aggregation.newAggregation(Event.class,
+                Aggregation.match(pageCriteria(createdBy, from, to, after)),
+                Aggregation.sort(Sort.by(Sort.Direction.ASC, "startDate", "_id")),
+                Aggregation.limit(limit),
+                Aggregation.project("name", "startDate", "endDate", "createdBy")
+                        .and(ArrayOperators.Size.lengthOfArray(
+                                ConditionalOperators.ifNull("agenda").then(List.of())))
+                        .as("agendaCount"));
+    }
+
+    static Query streamQuery(String createdBy, LocalDateTime from, LocalDateTime to) {
+        List<Criteria> criteria = filterCriteria(createdBy, from, to);
+        Query query = new Query(criteria.isEmpty() ? new Criteria() : new Criteria().andOperator(criteria))
+                .with(Sort.by(Sort.Direction.ASC, "startDate", "id"))
+                .cursorBatchSize(STREAM_BATCH_SIZE);
+        query.fields().exclude("attendees");
+        return query;
+    }
+
+    static Query versionQuery(String eventId) {
+        Query query = new Query(Criteria.where("id").is(eventId));
+        query.fields().include("version");
+        return query;
+    }
+
+    static Query projectedQuery(String eventId, Collection<String> paths) {
+        Query query = new Query(Criteria.where("id").is(eventId));
+        paths.forEach(query.fields()::include);
+        return query;
+    }
+
+    private static Criteria pageCriteria(String createdBy, LocalDateTime from, LocalDateTime to, EventCursor after) {
+        List<Criteria> criteria = filterCriteria(createdBy, from, to);
+        if (after != null) {
+            // Seek past the last row of the previous page instead of skipping over it
+            criteria.add(new Criteria().orOperator(
+                    Criteria.where("startDate").gt(after.startDate()),
+                    Criteria.where("startDate").is(after.startDate()).and("id").gt(after.id())));
+        }
+        return criteria.isEmpty() ? new Criteria() : new Criteria().andOperator(criteria);
+    }
+
+    /**
+     * Same filters as the derived finders: Between is exclusive on both ends.
+     */
+    static List<Criteria> filterCriteria(String createdBy, LocalDateTime from, LocalDateTime to) {
+        List<Criteria> criteria = new ArrayList<>();
+        if (createdBy != null) {
+            criteria.add(Criteria.where("createdBy").is(createdBy));
+        }
+        if (from != null && to != null) {
+            criteria.add(Criteria.where("startDate").gt(from).lt(to));
+        }
+        return criteria;
+    }
+}
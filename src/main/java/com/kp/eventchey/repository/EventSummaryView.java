@@ -0,0 +1,17 @@
+package com.kp.eventchey.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Scalar fields of an event plus the size of its agenda, as produced by
+ * {@link EventRepositoryCustom#findSummaryPage}.
+ */
+public record EventSummaryView(
+        String id,
+        String name,
+        LocalDateTime startDate,
+        LocalDateTime endDate,
+        String createdBy,
+        int agendaCount
+) {
+}
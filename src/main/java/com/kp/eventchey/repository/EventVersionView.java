@@ -0,0 +1,10 @@
+package com.kp.eventchey.repository;
+
+/**
+ * Id and version of an event, as produced by {@link EventRepositoryCustom#findVersion}.
+ */
+public record EventVersionView(
+        String id,
+        Long version
+) {
+}
@@ -0,0 +1,17 @@
+package com.kp.eventchey.repository;
+
+import com.kp.eventchey.domain.Question;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface QuestionRepository extends MongoRepository<Question, String> {
+
+    List<Question> findByEventIdAndAgendaIdOrderByTimestampAsc(String eventId, String agendaId);
+
+    List<Question> findByEventIdOrderByTimestampAsc(String eventId);
+
+    void deleteByEventId(String eventId);
+}
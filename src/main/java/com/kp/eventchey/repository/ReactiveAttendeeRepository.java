@@ -0,0 +1,24 @@
+package com.kp.eventchey.repository;
+
+import com.kp.eventchey.domain.Attendee;
+import org.springframework.data.mongodb.repository.Aggregation;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+@Repository
+public interface ReactiveAttendeeRepository extends ReactiveMongoRepository<Attendee, String> {
+
+    Flux<Attendee> findByEventId(String eventId);
+
+    Mono<Void> deleteByEventId(String eventId);
+
+    @Aggregation(pipeline = {
+            "{ '$match': { 'eventId': { '$in': ?0 } } }",
+            "{ '$group': { '_id': '$eventId', 'count': { '$sum': 1 } } }"
+    })
+    Flux<AttendeeCount> countByEventIds(Collection<String> eventIds);
+}
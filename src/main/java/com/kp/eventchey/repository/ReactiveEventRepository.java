@@ -0,0 +1,29 @@
+package com.kp.eventchey.repository;
+
+import com.kp.eventchey.domain.Event;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Non-blocking counterpart of {@link EventRepository}, used by the reactive profile.
+ */
+@Repository
+public interface ReactiveEventRepository extends ReactiveMongoRepository<Event, String>, ReactiveEventRepositoryCustom {
+
+    Flux<Event> findByCreatedBy(String createdBy);
+
+    @Query("{ 'agenda.id': ?0 }")
+    Mono<Event> findEventByAgendaItemId(String agendaItemId);
+
+    @Query(value = "{ '_id': ?0, 'agenda.id': ?1 }", exists = true)
+    Mono<Boolean> existsAgendaItem(String eventId, String agendaId);
+
+    Flux<Event> findByStartDateBetween(LocalDateTime startDate, LocalDateTime endDate);
+
+    Flux<Event> findByCreatedByAndStartDateBetween(String createdBy, LocalDateTime startDate, LocalDateTime endDate);
+}
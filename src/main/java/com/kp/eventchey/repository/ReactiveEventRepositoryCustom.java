@@ -0,0 +1,28 @@
+package com.kp.eventchey.repository;
+
+import com.kp.eventchey.domain.Event;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Non-blocking counterpart of {@link EventRepositoryCustom}, built from the same queries.
+ */
+public interface ReactiveEventRepositoryCustom {
+
+    Flux<Event> findPage(String createdBy, LocalDateTime from, LocalDateTime to, EventCursor after, int limit);
+
+    Flux<EventSummaryView> findSummaryPage(String createdBy, LocalDateTime from, LocalDateTime to,
+                                           EventCursor after, int limit);
+
+    /**
+     * All matching events ordered by (startDate, id), pulled from the cursor as they are requested.
+     */
+    Flux<Event> streamEvents(String createdBy, LocalDateTime from, LocalDateTime to);
+
+    Mono<EventVersionView> findVersion(String eventId);
+
+    Mono<Event> findProjected(String eventId, Collection<String> paths);
+}
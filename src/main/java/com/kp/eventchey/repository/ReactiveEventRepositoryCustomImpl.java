@@ -0,0 +1,48 @@
+package com.kp.eventchey.repository;
+
+import com.kp.eventchey.domain.Event;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+public class ReactiveEventRepositoryCustomImpl implements ReactiveEventRepositoryCustom {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    public ReactiveEventRepositoryCustomImpl(ReactiveMongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Flux<Event> findPage(String createdBy, LocalDateTime from, LocalDateTime to, EventCursor after, int limit) {
+        return mongoTemplate.find(EventRepositoryCustomImpl.pageQuery(createdBy, from, to, after, limit), Event.class);
+    }
+
+    @Override
+    public Flux<EventSummaryView> findSummaryPage(String createdBy, LocalDateTime from, LocalDateTime to,
+                                                  EventCursor after, int limit) {
+        return mongoTemplate.aggregate(EventRepositoryCustomImpl.summaryAggregation(createdBy, from, to, after, limit),
+                EventSummaryView.class);
+    }
+
+    @Override
+    public Flux<Event> streamEvents(String createdBy, LocalDateTime from, LocalDateTime to) {
+        return mongoTemplate.find(EventRepositoryCustomImpl.streamQuery(createdBy, from, to), Event.class);
+    }
+
+    @Override
+    public Mono<EventVersionView> findVersion(String eventId) {
+        return mongoTemplate.query(Event.class)
+                .as(EventVersionView.class)
+                .matching(EventRepositoryCustomImpl.versionQuery(eventId))
+                .one();
+    }
+
+    @Override
+    public Mono<Event> findProjected(String eventId, Collection<String> paths) {
+        return mongoTemplate.findOne(EventRepositoryCustomImpl.projectedQuery(eventId, paths), Event.class);
+    }
+}
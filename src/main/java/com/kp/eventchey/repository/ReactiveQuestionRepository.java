@@ -0,0 +1,17 @@
+package com.kp.eventchey.repository;
+
+import com.kp.eventchey.domain.Question;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactiveQuestionRepository extends ReactiveMongoRepository<Question, String> {
+
+    Flux<Question> findByEventIdAndAgendaIdOrderByTimestampAsc(String eventId, String agendaId);
+
+    Flux<Question> findByEventIdOrderByTimestampAsc(String eventId);
+
+    Mono<Void> deleteByEventId(String eventId);
+}
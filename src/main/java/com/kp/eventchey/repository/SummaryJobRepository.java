@@ -0,0 +1,15 @@
+package com.kp.eventchey.repository;
+
+import com.kp.eventchey.domain.SummaryJob;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface SummaryJobRepository extends MongoRepository<SummaryJob, String> {
+
+    Optional<SummaryJob> findByIdAndEventId(String id, String eventId);
+
+    Optional<SummaryJob> findByActiveKey(String activeKey);
+}
@@ -1,6 +1,7 @@
 package com.kp.eventchey.service;
 
 import com.kp.eventchey.dto.request.AddAgendaItemRequest;
+import com.kp.eventchey.dto.request.FieldSelection;
 import com.kp.eventchey.dto.request.UpdateAgendaItemRequest;
 import com.kp.eventchey.dto.response.AgendaItemResponse;
 
@@ -10,10 +11,16 @@ public interface AgendaService {
 
     AgendaItemResponse addAgendaItem(String eventId, AddAgendaItemRequest request);
 
-    List<AgendaItemResponse> getAgendaItems(String eventId);
+    List<AgendaItemResponse> getAgendaItems(String eventId, boolean includeQuestions);
+
+    /**
+     * Agenda items reduced to the selected fields and expansions; a null selection returns them whole.
+     */
+    List<AgendaItemResponse> getAgendaItems(String eventId, FieldSelection selection);
 
     String generateAgendaSummary(String eventId, String agendaId);
 
-    AgendaItemResponse updateAgendaItem(String eventId, String agendaId, UpdateAgendaItemRequest request);
+    AgendaItemResponse updateAgendaItem(String eventId, String agendaId, UpdateAgendaItemRequest request,
+                                        Long expectedVersion);
 }
 
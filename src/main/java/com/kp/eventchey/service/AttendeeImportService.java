@@ -0,0 +1,19 @@
+package com.kp.eventchey.service;
+
+import com.kp.eventchey.dto.response.AttendeeImportResponse;
+
+import java.nio.file.Path;
+
+public interface AttendeeImportService {
+
+    /**
+     * Starts importing attendees from a CSV file with an email column and optional name and phone
+     * columns. The file is processed in the background and deleted afterwards.
+     *
+     * @param csv uploaded file, owned by the import from here on
+     * @return the queued import, whose progress is read with {@link #getImport}
+     */
+    AttendeeImportResponse startImport(String eventId, String fileName, Path csv);
+
+    AttendeeImportResponse getImport(String eventId, String importId);
+}
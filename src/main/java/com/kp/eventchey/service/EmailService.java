@@ -2,6 +2,7 @@ package com.kp.eventchey.service;
 
 import com.kp.eventchey.domain.Attendee;
 import com.kp.eventchey.domain.Event;
+import jakarta.mail.MessagingException;
 
 import java.util.List;
 
@@ -14,6 +15,13 @@ public interface EmailService {
      */
     void sendInvitationEmail(Event event, Attendee attendee);
 
+    /**
+     * Send invitation email to a single attendee, failing instead of logging when it cannot be sent
+     * @param event The event details
+     * @param attendee The attendee to invite
+     */
+    void deliverInvitationEmail(Event event, Attendee attendee) throws MessagingException;
+
     /**
      * Send invitation emails to multiple attendees
      * @param event The event details
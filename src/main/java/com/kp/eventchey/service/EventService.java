@@ -2,33 +2,67 @@ package com.kp.eventchey.service;
 
 import com.kp.eventchey.domain.AttendeeStatus;
 import com.kp.eventchey.dto.request.CreateEventRequest;
+import com.kp.eventchey.dto.request.FieldSelection;
 import com.kp.eventchey.dto.request.InviteAttendeeRequest;
 import com.kp.eventchey.dto.request.UpdateEventRequest;
 import com.kp.eventchey.dto.response.AttendeeResponse;
+import com.kp.eventchey.dto.response.CursorPage;
 import com.kp.eventchey.dto.response.EventResponse;
+import com.kp.eventchey.dto.response.EventSummaryResponse;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface EventService {
 
     EventResponse createEvent(CreateEventRequest request);
 
-    EventResponse updateEvent(String eventId, UpdateEventRequest request);
+    EventResponse updateEvent(String eventId, UpdateEventRequest request, Long expectedVersion);
 
     EventResponse getEventById(String eventId);
 
+    /**
+     * The event reduced to the selected fields and expansions; a null selection returns it whole.
+     */
+    EventResponse getEventById(String eventId, FieldSelection selection);
+
+    /**
+     * Current version of the event, read without loading the document. A read that follows
+     * returns this version or a later one.
+     */
+    Long getEventVersion(String eventId);
+
     EventResponse inviteAttendees(String eventId, List<InviteAttendeeRequest> attendees);
 
-    List<EventResponse> listEvents(String createdBy, LocalDateTime from, LocalDateTime to);
+    CursorPage<EventResponse> listEvents(String createdBy, LocalDateTime from, LocalDateTime to, String cursor, int limit);
+
+    CursorPage<EventSummaryResponse> listEventSummaries(String createdBy, LocalDateTime from, LocalDateTime to,
+                                                        String cursor, int limit);
+
+    /**
+     * Matching events in listing order, read lazily. The caller must close the stream.
+     */
+    Stream<EventResponse> streamEvents(String createdBy, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * The event, if its cached AI summary was generated from its current content.
+     */
+    Optional<EventResponse> findFreshSummary(String eventId);
 
-    EventResponse generateEventSummary(String eventId);
+    /**
+     * Generates the AI summary, unless a fresh one is cached, and writes it back to the event.
+     * Blocks for the duration of the LLM call, which waits for an LLM slot at the given priority.
+     */
+    EventResponse generateEventSummary(String eventId, LlmPriority priority);
 
     List<AttendeeResponse> getAttendees(String eventId);
 
     EventResponse removeAttendee(String eventId, String attendeeId);
 
-    EventResponse updateAttendeeStatus(String eventId, String attendeeId, AttendeeStatus status);
+    EventResponse updateAttendeeStatus(String eventId, String attendeeId, AttendeeStatus status,
+                                       Long expectedVersion);
 
     EventResponse deleteEvent(String eventId);
 }
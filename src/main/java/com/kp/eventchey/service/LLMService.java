@@ -1,7 +1,13 @@
 package com.kp.eventchey.service;
 
 
+import com.kp.eventchey.domain.AgendaItem;
+import com.kp.eventchey.domain.Attendee;
 import com.kp.eventchey.domain.Event;
+import com.kp.eventchey.domain.LlmResponse;
+import com.kp.eventchey.domain.Poll;
+import com.kp.eventchey.domain.Question;
+import com.theokanning.openai.Usage;
 import com.theokanning.openai.completion.chat.ChatCompletionRequest;
 import com.theokanning.openai.completion.chat.ChatCompletionResult;
 import com.theokanning.openai.completion.chat.ChatMessage;
@@ -9,21 +15,32 @@ import com.theokanning.openai.service.OpenAiService;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.time.Duration;
+import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Chat completions over the shared {@link OpenAiService}. Responses are looked up in the
+ * {@link LlmResponseCache} first; calls that do reach OpenAI go through the {@link LlmBulkhead},
+ * which bounds how many run at once.
+ */
 @Service
 public class LLMService {
 
-    @Value("${openai.api.key}")
-    private String openAiApiKey;
-
-    @Value("${openai.model:gpt-4}")
-    private String model;
-
-    public String summarizeEvent(Event event) {
+    private final OpenAiService openAiService;
+    private final LlmBulkhead bulkhead;
+    private final LlmResponseCache responseCache;
+    private final String model;
+
+    public LLMService(OpenAiService openAiService, LlmBulkhead bulkhead, LlmResponseCache responseCache,
+                      @Value("${openai.model:gpt-4}") String model) {
+        this.openAiService = openAiService;
+        this.bulkhead = bulkhead;
+        this.responseCache = responseCache;
+        this.model = model;
+    }
 
-        OpenAiService service = new OpenAiService(openAiApiKey, Duration.ofSeconds(60));
+    public String summarizeEvent(Event event, LlmPriority priority) {
 
         String systemPrompt = """
                 You are an expert event analyst and summarizer. Your task is to analyze event data and create comprehensive,
@@ -42,25 +59,60 @@ public class LLMService {
                 Please summarize the following event details in a clear and organized format:
                 
                 Event Data:
-                """ + event.toString();
-
-        ChatCompletionRequest request = ChatCompletionRequest.builder()
-                .model(model)
-                .messages(List.of(
-                        new ChatMessage("system", systemPrompt),
-                        new ChatMessage("user", userPrompt)
-                ))
-                .temperature(0.7)
-                .maxTokens(1500)
-                .build();
-
-        ChatCompletionResult result = service.createChatCompletion(request);
-        return result.getChoices().get(0).getMessage().getContent();
+                """ + eventData(event);
+
+        return complete(systemPrompt, userPrompt, 0.7, 1500, priority);
+    }
+
+    /**
+     * The event as text built only from fields that SummaryFingerprint hashes, so that the prompt,
+     * and with it the cached response, changes only when the fingerprint does. Vote counts,
+     * upvotes, agenda AI summaries, timestamps and attendee contact details are left out, and
+     * attendees are listed in id order.
+     */
+    static String eventData(Event event) {
+        StringBuilder data = new StringBuilder()
+                .append("Name: ").append(event.getName()).append('\n')
+                .append("Description: ").append(event.getDescription()).append('\n')
+                .append("Start: ").append(event.getStartDate()).append('\n')
+                .append("End: ").append(event.getEndDate()).append('\n')
+                .append("Created by: ").append(event.getCreatedBy()).append('\n');
+
+        List<Attendee> attendees = event.getAttendees() != null ? event.getAttendees() : List.of();
+        data.append("Attendees (").append(attendees.size()).append("):\n");
+        attendees.stream()
+                .sorted(Comparator.comparing(Attendee::getId, Comparator.nullsFirst(Comparator.naturalOrder())))
+                .forEach(attendee -> data.append("- ").append(attendee.getName())
+                        .append(" (").append(attendee.getStatus()).append(")\n"));
+
+        data.append("Agenda:\n");
+        if (event.getAgenda() != null) {
+            for (AgendaItem item : event.getAgenda()) {
+                data.append("- ").append(item.getTitle())
+                        .append(" (").append(item.getStartTime()).append(" to ").append(item.getEndTime()).append(")")
+                        .append(", speaker: ").append(item.getSpeaker()).append('\n')
+                        .append("  Description: ").append(item.getDescription()).append('\n');
+                if (item.getPolls() != null) {
+                    for (Poll poll : item.getPolls()) {
+                        data.append("  Poll: ").append(poll.getQuestion())
+                                .append(" Options: ").append(poll.getOptions()).append('\n');
+                    }
+                }
+                if (item.getQuestions() != null) {
+                    for (Question question : item.getQuestions()) {
+                        data.append("  Question: ").append(question.getQuestion()).append('\n');
+                        if (question.getAnswer() != null) {
+                            data.append("  Answer: ").append(question.getAnswer()).append('\n');
+                        }
+                    }
+                }
+            }
+        }
+        return data.toString();
     }
 
     public String generateAgenda(String eventName, String eventDescription,
                                   String startDate, String endDate) {
-        OpenAiService service = new OpenAiService(openAiApiKey, Duration.ofSeconds(60));
 
         String systemPrompt = """
                 You are an expert event planner and agenda designer. Your task is to create a comprehensive,
@@ -100,18 +152,35 @@ public class LLMService {
                 Generate a realistic, comprehensive agenda that covers the entire event duration.
                 """, eventName, eventDescription, startDate, endDate);
 
-        ChatCompletionRequest request = ChatCompletionRequest.builder()
-                .model(model)
-                .messages(List.of(
-                        new ChatMessage("system", systemPrompt),
-                        new ChatMessage("user", userPrompt)
-                ))
-                .temperature(0.7)
-                .maxTokens(2000)
-                .build();
-
-        ChatCompletionResult result = service.createChatCompletion(request);
-        return result.getChoices().get(0).getMessage().getContent();
+        // Generated while the event is being created, so the caller waits for it
+        return complete(systemPrompt, userPrompt, 0.7, 2000, LlmPriority.INTERACTIVE);
+    }
+
+    private String complete(String systemPrompt, String userPrompt, double temperature, int maxTokens,
+                            LlmPriority priority) {
+        String key = LlmResponseCache.key(model, systemPrompt, userPrompt, temperature, maxTokens);
+        return responseCache.get(key, () -> {
+            ChatCompletionRequest request = ChatCompletionRequest.builder()
+                    .model(model)
+                    .messages(List.of(
+                            new ChatMessage("system", systemPrompt),
+                            new ChatMessage("user", userPrompt)
+                    ))
+                    .temperature(temperature)
+                    .maxTokens(maxTokens)
+                    .build();
+
+            return bulkhead.call(priority, () -> {
+                long started = System.nanoTime();
+                ChatCompletionResult result = openAiService.createChatCompletion(request);
+                long latencyMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+                Usage usage = result.getUsage();
+                return new LlmResponse(null, model, result.getChoices().get(0).getMessage().getContent(),
+                        usage != null ? usage.getPromptTokens() : 0,
+                        usage != null ? usage.getCompletionTokens() : 0,
+                        latencyMs, null);
+            });
+        });
     }
 
 }
\ No newline at end of file
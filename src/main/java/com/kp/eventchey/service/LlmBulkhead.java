@@ -0,0 +1,151 @@
+package com.kp.eventchey.service;
+
+import com.kp.eventchey.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Caps the number of LLM calls in flight. Calls beyond the cap wait in a bounded queue ordered by
+ * {@link LlmPriority} and then arrival, so interactive requests overtake background work. A call
+ * that finds the queue full, or waits longer than max-wait, fails at once with
+ * {@link ServiceUnavailableException} rather than holding its thread.
+ * <p>
+ * Published as {@code llm.bulkhead.active}, {@code llm.bulkhead.queued}, {@code llm.bulkhead.wait}
+ * and {@code llm.bulkhead.rejected}, the last two tagged by priority.
+ */
+@Component
+public class LlmBulkhead {
+
+    private final int maxConcurrent;
+    private final int maxQueued;
+    private final long maxWaitMs;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final PriorityQueue<Ticket> waiting = new PriorityQueue<>(
+            Comparator.comparing(Ticket::priority).thenComparingLong(Ticket::sequence));
+    private int running;
+    private long sequence;
+    private final Map<LlmPriority, Timer> waitTimers = new EnumMap<>(LlmPriority.class);
+    private final Map<LlmPriority, Counter> rejections = new EnumMap<>(LlmPriority.class);
+
+    public LlmBulkhead(MeterRegistry meterRegistry,
+                       @Value("${app.llm.bulkhead.max-concurrent:4}") int maxConcurrent,
+                       @Value("${app.llm.bulkhead.max-queued:32}") int maxQueued,
+                       @Value("${app.llm.bulkhead.max-wait-ms:30000}") long maxWaitMs) {
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueued = maxQueued;
+        this.maxWaitMs = maxWaitMs;
+        for (LlmPriority priority : LlmPriority.values()) {
+            waitTimers.put(priority, Timer.builder("llm.bulkhead.wait")
+                    .description("Time LLM calls waited for a slot")
+                    .tag("priority", priority.name().toLowerCase())
+                    .register(meterRegistry));
+            rejections.put(priority, Counter.builder("llm.bulkhead.rejected")
+                    .description("LLM calls rejected because the queue was full or the wait too long")
+                    .tag("priority", priority.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        Gauge.builder("llm.bulkhead.active", this, bulkhead -> bulkhead.locked(() -> bulkhead.running))
+                .description("LLM calls in flight")
+                .register(meterRegistry);
+        Gauge.builder("llm.bulkhead.queued", this, bulkhead -> bulkhead.locked(bulkhead.waiting::size))
+                .description("LLM calls waiting for a slot")
+                .register(meterRegistry);
+    }
+
+    public <T> T call(LlmPriority priority, Supplier<T> call) {
+        Timer.Sample wait = Timer.start();
+        acquire(priority);
+        wait.stop(waitTimers.get(priority));
+        try {
+            return call.get();
+        } finally {
+            release();
+        }
+    }
+
+    private void acquire(LlmPriority priority) {
+        Ticket ticket;
+        lock.lock();
+        try {
+            if (running < maxConcurrent && waiting.isEmpty()) {
+                running++;
+                return;
+            }
+            if (waiting.size() >= maxQueued) {
+                throw reject(priority, "LLM queue is full");
+            }
+            ticket = new Ticket(priority, sequence++, new CountDownLatch(1));
+            waiting.add(ticket);
+        } finally {
+            lock.unlock();
+        }
+
+        boolean granted;
+        try {
+            granted = ticket.granted().await(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            granted = false;
+        }
+        if (granted) {
+            return;
+        }
+
+        lock.lock();
+        try {
+            // The slot may have been handed over between the timeout and taking the lock
+            if (!waiting.remove(ticket)) {
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+        throw reject(priority, "Timed out waiting for an LLM slot");
+    }
+
+    private void release() {
+        lock.lock();
+        try {
+            // The slot passes straight to the next waiter, so running only drops when none is left
+            Ticket next = waiting.poll();
+            if (next != null) {
+                next.granted().countDown();
+            } else {
+                running--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ServiceUnavailableException reject(LlmPriority priority, String message) {
+        rejections.get(priority).increment();
+        return new ServiceUnavailableException(message + ", try again later",
+                Math.max(1, TimeUnit.MILLISECONDS.toSeconds(maxWaitMs)));
+    }
+
+    private <T> T locked(Supplier<T> read) {
+        lock.lock();
+        try {
+            return read.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private record Ticket(LlmPriority priority, long sequence, CountDownLatch granted) {
+    }
+}
@@ -0,0 +1,10 @@
+package com.kp.eventchey.service;
+
+/**
+ * Order in which queued LLM calls get a slot in the {@link LlmBulkhead}.
+ */
+public enum LlmPriority {
+    /** A user is waiting on the response */
+    INTERACTIVE,
+    BACKGROUND
+}
@@ -0,0 +1,167 @@
+package com.kp.eventchey.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kp.eventchey.domain.LlmResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed cache of chat completions. A response is stored under the SHA-256 of
+ * everything that determines it, so an identical prompt is answered from the cache whichever
+ * event, retry or instance sends it. Lookups go to a local Caffeine tier and then to the
+ * {@code llm_responses} collection, which is shared by all instances and expires entries by TTL.
+ * <p>
+ * Published as {@code llm.cache.requests} tagged by result, {@code llm.cache.hit.ratio}, and
+ * {@code llm.cache.saved.tokens} and {@code llm.cache.saved.latency} for the OpenAI usage and
+ * time that hits avoided.
+ */
+@Component
+public class LlmResponseCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(LlmResponseCache.class);
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean enabled;
+    private final Cache<String, LlmResponse> memory;
+    private final Counter memoryHits;
+    private final Counter mongoHits;
+    private final Counter misses;
+    private final Counter savedTokens;
+    private final Counter savedLatencyMs;
+
+    public LlmResponseCache(MongoTemplate mongoTemplate, MeterRegistry meterRegistry,
+                            @Value("${app.llm.cache.enabled:true}") boolean enabled,
+                            @Value("${app.llm.cache.memory.max-size:1000}") long maxSize,
+                            @Value("${app.llm.cache.memory.expire-after-write-ms:3600000}") long expireAfterWriteMs) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+        this.memory = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(expireAfterWriteMs))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, memory, "llm-responses");
+
+        this.memoryHits = requests(meterRegistry, "hit-memory");
+        this.mongoHits = requests(meterRegistry, "hit-mongo");
+        this.misses = requests(meterRegistry, "miss");
+        this.savedTokens = Counter.builder("llm.cache.saved.tokens")
+                .description("Prompt and completion tokens of responses served from the cache")
+                .register(meterRegistry);
+        this.savedLatencyMs = Counter.builder("llm.cache.saved.latency")
+                .description("OpenAI response time avoided by serving from the cache")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("llm.cache.hit.ratio", this, LlmResponseCache::hitRatio)
+                .description("Share of LLM requests served from either cache tier")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Hash of the inputs that determine a completion. Runs of whitespace in the user prompt are
+     * collapsed, since they do not change what is asked.
+     */
+    public static String key(String model, String systemPrompt, String userPrompt, double temperature,
+                             int maxTokens) {
+        String normalizedPrompt = WHITESPACE.matcher(userPrompt.strip()).replaceAll(" ");
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            // Separated by NUL so that shifting text between fields changes the hash
+            for (String part : new String[]{model, systemPrompt, normalizedPrompt, Double.toString(temperature),
+                    Integer.toString(maxTokens)}) {
+                digest.update(part.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Returns the cached response for the key, or calls OpenAI and stores the result in both tiers.
+     */
+    public String get(String key, Supplier<LlmResponse> completion) {
+        if (!enabled) {
+            return completion.get().getContent();
+        }
+
+        LlmResponse cached = memory.getIfPresent(key);
+        if (cached != null) {
+            memoryHits.increment();
+            recordSaved(cached);
+            return cached.getContent();
+        }
+
+        cached = findStored(key);
+        if (cached != null) {
+            mongoHits.increment();
+            recordSaved(cached);
+            memory.put(key, cached);
+            return cached.getContent();
+        }
+
+        misses.increment();
+        LlmResponse response = completion.get();
+        response.setId(key);
+        response.setCreatedAt(LocalDateTime.now());
+        memory.put(key, response);
+        store(response);
+        return response.getContent();
+    }
+
+    private LlmResponse findStored(String key) {
+        try {
+            return mongoTemplate.findById(key, LlmResponse.class);
+        } catch (DataAccessException e) {
+            // The shared tier only saves cost; an outage there must not fail the request
+            logger.warn("Reading cached LLM response {} failed", key, e);
+            return null;
+        }
+    }
+
+    private void store(LlmResponse response) {
+        try {
+            mongoTemplate.save(response);
+        } catch (DataAccessException e) {
+            logger.warn("Storing LLM response {} failed", response.getId(), e);
+        }
+    }
+
+    private void recordSaved(LlmResponse response) {
+        savedTokens.increment(response.getPromptTokens() + response.getCompletionTokens());
+        savedLatencyMs.increment(response.getLatencyMs());
+    }
+
+    private double hitRatio() {
+        double hits = memoryHits.count() + mongoHits.count();
+        double total = hits + misses.count();
+        return total == 0 ? 0 : hits / total;
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("llm.cache.requests")
+                .description("LLM requests by cache result")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -13,5 +13,11 @@ public interface PollService {
     PollResponse submitVote(String eventId, String agendaId, String pollId, SubmitVoteRequest request);
 
     List<PollResponse> listPolls(String eventId, String agendaId);
+
+    /**
+     * Identifies the current results of an agenda item: the event version, plus the votes
+     * buffered on this instance. A listing that follows is at least this recent.
+     */
+    String getResultsVersion(String eventId, String agendaId);
 }
 
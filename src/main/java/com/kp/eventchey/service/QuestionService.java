@@ -13,5 +13,12 @@ public interface QuestionService {
     QuestionResponse answerQuestion(String eventId, String agendaId, String questionId, AnswerQuestionRequest request);
 
     List<QuestionResponse> listQuestions(String eventId, String agendaId);
+
+    /**
+     * The most upvoted questions of the agenda item, newest first among equal counts.
+     */
+    List<QuestionResponse> listTopQuestions(String eventId, String agendaId, int limit);
+
+    QuestionResponse upvoteQuestion(String eventId, String agendaId, String questionId);
 }
 
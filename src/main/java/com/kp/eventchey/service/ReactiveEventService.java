@@ -0,0 +1,75 @@
+package com.kp.eventchey.service;
+
+import com.kp.eventchey.domain.AttendeeStatus;
+import com.kp.eventchey.dto.request.CreateEventRequest;
+import com.kp.eventchey.dto.request.FieldSelection;
+import com.kp.eventchey.dto.request.InviteAttendeeRequest;
+import com.kp.eventchey.dto.request.UpdateEventRequest;
+import com.kp.eventchey.dto.response.AttendeeImportResponse;
+import com.kp.eventchey.dto.response.AttendeeResponse;
+import com.kp.eventchey.dto.response.CursorPage;
+import com.kp.eventchey.dto.response.EventResponse;
+import com.kp.eventchey.dto.response.EventSummaryResponse;
+import com.kp.eventchey.dto.response.SummaryJobResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Non-blocking version of {@link EventService}, served by the reactive profile.
+ */
+public interface ReactiveEventService {
+
+    Mono<EventResponse> createEvent(CreateEventRequest request);
+
+    Mono<EventResponse> updateEvent(String eventId, UpdateEventRequest request, Long expectedVersion);
+
+    Mono<EventResponse> getEventById(String eventId);
+
+    Mono<EventResponse> getEventById(String eventId, FieldSelection selection);
+
+    Mono<Long> getEventVersion(String eventId);
+
+    Mono<EventResponse> inviteAttendees(String eventId, List<InviteAttendeeRequest> attendees);
+
+    /**
+     * @see AttendeeImportService#startImport
+     */
+    Mono<AttendeeImportResponse> importAttendees(String eventId, String fileName, Path csv);
+
+    Mono<AttendeeImportResponse> getAttendeeImport(String eventId, String importId);
+
+    Mono<CursorPage<EventResponse>> listEvents(String createdBy, LocalDateTime from, LocalDateTime to,
+                                               String cursor, int limit);
+
+    Mono<CursorPage<EventSummaryResponse>> listEventSummaries(String createdBy, LocalDateTime from,
+                                                              LocalDateTime to, String cursor, int limit);
+
+    Flux<EventResponse> streamEvents(String createdBy, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Emits the event if its cached AI summary is fresh, and completes empty otherwise.
+     */
+    Mono<EventResponse> findFreshSummary(String eventId);
+
+    Mono<SummaryJobResponse> requestSummary(String eventId);
+
+    /**
+     * Generates the AI summary for a caller that waits for it, unless a fresh one is cached.
+     */
+    Mono<EventResponse> generateEventSummary(String eventId);
+
+    Mono<SummaryJobResponse> getSummaryJob(String eventId, String jobId);
+
+    Flux<AttendeeResponse> getAttendees(String eventId);
+
+    Mono<EventResponse> removeAttendee(String eventId, String attendeeId);
+
+    Mono<EventResponse> updateAttendeeStatus(String eventId, String attendeeId, AttendeeStatus status,
+                                             Long expectedVersion);
+
+    Mono<EventResponse> deleteEvent(String eventId);
+}
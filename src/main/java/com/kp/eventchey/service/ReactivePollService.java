@@ -0,0 +1,21 @@
+package com.kp.eventchey.service;
+
+import com.kp.eventchey.dto.request.CreatePollRequest;
+import com.kp.eventchey.dto.request.SubmitVoteRequest;
+import com.kp.eventchey.dto.response.PollResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking version of {@link PollService}, served by the reactive profile.
+ */
+public interface ReactivePollService {
+
+    Mono<PollResponse> createPoll(String eventId, String agendaId, CreatePollRequest request);
+
+    Mono<PollResponse> submitVote(String eventId, String agendaId, String pollId, SubmitVoteRequest request);
+
+    Flux<PollResponse> listPolls(String eventId, String agendaId);
+
+    Mono<String> getResultsVersion(String eventId, String agendaId);
+}
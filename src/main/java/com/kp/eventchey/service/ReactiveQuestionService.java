@@ -0,0 +1,24 @@
+package com.kp.eventchey.service;
+
+import com.kp.eventchey.dto.request.AddQuestionRequest;
+import com.kp.eventchey.dto.request.AnswerQuestionRequest;
+import com.kp.eventchey.dto.response.QuestionResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking version of {@link QuestionService}, served by the reactive profile.
+ */
+public interface ReactiveQuestionService {
+
+    Mono<QuestionResponse> addQuestion(String eventId, String agendaId, AddQuestionRequest request);
+
+    Mono<QuestionResponse> answerQuestion(String eventId, String agendaId, String questionId,
+                                          AnswerQuestionRequest request);
+
+    Flux<QuestionResponse> listQuestions(String eventId, String agendaId);
+
+    Flux<QuestionResponse> listTopQuestions(String eventId, String agendaId, int limit);
+
+    Mono<QuestionResponse> upvoteQuestion(String eventId, String agendaId, String questionId);
+}
@@ -0,0 +1,14 @@
+package com.kp.eventchey.service;
+
+import com.kp.eventchey.dto.response.SummaryJobResponse;
+
+public interface SummaryJobService {
+
+    /**
+     * Queues generation of the event's AI summary, or returns the job already pending or running
+     * for the event.
+     */
+    SummaryJobResponse requestSummary(String eventId);
+
+    SummaryJobResponse getJob(String eventId, String jobId);
+}
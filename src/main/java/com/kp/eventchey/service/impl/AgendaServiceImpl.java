@@ -3,22 +3,31 @@ package com.kp.eventchey.service.impl;
 import com.kp.eventchey.ai.AiSummaryService;
 import com.kp.eventchey.domain.AgendaItem;
 import com.kp.eventchey.domain.Event;
+import com.kp.eventchey.domain.Question;
 import com.kp.eventchey.dto.request.AddAgendaItemRequest;
+import com.kp.eventchey.dto.request.FieldSelection;
 import com.kp.eventchey.dto.request.UpdateAgendaItemRequest;
 import com.kp.eventchey.dto.response.AgendaItemResponse;
+import com.kp.eventchey.dto.response.QuestionResponse;
 import com.kp.eventchey.exception.ResourceNotFoundException;
 import com.kp.eventchey.exception.ValidationException;
 import com.kp.eventchey.mapper.AgendaItemMapper;
+import com.kp.eventchey.mapper.QuestionMapper;
 import com.kp.eventchey.repository.EventRepository;
+import com.kp.eventchey.repository.QuestionRepository;
 import com.kp.eventchey.service.AgendaService;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 public class AgendaServiceImpl implements AgendaService {
@@ -28,20 +37,34 @@ public class AgendaServiceImpl implements AgendaService {
     private final EventRepository eventRepository;
     private final AgendaItemMapper agendaItemMapper;
     private final AiSummaryService aiSummaryService;
+    private final QuestionRepository questionRepository;
+    private final QuestionMapper questionMapper;
+    private final EventMutationRetry mutationRetry;
+    private final EventCache eventCache;
+    private final SingleFlight<String, String> summaryFlight;
 
     public AgendaServiceImpl(EventRepository eventRepository, AgendaItemMapper agendaItemMapper,
-                            AiSummaryService aiSummaryService) {
+                            AiSummaryService aiSummaryService, QuestionRepository questionRepository,
+                            QuestionMapper questionMapper, EventMutationRetry mutationRetry,
+                            EventCache eventCache, MeterRegistry meterRegistry,
+                            @Value("${app.ai.summary.single-flight.timeout-ms:60000}") long summaryTimeoutMs) {
         this.eventRepository = eventRepository;
         this.agendaItemMapper = agendaItemMapper;
         this.aiSummaryService = aiSummaryService;
+        this.questionRepository = questionRepository;
+        this.questionMapper = questionMapper;
+        this.mutationRetry = mutationRetry;
+        this.eventCache = eventCache;
+        this.summaryFlight = new SingleFlight<>("agenda-summary", summaryTimeoutMs, meterRegistry);
     }
 
     @Override
     public AgendaItemResponse addAgendaItem(String eventId, AddAgendaItemRequest request) {
         logger.info("Adding agenda item to event: {}", eventId);
 
-        Event event = eventRepository.findById(eventId)
-                .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
+        if (!eventRepository.existsById(eventId)) {
+            throw new ResourceNotFoundException("Event", "id", eventId);
+        }
 
         // Validate times
         if (request.endTime().isBefore(request.startTime())) {
@@ -58,32 +81,71 @@ public class AgendaServiceImpl implements AgendaService {
         agendaItem.setQuestions(new ArrayList<>());
         agendaItem.setPolls(new ArrayList<>());
 
-        // Generate AI summary
+        // Generate AI summary once, outside the retried save
         String aiSummary = aiSummaryService.summarizeAgenda(agendaItem);
         agendaItem.setAiSummary(aiSummary);
 
-        if (event.getAgenda() == null) {
-            event.setAgenda(new ArrayList<>());
-        }
+        mutationRetry.execute("addAgendaItem", () -> {
+            Event event = eventRepository.findById(eventId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
 
-        event.getAgenda().add(agendaItem);
-        event.setUpdatedAt(LocalDateTime.now());
+            if (event.getAgenda() == null) {
+                event.setAgenda(new ArrayList<>());
+            }
 
-        eventRepository.save(event);
+            event.getAgenda().add(agendaItem);
+            event.setUpdatedAt(LocalDateTime.now());
+
+            return eventRepository.save(event);
+        });
+        eventCache.invalidate(eventId);
         logger.info("Agenda item added: {}", agendaItem.getId());
 
         return agendaItemMapper.toResponse(agendaItem);
     }
 
     @Override
-    public List<AgendaItemResponse> getAgendaItems(String eventId) {
+    public List<AgendaItemResponse> getAgendaItems(String eventId, boolean includeQuestions) {
         logger.info("Fetching agenda items for event: {}", eventId);
 
-        Event event = eventRepository.findById(eventId)
-                .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
+        // The cached event response already carries the mapped agenda
+        List<AgendaItemResponse> agenda = eventCache.require(eventId).response().agenda();
+        List<AgendaItemResponse> responses = agenda != null ? agenda : List.of();
+        logger.info("Found {} agenda items", responses.size());
 
-        List<AgendaItem> agendaItems = event.getAgenda() != null ? event.getAgenda() : new ArrayList<>();
-        logger.info("Found {} agenda items", agendaItems.size());
+        if (!includeQuestions) {
+            return responses;
+        }
+
+        // One indexed query for the whole event instead of one per agenda item
+        Map<String, List<QuestionResponse>> questionsByAgenda = questionRepository
+                .findByEventIdOrderByTimestampAsc(eventId).stream()
+                .collect(Collectors.groupingBy(Question::getAgendaId,
+                        Collectors.mapping(questionMapper::toResponse, Collectors.toList())));
+
+        return responses.stream()
+                .map(item -> new AgendaItemResponse(item.id(), item.title(), item.startTime(), item.endTime(),
+                        item.description(), item.speaker(),
+                        questionsByAgenda.getOrDefault(item.id(), List.of()),
+                        item.polls(), item.aiSummary()))
+                .toList();
+    }
+
+    @Override
+    public List<AgendaItemResponse> getAgendaItems(String eventId, FieldSelection selection) {
+        if (selection == null) {
+            return getAgendaItems(eventId, false);
+        }
+        logger.info("Fetching agenda items for event: {} with fields {} and expansions {}", eventId,
+                selection.fields(), selection.expand());
+
+        // Projected reads skip the cache so that polls which were not expanded are never read
+        Event event = eventRepository.findProjected(eventId, SparseFields.agendaPaths(selection))
+                .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
+        List<AgendaItem> agendaItems = event.getAgenda() != null ? event.getAgenda() : List.of();
+        if (selection.expands("questions")) {
+            SparseFields.attachQuestions(agendaItems, questionRepository.findByEventIdOrderByTimestampAsc(eventId));
+        }
 
         return agendaItemMapper.toResponseList(agendaItems);
     }
@@ -91,52 +153,67 @@ public class AgendaServiceImpl implements AgendaService {
     @Override
     public String generateAgendaSummary(String eventId, String agendaId) {
         logger.info("Generating AI summary for agenda: {}", agendaId);
-        Event event = eventRepository.findById(eventId)
-                .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
+        CachedEvent cached = eventCache.require(eventId);
+        AgendaItem eventAgendaItem = cached.agendaItem(agendaId);
 
-        List<AgendaItem> agendaItems = event.getAgenda() != null ? event.getAgenda() : new ArrayList<>();
-        AgendaItem eventAgendaItem = agendaItems.stream()
-                .filter(item -> item.getId().equals(agendaId))
-                .findFirst()
-                .orElseThrow(() -> new ResourceNotFoundException("AgendaItem", "id", agendaId));
-
-        return aiSummaryService.summarizeAgenda(eventAgendaItem);
+        // Callers that read the same version of the event share one summary call
+        return summaryFlight.execute(eventId + ":" + agendaId + ":" + cached.event().getVersion(),
+                () -> aiSummaryService.summarizeAgenda(eventAgendaItem));
     }
 
     @Override
-    public AgendaItemResponse updateAgendaItem(String eventId, String agendaId, UpdateAgendaItemRequest request) {
+    public AgendaItemResponse updateAgendaItem(String eventId, String agendaId, UpdateAgendaItemRequest request,
+                                               Long expectedVersion) {
         logger.info("Updating agenda item: {} for event: {}", agendaId, eventId);
 
-        Event event = eventRepository.findById(eventId)
-                .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
-
         // Validate times
         if (request.endTime().isBefore(request.startTime())) {
             throw new ValidationException("End time must be after start time");
         }
 
-        List<AgendaItem> agendaItems = event.getAgenda() != null ? event.getAgenda() : new ArrayList<>();
-        AgendaItem agendaItem = agendaItems.stream()
-                .filter(item -> item.getId().equals(agendaId))
-                .findFirst()
-                .orElseThrow(() -> new ResourceNotFoundException("AgendaItem", "id", agendaId));
+        if (!eventRepository.existsAgendaItem(eventId, agendaId)) {
+            if (!eventRepository.existsById(eventId)) {
+                throw new ResourceNotFoundException("Event", "id", eventId);
+            }
+            throw new ResourceNotFoundException("AgendaItem", "id", agendaId);
+        }
+
+        // Regenerate AI summary with updated data, once, outside the retried save
+        AgendaItem draft = new AgendaItem();
+        draft.setId(agendaId);
+        applyUpdate(draft, request);
+        String aiSummary = aiSummaryService.summarizeAgenda(draft);
+
+        AgendaItem updatedItem = mutationRetry.execute("updateAgendaItem", () -> {
+            Event event = eventRepository.findById(eventId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
+            EventMutationRetry.requireVersion(event, expectedVersion);
+
+            List<AgendaItem> agendaItems = event.getAgenda() != null ? event.getAgenda() : new ArrayList<>();
+            AgendaItem agendaItem = agendaItems.stream()
+                    .filter(item -> item.getId().equals(agendaId))
+                    .findFirst()
+                    .orElseThrow(() -> new ResourceNotFoundException("AgendaItem", "id", agendaId));
 
-        // Update agenda item fields
+            applyUpdate(agendaItem, request);
+            agendaItem.setAiSummary(aiSummary);
+
+            event.setUpdatedAt(LocalDateTime.now());
+            eventRepository.save(event);
+            return agendaItem;
+        });
+        eventCache.invalidate(eventId);
+
+        logger.info("Agenda item updated: {}", agendaId);
+        return agendaItemMapper.toResponse(updatedItem);
+    }
+
+    private void applyUpdate(AgendaItem agendaItem, UpdateAgendaItemRequest request) {
         agendaItem.setTitle(request.title());
         agendaItem.setStartTime(request.startTime());
         agendaItem.setEndTime(request.endTime());
         agendaItem.setDescription(request.description());
         agendaItem.setSpeaker(request.speaker());
-
-        // Regenerate AI summary with updated data
-        String aiSummary = aiSummaryService.summarizeAgenda(agendaItem);
-        agendaItem.setAiSummary(aiSummary);
-
-        event.setUpdatedAt(LocalDateTime.now());
-        eventRepository.save(event);
-
-        logger.info("Agenda item updated: {}", agendaId);
-        return agendaItemMapper.toResponse(agendaItem);
     }
 }
 
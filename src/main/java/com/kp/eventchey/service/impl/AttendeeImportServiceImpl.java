@@ -0,0 +1,288 @@
+package com.kp.eventchey.service.impl;
+
+import com.kp.eventchey.domain.Attendee;
+import com.kp.eventchey.domain.AttendeeImport;
+import com.kp.eventchey.domain.AttendeeImportStatus;
+import com.kp.eventchey.domain.AttendeeStatus;
+import com.kp.eventchey.domain.Event;
+import com.kp.eventchey.dto.request.InviteAttendeeRequest;
+import com.kp.eventchey.dto.response.AttendeeImportResponse;
+import com.kp.eventchey.exception.BadRequestException;
+import com.kp.eventchey.exception.ResourceNotFoundException;
+import com.kp.eventchey.mapper.AttendeeImportMapper;
+import com.kp.eventchey.repository.AttendeeImportRepository;
+import com.kp.eventchey.service.AttendeeImportService;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Imports attendees from CSV files in the background. Rows are read as a stream and written in
+ * batches: each batch is checked against the existing attendees of the event with one indexed
+ * query, then inserted as one unordered bulk together with its invitations in the
+ * {@link EmailOutbox}, so a slow SMTP server does not hold up the import.
+ * <p>
+ * Imports run in this instance only; one interrupted by a restart stays RUNNING.
+ */
+@Service
+public class AttendeeImportServiceImpl implements AttendeeImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttendeeImportServiceImpl.class);
+
+    private final AttendeeImportRepository importRepository;
+    private final AttendeeImportMapper importMapper;
+    private final EventCache eventCache;
+    private final MongoTemplate mongoTemplate;
+    private final EmailOutbox emailOutbox;
+    private final Validator validator;
+    private final int batchSize;
+    private final int maxErrors;
+    private final ExecutorService importers;
+
+    public AttendeeImportServiceImpl(AttendeeImportRepository importRepository, AttendeeImportMapper importMapper,
+                                     EventCache eventCache, MongoTemplate mongoTemplate, EmailOutbox emailOutbox,
+                                     Validator validator,
+                                     @Value("${app.attendees.import.batch-size:1000}") int batchSize,
+                                     @Value("${app.attendees.import.max-errors:100}") int maxErrors,
+                                     @Value("${app.attendees.import.concurrency:2}") int concurrency) {
+        this.importRepository = importRepository;
+        this.importMapper = importMapper;
+        this.eventCache = eventCache;
+        this.mongoTemplate = mongoTemplate;
+        this.emailOutbox = emailOutbox;
+        this.validator = validator;
+        this.batchSize = batchSize;
+        this.maxErrors = maxErrors;
+        AtomicInteger threads = new AtomicInteger();
+        this.importers = Executors.newFixedThreadPool(concurrency, r -> {
+            Thread thread = new Thread(r, "attendee-import-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public AttendeeImportResponse startImport(String eventId, String fileName, Path csv) {
+        logger.info("Starting attendee import for event: {} from {}", eventId, fileName);
+
+        try {
+            if (!eventCache.exists(eventId)) {
+                throw new ResourceNotFoundException("Event", "id", eventId);
+            }
+            // Reject a file without the required columns now rather than as a failed import
+            Columns columns = readHeader(csv);
+
+            AttendeeImport job = new AttendeeImport(UUID.randomUUID().toString(), eventId, fileName,
+                    AttendeeImportStatus.QUEUED, LocalDateTime.now());
+            importRepository.insert(job);
+            importers.execute(() -> run(job.getId(), eventId, columns, csv));
+            return importMapper.toResponse(job);
+        } catch (RuntimeException e) {
+            deleteQuietly(csv);
+            throw e;
+        }
+    }
+
+    @Override
+    public AttendeeImportResponse getImport(String eventId, String importId) {
+        return importRepository.findByIdAndEventId(importId, eventId)
+                .map(importMapper::toResponse)
+                .orElseThrow(() -> new ResourceNotFoundException("AttendeeImport", "id", importId));
+    }
+
+    private Columns readHeader(Path csv) {
+        try (CsvRowReader rows = new CsvRowReader(Files.newBufferedReader(csv, StandardCharsets.UTF_8))) {
+            List<String> header = rows.next();
+            if (header == null) {
+                throw new BadRequestException("The CSV file is empty");
+            }
+            List<String> names = header.stream().map(name -> name.trim().toLowerCase(Locale.ROOT)).toList();
+            if (!names.contains("email") || !names.contains("name")) {
+                throw new BadRequestException("The CSV header must contain email and name columns");
+            }
+            return new Columns(names.indexOf("email"), names.indexOf("name"), names.indexOf("phone"));
+        } catch (IOException e) {
+            throw new BadRequestException("The CSV file could not be read: " + e.getMessage());
+        }
+    }
+
+    private void run(String importId, String eventId, Columns columns, Path csv) {
+        Progress progress = new Progress();
+        updateProgress(importId, progress, AttendeeImportStatus.RUNNING);
+
+        try (CsvRowReader rows = new CsvRowReader(Files.newBufferedReader(csv, StandardCharsets.UTF_8))) {
+            rows.next();
+            // Keyed by normalized email, which also drops repeats within the batch
+            Map<String, Attendee> batch = new LinkedHashMap<>();
+            long rowNumber = 1;
+            List<String> row;
+            while ((row = rows.next()) != null) {
+                rowNumber++;
+                if (row.size() == 1 && row.getFirst().isBlank()) {
+                    continue;
+                }
+                progress.rowsRead++;
+
+                Attendee attendee = toAttendee(eventId, row, columns, rowNumber, progress);
+                if (attendee == null) {
+                    continue;
+                }
+                if (batch.putIfAbsent(attendee.getNormalizedEmail(), attendee) != null) {
+                    progress.duplicates++;
+                    continue;
+                }
+                if (batch.size() == batchSize) {
+                    writeBatch(eventId, batch, progress);
+                    batch.clear();
+                    updateProgress(importId, progress, AttendeeImportStatus.RUNNING);
+                }
+            }
+            if (!batch.isEmpty()) {
+                writeBatch(eventId, batch, progress);
+            }
+
+            updateProgress(importId, progress, AttendeeImportStatus.COMPLETED);
+            logger.info("Attendee import {} completed: {} rows, {} imported, {} duplicates, {} invalid",
+                    importId, progress.rowsRead, progress.imported, progress.duplicates, progress.invalid);
+        } catch (IOException | RuntimeException e) {
+            logger.error("Attendee import {} failed after {} rows", importId, progress.rowsRead, e);
+            progress.error("Import failed: " + e.getMessage(), maxErrors + 1);
+            updateProgress(importId, progress, AttendeeImportStatus.FAILED);
+        } finally {
+            deleteQuietly(csv);
+        }
+    }
+
+    private Attendee toAttendee(String eventId, List<String> row, Columns columns, long rowNumber,
+                                Progress progress) {
+        InviteAttendeeRequest request = new InviteAttendeeRequest(
+                column(row, columns.email()), column(row, columns.phone()), column(row, columns.name()));
+        // Same constraints as the JSON invite endpoint
+        Set<ConstraintViolation<InviteAttendeeRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            progress.invalid++;
+            progress.error("Row " + rowNumber + ": " + violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(", ")), maxErrors);
+            return null;
+        }
+
+        Attendee attendee = new Attendee();
+        attendee.setId(UUID.randomUUID().toString());
+        attendee.setEventId(eventId);
+        attendee.setEmail(request.email());
+        attendee.setPhone(request.phone());
+        attendee.setName(request.name());
+        attendee.setStatus(AttendeeStatus.INVITED);
+        return attendee;
+    }
+
+    private static String column(List<String> row, int index) {
+        if (index < 0 || index >= row.size()) {
+            return null;
+        }
+        String value = row.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private void writeBatch(String eventId, Map<String, Attendee> batch, Progress progress) {
+        // One indexed lookup per batch instead of one duplicate-key error per already invited row
+        Query existingQuery = new Query(Criteria.where("eventId").is(eventId)
+                .and("normalizedEmail").in(batch.keySet()));
+        existingQuery.fields().include("normalizedEmail");
+        Set<String> existing = mongoTemplate.find(existingQuery, Attendee.class).stream()
+                .map(Attendee::getNormalizedEmail)
+                .collect(Collectors.toSet());
+
+        List<Attendee> candidates = batch.values().stream()
+                .filter(attendee -> !existing.contains(attendee.getNormalizedEmail()))
+                .toList();
+        // Rows invited concurrently since the lookup still fail on the unique index and are skipped
+        List<Attendee> inserted = emailOutbox.inviteAll(candidates);
+        progress.imported += inserted.size();
+        progress.duplicates += batch.size() - inserted.size();
+        if (inserted.isEmpty()) {
+            return;
+        }
+
+        long touched = mongoTemplate.updateFirst(EventServiceImpl.touchQuery(eventId),
+                SummaryFingerprint.xor(EventServiceImpl.touchUpdate(), SummaryFingerprint.ATTENDEE_DIGEST,
+                        SummaryFingerprint.attendees(inserted)), Event.class).getMatchedCount();
+        eventCache.invalidate(eventId);
+        if (touched == 0) {
+            throw new ResourceNotFoundException("Event", "id", eventId);
+        }
+    }
+
+    private void updateProgress(String importId, Progress progress, AttendeeImportStatus status) {
+        LocalDateTime now = LocalDateTime.now();
+        Update update = new Update()
+                .set("status", status)
+                .set("rowsRead", progress.rowsRead)
+                .set("imported", progress.imported)
+                .set("duplicates", progress.duplicates)
+                .set("invalid", progress.invalid)
+                .set("errors", progress.errors)
+                .set("updatedAt", now);
+        if (status == AttendeeImportStatus.COMPLETED || status == AttendeeImportStatus.FAILED) {
+            update.set("completedAt", now);
+        }
+        mongoTemplate.updateFirst(new Query(Criteria.where("id").is(importId)), update, AttendeeImport.class);
+    }
+
+    private static void deleteQuietly(Path csv) {
+        try {
+            Files.deleteIfExists(csv);
+        } catch (IOException e) {
+            logger.warn("Could not delete uploaded file {}", csv, e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        importers.shutdownNow();
+    }
+
+    private record Columns(int email, int name, int phone) {
+    }
+
+    private static final class Progress {
+        private long rowsRead;
+        private long imported;
+        private long duplicates;
+        private long invalid;
+        private final List<String> errors = new ArrayList<>();
+
+        void error(String message, int limit) {
+            if (errors.size() < limit) {
+                errors.add(message);
+            }
+        }
+    }
+}
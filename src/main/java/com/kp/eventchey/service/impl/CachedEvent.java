@@ -0,0 +1,66 @@
+package com.kp.eventchey.service.impl;
+
+import com.kp.eventchey.domain.AgendaItem;
+import com.kp.eventchey.domain.Event;
+import com.kp.eventchey.domain.Poll;
+import com.kp.eventchey.dto.response.EventResponse;
+import com.kp.eventchey.exception.ResourceNotFoundException;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An event as last read from MongoDB, its mapped response and id indexes of its agenda items
+ * and their polls. Entries are shared by concurrent readers, so nothing reachable from one may
+ * be modified; callers copy what they need to change.
+ */
+record CachedEvent(Event event, EventResponse response, Map<String, AgendaItem> agendaItems,
+                   Map<String, Map<String, Poll>> polls) {
+
+    static CachedEvent of(Event event, EventResponse response) {
+        Map<String, AgendaItem> agendaItems = new HashMap<>();
+        Map<String, Map<String, Poll>> polls = new HashMap<>();
+        if (event.getAgenda() != null) {
+            for (AgendaItem item : event.getAgenda()) {
+                agendaItems.put(item.getId(), item);
+                Map<String, Poll> itemPolls = new LinkedHashMap<>();
+                if (item.getPolls() != null) {
+                    item.getPolls().forEach(poll -> itemPolls.put(poll.getId(), poll));
+                }
+                polls.put(item.getId(), itemPolls);
+            }
+        }
+        return new CachedEvent(event, response, agendaItems, polls);
+    }
+
+    AgendaItem agendaItem(String agendaId) {
+        AgendaItem item = agendaItems.get(agendaId);
+        if (item == null) {
+            throw new ResourceNotFoundException("AgendaItem", "id", agendaId);
+        }
+        return item;
+    }
+
+    /**
+     * Polls of an agenda item in the order they were created.
+     */
+    List<Poll> polls(String agendaId) {
+        agendaItem(agendaId);
+        return List.copyOf(polls.get(agendaId).values());
+    }
+
+    /**
+     * Rough size for the cache weigher: the event plus each agenda item, poll and poll option.
+     */
+    int weight() {
+        int weight = 1 + agendaItems.size();
+        for (Map<String, Poll> itemPolls : polls.values()) {
+            for (Poll poll : itemPolls.values()) {
+                weight += 1 + (poll.getOptions() != null ? poll.getOptions().size() : 0);
+            }
+        }
+        return weight;
+    }
+}
@@ -0,0 +1,79 @@
+package com.kp.eventchey.service.impl;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads RFC 4180 CSV one record at a time: fields are separated by commas and may be quoted,
+ * in which case they can contain commas, line breaks and doubled quotes.
+ */
+final class CsvRowReader implements Closeable {
+
+    private final BufferedReader reader;
+    private boolean first = true;
+
+    CsvRowReader(Reader reader) {
+        this.reader = new BufferedReader(reader);
+    }
+
+    /**
+     * @return the fields of the next record, or null at the end of the input
+     */
+    List<String> next() throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            return null;
+        }
+        // Spreadsheet exports often start with a byte order mark
+        if (first && line.startsWith("\uFEFF")) {
+            line = line.substring(1);
+        }
+        first = false;
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c != '"') {
+                        field.append(c);
+                    } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            if (!quoted) {
+                break;
+            }
+            // A quoted field continues on the next line
+            line = reader.readLine();
+            if (line == null) {
+                throw new IOException("Unterminated quoted field at end of file");
+            }
+            field.append('\n');
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,91 @@
+package com.kp.eventchey.service.impl;
+
+import com.kp.eventchey.domain.Attendee;
+import com.kp.eventchey.domain.OutboxEmail;
+import com.kp.eventchey.domain.OutboxEmailStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Write side of the email outbox. Invitations are written before the attendees they belong to,
+ * as HELD. Once the attendee insert returns, the invitations of inserted attendees are released
+ * to the {@link EmailOutboxWorkers} and those of attendees that were already invited are dropped.
+ * <p>
+ * A multi-document transaction would need a replica set, so the two collections are kept
+ * consistent by write order instead: an attendee never exists without its invitation, and
+ * invitations left HELD by a crash between the writes are resolved by the workers later.
+ */
+@Component
+public class EmailOutbox {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailOutbox.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean enabled;
+
+    public EmailOutbox(MongoTemplate mongoTemplate, @Value("${app.email.enabled}") boolean enabled) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Inserts the attendees and queues an invitation for each one that was not already invited.
+     *
+     * @return the attendees that were actually inserted
+     */
+    public List<Attendee> inviteAll(List<Attendee> candidates) {
+        if (!enabled || candidates.isEmpty()) {
+            return EventServiceImpl.insertNewAttendees(mongoTemplate, candidates);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        mongoTemplate.insert(candidates.stream()
+                .map(attendee -> new OutboxEmail(attendee.getEventId(), attendee.getId(), OutboxEmailStatus.HELD, now))
+                .toList(), OutboxEmail.class);
+
+        List<Attendee> inserted = EventServiceImpl.insertNewAttendees(mongoTemplate, candidates);
+
+        Set<String> insertedIds = inserted.stream().map(Attendee::getId).collect(Collectors.toSet());
+        List<String> dropped = new ArrayList<>();
+        for (Attendee candidate : candidates) {
+            if (!insertedIds.contains(candidate.getId())) {
+                dropped.add(candidate.getId());
+            }
+        }
+        resolveHeld(insertedIds, dropped);
+        logger.info("Queued {} invitations", inserted.size());
+        return inserted;
+    }
+
+    /**
+     * Releases the held invitations of the given attendees to the workers and deletes the others.
+     */
+    void resolveHeld(Collection<String> releasedAttendeeIds, Collection<String> droppedAttendeeIds) {
+        if (!releasedAttendeeIds.isEmpty()) {
+            mongoTemplate.updateMulti(heldQuery(releasedAttendeeIds),
+                    new Update().set("status", OutboxEmailStatus.PENDING).set("nextAttemptAt", LocalDateTime.now()),
+                    OutboxEmail.class);
+        }
+        if (!droppedAttendeeIds.isEmpty()) {
+            mongoTemplate.remove(heldQuery(droppedAttendeeIds), OutboxEmail.class);
+        }
+    }
+
+    private static Query heldQuery(Collection<String> attendeeIds) {
+        List<String> ids = attendeeIds.stream().map(OutboxEmail::invitationId).toList();
+        return new Query(Criteria.where("id").in(ids).and("status").is(OutboxEmailStatus.HELD));
+    }
+}
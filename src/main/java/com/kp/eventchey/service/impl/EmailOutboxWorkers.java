@@ -0,0 +1,336 @@
+package com.kp.eventchey.service.impl;
+
+import com.kp.eventchey.domain.Attendee;
+import com.kp.eventchey.domain.Event;
+import com.kp.eventchey.domain.OutboxEmail;
+import com.kp.eventchey.domain.OutboxEmailStatus;
+import com.kp.eventchey.exception.ResourceNotFoundException;
+import com.kp.eventchey.repository.AttendeeRepository;
+import com.kp.eventchey.service.EmailService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.mail.MailException;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Background senders for the email outbox. Each worker claims one due message at a time with a
+ * lease; a message whose lease runs out, because its worker died mid-send, is claimed again by
+ * any instance. Failed sends are retried with exponential backoff and jitter until the attempts
+ * run out, and every send first takes a token from the {@link SmtpRateLimiter} of the SMTP host.
+ * <p>
+ * Delivery is at least once: a worker that sends and then loses its lease before recording the
+ * send lets the message go out twice.
+ */
+@Component
+public class EmailOutboxWorkers {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailOutboxWorkers.class);
+    private static final int HOLD_RESOLUTION_BATCH = 500;
+
+    private final MongoTemplate mongoTemplate;
+    private final EmailOutbox emailOutbox;
+    private final EventCache eventCache;
+    private final AttendeeRepository attendeeRepository;
+    private final EmailService emailService;
+    private final SmtpRateLimiter rateLimiter;
+    private final String smtpHost;
+    private final String owner = UUID.randomUUID().toString();
+    private final int maxAttempts;
+    private final long leaseMs;
+    private final long backoffInitialMs;
+    private final long backoffMaxMs;
+    private final long holdTimeoutMs;
+    private final int workerCount;
+    private final long pollIntervalMs;
+    private final long sweepIntervalMs;
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter failed;
+    private final ScheduledExecutorService workers;
+    private volatile boolean stopping;
+
+    public EmailOutboxWorkers(MongoTemplate mongoTemplate,
+                              EmailOutbox emailOutbox,
+                              EventCache eventCache,
+                              AttendeeRepository attendeeRepository,
+                              EmailService emailService,
+                              SmtpRateLimiter rateLimiter,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.email.enabled}") boolean enabled,
+                              @Value("${spring.mail.host}") String smtpHost,
+                              @Value("${app.email.outbox.workers:2}") int workerCount,
+                              @Value("${app.email.outbox.poll-interval-ms:1000}") long pollIntervalMs,
+                              @Value("${app.email.outbox.sweep-interval-ms:5000}") long sweepIntervalMs,
+                              @Value("${app.email.outbox.lease-ms:60000}") long leaseMs,
+                              @Value("${app.email.outbox.max-attempts:6}") int maxAttempts,
+                              @Value("${app.email.outbox.backoff-initial-ms:30000}") long backoffInitialMs,
+                              @Value("${app.email.outbox.backoff-max-ms:3600000}") long backoffMaxMs,
+                              @Value("${app.email.outbox.hold-timeout-ms:60000}") long holdTimeoutMs) {
+        this.mongoTemplate = mongoTemplate;
+        this.emailOutbox = emailOutbox;
+        this.eventCache = eventCache;
+        this.attendeeRepository = attendeeRepository;
+        this.emailService = emailService;
+        this.rateLimiter = rateLimiter;
+        this.smtpHost = smtpHost;
+        this.maxAttempts = maxAttempts;
+        this.leaseMs = leaseMs;
+        this.backoffInitialMs = backoffInitialMs;
+        this.backoffMaxMs = backoffMaxMs;
+        this.holdTimeoutMs = holdTimeoutMs;
+        this.workerCount = workerCount;
+        this.pollIntervalMs = pollIntervalMs;
+        this.sweepIntervalMs = sweepIntervalMs;
+        this.sent = Counter.builder("email.outbox.sent")
+                .description("Outbox emails sent")
+                .register(meterRegistry);
+        this.retried = Counter.builder("email.outbox.retried")
+                .description("Outbox email sends that failed and were scheduled again")
+                .register(meterRegistry);
+        this.failed = Counter.builder("email.outbox.failed")
+                .description("Outbox emails given up on")
+                .register(meterRegistry);
+
+        if (enabled) {
+            AtomicInteger threads = new AtomicInteger();
+            this.workers = Executors.newScheduledThreadPool(workerCount + 2, r -> {
+                Thread thread = new Thread(r, "email-outbox-" + threads.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            this.workers = null;
+        }
+    }
+
+    /**
+     * Starts sending once the application is ready, rather than while the context is starting.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (workers == null) {
+            return;
+        }
+        for (int i = 0; i < workerCount; i++) {
+            workers.scheduleWithFixedDelay(this::drain, pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS);
+        }
+        workers.scheduleWithFixedDelay(this::failExhausted, sweepIntervalMs, sweepIntervalMs,
+                TimeUnit.MILLISECONDS);
+        workers.scheduleWithFixedDelay(this::resolveStaleHolds, holdTimeoutMs, holdTimeoutMs,
+                TimeUnit.MILLISECONDS);
+        logger.info("Email outbox started with {} workers for {}", workerCount, smtpHost);
+    }
+
+    /**
+     * Sends due messages until none is left.
+     */
+    private void drain() {
+        try {
+            while (!stopping) {
+                rateLimiter.acquire(smtpHost);
+                OutboxEmail email = claim();
+                if (email == null) {
+                    return;
+                }
+                deliver(email);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            logger.error("Email outbox worker failed", e);
+        }
+    }
+
+    private OutboxEmail claim() {
+        LocalDateTime now = LocalDateTime.now();
+        // Messages abandoned by a dead worker first, then due ones in order
+        OutboxEmail abandoned = claim(new Query(Criteria.where("status").is(OutboxEmailStatus.SENDING)
+                .and("leaseExpiresAt").lte(now)
+                .and("attempts").lt(maxAttempts)), now);
+        if (abandoned != null) {
+            return abandoned;
+        }
+        return claim(new Query(Criteria.where("status").is(OutboxEmailStatus.PENDING)
+                .and("nextAttemptAt").lte(now)).with(Sort.by("nextAttemptAt")), now);
+    }
+
+    /**
+     * Fails messages whose lease expired on their last attempt, which claims skip. Runs on its own
+     * schedule so that claiming a message stays a single write.
+     */
+    private void failExhausted() {
+        try {
+            Query exhausted = new Query(Criteria.where("status").is(OutboxEmailStatus.SENDING)
+                    .and("leaseExpiresAt").lte(LocalDateTime.now())
+                    .and("attempts").gte(maxAttempts));
+            long given = mongoTemplate.updateMulti(exhausted, new Update()
+                    .set("status", OutboxEmailStatus.FAILED)
+                    .set("lastError", "The worker stopped during the last attempt")
+                    .unset("leaseOwner")
+                    .unset("leaseExpiresAt"), OutboxEmail.class).getModifiedCount();
+            if (given > 0) {
+                failed.increment(given);
+                logger.error("Gave up on {} outbox emails whose lease expired after {} attempts", given, maxAttempts);
+            }
+        } catch (RuntimeException e) {
+            logger.error("Failing exhausted outbox emails failed", e);
+        }
+    }
+
+    private OutboxEmail claim(Query query, LocalDateTime now) {
+        Update lease = new Update()
+                .set("status", OutboxEmailStatus.SENDING)
+                .set("leaseOwner", owner)
+                .set("leaseExpiresAt", now.plusNanos(TimeUnit.MILLISECONDS.toNanos(leaseMs)))
+                .inc("attempts", 1);
+        return mongoTemplate.findAndModify(query, lease, FindAndModifyOptions.options().returnNew(true),
+                OutboxEmail.class);
+    }
+
+    private void deliver(OutboxEmail email) {
+        Attendee attendee = attendeeRepository.findById(email.getAttendeeId()).orElse(null);
+        if (attendee == null) {
+            finish(email, OutboxEmailStatus.FAILED, "Attendee was removed");
+            return;
+        }
+        Event event;
+        try {
+            event = eventCache.require(email.getEventId()).event();
+        } catch (ResourceNotFoundException e) {
+            finish(email, OutboxEmailStatus.FAILED, "Event was deleted");
+            return;
+        }
+
+        try {
+            emailService.deliverInvitationEmail(event, attendee);
+            finish(email, OutboxEmailStatus.SENT, null);
+            sent.increment();
+        } catch (MessagingException | MailException e) {
+            if (email.getAttempts() >= maxAttempts) {
+                logger.error("Giving up on {} after {} attempts", email.getId(), email.getAttempts(), e);
+                finish(email, OutboxEmailStatus.FAILED, e.getMessage());
+            } else {
+                long delayMs = backoffMs(email.getAttempts());
+                logger.warn("Sending {} failed, retrying in {} ms: {}", email.getId(), delayMs, e.getMessage());
+                retry(email, delayMs, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Exponential backoff with jitter, so messages that failed together are not retried together.
+     */
+    private long backoffMs(int attempts) {
+        long delayMs = Math.min(backoffMaxMs, backoffInitialMs << Math.min(attempts - 1, 30));
+        return ThreadLocalRandom.current().nextLong(delayMs / 2, delayMs + 1);
+    }
+
+    private void retry(OutboxEmail email, long delayMs, String error) {
+        Update update = new Update()
+                .set("status", OutboxEmailStatus.PENDING)
+                .set("nextAttemptAt", LocalDateTime.now().plusNanos(TimeUnit.MILLISECONDS.toNanos(delayMs)))
+                .set("lastError", error)
+                .unset("leaseOwner")
+                .unset("leaseExpiresAt");
+        if (release(email, update)) {
+            retried.increment();
+        }
+    }
+
+    private void finish(OutboxEmail email, OutboxEmailStatus status, String error) {
+        Update update = new Update()
+                .set("status", status)
+                .set("lastError", error)
+                .unset("leaseOwner")
+                .unset("leaseExpiresAt");
+        if (status == OutboxEmailStatus.SENT) {
+            update.set("sentAt", LocalDateTime.now());
+        }
+        if (release(email, update) && status == OutboxEmailStatus.FAILED) {
+            failed.increment();
+        }
+    }
+
+    /**
+     * Applies the update only while this worker still holds the lease.
+     */
+    private boolean release(OutboxEmail email, Update update) {
+        Query leased = new Query(Criteria.where("id").is(email.getId())
+                .and("status").is(OutboxEmailStatus.SENDING)
+                .and("leaseOwner").is(owner));
+        boolean released = mongoTemplate.updateFirst(leased, update, OutboxEmail.class).getMatchedCount() > 0;
+        if (!released) {
+            logger.warn("Lease on {} expired before it was released", email.getId());
+        }
+        return released;
+    }
+
+    /**
+     * Resolves invitations left HELD by an invite that stopped between the outbox and attendee
+     * writes: released when the attendee was written, dropped otherwise.
+     */
+    private void resolveStaleHolds() {
+        try {
+            // HELD messages keep their creation time in nextAttemptAt, which is indexed with status
+            Query stale = new Query(Criteria.where("status").is(OutboxEmailStatus.HELD)
+                    .and("nextAttemptAt").lte(LocalDateTime.now().minusNanos(
+                            TimeUnit.MILLISECONDS.toNanos(holdTimeoutMs))))
+                    .limit(HOLD_RESOLUTION_BATCH);
+            stale.fields().include("attendeeId");
+            List<String> attendeeIds = mongoTemplate.find(stale, OutboxEmail.class).stream()
+                    .map(OutboxEmail::getAttendeeId)
+                    .toList();
+            if (attendeeIds.isEmpty()) {
+                return;
+            }
+
+            Query attendees = new Query(Criteria.where("id").in(attendeeIds));
+            attendees.fields().include("id");
+            Set<String> written = mongoTemplate.find(attendees, Attendee.class).stream()
+                    .map(Attendee::getId)
+                    .collect(Collectors.toSet());
+            List<String> dropped = new ArrayList<>(attendeeIds);
+            dropped.removeAll(written);
+            emailOutbox.resolveHeld(written, dropped);
+            logger.info("Resolved {} stale held invitations, {} released", attendeeIds.size(), written.size());
+        } catch (RuntimeException e) {
+            logger.error("Resolving held invitations failed", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (workers == null) {
+            return;
+        }
+        // Sends in progress finish; anything cut short is claimed again once its lease expires
+        stopping = true;
+        workers.shutdown();
+        workers.awaitTermination(30, TimeUnit.SECONDS);
+    }
+}
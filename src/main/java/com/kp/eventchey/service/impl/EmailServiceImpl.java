@@ -1,5 +1,7 @@
 package com.kp.eventchey.service.impl;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.kp.eventchey.domain.Attendee;
 import com.kp.eventchey.domain.Event;
 import com.kp.eventchey.service.EmailService;
@@ -14,7 +16,9 @@ import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
 import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class EmailServiceImpl implements EmailService {
@@ -22,128 +26,7 @@ public class EmailServiceImpl implements EmailService {
     private static final Logger logger = LoggerFactory.getLogger(EmailServiceImpl.class);
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("MMMM dd, yyyy 'at' hh:mm a");
 
-    private final JavaMailSender mailSender;
-    private final String fromEmail;
-    private final boolean emailEnabled;
-
-    public EmailServiceImpl(
-            JavaMailSender mailSender,
-            @Value("${app.email.from}") String fromEmail,
-            @Value("${app.email.enabled}") boolean emailEnabled) {
-        this.mailSender = mailSender;
-        this.fromEmail = fromEmail;
-        this.emailEnabled = emailEnabled;
-    }
-
-    @Override
-    public void sendInvitationEmail(Event event, Attendee attendee) {
-        if (!emailEnabled) {
-            logger.info("Email sending is disabled. Skipping invitation email to: {}", attendee.getEmail());
-            return;
-        }
-
-        try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-
-            helper.setFrom(fromEmail);
-            helper.setTo(attendee.getEmail());
-            helper.setSubject("You're Invited: " + event.getName());
-            helper.setText(buildInvitationEmailBody(event, attendee), true);
-
-            mailSender.send(message);
-            logger.info("Invitation email sent successfully to: {}", attendee.getEmail());
-        } catch (MessagingException | MailException e) {
-            logger.error("Failed to send invitation email to: {}", attendee.getEmail(), e);
-            // Don't throw exception - we don't want email failures to break the invitation process
-        }
-    }
-
-    @Override
-    public void sendInvitationEmails(Event event, List<Attendee> attendees) {
-        if (!emailEnabled) {
-            logger.info("Email sending is disabled. Skipping invitation emails for {} attendees", attendees.size());
-            return;
-        }
-
-        logger.info("Sending invitation emails to {} attendees", attendees.size());
-        for (Attendee attendee : attendees) {
-            sendInvitationEmail(event, attendee);
-        }
-    }
-
-    @Override
-    public void sendEventUpdateNotification(Event event) {
-        if (!emailEnabled) {
-            logger.info("Email sending is disabled. Skipping event update notification");
-            return;
-        }
-
-        if (event.getAttendees() == null || event.getAttendees().isEmpty()) {
-            logger.info("No attendees to notify for event: {}", event.getId());
-            return;
-        }
-
-        logger.info("Sending event update notification to {} attendees", event.getAttendees().size());
-        for (Attendee attendee : event.getAttendees()) {
-            sendUpdateEmail(event, attendee);
-        }
-    }
-
-    @Override
-    public void sendEventCancellationNotification(Event event) {
-        if (!emailEnabled) {
-            logger.info("Email sending is disabled. Skipping event cancellation notification");
-            return;
-        }
-
-        if (event.getAttendees() == null || event.getAttendees().isEmpty()) {
-            logger.info("No attendees to notify for event: {}", event.getId());
-            return;
-        }
-
-        logger.info("Sending cancellation notification to {} attendees", event.getAttendees().size());
-        for (Attendee attendee : event.getAttendees()) {
-            sendCancellationEmail(event, attendee);
-        }
-    }
-
-    private void sendUpdateEmail(Event event, Attendee attendee) {
-        try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-
-            helper.setFrom(fromEmail);
-            helper.setTo(attendee.getEmail());
-            helper.setSubject("Event Updated: " + event.getName());
-            helper.setText(buildUpdateEmailBody(event, attendee), true);
-
-            mailSender.send(message);
-            logger.info("Update notification sent successfully to: {}", attendee.getEmail());
-        } catch (MessagingException | MailException e) {
-            logger.error("Failed to send update notification to: {}", attendee.getEmail(), e);
-        }
-    }
-
-    private void sendCancellationEmail(Event event, Attendee attendee) {
-        try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-
-            helper.setFrom(fromEmail);
-            helper.setTo(attendee.getEmail());
-            helper.setSubject("Event Cancelled: " + event.getName());
-            helper.setText(buildCancellationEmailBody(event, attendee), true);
-
-            mailSender.send(message);
-            logger.info("Cancellation notification sent successfully to: {}", attendee.getEmail());
-        } catch (MessagingException | MailException e) {
-            logger.error("Failed to send cancellation notification to: {}", attendee.getEmail(), e);
-        }
-    }
-
-    private String buildInvitationEmailBody(Event event, Attendee attendee) {
-        return String.format("""
+    static final EmailTemplate INVITATION_TEMPLATE = EmailTemplate.compile("""
                 <!DOCTYPE html>
                 <html>
                 <head>
@@ -164,20 +47,20 @@ public class EmailServiceImpl implements EmailService {
                             <h1>You're Invited! 🎉</h1>
                         </div>
                         <div class="content">
-                            <p>Hi %s,</p>
+                            <p>Hi {{attendeeName}},</p>
                             <p>You've been invited to attend the following event:</p>
                             
                             <div class="event-details">
-                                <h2 style="margin-top: 0; color: #4CAF50;">%s</h2>
+                                <h2 style="margin-top: 0; color: #4CAF50;">{{eventName}}</h2>
                                 <div class="detail-row">
-                                    <span class="label">📅 Starts:</span> %s
+                                    <span class="label">📅 Starts:</span> {{startDate}}
                                 </div>
                                 <div class="detail-row">
-                                    <span class="label">🏁 Ends:</span> %s
+                                    <span class="label">🏁 Ends:</span> {{endDate}}
                                 </div>
-                                %s
+                                {{descriptionRow}}
                                 <div class="detail-row">
-                                    <span class="label">👤 Organized by:</span> %s
+                                    <span class="label">👤 Organized by:</span> {{organizer}}
                                 </div>
                             </div>
                             
@@ -190,18 +73,9 @@ public class EmailServiceImpl implements EmailService {
                     </div>
                 </body>
                 </html>
-                """,
-                attendee.getName(),
-                event.getName(),
-                event.getStartDate().format(DATE_FORMATTER),
-                event.getEndDate().format(DATE_FORMATTER),
-                event.getDescription() != null ? String.format("<div class=\"detail-row\"><span class=\"label\">📝 Description:</span> %s</div>", event.getDescription()) : "",
-                event.getCreatedBy()
-        );
-    }
+                """);
 
-    private String buildUpdateEmailBody(Event event, Attendee attendee) {
-        return String.format("""
+    private static final EmailTemplate UPDATE_TEMPLATE = EmailTemplate.compile("""
                 <!DOCTYPE html>
                 <html>
                 <head>
@@ -222,18 +96,18 @@ public class EmailServiceImpl implements EmailService {
                             <h1>Event Updated ℹ️</h1>
                         </div>
                         <div class="content">
-                            <p>Hi %s,</p>
+                            <p>Hi {{attendeeName}},</p>
                             <p>The event details have been updated:</p>
                             
                             <div class="event-details">
-                                <h2 style="margin-top: 0; color: #FF9800;">%s</h2>
+                                <h2 style="margin-top: 0; color: #FF9800;">{{eventName}}</h2>
                                 <div class="detail-row">
-                                    <span class="label">📅 Starts:</span> %s
+                                    <span class="label">📅 Starts:</span> {{startDate}}
                                 </div>
                                 <div class="detail-row">
-                                    <span class="label">🏁 Ends:</span> %s
+                                    <span class="label">🏁 Ends:</span> {{endDate}}
                                 </div>
-                                %s
+                                {{descriptionRow}}
                             </div>
                             
                             <p>Please make note of these changes.</p>
@@ -245,17 +119,9 @@ public class EmailServiceImpl implements EmailService {
                     </div>
                 </body>
                 </html>
-                """,
-                attendee.getName(),
-                event.getName(),
-                event.getStartDate().format(DATE_FORMATTER),
-                event.getEndDate().format(DATE_FORMATTER),
-                event.getDescription() != null ? String.format("<div class=\"detail-row\"><span class=\"label\">📝 Description:</span> %s</div>", event.getDescription()) : ""
-        );
-    }
+                """);
 
-    private String buildCancellationEmailBody(Event event, Attendee attendee) {
-        return String.format("""
+    private static final EmailTemplate CANCELLATION_TEMPLATE = EmailTemplate.compile("""
                 <!DOCTYPE html>
                 <html>
                 <head>
@@ -276,13 +142,13 @@ public class EmailServiceImpl implements EmailService {
                             <h1>Event Cancelled ❌</h1>
                         </div>
                         <div class="content">
-                            <p>Hi %s,</p>
+                            <p>Hi {{attendeeName}},</p>
                             <p>We regret to inform you that the following event has been cancelled:</p>
                             
                             <div class="event-details">
-                                <h2 style="margin-top: 0; color: #f44336;">%s</h2>
+                                <h2 style="margin-top: 0; color: #f44336;">{{eventName}}</h2>
                                 <div class="detail-row">
-                                    <span class="label">📅 Was scheduled:</span> %s to %s
+                                    <span class="label">📅 Was scheduled:</span> {{startDate}} to {{endDate}}
                                 </div>
                             </div>
                             
@@ -295,12 +161,151 @@ public class EmailServiceImpl implements EmailService {
                     </div>
                 </body>
                 </html>
-                """,
-                attendee.getName(),
-                event.getName(),
-                event.getStartDate().format(DATE_FORMATTER),
-                event.getEndDate().format(DATE_FORMATTER)
-        );
+                """);
+
+    private final JavaMailSender mailSender;
+    private final SmtpTransportPool transportPool;
+    private final String fromEmail;
+    private final boolean emailEnabled;
+    // Invitations sent one at a time by the outbox workers reuse the event part while it is unchanged
+    private final Cache<String, EmailTemplate> invitationTemplates = Caffeine.newBuilder()
+            .maximumSize(256)
+            .build();
+
+    public EmailServiceImpl(
+            JavaMailSender mailSender,
+            SmtpTransportPool transportPool,
+            @Value("${app.email.from}") String fromEmail,
+            @Value("${app.email.enabled}") boolean emailEnabled) {
+        this.mailSender = mailSender;
+        this.transportPool = transportPool;
+        this.fromEmail = fromEmail;
+        this.emailEnabled = emailEnabled;
     }
-}
 
+    @Override
+    public void sendInvitationEmail(Event event, Attendee attendee) {
+        if (!emailEnabled) {
+            logger.info("Email sending is disabled. Skipping invitation email to: {}", attendee.getEmail());
+            return;
+        }
+
+        try {
+            deliverInvitationEmail(event, attendee);
+        } catch (MessagingException | MailException e) {
+            logger.error("Failed to send invitation email to: {}", attendee.getEmail(), e);
+            // Don't throw exception - we don't want email failures to break the invitation process
+        }
+    }
+
+    @Override
+    public void deliverInvitationEmail(Event event, Attendee attendee) throws MessagingException {
+        EmailTemplate body = invitationTemplates.get(event.getId() + ":" + event.getVersion(),
+                key -> INVITATION_TEMPLATE.bind(eventSlots(event)));
+        transportPool.send(buildInvitationMessage(event, body, attendee));
+        logger.info("Invitation email sent successfully to: {}", attendee.getEmail());
+    }
+
+    @Override
+    public void sendInvitationEmails(Event event, List<Attendee> attendees) {
+        if (!emailEnabled) {
+            logger.info("Email sending is disabled. Skipping invitation emails for {} attendees", attendees.size());
+            return;
+        }
+
+        logger.info("Sending invitation emails to {} attendees", attendees.size());
+        EmailTemplate body = INVITATION_TEMPLATE.bind(eventSlots(event));
+        sendAll(attendees, attendee -> buildInvitationMessage(event, body, attendee), "invitation email");
+    }
+
+    @Override
+    public void sendEventUpdateNotification(Event event) {
+        if (!emailEnabled) {
+            logger.info("Email sending is disabled. Skipping event update notification");
+            return;
+        }
+
+        if (event.getAttendees() == null || event.getAttendees().isEmpty()) {
+            logger.info("No attendees to notify for event: {}", event.getId());
+            return;
+        }
+
+        logger.info("Sending event update notification to {} attendees", event.getAttendees().size());
+        EmailTemplate body = UPDATE_TEMPLATE.bind(eventSlots(event));
+        sendAll(event.getAttendees(), attendee -> buildMessage(attendee, "Event Updated: " + event.getName(),
+                render(body, attendee)), "update notification");
+    }
+
+    @Override
+    public void sendEventCancellationNotification(Event event) {
+        if (!emailEnabled) {
+            logger.info("Email sending is disabled. Skipping event cancellation notification");
+            return;
+        }
+
+        if (event.getAttendees() == null || event.getAttendees().isEmpty()) {
+            logger.info("No attendees to notify for event: {}", event.getId());
+            return;
+        }
+
+        logger.info("Sending cancellation notification to {} attendees", event.getAttendees().size());
+        EmailTemplate body = CANCELLATION_TEMPLATE.bind(eventSlots(event));
+        sendAll(event.getAttendees(), attendee -> buildMessage(attendee, "Event Cancelled: " + event.getName(),
+                render(body, attendee)), "cancellation notification");
+    }
+
+    /**
+     * Sends one message per attendee over the pooled SMTP connections, logging failures instead of
+     * throwing them.
+     */
+    private void sendAll(List<Attendee> attendees, MessageBuilder builder, String kind) {
+        int sent = 0;
+        for (Attendee attendee : attendees) {
+            try {
+                transportPool.send(builder.build(attendee));
+                sent++;
+            } catch (MessagingException | MailException e) {
+                logger.error("Failed to send {} to: {}", kind, attendee.getEmail(), e);
+            }
+        }
+        logger.info("Sent {} of {} {}s", sent, attendees.size(), kind);
+    }
+
+    private MimeMessage buildInvitationMessage(Event event, EmailTemplate body, Attendee attendee)
+            throws MessagingException {
+        return buildMessage(attendee, "You're Invited: " + event.getName(), render(body, attendee));
+    }
+
+    private MimeMessage buildMessage(Attendee attendee, String subject, String html) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+
+        helper.setFrom(fromEmail);
+        helper.setTo(attendee.getEmail());
+        helper.setSubject(subject);
+        helper.setText(html, true);
+        return message;
+    }
+
+    @FunctionalInterface
+    private interface MessageBuilder {
+        MimeMessage build(Attendee attendee) throws MessagingException;
+    }
+
+    /**
+     * Slot values shared by every recipient of an event's emails, formatted once per send.
+     */
+    static Map<String, String> eventSlots(Event event) {
+        Map<String, String> slots = new HashMap<>();
+        slots.put("eventName", String.valueOf(event.getName()));
+        slots.put("startDate", event.getStartDate().format(DATE_FORMATTER));
+        slots.put("endDate", event.getEndDate().format(DATE_FORMATTER));
+        slots.put("descriptionRow", event.getDescription() != null ? String.format("<div class=\"detail-row\"><span class=\"label\">📝 Description:</span> %s</div>", event.getDescription()) : "");
+        slots.put("organizer", String.valueOf(event.getCreatedBy()));
+        return slots;
+    }
+
+    private static String render(EmailTemplate eventTemplate, Attendee attendee) {
+        return eventTemplate.render(Map.of("attendeeName", String.valueOf(attendee.getName())));
+    }
+}
@@ -0,0 +1,91 @@
+package com.kp.eventchey.service.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Email body compiled once from a template with {@code {{slot}}} placeholders into alternating
+ * text and slot segments. Binding the slots that are the same for every recipient of a send merges
+ * them into the surrounding text, so rendering one message only copies a few strings and fills in
+ * the per-recipient slots.
+ */
+final class EmailTemplate {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    // One more text segment than slots: text, slot, text, ..., slot, text
+    private final List<String> texts;
+    private final List<String> slots;
+    private final int textLength;
+
+    private EmailTemplate(List<String> texts, List<String> slots) {
+        this.texts = texts;
+        this.slots = slots;
+        this.textLength = texts.stream().mapToInt(String::length).sum();
+    }
+
+    static EmailTemplate compile(String source) {
+        List<String> texts = new ArrayList<>();
+        List<String> slots = new ArrayList<>();
+        int from = 0;
+        int open;
+        while ((open = source.indexOf(OPEN, from)) >= 0) {
+            int close = source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed slot at " + open);
+            }
+            texts.add(source.substring(from, open));
+            slots.add(source.substring(open + OPEN.length(), close).trim());
+            from = close + CLOSE.length();
+        }
+        texts.add(source.substring(from));
+        return new EmailTemplate(List.copyOf(texts), List.copyOf(slots));
+    }
+
+    /**
+     * Fills in the slots that have a value and returns the template of the remaining ones.
+     */
+    EmailTemplate bind(Map<String, String> values) {
+        List<String> texts = new ArrayList<>();
+        List<String> slots = new ArrayList<>();
+        StringBuilder text = new StringBuilder(this.texts.getFirst());
+        for (int i = 0; i < this.slots.size(); i++) {
+            String slot = this.slots.get(i);
+            if (values.containsKey(slot)) {
+                text.append(values.get(slot));
+            } else {
+                texts.add(text.toString());
+                slots.add(slot);
+                text.setLength(0);
+            }
+            text.append(this.texts.get(i + 1));
+        }
+        texts.add(text.toString());
+        return new EmailTemplate(List.copyOf(texts), List.copyOf(slots));
+    }
+
+    /**
+     * Renders the template; every remaining slot needs a value.
+     */
+    String render(Map<String, String> values) {
+        String[] filled = new String[slots.size()];
+        int length = textLength;
+        for (int i = 0; i < filled.length; i++) {
+            String slot = slots.get(i);
+            if (!values.containsKey(slot)) {
+                throw new IllegalArgumentException("No value for slot " + slot);
+            }
+            filled[i] = String.valueOf(values.get(slot));
+            length += filled[i].length();
+        }
+
+        StringBuilder out = new StringBuilder(length);
+        out.append(texts.getFirst());
+        for (int i = 0; i < filled.length; i++) {
+            out.append(filled[i]).append(texts.get(i + 1));
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,93 @@
+package com.kp.eventchey.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kp.eventchey.exception.ResourceNotFoundException;
+import com.kp.eventchey.mapper.EventMapper;
+import com.kp.eventchey.repository.EventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Read-through cache of events by id for the blocking read paths. Entries are weighed by the
+ * size of their agenda and evicted by Caffeine's TinyLFU policy once the total weight is reached.
+ * <p>
+ * Every service method that writes an event invalidates its entry afterwards. Caffeine loads
+ * are atomic per key, so a load racing a write either finishes before the invalidation or
+ * reads the written document. Writes made by other instances are only seen once an entry
+ * expires, which bounds how stale a read can be.
+ * Hit, miss and eviction counts are published as the {@code cache.*} meters tagged
+ * {@code cache=events}.
+ */
+@Component
+public class EventCache {
+
+    private final EventRepository eventRepository;
+    private final EventMapper eventMapper;
+    private final boolean enabled;
+    private final Cache<String, CachedEvent> cache;
+
+    public EventCache(EventRepository eventRepository, EventMapper eventMapper, MeterRegistry meterRegistry,
+                      @Value("${app.events.cache.enabled:true}") boolean enabled,
+                      @Value("${app.events.cache.max-weight:50000}") long maxWeight,
+                      @Value("${app.events.cache.expire-after-write-ms:30000}") long expireAfterWriteMs) {
+        this.eventRepository = eventRepository;
+        this.eventMapper = eventMapper;
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxWeight)
+                .weigher((String eventId, CachedEvent cached) -> cached.weight())
+                .expireAfterWrite(Duration.ofMillis(expireAfterWriteMs))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "events");
+    }
+
+    /**
+     * Returns the cached event, reading it from MongoDB on a miss.
+     */
+    CachedEvent require(String eventId) {
+        CachedEvent cached = enabled ? cache.get(eventId, this::load) : load(eventId);
+        if (cached == null) {
+            throw new ResourceNotFoundException("Event", "id", eventId);
+        }
+        return cached;
+    }
+
+    boolean exists(String eventId) {
+        return enabled ? cache.get(eventId, this::load) != null : eventRepository.existsById(eventId);
+    }
+
+    /**
+     * Reads only the current version of the event. A cached entry of another version is dropped,
+     * so a read that follows returns that version or a later one.
+     */
+    Long currentVersion(String eventId) {
+        Long version = eventRepository.findVersion(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId))
+                .version();
+        evictIfStale(eventId, version);
+        return version;
+    }
+
+    void evictIfStale(String eventId, Long version) {
+        // Through the map view so the check is not counted as a cache hit or miss
+        cache.asMap().computeIfPresent(eventId,
+                (id, cached) -> Objects.equals(cached.event().getVersion(), version) ? cached : null);
+    }
+
+    public void invalidate(String eventId) {
+        cache.invalidate(eventId);
+    }
+
+    private CachedEvent load(String eventId) {
+        return eventRepository.findById(eventId)
+                .map(event -> CachedEvent.of(event, eventMapper.toResponse(event)))
+                .orElse(null);
+    }
+}
@@ -0,0 +1,120 @@
+package com.kp.eventchey.service.impl;
+
+import com.kp.eventchey.domain.Event;
+import com.kp.eventchey.exception.ConflictException;
+import com.kp.eventchey.exception.PreconditionFailedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Runs a read-modify-write of an event and re-runs it from the read when the versioned save
+ * loses a race. The mutation must re-read the event on every attempt and must not have side
+ * effects besides the save, since it may run more than once.
+ */
+@Component
+public class EventMutationRetry {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventMutationRetry.class);
+
+    private final MeterRegistry meterRegistry;
+    private final int maxAttempts;
+    private final long baseBackoffMs;
+    private final long maxBackoffMs;
+
+    public EventMutationRetry(MeterRegistry meterRegistry,
+                              @Value("${app.events.mutation-retry.max-attempts:4}") int maxAttempts,
+                              @Value("${app.events.mutation-retry.base-backoff-ms:10}") long baseBackoffMs,
+                              @Value("${app.events.mutation-retry.max-backoff-ms:200}") long maxBackoffMs) {
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.baseBackoffMs = baseBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+    }
+
+    /**
+     * @param operation name of the mutation, used as the metrics tag
+     */
+    public <T> T execute(String operation, Supplier<T> mutation) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return mutation.get();
+            } catch (OptimisticLockingFailureException e) {
+                meterRegistry.counter("events.mutation.conflicts", "operation", operation).increment();
+                if (attempt >= maxAttempts) {
+                    logger.warn("Giving up on {} after {} conflicting attempts", operation, attempt);
+                    throw new ConflictException("The event was modified concurrently, please retry");
+                }
+                meterRegistry.counter("events.mutation.retries", "operation", operation).increment();
+                logger.debug("Version conflict in {}, retrying (attempt {})", operation, attempt + 1);
+                sleep(backoffMillis(attempt));
+            }
+        }
+    }
+
+    /**
+     * Non-blocking variant for the reactive stack. The mutation must be cold, so that every
+     * resubscription re-reads the event; the backoff is a timer rather than a sleep.
+     */
+    public <T> Mono<T> execute(String operation, Mono<T> mutation) {
+        return mutation.retryWhen(Retry.from(signals -> signals.concatMap(signal -> {
+            if (!(signal.failure() instanceof OptimisticLockingFailureException)) {
+                return Mono.error(signal.failure());
+            }
+            meterRegistry.counter("events.mutation.conflicts", "operation", operation).increment();
+            int attempt = Math.toIntExact(signal.totalRetries() + 1);
+            if (attempt >= maxAttempts) {
+                logger.warn("Giving up on {} after {} conflicting attempts", operation, attempt);
+                return Mono.error(new ConflictException("The event was modified concurrently, please retry"));
+            }
+            meterRegistry.counter("events.mutation.retries", "operation", operation).increment();
+            logger.debug("Version conflict in {}, retrying (attempt {})", operation, attempt + 1);
+            return Mono.delay(Duration.ofMillis(backoffMillis(attempt)));
+        })));
+    }
+
+    /**
+     * Enforces an If-Match precondition against the version that was just read. A null
+     * expected version means the client did not send one.
+     */
+    public static void requireVersion(Event event, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(event.getVersion())) {
+            throw versionMismatch(event, expectedVersion);
+        }
+    }
+
+    public static PreconditionFailedException versionMismatch(Event event, Long expectedVersion) {
+        return new PreconditionFailedException("Event " + event.getId() + " is at version "
+                + event.getVersion() + ", not " + expectedVersion);
+    }
+
+    /**
+     * Full jitter: a random delay up to an exponentially growing cap so writers that collided
+     * once do not collide again on the next attempt.
+     */
+    private long backoffMillis(int attempt) {
+        long cap = Math.min(maxBackoffMs, baseBackoffMs << Math.min(attempt - 1, 20));
+        return cap <= 0 ? 0 : ThreadLocalRandom.current().nextLong(cap + 1);
+    }
+
+    private void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("The event was modified concurrently, please retry");
+        }
+    }
+}
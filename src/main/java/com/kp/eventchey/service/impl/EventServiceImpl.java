@@ -8,27 +8,55 @@ import com.kp.eventchey.domain.AgendaItem;
 import com.kp.eventchey.domain.Attendee;
 import com.kp.eventchey.domain.AttendeeStatus;
 import com.kp.eventchey.domain.Event;
+import com.kp.eventchey.domain.Question;
+import com.kp.eventchey.domain.QuestionDigest;
 import com.kp.eventchey.dto.request.CreateEventRequest;
+import com.kp.eventchey.dto.request.FieldSelection;
 import com.kp.eventchey.dto.request.InviteAttendeeRequest;
 import com.kp.eventchey.dto.request.UpdateEventRequest;
+import com.kp.eventchey.dto.response.CursorPage;
 import com.kp.eventchey.dto.response.EventResponse;
+import com.kp.eventchey.dto.response.EventSummaryResponse;
+import com.kp.eventchey.exception.BadRequestException;
 import com.kp.eventchey.exception.ResourceNotFoundException;
 import com.kp.eventchey.exception.ValidationException;
 import com.kp.eventchey.mapper.EventMapper;
+import com.kp.eventchey.repository.AttendeeCount;
+import com.kp.eventchey.repository.AttendeeRepository;
+import com.kp.eventchey.repository.EventCursor;
 import com.kp.eventchey.repository.EventRepository;
-import com.kp.eventchey.service.EmailService;
+import com.kp.eventchey.repository.EventSummaryView;
+import com.kp.eventchey.repository.QuestionRepository;
 import com.kp.eventchey.service.EventService;
 import com.kp.eventchey.service.LLMService;
+import com.kp.eventchey.service.LlmPriority;
+import com.mongodb.ErrorCategory;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.result.UpdateResult;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class EventServiceImpl implements EventService {
@@ -38,17 +66,38 @@ public class EventServiceImpl implements EventService {
     private final EventRepository eventRepository;
     private final EventMapper eventMapper;
     private final AiSummaryService aiSummaryService;
-    private final EmailService emailService;
+    private final EmailOutbox emailOutbox;
     private final LLMService llmService;
+    private final QuestionRepository questionRepository;
+    private final AttendeeRepository attendeeRepository;
+    private final MongoTemplate mongoTemplate;
+    private final EventMutationRetry mutationRetry;
+    private final QuestionLeaderboard questionLeaderboard;
+    private final EventCache eventCache;
+    private final int maxPageSize;
+    private final SingleFlight<String, EventResponse> summaryFlight;
 
     public EventServiceImpl(EventRepository eventRepository, EventMapper eventMapper,
-                           AiSummaryService aiSummaryService, EmailService emailService,
-                           LLMService llmService) {
+                           AiSummaryService aiSummaryService, EmailOutbox emailOutbox,
+                           LLMService llmService, QuestionRepository questionRepository,
+                           AttendeeRepository attendeeRepository, MongoTemplate mongoTemplate,
+                           EventMutationRetry mutationRetry, QuestionLeaderboard questionLeaderboard,
+                           EventCache eventCache, MeterRegistry meterRegistry,
+                           @Value("${app.events.page.max-limit:200}") int maxPageSize,
+                           @Value("${app.ai.summary.single-flight.timeout-ms:60000}") long summaryTimeoutMs) {
         this.eventRepository = eventRepository;
         this.eventMapper = eventMapper;
         this.aiSummaryService = aiSummaryService;
-        this.emailService = emailService;
+        this.emailOutbox = emailOutbox;
         this.llmService = llmService;
+        this.questionRepository = questionRepository;
+        this.attendeeRepository = attendeeRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.mutationRetry = mutationRetry;
+        this.questionLeaderboard = questionLeaderboard;
+        this.eventCache = eventCache;
+        this.maxPageSize = maxPageSize;
+        this.summaryFlight = new SingleFlight<>("event-summary", summaryTimeoutMs, meterRegistry);
     }
 
     @Override
@@ -63,6 +112,7 @@ public class EventServiceImpl implements EventService {
         Event event = eventMapper.toEntity(request);
         event.setCreatedAt(LocalDateTime.now());
         event.setUpdatedAt(LocalDateTime.now());
+        event.setAttendeeDigest(0L);
 
         // Generate agenda using AI
 //        try {
@@ -162,12 +212,26 @@ public class EventServiceImpl implements EventService {
     }
 
     @Override
-    public EventResponse updateEvent(String eventId, UpdateEventRequest request) {
+    public EventResponse updateEvent(String eventId, UpdateEventRequest request, Long expectedVersion) {
         logger.info("Updating event: {}", eventId);
 
-        Event event = eventRepository.findById(eventId)
-                .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
+        Event updatedEvent = mutationRetry.execute("updateEvent", () -> {
+            Event event = eventRepository.findById(eventId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
+            EventMutationRetry.requireVersion(event, expectedVersion);
+            applyUpdate(event, request);
+            return eventRepository.save(event);
+        });
+        eventCache.invalidate(eventId);
+
+        logger.info("Event updated: {}", eventId);
+        return eventMapper.toResponse(updatedEvent);
+    }
 
+    /**
+     * Applies the non-null fields of the request and validates the resulting dates.
+     */
+    static void applyUpdate(Event event, UpdateEventRequest request) {
         if (request.name() != null) {
             event.setName(request.name());
         }
@@ -187,127 +251,365 @@ public class EventServiceImpl implements EventService {
         }
 
         event.setUpdatedAt(LocalDateTime.now());
-        Event updatedEvent = eventRepository.save(event);
-
-        logger.info("Event updated: {}", eventId);
-        return eventMapper.toResponse(updatedEvent);
     }
 
     @Override
     public EventResponse getEventById(String eventId) {
         logger.info("Fetching event: {}", eventId);
 
-        Event event = eventRepository.findById(eventId)
+        return eventCache.require(eventId).response();
+    }
+
+    @Override
+    public EventResponse getEventById(String eventId, FieldSelection selection) {
+        if (selection == null) {
+            return getEventById(eventId);
+        }
+        logger.info("Fetching event: {} with fields {} and expansions {}", eventId, selection.fields(),
+                selection.expand());
+
+        // Projected reads skip the cache so that collections which were not expanded are never read
+        Event event = eventRepository.findProjected(eventId, SparseFields.eventPaths(selection))
                 .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
+        if (selection.expands("attendees")) {
+            event.setAttendees(attendeeRepository.findByEventId(eventId));
+        }
+        if (selection.expands("agenda.questions")) {
+            SparseFields.attachQuestions(event.getAgenda(),
+                    questionRepository.findByEventIdOrderByTimestampAsc(eventId));
+        }
 
         return eventMapper.toResponse(event);
     }
 
+    @Override
+    public Long getEventVersion(String eventId) {
+        return eventCache.currentVersion(eventId);
+    }
+
     @Override
     public EventResponse inviteAttendees(String eventId, List<InviteAttendeeRequest> attendeeRequests) {
         logger.info("Inviting {} attendees to event: {}", attendeeRequests.size(), eventId);
 
-        Event event = eventRepository.findById(eventId)
-                .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
+        // Read before inserting so that attendees are not written for a missing event
+        CachedEvent current = eventCache.require(eventId);
 
-        if (event.getAttendees() == null) {
-            event.setAttendees(new ArrayList<>());
+        List<Attendee> candidates = new ArrayList<>();
+        for (InviteAttendeeRequest request : attendeeRequests) {
+            Attendee attendee = new Attendee();
+            attendee.setId(UUID.randomUUID().toString());
+            attendee.setEventId(eventId);
+            attendee.setEmail(request.email());
+            attendee.setPhone(request.phone());
+            attendee.setName(request.name());
+            attendee.setStatus(AttendeeStatus.INVITED);
+            candidates.add(attendee);
         }
 
-        List<Attendee> newAttendees = new ArrayList<>();
+        // Invitation emails are sent by the outbox workers after this returns
+        List<Attendee> newAttendees = emailOutbox.inviteAll(candidates);
+        logger.info("Added {} attendees, {} already invited", newAttendees.size(),
+                candidates.size() - newAttendees.size());
+        if (newAttendees.isEmpty()) {
+            return current.response();
+        }
 
-        for (InviteAttendeeRequest request : attendeeRequests) {
-            // Check if attendee already exists
-            boolean exists = event.getAttendees().stream()
-                    .anyMatch(a -> a.getEmail().equalsIgnoreCase(request.email()));
-
-            if (!exists) {
-                Attendee attendee = new Attendee();
-                attendee.setId(UUID.randomUUID().toString());
-                attendee.setEmail(request.email());
-                attendee.setPhone(request.phone());
-                attendee.setName(request.name());
-                attendee.setStatus(AttendeeStatus.INVITED);
-
-                event.getAttendees().add(attendee);
-                newAttendees.add(attendee);
-                logger.info("Added attendee: {}", request.email());
-            } else {
-                logger.warn("Attendee already invited: {}", request.email());
+        // One touch per invitation, and only when it added someone
+        Event updatedEvent = touchEvent(eventId, SummaryFingerprint.xor(touchUpdate(),
+                SummaryFingerprint.ATTENDEE_DIGEST, SummaryFingerprint.attendees(newAttendees)));
+        return eventMapper.toResponse(updatedEvent);
+    }
+
+    /**
+     * Inserts attendees as one unordered bulk. The unique (eventId, normalizedEmail) index turns
+     * repeat invitations into duplicate-key errors, which are treated as "already invited".
+     *
+     * @return the attendees that were actually inserted
+     */
+    static List<Attendee> insertNewAttendees(MongoTemplate mongoTemplate, List<Attendee> candidates) {
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Attendee.class);
+        bulk.insert(candidates);
+        try {
+            bulk.execute();
+            return candidates;
+        } catch (BulkOperationException e) {
+            Set<Integer> duplicates = new HashSet<>();
+            for (BulkWriteError error : e.getErrors()) {
+                if (ErrorCategory.fromErrorCode(error.getCode()) != ErrorCategory.DUPLICATE_KEY) {
+                    throw e;
+                }
+                duplicates.add(error.getIndex());
             }
+
+            List<Attendee> inserted = new ArrayList<>();
+            for (int i = 0; i < candidates.size(); i++) {
+                if (duplicates.contains(i)) {
+                    logger.warn("Attendee already invited: {}", candidates.get(i).getEmail());
+                } else {
+                    inserted.add(candidates.get(i));
+                }
+            }
+            return inserted;
         }
+    }
 
-        event.setUpdatedAt(LocalDateTime.now());
-        Event updatedEvent = eventRepository.save(event);
+    /**
+     * Bumps updatedAt and the version and returns the event, without reading the legacy embedded
+     * attendees.
+     */
+    private Event touchEvent(String eventId) {
+        return touchEvent(eventId, touchUpdate());
+    }
 
-        // Send invitation emails to new attendees
-        if (!newAttendees.isEmpty()) {
-            logger.info("Sending invitation emails to {} new attendees", newAttendees.size());
-            emailService.sendInvitationEmails(updatedEvent, newAttendees);
+    private Event touchEvent(String eventId, Update update) {
+        Event event = mongoTemplate.findAndModify(touchQuery(eventId), update,
+                FindAndModifyOptions.options().returnNew(true), Event.class);
+        if (event == null) {
+            throw new ResourceNotFoundException("Event", "id", eventId);
         }
+        eventCache.invalidate(eventId);
+        return event;
+    }
 
-        return eventMapper.toResponse(updatedEvent);
+    static Query touchQuery(String eventId) {
+        Query query = new Query(Criteria.where("id").is(eventId));
+        query.fields().exclude("attendees");
+        return query;
     }
 
-    @Override
-    public List<EventResponse> listEvents(String createdBy, LocalDateTime from, LocalDateTime to) {
-        logger.info("Listing events with filters - createdBy: {}, from: {}, to: {}", createdBy, from, to);
+    static Update touchUpdate() {
+        return new Update().set("updatedAt", LocalDateTime.now()).inc("version", 1);
+    }
 
-        List<Event> events;
+    /**
+     * Enforces an If-Match precondition for mutations that do not rewrite the event document by
+     * bumping the version only while it is still the expected one. Comparing and bumping in one
+     * write lets only one of two requests with the same ETag through. Returns whether the version
+     * was bumped, which is the case whenever a version was expected.
+     */
+    private boolean claimVersion(String eventId, Long expectedVersion) {
+        if (expectedVersion == null) {
+            return false;
+        }
+        UpdateResult result = mongoTemplate.updateFirst(versionQuery(eventId, expectedVersion), touchUpdate(),
+                Event.class);
+        if (result.getMatchedCount() == 0) {
+            Query query = new Query(Criteria.where("id").is(eventId));
+            query.fields().include("version");
+            Event event = mongoTemplate.findOne(query, Event.class);
+            if (event == null) {
+                throw new ResourceNotFoundException("Event", "id", eventId);
+            }
+            throw EventMutationRetry.versionMismatch(event, expectedVersion);
+        }
+        eventCache.invalidate(eventId);
+        return true;
+    }
 
-        if (createdBy != null && from != null && to != null) {
-            events = eventRepository.findByCreatedByAndStartDateBetween(createdBy, from, to);
-        } else if (createdBy != null) {
-            events = eventRepository.findByCreatedBy(createdBy);
-        } else if (from != null && to != null) {
-            events = eventRepository.findByStartDateBetween(from, to);
-        } else {
-            events = eventRepository.findAll();
+    static Query versionQuery(String eventId, long expectedVersion) {
+        return new Query(Criteria.where("id").is(eventId).and("version").is(expectedVersion));
+    }
+
+    @Override
+    public CursorPage<EventResponse> listEvents(String createdBy, LocalDateTime from, LocalDateTime to,
+                                                String cursor, int limit) {
+        logger.info("Listing events with filters - createdBy: {}, from: {}, to: {}, limit: {}", createdBy, from, to, limit);
+
+        int pageSize = pageSize(limit, maxPageSize);
+        EventCursor after = decodeCursor(cursor);
+
+        // Fetch one extra row to learn whether another page follows
+        List<Event> events = eventRepository.findPage(createdBy, from, to, after, pageSize + 1);
+        String nextCursor = null;
+        if (events.size() > pageSize) {
+            events = events.subList(0, pageSize);
+            nextCursor = EventCursor.of(events.get(pageSize - 1)).encode();
         }
 
         logger.info("Found {} events", events.size());
-        return eventMapper.toResponseList(events);
+        return new CursorPage<>(eventMapper.toResponseList(events), nextCursor);
     }
 
     @Override
-    public EventResponse generateEventSummary(String eventId) {
+    public CursorPage<EventSummaryResponse> listEventSummaries(String createdBy, LocalDateTime from, LocalDateTime to,
+                                                               String cursor, int limit) {
+        logger.info("Listing event summaries with filters - createdBy: {}, from: {}, to: {}, limit: {}",
+                createdBy, from, to, limit);
+
+        int pageSize = pageSize(limit, maxPageSize);
+        EventCursor after = decodeCursor(cursor);
+
+        List<EventSummaryView> events = eventRepository.findSummaryPage(createdBy, from, to, after, pageSize + 1);
+        String nextCursor = null;
+        if (events.size() > pageSize) {
+            events = events.subList(0, pageSize);
+            nextCursor = EventCursor.of(events.get(pageSize - 1)).encode();
+        }
+
+        Map<String, Long> attendeeCounts = events.isEmpty() ? Map.of() : attendeeRepository
+                .countByEventIds(events.stream().map(EventSummaryView::id).toList()).stream()
+                .collect(Collectors.toMap(AttendeeCount::id, AttendeeCount::count));
+
+        List<EventSummaryResponse> summaries = toSummaryResponses(events, attendeeCounts);
+
+        logger.info("Found {} events", summaries.size());
+        return new CursorPage<>(summaries, nextCursor);
+    }
+
+    static List<EventSummaryResponse> toSummaryResponses(List<EventSummaryView> events,
+                                                         Map<String, Long> attendeeCounts) {
+        return events.stream()
+                .map(event -> new EventSummaryResponse(
+                        event.id(),
+                        event.name(),
+                        event.startDate(),
+                        event.endDate(),
+                        event.createdBy(),
+                        attendeeCounts.getOrDefault(event.id(), 0L),
+                        event.agendaCount()
+                ))
+                .toList();
+    }
+
+    @Override
+    public Stream<EventResponse> streamEvents(String createdBy, LocalDateTime from, LocalDateTime to) {
+        logger.info("Streaming events with filters - createdBy: {}, from: {}, to: {}", createdBy, from, to);
+
+        return eventRepository.streamEvents(createdBy, from, to).map(eventMapper::toResponse);
+    }
+
+    static int pageSize(int limit, int maxPageSize) {
+        if (limit < 1) {
+            throw new BadRequestException("Limit must be at least 1");
+        }
+        return Math.min(limit, maxPageSize);
+    }
+
+    static EventCursor decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return EventCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor: " + cursor);
+        }
+    }
+
+    @Override
+    public Optional<EventResponse> findFreshSummary(String eventId) {
+        CachedEvent cached = eventCache.require(eventId);
+        return hasFreshSummary(cached.event(), questionDigest(eventId))
+                ? Optional.of(cached.response())
+                : Optional.empty();
+    }
+
+    @Override
+    public EventResponse generateEventSummary(String eventId, LlmPriority priority) {
         logger.info("Generating AI summary for event: {}", eventId);
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
 
-        // Check if we have a cached summary and if the event hasn't been updated since
-        if (event.getCachedAiSummary() != null &&
-            event.getAiSummaryGeneratedAt() != null &&
-            event.getUpdatedAt() != null &&
-            !event.getUpdatedAt().isAfter(event.getAiSummaryGeneratedAt())) {
+        long questionDigest = questionDigest(eventId);
+        if (hasFreshSummary(event, questionDigest)) {
             logger.info("Returning cached AI summary for event: {}", eventId);
             return eventMapper.toResponse(event);
         }
 
-        // Generate new summary
+        // Callers that read the same content share one summary call
+        String fingerprint = SummaryFingerprint.of(event, questionDigest);
+        return summaryFlight.execute(eventId + ":" + fingerprint,
+                () -> generateAndStoreSummary(event, fingerprint, priority));
+    }
+
+    /**
+     * Stores the fingerprint the summary was generated from. Content that changes during the LLM
+     * call leaves the event with another fingerprint, so the next request summarizes again.
+     */
+    private EventResponse generateAndStoreSummary(Event event, String fingerprint, LlmPriority priority) {
+        String eventId = event.getId();
         logger.info("Generating new AI summary for event: {}", eventId);
-        String summary = aiSummaryService.summarizeEvent(event);
+        String summary = summarizeWithDetails(event, priority);
 
-        // Cache the summary and timestamp
+        // Cache the summary, timestamp and fingerprint without rewriting the rest of the event
         event.setCachedAiSummary(summary);
         event.setAiSummaryGeneratedAt(LocalDateTime.now());
-        eventRepository.save(event);
+        Event cached = mongoTemplate.findAndModify(new Query(Criteria.where("id").is(eventId)),
+                new Update()
+                        .set("cachedAiSummary", event.getCachedAiSummary())
+                        .set("aiSummaryGeneratedAt", event.getAiSummaryGeneratedAt())
+                        .set("aiSummaryFingerprint", fingerprint)
+                        .inc("version", 1),
+                FindAndModifyOptions.options().returnNew(true),
+                Event.class);
+        eventCache.invalidate(eventId);
+        if (cached == null) {
+            throw new ResourceNotFoundException("Event", "id", eventId);
+        }
 
         logger.info("AI summary generated and cached for event: {}", eventId);
-        return eventMapper.toResponse(event);
+        return eventMapper.toResponse(cached);
+    }
+
+    /**
+     * Whether the cached summary was generated from the current content of the event. Votes,
+     * upvotes and other changes that do not reach the fingerprint leave it fresh. Summaries
+     * stored before fingerprints fall back to comparing timestamps.
+     */
+    private static boolean hasFreshSummary(Event event, long questionDigest) {
+        if (event.getCachedAiSummary() == null) {
+            return false;
+        }
+        if (event.getAiSummaryFingerprint() != null) {
+            return event.getAiSummaryFingerprint().equals(SummaryFingerprint.of(event, questionDigest));
+        }
+        return event.getAiSummaryGeneratedAt() != null &&
+               event.getUpdatedAt() != null &&
+               !event.getUpdatedAt().isAfter(event.getAiSummaryGeneratedAt());
+    }
+
+    private long questionDigest(String eventId) {
+        QuestionDigest digest = mongoTemplate.findById(eventId, QuestionDigest.class);
+        return digest != null ? digest.getDigest() : 0L;
+    }
+
+    /**
+     * Attendees and questions live in their own collections, so they are attached to the event
+     * only for the duration of the summary call and never written back into the event document.
+     */
+    private String summarizeWithDetails(Event event, LlmPriority priority) {
+        event.setAttendees(attendeeRepository.findByEventId(event.getId()));
+        Map<String, List<Question>> questionsByAgenda = questionRepository
+                .findByEventIdOrderByTimestampAsc(event.getId()).stream()
+                .collect(Collectors.groupingBy(Question::getAgendaId));
+        if (event.getAgenda() != null) {
+            event.getAgenda().forEach(item ->
+                    item.setQuestions(new ArrayList<>(questionsByAgenda.getOrDefault(item.getId(), List.of()))));
+        }
+        try {
+            return aiSummaryService.summarizeEvent(event, priority);
+        } finally {
+            event.setAttendees(new ArrayList<>());
+            if (event.getAgenda() != null) {
+                event.getAgenda().forEach(item -> item.setQuestions(new ArrayList<>()));
+            }
+        }
     }
 
     @Override
     public List<com.kp.eventchey.dto.response.AttendeeResponse> getAttendees(String eventId) {
         logger.info("Getting attendees for event: {}", eventId);
-        Event event = eventRepository.findById(eventId)
-                .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
 
-        if (event.getAttendees() == null || event.getAttendees().isEmpty()) {
-            return new ArrayList<>();
+        List<Attendee> attendees = attendeeRepository.findByEventId(eventId);
+        if (attendees.isEmpty() && !eventCache.exists(eventId)) {
+            throw new ResourceNotFoundException("Event", "id", eventId);
         }
 
-        return event.getAttendees().stream()
+        return attendees.stream()
                 .map(attendee -> new com.kp.eventchey.dto.response.AttendeeResponse(
                         attendee.getId(),
                         attendee.getEmail(),
@@ -322,59 +624,76 @@ public class EventServiceImpl implements EventService {
     public EventResponse removeAttendee(String eventId, String attendeeId) {
         logger.info("Removing attendee {} from event: {}", attendeeId, eventId);
 
-        Event event = eventRepository.findById(eventId)
-                .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
-
-        if (event.getAttendees() == null) {
-            throw new ResourceNotFoundException("Attendee", "id", attendeeId);
-        }
-
-        boolean removed = event.getAttendees().removeIf(a -> a.getId().equals(attendeeId));
+        Attendee removed = mongoTemplate.findAndRemove(
+                new Query(Criteria.where("id").is(attendeeId).and("eventId").is(eventId)), Attendee.class);
 
-        if (!removed) {
-            throw new ResourceNotFoundException("Attendee", "id", attendeeId);
+        if (removed == null) {
+            throw missingAttendee(eventId, attendeeId);
         }
 
-        event.setUpdatedAt(LocalDateTime.now());
-        Event updatedEvent = eventRepository.save(event);
+        Event updatedEvent = touchEvent(eventId, SummaryFingerprint.xor(touchUpdate(),
+                SummaryFingerprint.ATTENDEE_DIGEST, SummaryFingerprint.attendee(removed)));
 
         logger.info("Attendee {} removed from event: {}", attendeeId, eventId);
         return eventMapper.toResponse(updatedEvent);
     }
 
     @Override
-    public EventResponse updateAttendeeStatus(String eventId, String attendeeId, AttendeeStatus status) {
+    public EventResponse updateAttendeeStatus(String eventId, String attendeeId, AttendeeStatus status,
+                                              Long expectedVersion) {
         logger.info("Updating attendee {} status to {} for event: {}", attendeeId, status, eventId);
 
-        Event event = eventRepository.findById(eventId)
-                .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
+        boolean claimed = claimVersion(eventId, expectedVersion);
 
-        if (event.getAttendees() == null) {
-            throw new ResourceNotFoundException("Attendee", "id", attendeeId);
-        }
+        Query query = new Query(Criteria.where("id").is(attendeeId).and("eventId").is(eventId));
+        // The previous state is needed to take it out of the attendee digest
+        Attendee previous = mongoTemplate.findAndModify(query, new Update().set("status", status), Attendee.class);
 
-        Attendee attendee = event.getAttendees().stream()
-                .filter(a -> a.getId().equals(attendeeId))
-                .findFirst()
-                .orElseThrow(() -> new ResourceNotFoundException("Attendee", "id", attendeeId));
+        if (previous == null) {
+            throw missingAttendee(eventId, attendeeId);
+        }
 
-        attendee.setStatus(status);
-        event.setUpdatedAt(LocalDateTime.now());
-        Event updatedEvent = eventRepository.save(event);
+        // A claimed version was already bumped for this change
+        Event updatedEvent = touchEvent(eventId, SummaryFingerprint.xor(claimed ? new Update() : touchUpdate(),
+                SummaryFingerprint.ATTENDEE_DIGEST, statusChange(previous, status)));
 
         logger.info("Attendee {} status updated to {} for event: {}", attendeeId, status, eventId);
         return eventMapper.toResponse(updatedEvent);
     }
 
+    /**
+     * The change to the attendee digest when the attendee's status is set.
+     */
+    static long statusChange(Attendee previous, AttendeeStatus status) {
+        long before = SummaryFingerprint.attendee(previous);
+        previous.setStatus(status);
+        return before ^ SummaryFingerprint.attendee(previous);
+    }
+
+    private ResourceNotFoundException missingAttendee(String eventId, String attendeeId) {
+        if (!eventRepository.existsById(eventId)) {
+            return new ResourceNotFoundException("Event", "id", eventId);
+        }
+        return new ResourceNotFoundException("Attendee", "id", attendeeId);
+    }
+
     @Override
     public EventResponse deleteEvent(String eventId) {
 
         logger.info("Deleting event: {}", eventId);
 
-        Event event = eventRepository.findById(eventId)
-                .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
-
-        eventRepository.delete(event);
+        // Deleting a versioned entity only matches the version that was read
+        Event event = mutationRetry.execute("deleteEvent", () -> {
+            Event existing = eventRepository.findById(eventId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
+            eventRepository.delete(existing);
+            return existing;
+        });
+        questionRepository.deleteByEventId(eventId);
+        mongoTemplate.remove(new Query(Criteria.where("id").is(eventId)), QuestionDigest.class);
+        eventCache.invalidate(eventId);
+        questionLeaderboard.evictEvent(eventId);
+        attendeeRepository.deleteByEventId(eventId);
 
         logger.info("Event deleted: {}", eventId);
         return eventMapper.toResponse(event);
@@ -0,0 +1,244 @@
+package com.kp.eventchey.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kp.eventchey.domain.Poll;
+import com.kp.eventchey.dto.response.PollResponse;
+import com.kp.eventchey.mapper.PollMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fans live poll results out to the clients watching an agenda item. Votes only mark their poll
+ * as changed; once per window the changed polls are serialized a single time and the same
+ * payload is queued for every subscriber. Each subscriber is written from its own virtual thread,
+ * and one whose queue is full is dropped, so neither voters nor other watchers wait on it.
+ */
+@Component
+public class PollResultsBroadcaster {
+
+    private static final Logger logger = LoggerFactory.getLogger(PollResultsBroadcaster.class);
+
+    /**
+     * A connected client. {@link #send} may block on the network; throwing drops the subscriber.
+     */
+    public interface Subscriber {
+
+        void send(String payload) throws IOException;
+
+        void close();
+    }
+
+    private final PollMapper pollMapper;
+    private final ObjectMapper objectMapper;
+    private final long windowMs;
+    private final int maxQueued;
+
+    private final Map<ChannelKey, Channel> channels = new ConcurrentHashMap<>();
+    private final Counter droppedSubscribers;
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService writers = Executors.newVirtualThreadPerTaskExecutor();
+
+    public PollResultsBroadcaster(PollMapper pollMapper, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                                  @Value("${app.polls.results-stream.window-ms:250}") long windowMs,
+                                  @Value("${app.polls.results-stream.max-queued:16}") int maxQueued) {
+        this.pollMapper = pollMapper;
+        this.objectMapper = objectMapper;
+        this.windowMs = windowMs;
+        this.maxQueued = maxQueued;
+
+        Gauge.builder("polls.results.subscribers", channels,
+                        map -> map.values().stream().mapToInt(channel -> channel.connections.size()).sum())
+                .description("Clients connected to a live poll results stream")
+                .register(meterRegistry);
+        this.droppedSubscribers = Counter.builder("polls.results.dropped")
+                .description("Poll results subscribers disconnected for not keeping up")
+                .register(meterRegistry);
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "poll-results-broadcaster");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Registers a subscriber for the agenda item and queues the current polls as its first message.
+     *
+     * @return unsubscribes; safe to call more than once
+     */
+    public Runnable subscribe(String eventId, String agendaId, List<PollResponse> snapshot, Subscriber subscriber) {
+        ChannelKey key = new ChannelKey(eventId, agendaId);
+        Connection connection = new Connection(subscriber, new ArrayBlockingQueue<>(maxQueued));
+        connection.offer(serialize(snapshot));
+
+        channels.compute(key, (k, channel) -> {
+            Channel target = channel != null ? channel : new Channel(k);
+            target.connections.add(connection);
+            return target;
+        });
+        logger.debug("Poll results subscriber added for agenda {} in event {}", agendaId, eventId);
+
+        return () -> remove(key, connection);
+    }
+
+    /**
+     * Marks the poll as changed. Costs a map write when someone is watching and nothing otherwise.
+     */
+    public void publish(String eventId, String agendaId, Poll poll) {
+        Channel channel = channels.get(new ChannelKey(eventId, agendaId));
+        if (channel == null) {
+            return;
+        }
+        channel.changed.put(poll.getId(), poll);
+        if (channel.scheduled.compareAndSet(false, true)) {
+            scheduler.schedule(() -> broadcast(channel), windowMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void broadcast(Channel channel) {
+        // Clear the flag first so a vote arriving during the broadcast schedules the next window
+        channel.scheduled.set(false);
+
+        List<PollResponse> changed = new ArrayList<>();
+        for (String pollId : channel.changed.keySet()) {
+            Poll poll = channel.changed.remove(pollId);
+            if (poll != null) {
+                changed.add(pollMapper.toResponse(poll));
+            }
+        }
+        if (changed.isEmpty()) {
+            return;
+        }
+
+        String payload = serialize(changed);
+        for (Connection connection : channel.connections) {
+            if (!connection.offer(payload)) {
+                channel.connections.remove(connection);
+                if (connection.close()) {
+                    droppedSubscribers.increment();
+                    logger.debug("Dropped poll results subscriber that fell {} messages behind", maxQueued);
+                }
+            }
+        }
+        if (channel.connections.isEmpty()) {
+            // Checked again under the map lock, against a subscriber joining meanwhile
+            channels.computeIfPresent(channel.key,
+                    (k, current) -> current == channel && current.connections.isEmpty() ? null : current);
+        }
+    }
+
+    private void remove(ChannelKey key, Connection connection) {
+        channels.computeIfPresent(key, (k, channel) -> {
+            channel.connections.remove(connection);
+            return channel.connections.isEmpty() ? null : channel;
+        });
+        connection.close();
+    }
+
+    private String serialize(List<PollResponse> polls) {
+        try {
+            return objectMapper.writeValueAsString(polls);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize poll results", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        channels.values().forEach(channel -> channel.connections.forEach(Connection::close));
+        channels.clear();
+        writers.shutdownNow();
+    }
+
+    private record ChannelKey(String eventId, String agendaId) {
+    }
+
+    private static final class Channel {
+        private final ChannelKey key;
+        private final Set<Connection> connections = ConcurrentHashMap.newKeySet();
+        private final Map<String, Poll> changed = new ConcurrentHashMap<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private Channel(ChannelKey key) {
+            this.key = key;
+        }
+    }
+
+    /**
+     * One subscriber with its bounded backlog. At most one writer drains the backlog at a time,
+     * which keeps messages in order.
+     */
+    private final class Connection {
+        private final Subscriber subscriber;
+        private final BlockingQueue<String> backlog;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Connection(Subscriber subscriber, BlockingQueue<String> backlog) {
+            this.subscriber = subscriber;
+            this.backlog = backlog;
+        }
+
+        private boolean offer(String payload) {
+            if (closed.get() || !backlog.offer(payload)) {
+                return false;
+            }
+            if (draining.compareAndSet(false, true)) {
+                writers.execute(this::drain);
+            }
+            return true;
+        }
+
+        private void drain() {
+            do {
+                try {
+                    String payload;
+                    while ((payload = backlog.poll()) != null) {
+                        subscriber.send(payload);
+                    }
+                } catch (IOException | RuntimeException e) {
+                    logger.debug("Poll results subscriber failed: {}", e.getMessage());
+                    close();
+                    return;
+                } finally {
+                    draining.set(false);
+                }
+                // A message queued after the last poll but before the flag was cleared needs a writer
+            } while (!backlog.isEmpty() && draining.compareAndSet(false, true));
+        }
+
+        /**
+         * @return whether this call closed the connection
+         */
+        private boolean close() {
+            if (!closed.compareAndSet(false, true)) {
+                return false;
+            }
+            backlog.clear();
+            subscriber.close();
+            return true;
+        }
+    }
+}
@@ -13,6 +13,11 @@ import com.kp.eventchey.repository.EventRepository;
 import com.kp.eventchey.service.PollService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -28,45 +33,47 @@ public class PollServiceImpl implements PollService {
 
     private final EventRepository eventRepository;
     private final PollMapper pollMapper;
-
-    public PollServiceImpl(EventRepository eventRepository, PollMapper pollMapper) {
+    private final MongoTemplate mongoTemplate;
+    private final PollVoteBuffer voteBuffer;
+    private final EventMutationRetry mutationRetry;
+    private final PollResultsBroadcaster resultsBroadcaster;
+    private final EventCache eventCache;
+
+    public PollServiceImpl(EventRepository eventRepository, PollMapper pollMapper, MongoTemplate mongoTemplate,
+                           PollVoteBuffer voteBuffer, EventMutationRetry mutationRetry,
+                           PollResultsBroadcaster resultsBroadcaster, EventCache eventCache) {
         this.eventRepository = eventRepository;
         this.pollMapper = pollMapper;
+        this.mongoTemplate = mongoTemplate;
+        this.voteBuffer = voteBuffer;
+        this.mutationRetry = mutationRetry;
+        this.resultsBroadcaster = resultsBroadcaster;
+        this.eventCache = eventCache;
     }
 
     @Override
     public PollResponse createPoll(String eventId, String agendaId, CreatePollRequest request) {
         logger.info("Creating poll for agenda: {} in event: {}", agendaId, eventId);
 
-        Event event = eventRepository.findById(eventId)
-                .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
+        Poll poll = newPoll(request);
 
-        AgendaItem agendaItem = event.getAgenda().stream()
-                .filter(a -> a.getId().equals(agendaId))
-                .findFirst()
-                .orElseThrow(() -> new ResourceNotFoundException("AgendaItem", "id", agendaId));
+        mutationRetry.execute("createPoll", () -> {
+            Event event = eventRepository.findById(eventId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
 
-        Poll poll = new Poll();
-        poll.setId(UUID.randomUUID().toString());
-        poll.setQuestion(request.question());
-        poll.setOptions(request.options());
+            AgendaItem agendaItem = findAgendaItem(event, agendaId);
+            if (agendaItem.getPolls() == null) {
+                agendaItem.setPolls(new ArrayList<>());
+            }
 
-        // Initialize votes for each option
-        HashMap<String, Integer> votes = new HashMap<>();
-        for (String option : request.options()) {
-            votes.put(option, 0);
-        }
-        poll.setVotes(votes);
-
-        if (agendaItem.getPolls() == null) {
-            agendaItem.setPolls(new ArrayList<>());
-        }
+            agendaItem.getPolls().add(poll);
+            event.setUpdatedAt(LocalDateTime.now());
 
-        agendaItem.getPolls().add(poll);
-        event.setUpdatedAt(LocalDateTime.now());
-
-        eventRepository.save(event);
+            return eventRepository.save(event);
+        });
+        eventCache.invalidate(eventId);
         logger.info("Poll created: {}", poll.getId());
+        resultsBroadcaster.publish(eventId, agendaId, poll);
 
         return pollMapper.toResponse(poll);
     }
@@ -75,30 +82,34 @@ public class PollServiceImpl implements PollService {
     public PollResponse submitVote(String eventId, String agendaId, String pollId, SubmitVoteRequest request) {
         logger.info("Submitting vote for poll {} in agenda {} in event {}", pollId, agendaId, eventId);
 
-        Event event = eventRepository.findById(eventId)
-                .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
+        String option = request.optionId();
+        if (!isAddressableOption(option)) {
+            throw new BadRequestException("Invalid poll option: " + option);
+        }
 
-        AgendaItem agendaItem = event.getAgenda().stream()
-                .filter(a -> a.getId().equals(agendaId))
-                .findFirst()
-                .orElseThrow(() -> new ResourceNotFoundException("AgendaItem", "id", agendaId));
+        if (voteBuffer.isEnabled()) {
+            Poll poll = voteBuffer.record(eventId, agendaId, pollId, option,
+                    () -> loadPoll(eventId, agendaId, pollId));
+            if (poll == null) {
+                throw new BadRequestException("Invalid poll option: " + option);
+            }
+            logger.info("Vote buffered for option: {}", option);
+            resultsBroadcaster.publish(eventId, agendaId, poll);
+            return pollMapper.toResponse(poll);
+        }
 
-        Poll poll = agendaItem.getPolls().stream()
-                .filter(p -> p.getId().equals(pollId))
-                .findFirst()
-                .orElseThrow(() -> new ResourceNotFoundException("Poll", "id", pollId));
+        Event updated = mongoTemplate.findAndModify(voteQuery(eventId, agendaId, pollId, option),
+                voteUpdate(agendaId, pollId, option),
+                FindAndModifyOptions.options().returnNew(true), Event.class);
+        eventCache.invalidate(eventId);
 
-        // Validate option
-        if (!poll.getOptions().contains(request.optionId())) {
-            throw new BadRequestException("Invalid poll option: " + request.optionId());
+        if (updated == null) {
+            throw voteRejection(loadPoll(eventId, agendaId, pollId), pollId, option);
         }
 
-        // Increment vote count
-        poll.getVotes().put(request.optionId(), poll.getVotes().get(request.optionId()) + 1);
-        event.setUpdatedAt(LocalDateTime.now());
-
-        eventRepository.save(event);
-        logger.info("Vote submitted for option: {}", request.optionId());
+        Poll poll = findPoll(updated, agendaId, pollId);
+        logger.info("Vote submitted for option: {}", option);
+        resultsBroadcaster.publish(eventId, agendaId, poll);
 
         return pollMapper.toResponse(poll);
     }
@@ -107,20 +118,137 @@ public class PollServiceImpl implements PollService {
     public List<PollResponse> listPolls(String eventId, String agendaId) {
         logger.info("Listing polls for agenda: {} in event: {}", agendaId, eventId);
 
-        Event event = eventRepository.findById(eventId)
-                .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
+        List<Poll> polls = eventCache.require(eventId).polls(agendaId);
+        logger.info("Found {} polls", polls.size());
+
+        if (!voteBuffer.isEnabled()) {
+            return polls.stream()
+                    .map(pollMapper::toResponse)
+                    .toList();
+        }
+
+        // Cached polls are shared, so pending votes are added to copies
+        return polls.stream()
+                .map(poll -> {
+                    Poll withPending = new Poll(poll.getId(), poll.getQuestion(), poll.getOptions(),
+                            poll.getVotes() != null ? new HashMap<>(poll.getVotes()) : new HashMap<>());
+                    voteBuffer.addPendingVotes(eventId, agendaId, withPending);
+                    return withPending;
+                })
+                .map(pollMapper::toResponse)
+                .toList();
+    }
+
+    @Override
+    public String getResultsVersion(String eventId, String agendaId) {
+        Long version = eventCache.currentVersion(eventId);
+        return resultsVersion(version, voteBuffer.acceptedVotes(eventId, agendaId));
+    }
+
+    static String resultsVersion(Long version, long acceptedVotes) {
+        return (version != null ? version : 0L) + "." + acceptedVotes;
+    }
 
-        AgendaItem agendaItem = event.getAgenda().stream()
+    private Poll loadPoll(String eventId, String agendaId, String pollId) {
+        Event event = mongoTemplate.findOne(agendaItemQuery(eventId, agendaId), Event.class);
+        if (event == null) {
+            throw new ResourceNotFoundException("Event", "id", eventId);
+        }
+        return findPoll(event, agendaId, pollId);
+    }
+
+    /**
+     * Builds a poll with zero votes per option. Options become field names under votes, so they
+     * must be addressable in an update path.
+     */
+    static Poll newPoll(CreatePollRequest request) {
+        for (String option : request.options()) {
+            if (!isAddressableOption(option)) {
+                throw new BadRequestException("Poll options must not contain '.' or start with '$': " + option);
+            }
+        }
+
+        Poll poll = new Poll();
+        poll.setId(UUID.randomUUID().toString());
+        poll.setQuestion(request.question());
+        poll.setOptions(request.options());
+
+        // Initialize votes for each option
+        HashMap<String, Integer> votes = new HashMap<>();
+        for (String option : request.options()) {
+            votes.put(option, 0);
+        }
+        poll.setVotes(votes);
+        return poll;
+    }
+
+    /**
+     * Matches only when the agenda item, the poll and the option all exist, so an invalid vote
+     * never writes anything. Only the voted agenda item comes back; attendees and the rest of the
+     * agenda stay on the server.
+     */
+    static Query voteQuery(String eventId, String agendaId, String pollId, String option) {
+        Query query = new Query(Criteria.where("id").is(eventId)
+                .and("agenda").elemMatch(Criteria.where("id").is(agendaId)
+                        .and("polls").elemMatch(Criteria.where("id").is(pollId).and("options").is(option))));
+        return projectAgendaItem(query, agendaId);
+    }
+
+    static Update voteUpdate(String agendaId, String pollId, String option) {
+        // Array filters are not mapped against Event, so they name the stored field of the
+        // embedded ids directly; Spring writes a property called id as _id at every level
+        return new Update()
+                .inc("agenda.$[a].polls.$[p].votes." + option, 1)
+                .set("updatedAt", LocalDateTime.now())
+                .inc("version", 1)
+                .filterArray(Criteria.where("a._id").is(agendaId))
+                .filterArray(Criteria.where("p._id").is(pollId));
+    }
+
+    /**
+     * The event reduced to a single agenda item.
+     */
+    static Query agendaItemQuery(String eventId, String agendaId) {
+        return projectAgendaItem(new Query(Criteria.where("id").is(eventId)), agendaId);
+    }
+
+    private static Query projectAgendaItem(Query query, String agendaId) {
+        // Only the names of projected fields are mapped, not the criteria of a projection
+        // $elemMatch, so it names the stored _id like the array filters do
+        query.fields().elemMatch("agenda", Criteria.where("_id").is(agendaId));
+        return query;
+    }
+
+    /**
+     * Works out why an atomic vote matched nothing. Only runs on the failure path, with the poll
+     * read from just the targeted agenda item.
+     */
+    static RuntimeException voteRejection(Poll poll, String pollId, String option) {
+        if (poll.getOptions() == null || !poll.getOptions().contains(option)) {
+            return new BadRequestException("Invalid poll option: " + option);
+        }
+        return new IllegalStateException("Vote for poll " + pollId + " was not applied");
+    }
+
+    static AgendaItem findAgendaItem(Event event, String agendaId) {
+        List<AgendaItem> agenda = event.getAgenda() != null ? event.getAgenda() : List.of();
+        return agenda.stream()
                 .filter(a -> a.getId().equals(agendaId))
                 .findFirst()
                 .orElseThrow(() -> new ResourceNotFoundException("AgendaItem", "id", agendaId));
+    }
 
-        List<Poll> polls = agendaItem.getPolls() != null ? agendaItem.getPolls() : new ArrayList<>();
-        logger.info("Found {} polls", polls.size());
+    static Poll findPoll(Event event, String agendaId, String pollId) {
+        AgendaItem agendaItem = findAgendaItem(event, agendaId);
 
+        List<Poll> polls = agendaItem.getPolls() != null ? agendaItem.getPolls() : new ArrayList<>();
         return polls.stream()
-                .map(pollMapper::toResponse)
-                .toList();
+                .filter(p -> p.getId().equals(pollId))
+                .findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("Poll", "id", pollId));
     }
-}
 
+    static boolean isAddressableOption(String option) {
+        return option != null && !option.isEmpty() && !option.contains(".") && !option.startsWith("$");
+    }
+}
@@ -0,0 +1,465 @@
+package com.kp.eventchey.service.impl;
+
+import com.kp.eventchey.domain.AgendaItem;
+import com.kp.eventchey.domain.Event;
+import com.kp.eventchey.domain.Poll;
+import com.mongodb.bulk.BulkWriteError;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Write-behind buffer for poll votes. Votes are counted in striped {@link LongAdder}s keyed by
+ * (event, agenda item, poll, option) and the votes not yet written are sent to MongoDB as one
+ * unordered bulk of {@code $inc} updates every flush interval.
+ * <p>
+ * A poll's results are its base, the persisted votes that did not come from this instance, plus
+ * every vote this instance counted. Flushing only moves votes from unwritten to written, so the
+ * results never dip while a flush is running. The base is reloaded every refresh interval to
+ * pick up votes written by other instances, and polls without votes for the idle period are
+ * evicted once everything they counted is written.
+ */
+@Component
+public class PollVoteBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(PollVoteBuffer.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final EventCache eventCache;
+    private final boolean enabled;
+    private final long flushIntervalMs;
+    private final long refreshIntervalMs;
+    private final long evictIdleMs;
+
+    private final Map<PollKey, PollTally> tallies = new ConcurrentHashMap<>();
+    // Evicted tallies get one more flush for votes that reached them just before eviction
+    private final Map<PollKey, PollTally> retired = new HashMap<>();
+    private final Map<AgendaKey, LongAdder> acceptedVotes = new ConcurrentHashMap<>();
+    private final LongAdder unflushedVotes = new LongAdder();
+    private final Counter flushedVotes;
+    private final Timer flushTimer;
+    private final ScheduledExecutorService flusher;
+
+    public PollVoteBuffer(MongoTemplate mongoTemplate,
+                          EventCache eventCache,
+                          MeterRegistry meterRegistry,
+                          @Value("${app.polls.buffered-voting.enabled:false}") boolean enabled,
+                          @Value("${app.polls.buffered-voting.flush-interval-ms:250}") long flushIntervalMs,
+                          @Value("${app.polls.buffered-voting.refresh-interval-ms:1000}") long refreshIntervalMs,
+                          @Value("${app.polls.buffered-voting.evict-idle-ms:300000}") long evictIdleMs) {
+        this.mongoTemplate = mongoTemplate;
+        this.eventCache = eventCache;
+        this.enabled = enabled;
+        this.flushIntervalMs = flushIntervalMs;
+        this.refreshIntervalMs = refreshIntervalMs;
+        this.evictIdleMs = evictIdleMs;
+
+        Gauge.builder("polls.votes.unflushed", unflushedVotes, LongAdder::sum)
+                .description("Votes accepted in memory but not yet written to MongoDB")
+                .register(meterRegistry);
+        Gauge.builder("polls.votes.tracked", tallies, Map::size)
+                .description("Polls whose votes are counted in memory")
+                .register(meterRegistry);
+        this.flushedVotes = Counter.builder("polls.votes.flushed")
+                .description("Buffered votes written to MongoDB")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("polls.votes.flush")
+                .description("Time spent writing one batch of buffered votes")
+                .register(meterRegistry);
+
+        if (enabled) {
+            this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "poll-vote-flusher");
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            this.flusher = null;
+        }
+    }
+
+    /**
+     * Starts flushing and refreshing once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (flusher == null) {
+            return;
+        }
+        // One thread for both, so a refresh never sees a flush half applied
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        flusher.scheduleWithFixedDelay(this::refreshQuietly, refreshIntervalMs, refreshIntervalMs,
+                TimeUnit.MILLISECONDS);
+        logger.info("Buffered poll voting enabled, flushing every {} ms", flushIntervalMs);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Counts one vote in memory and returns the poll with its current results.
+     *
+     * @param loader loads the persisted poll the first time it is voted on; may return null when
+     *               the caller found the poll tracked, which fails the vote with
+     *               {@link PollNotTrackedException} if the poll was evicted since
+     */
+    public Poll record(String eventId, String agendaId, String pollId, String option, Supplier<Poll> loader) {
+        PollKey key = new PollKey(eventId, agendaId, pollId);
+        PollTally tally = tallies.get(key);
+        if (tally == null) {
+            // Load outside the map so a slow read does not block other polls; the first tally wins
+            Poll persisted = loader.get();
+            if (persisted == null) {
+                throw new PollNotTrackedException();
+            }
+            PollTally loaded = new PollTally(persisted);
+            PollTally existing = tallies.putIfAbsent(key, loaded);
+            tally = existing != null ? existing : loaded;
+        }
+
+        LongAdder counter = tally.counted.get(option);
+        if (counter == null) {
+            return null;
+        }
+        counter.increment();
+        unflushedVotes.increment();
+        // Counted after the tally, so a reader that sees the new count also sees the vote
+        acceptedVotes.computeIfAbsent(new AgendaKey(eventId, agendaId), k -> new LongAdder()).increment();
+
+        return tally.snapshot();
+    }
+
+    /**
+     * Votes this instance has accepted for the polls of an agenda item while any of them was
+     * tracked. Only grows until the agenda item's polls are evicted, which happens after their
+     * votes were flushed and so the event version moved on; together with that version it
+     * identifies the current results.
+     */
+    public long acceptedVotes(String eventId, String agendaId) {
+        LongAdder accepted = acceptedVotes.get(new AgendaKey(eventId, agendaId));
+        return accepted != null ? accepted.sum() : 0L;
+    }
+
+    /**
+     * Votes counted for a poll that have not been written yet, by option.
+     */
+    public Map<String, Long> pendingVotes(String eventId, String agendaId, String pollId) {
+        PollTally tally = tallies.get(new PollKey(eventId, agendaId, pollId));
+        if (tally == null) {
+            return Map.of();
+        }
+        return tally.unflushed();
+    }
+
+    /**
+     * Adds the votes buffered for the poll to its persisted tallies, in place.
+     */
+    public void addPendingVotes(String eventId, String agendaId, Poll poll) {
+        Map<String, Long> pending = pendingVotes(eventId, agendaId, poll.getId());
+        pending.forEach((option, count) -> poll.getVotes().merge(option, Math.toIntExact(count), Integer::sum));
+    }
+
+    /**
+     * Whether votes for the poll are already being counted, so recording one needs no load.
+     */
+    public boolean isTracked(String eventId, String agendaId, String pollId) {
+        return tallies.containsKey(new PollKey(eventId, agendaId, pollId));
+    }
+
+    /**
+     * Writes all unwritten votes as a single unordered bulk, then evicts idle polls. Votes of
+     * updates that fail stay unwritten and are retried on the next flush.
+     */
+    public synchronized void flush() {
+        List<PendingUpdate> updates = new ArrayList<>();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Event.class);
+        LocalDateTime now = LocalDateTime.now();
+
+        Map<PollKey, PollTally> flushing = new HashMap<>(tallies);
+        for (Map<PollKey, PollTally> pending : List.of(retired, flushing)) {
+            pending.forEach((key, tally) -> {
+                PendingUpdate update = pendingUpdate(key, tally, now, bulk);
+                if (update != null) {
+                    updates.add(update);
+                }
+            });
+        }
+
+        List<PendingUpdate> failed = new ArrayList<>();
+        if (!updates.isEmpty()) {
+            Timer.Sample sample = Timer.start();
+            try {
+                bulk.execute();
+            } catch (BulkOperationException e) {
+                for (BulkWriteError error : e.getErrors()) {
+                    failed.add(updates.get(error.getIndex()));
+                }
+                logger.error("Failed to flush {} of {} buffered poll updates", failed.size(), updates.size(), e);
+            } catch (RuntimeException e) {
+                failed.addAll(updates);
+                logger.error("Failed to flush {} buffered poll updates", updates.size(), e);
+            } finally {
+                sample.stop(flushTimer);
+            }
+        }
+
+        long written = 0;
+        Set<String> flushedEvents = new HashSet<>();
+        for (PendingUpdate update : updates) {
+            if (!failed.contains(update)) {
+                flushedEvents.add(update.eventId());
+                update.deltas().forEach((option, delta) -> update.tally().flushed.merge(option, delta, Long::sum));
+                written += update.deltas().values().stream().mapToLong(Long::longValue).sum();
+            }
+        }
+        // Cached events still hold the tallies from before these votes were written
+        flushedEvents.forEach(eventCache::invalidate);
+        unflushedVotes.add(-written);
+        flushedVotes.increment(written);
+        if (!updates.isEmpty()) {
+            logger.debug("Flushed {} buffered votes across {} polls", written, updates.size() - failed.size());
+        }
+
+        retired.values().removeIf(tally -> tally.unflushed().isEmpty());
+        evictIdle(flushing);
+    }
+
+    private PendingUpdate pendingUpdate(PollKey key, PollTally tally, LocalDateTime now, BulkOperations bulk) {
+        Map<String, Long> deltas = tally.unflushed();
+        if (deltas.isEmpty()) {
+            return null;
+        }
+
+        Update update = new Update()
+                .set("updatedAt", now)
+                .inc("version", 1)
+                .filterArray(Criteria.where("a._id").is(key.agendaId()))
+                .filterArray(Criteria.where("p._id").is(key.pollId()));
+        deltas.forEach((option, delta) -> update.inc("agenda.$[a].polls.$[p].votes." + option, delta));
+
+        bulk.updateOne(new Query(Criteria.where("id").is(key.eventId())), update);
+        return new PendingUpdate(key.eventId(), tally, deltas);
+    }
+
+    /**
+     * Moves polls that had no votes for the idle period and have nothing left to write out of
+     * the live map. The agenda item's accepted votes go with its last poll.
+     */
+    private void evictIdle(Map<PollKey, PollTally> flushed) {
+        long nowMs = System.currentTimeMillis();
+        flushed.forEach((key, tally) -> {
+            if (tally.idleFor(nowMs) >= evictIdleMs && tally.unflushed().isEmpty()
+                    && tallies.remove(key, tally)) {
+                retired.put(key, tally);
+            }
+        });
+        if (retired.isEmpty()) {
+            return;
+        }
+
+        Set<AgendaKey> tracked = new HashSet<>();
+        tallies.keySet().forEach(key -> tracked.add(new AgendaKey(key.eventId(), key.agendaId())));
+        for (Iterator<AgendaKey> agendas = acceptedVotes.keySet().iterator(); agendas.hasNext(); ) {
+            if (!tracked.contains(agendas.next())) {
+                agendas.remove();
+            }
+        }
+    }
+
+    /**
+     * Reloads the persisted votes of every tracked poll, so votes written by other instances show
+     * up in this instance's results. Synchronized with flushing, so the votes this instance has
+     * written are exactly those the reload already contains.
+     */
+    public synchronized void refresh() {
+        if (tallies.isEmpty()) {
+            return;
+        }
+        Map<PollKey, PollTally> tracked = new HashMap<>(tallies);
+        Set<String> eventIds = new HashSet<>();
+        tracked.keySet().forEach(key -> eventIds.add(key.eventId()));
+
+        Query query = new Query(Criteria.where("id").in(eventIds));
+        query.fields().include("agenda.id").include("agenda.polls");
+        Map<String, Event> events = new HashMap<>();
+        mongoTemplate.find(query, Event.class).forEach(event -> events.put(event.getId(), event));
+
+        tracked.forEach((key, tally) -> {
+            Poll persisted = findPoll(events.get(key.eventId()), key);
+            if (persisted != null) {
+                tally.rebase(persisted.getVotes());
+            }
+        });
+    }
+
+    private static Poll findPoll(Event event, PollKey key) {
+        if (event == null || event.getAgenda() == null) {
+            return null;
+        }
+        for (AgendaItem item : event.getAgenda()) {
+            if (key.agendaId().equals(item.getId()) && item.getPolls() != null) {
+                for (Poll poll : item.getPolls()) {
+                    if (key.pollId().equals(poll.getId())) {
+                        return poll;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            logger.error("Buffered vote flush failed", e);
+        }
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            logger.error("Refreshing buffered poll results failed", e);
+        }
+    }
+
+    @PreDestroy
+    public void drain() throws InterruptedException {
+        if (flusher == null) {
+            return;
+        }
+        flusher.shutdown();
+        flusher.awaitTermination(flushIntervalMs * 4, TimeUnit.MILLISECONDS);
+        flush();
+        logger.info("Buffered poll votes drained, {} left unflushed", unflushedVotes.sum());
+    }
+
+    /**
+     * Thrown by {@link #record} when a poll the caller found tracked was evicted before the vote
+     * was counted; the vote should be recorded again with a loader that reads the poll.
+     */
+    public static final class PollNotTrackedException extends RuntimeException {
+        private PollNotTrackedException() {
+            super("Poll is no longer tracked", null, false, false);
+        }
+    }
+
+    private record PollKey(String eventId, String agendaId, String pollId) {
+    }
+
+    private record AgendaKey(String eventId, String agendaId) {
+    }
+
+    private record PendingUpdate(String eventId, PollTally tally, Map<String, Long> deltas) {
+    }
+
+    /**
+     * In-memory state of one poll. Counters are never reset: written votes are tracked apart,
+     * so a vote counted while a flush runs is neither lost nor missing from the results.
+     */
+    private static final class PollTally {
+        private final Poll poll;
+        // Every vote this instance counted
+        private final Map<String, LongAdder> counted = new ConcurrentHashMap<>();
+        // Counted votes already written, only changed by the flusher
+        private final Map<String, Long> flushed = new ConcurrentHashMap<>();
+        // Persisted votes not written by this instance, replaced whole on refresh
+        private volatile Map<String, Long> base;
+        // Flusher only
+        private long lastCounted;
+        private long activeAtMs = System.currentTimeMillis();
+
+        private PollTally(Poll poll) {
+            this.poll = poll;
+            Map<String, Long> persisted = new HashMap<>();
+            for (String option : poll.getOptions()) {
+                Integer votes = poll.getVotes() != null ? poll.getVotes().get(option) : null;
+                persisted.put(option, votes != null ? votes.longValue() : 0L);
+                counted.put(option, new LongAdder());
+                flushed.put(option, 0L);
+            }
+            this.base = persisted;
+        }
+
+        private Poll snapshot() {
+            Map<String, Long> persisted = base;
+            Map<String, Integer> votes = new LinkedHashMap<>();
+            for (String option : poll.getOptions()) {
+                votes.put(option, Math.toIntExact(persisted.get(option) + counted.get(option).sum()));
+            }
+            return new Poll(poll.getId(), poll.getQuestion(), poll.getOptions(), votes);
+        }
+
+        /**
+         * Counted votes not written yet, by option. Written votes are read first, so a flush in
+         * between can only make the result too high, never too low.
+         */
+        private Map<String, Long> unflushed() {
+            Map<String, Long> pending = new HashMap<>();
+            for (String option : poll.getOptions()) {
+                long written = flushed.get(option);
+                long delta = counted.get(option).sum() - written;
+                if (delta != 0) {
+                    pending.put(option, delta);
+                }
+            }
+            return pending;
+        }
+
+        private void rebase(Map<String, Integer> persistedVotes) {
+            Map<String, Long> persisted = new HashMap<>();
+            for (String option : poll.getOptions()) {
+                Integer votes = persistedVotes != null ? persistedVotes.get(option) : null;
+                persisted.put(option, (votes != null ? votes.longValue() : 0L) - flushed.get(option));
+            }
+            this.base = persisted;
+        }
+
+        /**
+         * How long no vote has been counted, as seen by successive flushes.
+         */
+        private long idleFor(long nowMs) {
+            long total = 0;
+            for (LongAdder counter : counted.values()) {
+                total += counter.sum();
+            }
+            if (total != lastCounted) {
+                lastCounted = total;
+                activeAtMs = nowMs;
+            }
+            return nowMs - activeAtMs;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.kp.eventchey.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kp.eventchey.domain.Question;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+
+/**
+ * In-memory ranking of the questions of each agenda item by upvotes, newest first among equal
+ * counts. Each board is a sorted set kept in order as questions are asked and upvoted, so the top
+ * K are read by walking K entries instead of sorting every question on each request.
+ * <p>
+ * A board is loaded from MongoDB the first time it is read and reloaded once it is older than
+ * the refresh interval, which bounds how long upvotes made on other instances stay invisible.
+ * Boards are held in a Caffeine cache bounded by count and dropped once unread for the idle
+ * period, so agenda items that are no longer viewed do not stay in memory.
+ */
+@Component
+public class QuestionLeaderboard {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuestionLeaderboard.class);
+
+    private static final Comparator<Rank> ORDER = Comparator.comparingInt(Rank::upvotes).reversed()
+            .thenComparing(Rank::timestamp, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(Rank::questionId);
+
+    private final long refreshIntervalMs;
+    private final Cache<BoardKey, Board> boards;
+
+    public QuestionLeaderboard(MeterRegistry meterRegistry,
+                               @Value("${app.questions.leaderboard.refresh-interval-ms:30000}") long refreshIntervalMs,
+                               @Value("${app.questions.leaderboard.max-boards:10000}") long maxBoards,
+                               @Value("${app.questions.leaderboard.expire-after-access-ms:600000}") long expireAfterAccessMs) {
+        this.refreshIntervalMs = refreshIntervalMs;
+        this.boards = Caffeine.newBuilder()
+                .maximumSize(maxBoards)
+                .expireAfterAccess(Duration.ofMillis(expireAfterAccessMs))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, boards, "question-leaderboards");
+    }
+
+    /**
+     * The most upvoted questions of the agenda item, best first.
+     *
+     * @param loader reads all questions of the agenda item when the board is missing or stale
+     */
+    public List<Question> top(String eventId, String agendaId, int limit, Supplier<List<Question>> loader) {
+        return topIfFresh(eventId, agendaId, limit)
+                .orElseGet(() -> load(eventId, agendaId, loader.get(), limit));
+    }
+
+    /**
+     * The top questions if the board of the agenda item can answer without going back to MongoDB.
+     */
+    public Optional<List<Question>> topIfFresh(String eventId, String agendaId, int limit) {
+        Board board = boards.getIfPresent(new BoardKey(eventId, agendaId));
+        if (board == null || board.isStale(refreshIntervalMs)) {
+            return Optional.empty();
+        }
+        return Optional.of(board.top(limit));
+    }
+
+    /**
+     * Replaces the board of the agenda item with all of its questions and returns the top ones.
+     * The load happens outside the map so a slow read does not block other boards; the newest
+     * load wins.
+     */
+    public List<Question> load(String eventId, String agendaId, List<Question> questions, int limit) {
+        Board board = new Board(questions);
+        boards.put(new BoardKey(eventId, agendaId), board);
+        logger.debug("Loaded question leaderboard for agenda {} in event {} with {} questions",
+                agendaId, eventId, questions.size());
+        return board.top(limit);
+    }
+
+    /**
+     * Adds a new question or applies the state of a changed one. Upvote counts only move up,
+     * so a write that arrives after a newer one cannot lower the rank of a question.
+     */
+    public void record(Question question) {
+        Board board = boards.getIfPresent(new BoardKey(question.getEventId(), question.getAgendaId()));
+        if (board != null) {
+            board.put(question);
+        }
+    }
+
+    public void evictEvent(String eventId) {
+        boards.asMap().keySet().removeIf(key -> key.eventId().equals(eventId));
+    }
+
+    private record BoardKey(String eventId, String agendaId) {
+    }
+
+    private record Rank(int upvotes, LocalDateTime timestamp, String questionId) {
+    }
+
+    private static final class Board {
+        private final long loadedAt = System.currentTimeMillis();
+        private final NavigableSet<Rank> ranking = new TreeSet<>(ORDER);
+        private final Map<String, Rank> ranks = new HashMap<>();
+        private final Map<String, Question> questions = new HashMap<>();
+
+        private Board(List<Question> loaded) {
+            loaded.forEach(this::put);
+        }
+
+        private boolean isStale(long refreshIntervalMs) {
+            return System.currentTimeMillis() - loadedAt > refreshIntervalMs;
+        }
+
+        private synchronized void put(Question question) {
+            int upvotes = question.getUpvotes() != null ? question.getUpvotes() : 0;
+            Rank previous = ranks.get(question.getId());
+            if (previous != null && previous.upvotes() > upvotes) {
+                upvotes = previous.upvotes();
+            }
+
+            Rank rank = new Rank(upvotes, question.getTimestamp(), question.getId());
+            if (!Objects.equals(previous, rank)) {
+                if (previous != null) {
+                    ranking.remove(previous);
+                }
+                ranking.add(rank);
+                ranks.put(question.getId(), rank);
+            }
+            // Keep a copy so callers that go on modifying the question do not change the board
+            questions.put(question.getId(), new Question(question.getId(), question.getEventId(),
+                    question.getAgendaId(), question.getAskedBy(), question.getQuestion(), question.getAnswer(),
+                    question.getTimestamp(), upvotes));
+        }
+
+        private synchronized List<Question> top(int limit) {
+            List<Question> top = new ArrayList<>(Math.min(limit, questions.size()));
+            Iterator<Rank> iterator = ranking.iterator();
+            while (top.size() < limit && iterator.hasNext()) {
+                top.add(questions.get(iterator.next().questionId()));
+            }
+            return top;
+        }
+    }
+}
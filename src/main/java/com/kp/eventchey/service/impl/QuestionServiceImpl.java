@@ -1,22 +1,25 @@
 package com.kp.eventchey.service.impl;
 
-import com.kp.eventchey.ai.AiSummaryService;
-import com.kp.eventchey.domain.AgendaItem;
-import com.kp.eventchey.domain.Event;
 import com.kp.eventchey.domain.Question;
+import com.kp.eventchey.domain.QuestionDigest;
 import com.kp.eventchey.dto.request.AddQuestionRequest;
 import com.kp.eventchey.dto.request.AnswerQuestionRequest;
 import com.kp.eventchey.dto.response.QuestionResponse;
 import com.kp.eventchey.exception.ResourceNotFoundException;
 import com.kp.eventchey.mapper.QuestionMapper;
-import com.kp.eventchey.repository.EventRepository;
+import com.kp.eventchey.repository.QuestionRepository;
 import com.kp.eventchey.service.QuestionService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -25,44 +28,35 @@ public class QuestionServiceImpl implements QuestionService {
 
     private static final Logger logger = LoggerFactory.getLogger(QuestionServiceImpl.class);
 
-    private final EventRepository eventRepository;
+    private final EventCache eventCache;
+    private final QuestionRepository questionRepository;
     private final QuestionMapper questionMapper;
-    private final AiSummaryService aiSummaryService;
-
-    public QuestionServiceImpl(EventRepository eventRepository, QuestionMapper questionMapper,
-                              AiSummaryService aiSummaryService) {
-        this.eventRepository = eventRepository;
+    private final MongoTemplate mongoTemplate;
+    private final QuestionLeaderboard leaderboard;
+    private final int maxTopLimit;
+
+    public QuestionServiceImpl(EventCache eventCache, QuestionRepository questionRepository,
+                              QuestionMapper questionMapper,
+                              MongoTemplate mongoTemplate, QuestionLeaderboard leaderboard,
+                              @Value("${app.questions.top.max-limit:100}") int maxTopLimit) {
+        this.eventCache = eventCache;
+        this.questionRepository = questionRepository;
         this.questionMapper = questionMapper;
-        this.aiSummaryService = aiSummaryService;
+        this.mongoTemplate = mongoTemplate;
+        this.leaderboard = leaderboard;
+        this.maxTopLimit = maxTopLimit;
     }
 
     @Override
     public QuestionResponse addQuestion(String eventId, String agendaId, AddQuestionRequest request) {
         logger.info("Adding question to agenda: {} in event: {}", agendaId, eventId);
 
-        Event event = eventRepository.findById(eventId)
-                .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
-
-        AgendaItem agendaItem = event.getAgenda().stream()
-                .filter(a -> a.getId().equals(agendaId))
-                .findFirst()
-                .orElseThrow(() -> new ResourceNotFoundException("AgendaItem", "id", agendaId));
+        requireAgendaItem(eventId, agendaId);
 
-        Question question = new Question();
-        question.setId(UUID.randomUUID().toString());
-        question.setAskedBy(request.askedBy());
-        question.setQuestion(request.question());
-        question.setTimestamp(LocalDateTime.now());
-        question.setUpvotes(0);
-
-        if (agendaItem.getQuestions() == null) {
-            agendaItem.setQuestions(new ArrayList<>());
-        }
-
-        agendaItem.getQuestions().add(question);
-        event.setUpdatedAt(LocalDateTime.now());
-
-        eventRepository.save(event);
+        Question question = newQuestion(eventId, agendaId, request);
+        questionRepository.insert(question);
+        leaderboard.record(question);
+        recordQuestionChange(eventId, SummaryFingerprint.question(question));
         logger.info("Question added: {}", question.getId());
 
         return questionMapper.toResponse(question);
@@ -72,27 +66,18 @@ public class QuestionServiceImpl implements QuestionService {
     public QuestionResponse answerQuestion(String eventId, String agendaId, String questionId, AnswerQuestionRequest request) {
         logger.info("Answering question {} in agenda {} in event {}", questionId, agendaId, eventId);
 
-        Event event = eventRepository.findById(eventId)
-                .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
-
-        AgendaItem agendaItem = event.getAgenda().stream()
-                .filter(a -> a.getId().equals(agendaId))
-                .findFirst()
-                .orElseThrow(() -> new ResourceNotFoundException("AgendaItem", "id", agendaId));
-
-        Question question = agendaItem.getQuestions().stream()
-                .filter(q -> q.getId().equals(questionId))
-                .findFirst()
-                .orElseThrow(() -> new ResourceNotFoundException("Question", "id", questionId));
-
+        // Sets only the answer, so upvotes counted meanwhile are kept. The previous document with
+        // the answer applied is the stored one, which also gives the digest both versions.
+        Question question = mongoTemplate.findAndModify(questionQuery(eventId, agendaId, questionId),
+                answerUpdate(request.answer()), Question.class);
+        if (question == null) {
+            throw new ResourceNotFoundException("Question", "id", questionId);
+        }
+        long before = SummaryFingerprint.question(question);
         question.setAnswer(request.answer());
-        event.setUpdatedAt(LocalDateTime.now());
-
-        // Update AI summary with new Q&A
-        String aiSummary = aiSummaryService.summarizeQna(agendaItem.getQuestions());
-        agendaItem.setAiSummary(aiSummary);
+        leaderboard.record(question);
+        recordQuestionChange(eventId, before ^ SummaryFingerprint.question(question));
 
-        eventRepository.save(event);
         logger.info("Question answered: {}", questionId);
 
         return questionMapper.toResponse(question);
@@ -102,20 +87,81 @@ public class QuestionServiceImpl implements QuestionService {
     public List<QuestionResponse> listQuestions(String eventId, String agendaId) {
         logger.info("Listing questions for agenda: {} in event: {}", agendaId, eventId);
 
-        Event event = eventRepository.findById(eventId)
-                .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
+        requireAgendaItem(eventId, agendaId);
 
-        AgendaItem agendaItem = event.getAgenda().stream()
-                .filter(a -> a.getId().equals(agendaId))
-                .findFirst()
-                .orElseThrow(() -> new ResourceNotFoundException("AgendaItem", "id", agendaId));
-
-        List<Question> questions = agendaItem.getQuestions() != null ? agendaItem.getQuestions() : new ArrayList<>();
+        List<Question> questions = questionRepository.findByEventIdAndAgendaIdOrderByTimestampAsc(eventId, agendaId);
         logger.info("Found {} questions", questions.size());
 
         return questions.stream()
                 .map(questionMapper::toResponse)
                 .toList();
     }
-}
 
+    @Override
+    public List<QuestionResponse> listTopQuestions(String eventId, String agendaId, int limit) {
+        logger.info("Listing top {} questions for agenda: {} in event: {}", limit, agendaId, eventId);
+
+        int size = EventServiceImpl.pageSize(limit, maxTopLimit);
+        List<Question> questions = leaderboard.top(eventId, agendaId, size, () -> {
+            requireAgendaItem(eventId, agendaId);
+            return questionRepository.findByEventIdAndAgendaIdOrderByTimestampAsc(eventId, agendaId);
+        });
+
+        return questions.stream()
+                .map(questionMapper::toResponse)
+                .toList();
+    }
+
+    @Override
+    public QuestionResponse upvoteQuestion(String eventId, String agendaId, String questionId) {
+        logger.info("Upvoting question {} in agenda {} in event {}", questionId, agendaId, eventId);
+
+        Question question = mongoTemplate.findAndModify(questionQuery(eventId, agendaId, questionId), upvoteUpdate(),
+                FindAndModifyOptions.options().returnNew(true), Question.class);
+        if (question == null) {
+            throw new ResourceNotFoundException("Question", "id", questionId);
+        }
+        leaderboard.record(question);
+
+        return questionMapper.toResponse(question);
+    }
+
+    static Question newQuestion(String eventId, String agendaId, AddQuestionRequest request) {
+        Question question = new Question();
+        question.setId(UUID.randomUUID().toString());
+        question.setEventId(eventId);
+        question.setAgendaId(agendaId);
+        question.setAskedBy(request.askedBy());
+        question.setQuestion(request.question());
+        question.setTimestamp(LocalDateTime.now());
+        question.setUpvotes(0);
+        return question;
+    }
+
+    /**
+     * Matches the question only within its agenda item, so the event itself is never read.
+     */
+    static Query questionQuery(String eventId, String agendaId, String questionId) {
+        return new Query(Criteria.where("id").is(questionId).and("eventId").is(eventId).and("agendaId").is(agendaId));
+    }
+
+    static Update answerUpdate(String answer) {
+        return new Update().set("answer", answer);
+    }
+
+    static Update upvoteUpdate() {
+        return new Update().inc("upvotes", 1);
+    }
+
+    /**
+     * Folds a question change into the question digest of the event, leaving the event untouched.
+     */
+    private void recordQuestionChange(String eventId, long change) {
+        mongoTemplate.upsert(new Query(Criteria.where("id").is(eventId)),
+                SummaryFingerprint.questionDigestUpdate(change), QuestionDigest.class);
+    }
+
+    private void requireAgendaItem(String eventId, String agendaId) {
+        eventCache.require(eventId).agendaItem(agendaId);
+    }
+}
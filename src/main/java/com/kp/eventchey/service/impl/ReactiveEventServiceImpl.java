@@ -0,0 +1,381 @@
+package com.kp.eventchey.service.impl;
+
+import com.kp.eventchey.domain.Attendee;
+import com.kp.eventchey.domain.AttendeeStatus;
+import com.kp.eventchey.domain.Event;
+import com.kp.eventchey.domain.QuestionDigest;
+import com.kp.eventchey.dto.request.CreateEventRequest;
+import com.kp.eventchey.dto.request.FieldSelection;
+import com.kp.eventchey.dto.request.InviteAttendeeRequest;
+import com.kp.eventchey.dto.request.UpdateEventRequest;
+import com.kp.eventchey.dto.response.AttendeeImportResponse;
+import com.kp.eventchey.dto.response.AttendeeResponse;
+import com.kp.eventchey.dto.response.CursorPage;
+import com.kp.eventchey.dto.response.EventResponse;
+import com.kp.eventchey.dto.response.EventSummaryResponse;
+import com.kp.eventchey.dto.response.SummaryJobResponse;
+import com.kp.eventchey.exception.ResourceNotFoundException;
+import com.kp.eventchey.exception.ValidationException;
+import com.kp.eventchey.mapper.AttendeeMapper;
+import com.kp.eventchey.mapper.EventMapper;
+import com.kp.eventchey.repository.AttendeeCount;
+import com.kp.eventchey.repository.EventCursor;
+import com.kp.eventchey.repository.EventSummaryView;
+import com.kp.eventchey.repository.EventVersionView;
+import com.kp.eventchey.repository.ReactiveAttendeeRepository;
+import com.kp.eventchey.repository.ReactiveEventRepository;
+import com.kp.eventchey.repository.ReactiveQuestionRepository;
+import com.kp.eventchey.service.AttendeeImportService;
+import com.kp.eventchey.service.EventService;
+import com.kp.eventchey.service.LlmPriority;
+import com.kp.eventchey.service.ReactiveEventService;
+import com.kp.eventchey.service.SummaryJobService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Event operations on reactive MongoDB. Inviting attendees and generating summaries wait on SMTP
+ * and the LLM, so those two run the blocking {@link EventService} on the bounded elastic pool
+ * instead of an event loop thread.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveEventServiceImpl implements ReactiveEventService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveEventServiceImpl.class);
+
+    private final ReactiveEventRepository eventRepository;
+    private final ReactiveAttendeeRepository attendeeRepository;
+    private final ReactiveQuestionRepository questionRepository;
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final EventMapper eventMapper;
+    private final AttendeeMapper attendeeMapper;
+    private final EventService eventService;
+    private final AttendeeImportService attendeeImportService;
+    private final SummaryJobService summaryJobService;
+    private final EventMutationRetry mutationRetry;
+    private final QuestionLeaderboard questionLeaderboard;
+    private final EventCache eventCache;
+    private final int maxPageSize;
+
+    public ReactiveEventServiceImpl(ReactiveEventRepository eventRepository,
+                                    ReactiveAttendeeRepository attendeeRepository,
+                                    ReactiveQuestionRepository questionRepository,
+                                    ReactiveMongoTemplate mongoTemplate,
+                                    EventMapper eventMapper, AttendeeMapper attendeeMapper,
+                                    EventService eventService, AttendeeImportService attendeeImportService,
+                                    SummaryJobService summaryJobService,
+                                    EventMutationRetry mutationRetry,
+                                    QuestionLeaderboard questionLeaderboard, EventCache eventCache,
+                                    @Value("${app.events.page.max-limit:200}") int maxPageSize) {
+        this.eventRepository = eventRepository;
+        this.attendeeRepository = attendeeRepository;
+        this.questionRepository = questionRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.eventMapper = eventMapper;
+        this.attendeeMapper = attendeeMapper;
+        this.eventService = eventService;
+        this.attendeeImportService = attendeeImportService;
+        this.summaryJobService = summaryJobService;
+        this.mutationRetry = mutationRetry;
+        this.questionLeaderboard = questionLeaderboard;
+        this.eventCache = eventCache;
+        this.maxPageSize = maxPageSize;
+    }
+
+    @Override
+    public Mono<EventResponse> createEvent(CreateEventRequest request) {
+        logger.info("Creating event: {}", request.name());
+
+        if (request.endDate().isBefore(request.startDate())) {
+            return Mono.error(new ValidationException("End date must be after start date"));
+        }
+
+        Event event = eventMapper.toEntity(request);
+        event.setCreatedAt(LocalDateTime.now());
+        event.setUpdatedAt(LocalDateTime.now());
+        event.setAttendeeDigest(0L);
+
+        return eventRepository.save(event)
+                .doOnNext(saved -> logger.info("Event created with ID: {}", saved.getId()))
+                .map(eventMapper::toResponse);
+    }
+
+    @Override
+    public Mono<EventResponse> updateEvent(String eventId, UpdateEventRequest request, Long expectedVersion) {
+        logger.info("Updating event: {}", eventId);
+
+        Mono<Event> update = requireEvent(eventId)
+                .flatMap(event -> {
+                    EventMutationRetry.requireVersion(event, expectedVersion);
+                    EventServiceImpl.applyUpdate(event, request);
+                    return eventRepository.save(event);
+                });
+
+        return mutationRetry.execute("updateEvent", update)
+                .doOnNext(event -> eventCache.invalidate(eventId))
+                .doOnNext(event -> logger.info("Event updated: {}", eventId))
+                .map(eventMapper::toResponse);
+    }
+
+    @Override
+    public Mono<EventResponse> getEventById(String eventId) {
+        logger.info("Fetching event: {}", eventId);
+
+        return requireEvent(eventId).map(eventMapper::toResponse);
+    }
+
+    @Override
+    public Mono<EventResponse> getEventById(String eventId, FieldSelection selection) {
+        if (selection == null) {
+            return getEventById(eventId);
+        }
+        logger.info("Fetching event: {} with fields {} and expansions {}", eventId, selection.fields(),
+                selection.expand());
+
+        Mono<Event> event = eventRepository.findProjected(eventId, SparseFields.eventPaths(selection))
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Event", "id", eventId)));
+        if (selection.expands("attendees")) {
+            event = event.flatMap(projected -> attendeeRepository.findByEventId(eventId).collectList()
+                    .doOnNext(projected::setAttendees)
+                    .thenReturn(projected));
+        }
+        if (selection.expands("agenda.questions")) {
+            event = event.flatMap(projected -> questionRepository.findByEventIdOrderByTimestampAsc(eventId)
+                    .collectList()
+                    .doOnNext(questions -> SparseFields.attachQuestions(projected.getAgenda(), questions))
+                    .thenReturn(projected));
+        }
+
+        return event.map(eventMapper::toResponse);
+    }
+
+    @Override
+    public Mono<Long> getEventVersion(String eventId) {
+        return eventRepository.findVersion(eventId)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Event", "id", eventId)))
+                // Agenda reads still go through the blocking cache
+                .doOnNext(view -> eventCache.evictIfStale(eventId, view.version()))
+                .map(EventVersionView::version);
+    }
+
+    @Override
+    public Mono<EventResponse> inviteAttendees(String eventId, List<InviteAttendeeRequest> attendees) {
+        return Mono.fromCallable(() -> eventService.inviteAttendees(eventId, attendees))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Mono<AttendeeImportResponse> importAttendees(String eventId, String fileName, Path csv) {
+        // Only reads the header and queues the import, which then runs on its own threads
+        return Mono.fromCallable(() -> attendeeImportService.startImport(eventId, fileName, csv))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Mono<AttendeeImportResponse> getAttendeeImport(String eventId, String importId) {
+        return Mono.fromCallable(() -> attendeeImportService.getImport(eventId, importId))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Mono<CursorPage<EventResponse>> listEvents(String createdBy, LocalDateTime from, LocalDateTime to,
+                                                      String cursor, int limit) {
+        logger.info("Listing events with filters - createdBy: {}, from: {}, to: {}, limit: {}", createdBy, from, to, limit);
+
+        return Mono.defer(() -> {
+            int pageSize = EventServiceImpl.pageSize(limit, maxPageSize);
+            EventCursor after = EventServiceImpl.decodeCursor(cursor);
+
+            // Fetch one extra row to learn whether another page follows
+            return eventRepository.findPage(createdBy, from, to, after, pageSize + 1)
+                    .collectList()
+                    .map(events -> {
+                        String nextCursor = null;
+                        if (events.size() > pageSize) {
+                            events = events.subList(0, pageSize);
+                            nextCursor = EventCursor.of(events.get(pageSize - 1)).encode();
+                        }
+                        return new CursorPage<>(eventMapper.toResponseList(events), nextCursor);
+                    });
+        });
+    }
+
+    @Override
+    public Mono<CursorPage<EventSummaryResponse>> listEventSummaries(String createdBy, LocalDateTime from,
+                                                                     LocalDateTime to, String cursor, int limit) {
+        logger.info("Listing event summaries with filters - createdBy: {}, from: {}, to: {}, limit: {}",
+                createdBy, from, to, limit);
+
+        return Mono.defer(() -> {
+            int pageSize = EventServiceImpl.pageSize(limit, maxPageSize);
+            EventCursor after = EventServiceImpl.decodeCursor(cursor);
+
+            return eventRepository.findSummaryPage(createdBy, from, to, after, pageSize + 1)
+                    .collectList()
+                    .flatMap(events -> {
+                        String nextCursor = events.size() > pageSize
+                                ? EventCursor.of(events.get(pageSize - 1)).encode()
+                                : null;
+                        List<EventSummaryView> page = events.size() > pageSize ? events.subList(0, pageSize) : events;
+                        if (page.isEmpty()) {
+                            return Mono.just(new CursorPage<EventSummaryResponse>(List.of(), null));
+                        }
+
+                        return attendeeRepository.countByEventIds(page.stream().map(EventSummaryView::id).toList())
+                                .collectMap(AttendeeCount::id, AttendeeCount::count)
+                                .map(counts -> new CursorPage<>(EventServiceImpl.toSummaryResponses(page, counts),
+                                        nextCursor));
+                    });
+        });
+    }
+
+    @Override
+    public Flux<EventResponse> streamEvents(String createdBy, LocalDateTime from, LocalDateTime to) {
+        logger.info("Streaming events with filters - createdBy: {}, from: {}, to: {}", createdBy, from, to);
+
+        return eventRepository.streamEvents(createdBy, from, to).map(eventMapper::toResponse);
+    }
+
+    @Override
+    public Mono<EventResponse> findFreshSummary(String eventId) {
+        return Mono.fromCallable(() -> eventService.findFreshSummary(eventId).orElse(null))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Mono<EventResponse> generateEventSummary(String eventId) {
+        // The LLM call blocks, so it waits for its slot on the bounded elastic scheduler
+        return Mono.fromCallable(() -> eventService.generateEventSummary(eventId, LlmPriority.INTERACTIVE))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Mono<SummaryJobResponse> requestSummary(String eventId) {
+        return Mono.fromCallable(() -> summaryJobService.requestSummary(eventId))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Mono<SummaryJobResponse> getSummaryJob(String eventId, String jobId) {
+        return Mono.fromCallable(() -> summaryJobService.getJob(eventId, jobId))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Flux<AttendeeResponse> getAttendees(String eventId) {
+        logger.info("Getting attendees for event: {}", eventId);
+
+        return attendeeRepository.findByEventId(eventId)
+                .switchIfEmpty(requireEvent(eventId).thenMany(Flux.empty()))
+                .map(attendeeMapper::toResponse);
+    }
+
+    @Override
+    public Mono<EventResponse> removeAttendee(String eventId, String attendeeId) {
+        logger.info("Removing attendee {} from event: {}", attendeeId, eventId);
+
+        Query query = new Query(Criteria.where("id").is(attendeeId).and("eventId").is(eventId));
+
+        return mongoTemplate.findAndRemove(query, Attendee.class)
+                .flatMap(removed -> touchEvent(eventId, SummaryFingerprint.xor(EventServiceImpl.touchUpdate(),
+                        SummaryFingerprint.ATTENDEE_DIGEST, SummaryFingerprint.attendee(removed))))
+                .switchIfEmpty(Mono.defer(() -> missingAttendee(eventId, attendeeId)))
+                .doOnNext(event -> logger.info("Attendee {} removed from event: {}", attendeeId, eventId))
+                .map(eventMapper::toResponse);
+    }
+
+    @Override
+    public Mono<EventResponse> updateAttendeeStatus(String eventId, String attendeeId, AttendeeStatus status,
+                                                    Long expectedVersion) {
+        logger.info("Updating attendee {} status to {} for event: {}", attendeeId, status, eventId);
+
+        Query query = new Query(Criteria.where("id").is(attendeeId).and("eventId").is(eventId));
+
+        return claimVersion(eventId, expectedVersion)
+                .flatMap(claimed -> mongoTemplate.findAndModify(query, new Update().set("status", status), Attendee.class)
+                        // A claimed version was already bumped for this change
+                        .flatMap(previous -> touchEvent(eventId, SummaryFingerprint.xor(
+                                claimed ? new Update() : EventServiceImpl.touchUpdate(),
+                                SummaryFingerprint.ATTENDEE_DIGEST, EventServiceImpl.statusChange(previous, status)))))
+                .switchIfEmpty(Mono.defer(() -> missingAttendee(eventId, attendeeId)))
+                .doOnNext(event -> logger.info("Attendee {} status updated to {} for event: {}",
+                        attendeeId, status, eventId))
+                .map(eventMapper::toResponse);
+    }
+
+    @Override
+    public Mono<EventResponse> deleteEvent(String eventId) {
+        logger.info("Deleting event: {}", eventId);
+
+        // Deleting a versioned entity only matches the version that was read
+        Mono<Event> delete = requireEvent(eventId)
+                .flatMap(event -> eventRepository.delete(event).thenReturn(event));
+
+        return mutationRetry.execute("deleteEvent", delete)
+                .flatMap(event -> questionRepository.deleteByEventId(eventId)
+                        .doOnSuccess(deleted -> {
+                            eventCache.invalidate(eventId);
+                            questionLeaderboard.evictEvent(eventId);
+                        })
+                        .then(attendeeRepository.deleteByEventId(eventId))
+                        .then(mongoTemplate.remove(new Query(Criteria.where("id").is(eventId)), QuestionDigest.class))
+                        .thenReturn(event))
+                .doOnNext(event -> logger.info("Event deleted: {}", eventId))
+                .map(eventMapper::toResponse);
+    }
+
+    private Mono<Event> requireEvent(String eventId) {
+        return eventRepository.findById(eventId)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Event", "id", eventId)));
+    }
+
+    private Mono<Event> touchEvent(String eventId, Update update) {
+        return mongoTemplate.findAndModify(EventServiceImpl.touchQuery(eventId), update,
+                        FindAndModifyOptions.options().returnNew(true), Event.class)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Event", "id", eventId)))
+                .doOnNext(event -> eventCache.invalidate(eventId));
+    }
+
+    /**
+     * Bumps the version only while it is still the If-Match version, in one write, and emits
+     * whether it was bumped.
+     */
+    private Mono<Boolean> claimVersion(String eventId, Long expectedVersion) {
+        if (expectedVersion == null) {
+            return Mono.just(false);
+        }
+        Query query = new Query(Criteria.where("id").is(eventId));
+        query.fields().include("version");
+
+        return mongoTemplate.updateFirst(EventServiceImpl.versionQuery(eventId, expectedVersion),
+                        EventServiceImpl.touchUpdate(), Event.class)
+                .flatMap(result -> result.getMatchedCount() > 0
+                        ? Mono.fromRunnable(() -> eventCache.invalidate(eventId)).thenReturn(true)
+                        : mongoTemplate.findOne(query, Event.class)
+                                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Event", "id", eventId)))
+                                .flatMap(event -> Mono.error(EventMutationRetry.versionMismatch(event, expectedVersion))));
+    }
+
+    private <T> Mono<T> missingAttendee(String eventId, String attendeeId) {
+        return eventRepository.existsById(eventId)
+                .flatMap(exists -> Mono.error(exists
+                        ? new ResourceNotFoundException("Attendee", "id", attendeeId)
+                        : new ResourceNotFoundException("Event", "id", eventId)));
+    }
+}
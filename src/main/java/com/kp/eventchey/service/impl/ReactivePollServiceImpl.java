@@ -0,0 +1,167 @@
+package com.kp.eventchey.service.impl;
+
+import com.kp.eventchey.domain.AgendaItem;
+import com.kp.eventchey.domain.Event;
+import com.kp.eventchey.domain.Poll;
+import com.kp.eventchey.dto.request.CreatePollRequest;
+import com.kp.eventchey.dto.request.SubmitVoteRequest;
+import com.kp.eventchey.dto.response.PollResponse;
+import com.kp.eventchey.exception.BadRequestException;
+import com.kp.eventchey.exception.ResourceNotFoundException;
+import com.kp.eventchey.mapper.PollMapper;
+import com.kp.eventchey.repository.ReactiveEventRepository;
+import com.kp.eventchey.service.ReactivePollService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@Profile("reactive")
+public class ReactivePollServiceImpl implements ReactivePollService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactivePollServiceImpl.class);
+
+    private final ReactiveEventRepository eventRepository;
+    private final PollMapper pollMapper;
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final PollVoteBuffer voteBuffer;
+    private final EventMutationRetry mutationRetry;
+    private final PollResultsBroadcaster resultsBroadcaster;
+    private final EventCache eventCache;
+
+    public ReactivePollServiceImpl(ReactiveEventRepository eventRepository, PollMapper pollMapper,
+                                   ReactiveMongoTemplate mongoTemplate, PollVoteBuffer voteBuffer,
+                                   EventMutationRetry mutationRetry, PollResultsBroadcaster resultsBroadcaster,
+                                   EventCache eventCache) {
+        this.eventRepository = eventRepository;
+        this.pollMapper = pollMapper;
+        this.mongoTemplate = mongoTemplate;
+        this.voteBuffer = voteBuffer;
+        this.mutationRetry = mutationRetry;
+        this.resultsBroadcaster = resultsBroadcaster;
+        this.eventCache = eventCache;
+    }
+
+    @Override
+    public Mono<PollResponse> createPoll(String eventId, String agendaId, CreatePollRequest request) {
+        logger.info("Creating poll for agenda: {} in event: {}", agendaId, eventId);
+
+        return Mono.defer(() -> {
+            Poll poll = PollServiceImpl.newPoll(request);
+
+            Mono<Event> create = eventRepository.findById(eventId)
+                    .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Event", "id", eventId)))
+                    .flatMap(event -> {
+                        AgendaItem agendaItem = PollServiceImpl.findAgendaItem(event, agendaId);
+                        if (agendaItem.getPolls() == null) {
+                            agendaItem.setPolls(new ArrayList<>());
+                        }
+
+                        agendaItem.getPolls().add(poll);
+                        event.setUpdatedAt(LocalDateTime.now());
+
+                        return eventRepository.save(event);
+                    });
+
+            return mutationRetry.execute("createPoll", create)
+                    .doOnNext(event -> {
+                        eventCache.invalidate(eventId);
+                        logger.info("Poll created: {}", poll.getId());
+                        resultsBroadcaster.publish(eventId, agendaId, poll);
+                    })
+                    .thenReturn(pollMapper.toResponse(poll));
+        });
+    }
+
+    @Override
+    public Mono<PollResponse> submitVote(String eventId, String agendaId, String pollId, SubmitVoteRequest request) {
+        logger.info("Submitting vote for poll {} in agenda {} in event {}", pollId, agendaId, eventId);
+
+        String option = request.optionId();
+        if (!PollServiceImpl.isAddressableOption(option)) {
+            return Mono.error(new BadRequestException("Invalid poll option: " + option));
+        }
+
+        if (voteBuffer.isEnabled()) {
+            // Only the first vote on a poll reads it; after that the buffer answers from memory.
+            // A poll evicted between the check and the vote is read after all.
+            Mono<Poll> buffered = voteBuffer.isTracked(eventId, agendaId, pollId)
+                    ? Mono.fromSupplier(() -> voteBuffer.record(eventId, agendaId, pollId, option, () -> null))
+                    .onErrorResume(PollVoteBuffer.PollNotTrackedException.class,
+                            e -> recordLoaded(eventId, agendaId, pollId, option))
+                    : recordLoaded(eventId, agendaId, pollId, option);
+
+            return buffered
+                    .switchIfEmpty(Mono.error(() -> new BadRequestException("Invalid poll option: " + option)))
+                    .doOnNext(poll -> {
+                        logger.info("Vote buffered for option: {}", option);
+                        resultsBroadcaster.publish(eventId, agendaId, poll);
+                    })
+                    .map(pollMapper::toResponse);
+        }
+
+        return mongoTemplate.findAndModify(PollServiceImpl.voteQuery(eventId, agendaId, pollId, option),
+                        PollServiceImpl.voteUpdate(agendaId, pollId, option),
+                        FindAndModifyOptions.options().returnNew(true), Event.class)
+                .doOnNext(updated -> eventCache.invalidate(eventId))
+                .map(updated -> PollServiceImpl.findPoll(updated, agendaId, pollId))
+                .switchIfEmpty(loadPoll(eventId, agendaId, pollId)
+                        .flatMap(poll -> Mono.error(PollServiceImpl.voteRejection(poll, pollId, option))))
+                .doOnNext(poll -> {
+                    logger.info("Vote submitted for option: {}", option);
+                    resultsBroadcaster.publish(eventId, agendaId, poll);
+                })
+                .map(pollMapper::toResponse);
+    }
+
+    @Override
+    public Flux<PollResponse> listPolls(String eventId, String agendaId) {
+        logger.info("Listing polls for agenda: {} in event: {}", agendaId, eventId);
+
+        return requireAgendaEvent(eventId, agendaId)
+                .flatMapIterable(event -> {
+                    AgendaItem agendaItem = PollServiceImpl.findAgendaItem(event, agendaId);
+                    List<Poll> polls = agendaItem.getPolls() != null ? agendaItem.getPolls() : new ArrayList<>();
+                    logger.info("Found {} polls", polls.size());
+
+                    if (voteBuffer.isEnabled()) {
+                        polls.forEach(poll -> voteBuffer.addPendingVotes(eventId, agendaId, poll));
+                    }
+                    return polls;
+                })
+                .map(pollMapper::toResponse);
+    }
+
+    @Override
+    public Mono<String> getResultsVersion(String eventId, String agendaId) {
+        return eventRepository.findVersion(eventId)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Event", "id", eventId)))
+                .map(view -> PollServiceImpl.resultsVersion(view.version(),
+                        voteBuffer.acceptedVotes(eventId, agendaId)));
+    }
+
+    private Mono<Poll> recordLoaded(String eventId, String agendaId, String pollId, String option) {
+        return loadPoll(eventId, agendaId, pollId)
+                .flatMap(loaded -> Mono.justOrEmpty(
+                        voteBuffer.record(eventId, agendaId, pollId, option, () -> loaded)));
+    }
+
+    private Mono<Poll> loadPoll(String eventId, String agendaId, String pollId) {
+        return requireAgendaEvent(eventId, agendaId)
+                .map(event -> PollServiceImpl.findPoll(event, agendaId, pollId));
+    }
+
+    private Mono<Event> requireAgendaEvent(String eventId, String agendaId) {
+        return mongoTemplate.findOne(PollServiceImpl.agendaItemQuery(eventId, agendaId), Event.class)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Event", "id", eventId)));
+    }
+}
@@ -0,0 +1,139 @@
+package com.kp.eventchey.service.impl;
+
+import com.kp.eventchey.domain.Question;
+import com.kp.eventchey.domain.QuestionDigest;
+import com.kp.eventchey.dto.request.AddQuestionRequest;
+import com.kp.eventchey.dto.request.AnswerQuestionRequest;
+import com.kp.eventchey.dto.response.QuestionResponse;
+import com.kp.eventchey.exception.ResourceNotFoundException;
+import com.kp.eventchey.mapper.QuestionMapper;
+import com.kp.eventchey.repository.ReactiveEventRepository;
+import com.kp.eventchey.repository.ReactiveQuestionRepository;
+import com.kp.eventchey.service.ReactiveQuestionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Q&A on reactive MongoDB. Questions live in their own collection, so asking or answering one
+ * never writes the event.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveQuestionServiceImpl implements ReactiveQuestionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveQuestionServiceImpl.class);
+
+    private final ReactiveEventRepository eventRepository;
+    private final ReactiveQuestionRepository questionRepository;
+    private final QuestionMapper questionMapper;
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final QuestionLeaderboard leaderboard;
+    private final int maxTopLimit;
+
+    public ReactiveQuestionServiceImpl(ReactiveEventRepository eventRepository,
+                                       ReactiveQuestionRepository questionRepository,
+                                       QuestionMapper questionMapper,
+                                       ReactiveMongoTemplate mongoTemplate, QuestionLeaderboard leaderboard,
+                                       @Value("${app.questions.top.max-limit:100}") int maxTopLimit) {
+        this.eventRepository = eventRepository;
+        this.questionRepository = questionRepository;
+        this.questionMapper = questionMapper;
+        this.mongoTemplate = mongoTemplate;
+        this.leaderboard = leaderboard;
+        this.maxTopLimit = maxTopLimit;
+    }
+
+    @Override
+    public Mono<QuestionResponse> addQuestion(String eventId, String agendaId, AddQuestionRequest request) {
+        logger.info("Adding question to agenda: {} in event: {}", agendaId, eventId);
+
+        return requireAgendaItem(eventId, agendaId)
+                .then(Mono.defer(() -> questionRepository.insert(
+                        QuestionServiceImpl.newQuestion(eventId, agendaId, request))))
+                .doOnNext(leaderboard::record)
+                .flatMap(question -> recordQuestionChange(eventId, SummaryFingerprint.question(question))
+                        .thenReturn(question))
+                .doOnNext(question -> logger.info("Question added: {}", question.getId()))
+                .map(questionMapper::toResponse);
+    }
+
+    @Override
+    public Mono<QuestionResponse> answerQuestion(String eventId, String agendaId, String questionId,
+                                                 AnswerQuestionRequest request) {
+        logger.info("Answering question {} in agenda {} in event {}", questionId, agendaId, eventId);
+
+        // Sets only the answer, so upvotes counted meanwhile are kept
+        return mongoTemplate.findAndModify(QuestionServiceImpl.questionQuery(eventId, agendaId, questionId),
+                        QuestionServiceImpl.answerUpdate(request.answer()), Question.class)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Question", "id", questionId)))
+                .flatMap(question -> {
+                    long before = SummaryFingerprint.question(question);
+                    question.setAnswer(request.answer());
+                    return recordQuestionChange(eventId, before ^ SummaryFingerprint.question(question))
+                            .thenReturn(question);
+                })
+                .doOnNext(leaderboard::record)
+                .doOnNext(question -> logger.info("Question answered: {}", questionId))
+                .map(questionMapper::toResponse);
+    }
+
+    @Override
+    public Flux<QuestionResponse> listQuestions(String eventId, String agendaId) {
+        logger.info("Listing questions for agenda: {} in event: {}", agendaId, eventId);
+
+        return requireAgendaItem(eventId, agendaId)
+                .thenMany(questionRepository.findByEventIdAndAgendaIdOrderByTimestampAsc(eventId, agendaId))
+                .map(questionMapper::toResponse);
+    }
+
+    @Override
+    public Flux<QuestionResponse> listTopQuestions(String eventId, String agendaId, int limit) {
+        logger.info("Listing top {} questions for agenda: {} in event: {}", limit, agendaId, eventId);
+
+        return Mono.fromCallable(() -> EventServiceImpl.pageSize(limit, maxTopLimit))
+                .flatMapMany(size -> leaderboard.topIfFresh(eventId, agendaId, size)
+                        .map(Flux::fromIterable)
+                        // Only a missing or stale board reads MongoDB; otherwise the answer comes from memory
+                        .orElseGet(() -> requireAgendaItem(eventId, agendaId)
+                                .then(questionRepository.findByEventIdAndAgendaIdOrderByTimestampAsc(eventId, agendaId)
+                                        .collectList())
+                                .flatMapIterable(questions -> leaderboard.load(eventId, agendaId, questions, size))))
+                .map(questionMapper::toResponse);
+    }
+
+    @Override
+    public Mono<QuestionResponse> upvoteQuestion(String eventId, String agendaId, String questionId) {
+        logger.info("Upvoting question {} in agenda {} in event {}", questionId, agendaId, eventId);
+
+        return mongoTemplate.findAndModify(QuestionServiceImpl.questionQuery(eventId, agendaId, questionId),
+                        QuestionServiceImpl.upvoteUpdate(), FindAndModifyOptions.options().returnNew(true),
+                        Question.class)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Question", "id", questionId)))
+                .doOnNext(leaderboard::record)
+                .map(questionMapper::toResponse);
+    }
+
+    private Mono<Void> recordQuestionChange(String eventId, long change) {
+        return mongoTemplate.upsert(new Query(Criteria.where("id").is(eventId)),
+                        SummaryFingerprint.questionDigestUpdate(change), QuestionDigest.class)
+                .then();
+    }
+
+    private Mono<Void> requireAgendaItem(String eventId, String agendaId) {
+        return eventRepository.existsAgendaItem(eventId, agendaId)
+                .filter(exists -> !exists)
+                .flatMap(missing -> eventRepository.existsById(eventId))
+                .flatMap(eventExists -> Mono.<Void>error(eventExists
+                        ? new ResourceNotFoundException("AgendaItem", "id", agendaId)
+                        : new ResourceNotFoundException("Event", "id", eventId)));
+    }
+}
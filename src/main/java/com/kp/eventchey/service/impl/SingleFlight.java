@@ -0,0 +1,85 @@
+package com.kp.eventchey.service.impl;
+
+import com.kp.eventchey.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent calls for the same key into one: the first caller computes the value on
+ * its own thread and every caller that arrives while it runs waits for, and shares, that result
+ * or exception. Nothing is kept once the computation finishes, so callers after it compute again.
+ * <p>
+ * Waiting callers give up after the timeout with a 503. Collapsed calls and timeouts are counted
+ * as {@code singleflight.collapsed} and {@code singleflight.timeouts} tagged with the flight name.
+ */
+final class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final String name;
+    private final long timeoutMs;
+    private final Counter collapsed;
+    private final Counter timeouts;
+
+    SingleFlight(String name, long timeoutMs, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.timeoutMs = timeoutMs;
+        this.collapsed = Counter.builder("singleflight.collapsed")
+                .description("Calls that waited for an identical call in flight instead of running")
+                .tag("flight", name)
+                .register(meterRegistry);
+        this.timeouts = Counter.builder("singleflight.timeouts")
+                .description("Collapsed calls that gave up waiting for the call in flight")
+                .tag("flight", name)
+                .register(meterRegistry);
+    }
+
+    V execute(K key, Supplier<V> computation) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            collapsed.increment();
+            return await(running);
+        }
+
+        try {
+            V value = computation.get();
+            inFlight.remove(key, mine);
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(key, mine);
+            mine.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private V await(CompletableFuture<V> running) {
+        try {
+            return running.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            throw new ServiceUnavailableException("Timed out waiting for " + name + ", try again later",
+                    Math.max(1, TimeUnit.MILLISECONDS.toSeconds(timeoutMs)));
+        } catch (ExecutionException e) {
+            // The waiter sees the same exception the computing caller threw
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Interrupted waiting for " + name, 1);
+        }
+    }
+}
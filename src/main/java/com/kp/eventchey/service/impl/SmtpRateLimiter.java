@@ -0,0 +1,60 @@
+package com.kp.eventchey.service.impl;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token buckets limiting how fast this instance hands messages to each SMTP host. A caller
+ * reserves a token and sleeps until it is due, so waiting workers do not spin.
+ */
+@Component
+public class SmtpRateLimiter {
+
+    private final double permitsPerSecond;
+    private final double burst;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    public SmtpRateLimiter(@Value("${app.email.outbox.rate-per-second:5}") double permitsPerSecond,
+                           @Value("${app.email.outbox.burst:10}") double burst) {
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+    }
+
+    void acquire(String host) throws InterruptedException {
+        long waitNanos = buckets.computeIfAbsent(host, h -> new TokenBucket(permitsPerSecond, burst)).reserve();
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    private static final class TokenBucket {
+        private final double permitsPerNano;
+        private final double capacity;
+        private double tokens;
+        private long refilledAt;
+
+        TokenBucket(double permitsPerSecond, double capacity) {
+            this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+            this.capacity = capacity;
+            this.tokens = capacity;
+            this.refilledAt = System.nanoTime();
+        }
+
+        /**
+         * Takes a token, going into debt when none is left.
+         *
+         * @return nanoseconds until the taken token is due
+         */
+        synchronized long reserve() {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - refilledAt) * permitsPerNano);
+            refilledAt = now;
+            tokens -= 1;
+            return tokens >= 0 ? 0 : (long) Math.ceil(-tokens / permitsPerNano);
+        }
+    }
+}
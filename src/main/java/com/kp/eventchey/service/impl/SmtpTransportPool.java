@@ -0,0 +1,188 @@
+package com.kp.eventchey.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A small pool of connected, authenticated SMTP transports. Sending through
+ * {@code JavaMailSender.send} connects, negotiates STARTTLS and logs in for every message; here a
+ * connection is kept and reused for up to {@code messages-per-connection} messages before it is
+ * replaced. The host, port, credentials and session properties are those of the Spring mail
+ * sender, so pointing {@code spring.mail.host} and {@code spring.mail.port} at a local SMTP
+ * stand-in such as GreenMail exercises the same path.
+ * <p>
+ * Sent and failed messages, opened connections and send latency are published as the
+ * {@code email.smtp.*} meters.
+ */
+@Component
+public class SmtpTransportPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(SmtpTransportPool.class);
+
+    private final JavaMailSenderImpl mailSender;
+    private final int poolSize;
+    private final int messagesPerConnection;
+    private final long idleCheckMs;
+    private final Semaphore permits;
+    private final ConcurrentLinkedDeque<PooledTransport> idle = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger open = new AtomicInteger();
+    private final Counter sent;
+    private final Counter failed;
+    private final Counter connections;
+    private final Timer sendTimer;
+
+    public SmtpTransportPool(JavaMailSenderImpl mailSender,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.email.smtp.pool-size:2}") int poolSize,
+                             @Value("${app.email.smtp.messages-per-connection:100}") int messagesPerConnection,
+                             @Value("${app.email.smtp.idle-check-ms:10000}") long idleCheckMs) {
+        this.mailSender = mailSender;
+        this.poolSize = poolSize;
+        this.messagesPerConnection = messagesPerConnection;
+        this.idleCheckMs = idleCheckMs;
+        this.permits = new Semaphore(poolSize, true);
+        this.sent = Counter.builder("email.smtp.messages")
+                .description("Messages handed to the SMTP server, by result")
+                .tag("result", "sent")
+                .register(meterRegistry);
+        this.failed = Counter.builder("email.smtp.messages")
+                .description("Messages handed to the SMTP server, by result")
+                .tag("result", "failed")
+                .register(meterRegistry);
+        this.connections = Counter.builder("email.smtp.connections.opened")
+                .description("SMTP connections opened, including replacements")
+                .register(meterRegistry);
+        this.sendTimer = Timer.builder("email.smtp.send")
+                .description("Time to hand one message to the SMTP server over a pooled connection")
+                .register(meterRegistry);
+        Gauge.builder("email.smtp.connections.open", open, AtomicInteger::get)
+                .description("SMTP connections currently open")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Sends one message over a pooled connection, waiting for one to become free.
+     */
+    public void send(MimeMessage message) throws MessagingException {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MessagingException("Interrupted while waiting for an SMTP connection", e);
+        }
+        try {
+            sendOnBorrowed(message);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void sendOnBorrowed(MimeMessage message) throws MessagingException {
+        PooledTransport pooled = borrow();
+        boolean reusable = false;
+        Timer.Sample sample = Timer.start();
+        try {
+            if (message.getSentDate() == null) {
+                message.setSentDate(new Date());
+            }
+            message.saveChanges();
+            pooled.transport.sendMessage(message, message.getAllRecipients());
+            sent.increment();
+            reusable = true;
+        } catch (SendFailedException e) {
+            // Rejected recipients leave the connection usable
+            failed.increment();
+            reusable = true;
+            throw e;
+        } catch (MessagingException | RuntimeException e) {
+            failed.increment();
+            throw e;
+        } finally {
+            sample.stop(sendTimer);
+            // Every borrowed connection goes back to the pool or is closed, whatever was thrown
+            if (reusable) {
+                giveBack(pooled);
+            } else {
+                close(pooled);
+            }
+        }
+    }
+
+    private PooledTransport borrow() throws MessagingException {
+        PooledTransport pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            // Only connections that sat idle for a while are probed, since the probe is a round trip
+            if (System.currentTimeMillis() - pooled.lastUsedAt < idleCheckMs || pooled.transport.isConnected()) {
+                return pooled;
+            }
+            close(pooled);
+        }
+        return connect();
+    }
+
+    private PooledTransport connect() throws MessagingException {
+        Transport transport = mailSender.getSession().getTransport(
+                mailSender.getProtocol() != null ? mailSender.getProtocol() : "smtp");
+        transport.connect(mailSender.getHost(), mailSender.getPort(), mailSender.getUsername(),
+                mailSender.getPassword());
+        connections.increment();
+        open.incrementAndGet();
+        logger.debug("Opened SMTP connection to {}:{}", mailSender.getHost(), mailSender.getPort());
+        return new PooledTransport(transport);
+    }
+
+    private void giveBack(PooledTransport pooled) {
+        pooled.messages++;
+        pooled.lastUsedAt = System.currentTimeMillis();
+        if (pooled.messages >= messagesPerConnection) {
+            close(pooled);
+        } else {
+            // Most recently used first, so surplus connections go idle and are probed or recycled
+            idle.offerFirst(pooled);
+        }
+    }
+
+    private void close(PooledTransport pooled) {
+        open.decrementAndGet();
+        try {
+            pooled.transport.close();
+        } catch (MessagingException e) {
+            logger.debug("Closing SMTP connection failed", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        PooledTransport pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            close(pooled);
+        }
+    }
+
+    private static final class PooledTransport {
+        private final Transport transport;
+        private int messages;
+        private long lastUsedAt = System.currentTimeMillis();
+
+        PooledTransport(Transport transport) {
+            this.transport = transport;
+        }
+    }
+}
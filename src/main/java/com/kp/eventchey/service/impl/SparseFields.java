@@ -0,0 +1,57 @@
+package com.kp.eventchey.service.impl;
+
+import com.kp.eventchey.domain.AgendaItem;
+import com.kp.eventchey.domain.Question;
+import com.kp.eventchey.dto.request.FieldSelection;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Turns a {@link FieldSelection} into the event document paths to read. Collections that were
+ * not expanded are left out of the projection, so they come back null and are never mapped.
+ */
+final class SparseFields {
+
+    private SparseFields() {
+    }
+
+    static List<String> eventPaths(FieldSelection selection) {
+        List<String> paths = new ArrayList<>(selection.fields());
+        // The ETag is the version, so it is read even when it is not returned
+        if (!paths.contains("version")) {
+            paths.add("version");
+        }
+        if (selection.expands("agenda")) {
+            FieldSelection.AGENDA_ITEM_FIELDS.forEach(field -> paths.add("agenda." + field));
+            if (selection.expands("agenda.polls")) {
+                paths.add("agenda.polls");
+            }
+        }
+        return paths;
+    }
+
+    static List<String> agendaPaths(FieldSelection selection) {
+        List<String> paths = new ArrayList<>();
+        selection.fields().forEach(field -> paths.add("agenda." + field));
+        if (selection.expands("polls")) {
+            paths.add("agenda.polls");
+        }
+        return paths;
+    }
+
+    /**
+     * Attaches questions, read from their own collection in one query, to their agenda items.
+     */
+    static void attachQuestions(List<AgendaItem> agendaItems, List<Question> questions) {
+        if (agendaItems == null) {
+            return;
+        }
+        Map<String, List<Question>> questionsByAgenda = questions.stream()
+                .collect(Collectors.groupingBy(Question::getAgendaId));
+        agendaItems.forEach(item ->
+                item.setQuestions(new ArrayList<>(questionsByAgenda.getOrDefault(item.getId(), List.of()))));
+    }
+}
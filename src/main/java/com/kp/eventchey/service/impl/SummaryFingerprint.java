@@ -0,0 +1,114 @@
+package com.kp.eventchey.service.impl;
+
+import com.kp.eventchey.domain.AgendaItem;
+import com.kp.eventchey.domain.Attendee;
+import com.kp.eventchey.domain.Event;
+import com.kp.eventchey.domain.Poll;
+import com.kp.eventchey.domain.Question;
+import com.kp.eventchey.domain.QuestionDigest;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.Objects;
+
+/**
+ * Fingerprint of the content an event summary is generated from, so that a cached summary is
+ * only replaced when that content changes. Vote counts, upvotes, agenda AI summaries and
+ * timestamps are left out.
+ * <p>
+ * The event's own fields are hashed when the fingerprint is taken. Attendees and questions live
+ * in their own collections, so each one is hashed on its own and folded into a digest with
+ * {@code $bit xor} by the services that write them. XOR makes the updates commutative, so
+ * concurrent writers need no coordination, and removing or changing an entry is undone by
+ * XOR-ing its old hash again. The attendee digest is kept on the event, whose attendee writes
+ * already touch it; the question digest is kept in {@link QuestionDigest} so that questions
+ * never write the event document. Both are seeded for existing data by SummaryDigestMigration.
+ */
+public final class SummaryFingerprint {
+
+    static final String ATTENDEE_DIGEST = "attendeeDigest";
+
+    private SummaryFingerprint() {
+    }
+
+    /**
+     * @param questionDigest the event's {@link QuestionDigest}, or 0 when it has none
+     */
+    static String of(Event event, long questionDigest) {
+        MessageDigest digest = sha256();
+        update(digest, event.getName(), event.getDescription(), event.getStartDate(), event.getEndDate(),
+                event.getCreatedBy());
+        if (event.getAgenda() != null) {
+            for (AgendaItem item : event.getAgenda()) {
+                update(digest, "agenda", item.getId(), item.getTitle(), item.getStartTime(), item.getEndTime(),
+                        item.getDescription(), item.getSpeaker());
+                if (item.getPolls() != null) {
+                    for (Poll poll : item.getPolls()) {
+                        update(digest, "poll", poll.getId(), poll.getQuestion(), poll.getOptions());
+                    }
+                }
+            }
+        }
+        // A missing digest is the digest of no entries
+        update(digest, "digests", Objects.requireNonNullElse(event.getAttendeeDigest(), 0L), questionDigest);
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    public static long attendee(Attendee attendee) {
+        return hash("attendee", attendee.getId(), attendee.getName(), attendee.getStatus());
+    }
+
+    public static long attendees(Collection<Attendee> attendees) {
+        long hash = 0;
+        for (Attendee attendee : attendees) {
+            hash ^= attendee(attendee);
+        }
+        return hash;
+    }
+
+    public static long question(Question question) {
+        return hash("question", question.getId(), question.getAgendaId(), question.getAskedBy(),
+                question.getQuestion(), question.getAnswer());
+    }
+
+    /**
+     * Adds the XOR of a digest change to an update of the event.
+     */
+    static Update xor(Update update, String digestField, long change) {
+        return update.bitwise(digestField).xor(change);
+    }
+
+    /**
+     * Folds a question change into a {@link QuestionDigest}, meant to be upserted.
+     */
+    static Update questionDigestUpdate(long change) {
+        return xor(new Update(), "digest", change);
+    }
+
+    private static long hash(Object... parts) {
+        MessageDigest digest = sha256();
+        update(digest, parts);
+        return ByteBuffer.wrap(digest.digest()).getLong();
+    }
+
+    private static void update(MessageDigest digest, Object... parts) {
+        // Separated by NUL so that shifting text between fields changes the hash
+        for (Object part : parts) {
+            digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
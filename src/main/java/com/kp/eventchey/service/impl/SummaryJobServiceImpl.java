@@ -0,0 +1,245 @@
+package com.kp.eventchey.service.impl;
+
+import com.kp.eventchey.domain.SummaryJob;
+import com.kp.eventchey.domain.SummaryJobStatus;
+import com.kp.eventchey.dto.response.SummaryJobResponse;
+import com.kp.eventchey.exception.ResourceNotFoundException;
+import com.kp.eventchey.mapper.SummaryJobMapper;
+import com.kp.eventchey.repository.SummaryJobRepository;
+import com.kp.eventchey.service.EventService;
+import com.kp.eventchey.service.LlmPriority;
+import com.kp.eventchey.service.SummaryJobService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates AI summaries in the background. Jobs are stored in MongoDB and claimed by a fixed
+ * number of workers per instance with a lease, so a job whose instance stops, or restarts, is
+ * picked up again once the lease expires. Failures are retried with backoff up to max-attempts.
+ * At most one job per event is pending or running; requesting another returns that one.
+ */
+@Service
+public class SummaryJobServiceImpl implements SummaryJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SummaryJobServiceImpl.class);
+
+    private final SummaryJobRepository jobRepository;
+    private final SummaryJobMapper jobMapper;
+    private final EventService eventService;
+    private final EventCache eventCache;
+    private final MongoTemplate mongoTemplate;
+    private final String owner = UUID.randomUUID().toString();
+    private final long leaseMs;
+    private final int maxAttempts;
+    private final long backoffMs;
+    private final int workerCount;
+    private final long pollIntervalMs;
+    private final long sweepIntervalMs;
+    private final ScheduledExecutorService workers;
+    private volatile boolean stopping;
+
+    public SummaryJobServiceImpl(SummaryJobRepository jobRepository, SummaryJobMapper jobMapper,
+                                 EventService eventService, EventCache eventCache, MongoTemplate mongoTemplate,
+                                 @Value("${app.ai.summary.jobs.workers:2}") int workerCount,
+                                 @Value("${app.ai.summary.jobs.poll-interval-ms:1000}") long pollIntervalMs,
+                                 @Value("${app.ai.summary.jobs.sweep-interval-ms:5000}") long sweepIntervalMs,
+                                 @Value("${app.ai.summary.jobs.lease-ms:180000}") long leaseMs,
+                                 @Value("${app.ai.summary.jobs.max-attempts:3}") int maxAttempts,
+                                 @Value("${app.ai.summary.jobs.backoff-ms:10000}") long backoffMs) {
+        this.jobRepository = jobRepository;
+        this.jobMapper = jobMapper;
+        this.eventService = eventService;
+        this.eventCache = eventCache;
+        this.mongoTemplate = mongoTemplate;
+        this.leaseMs = leaseMs;
+        this.maxAttempts = maxAttempts;
+        this.backoffMs = backoffMs;
+        this.workerCount = workerCount;
+        this.pollIntervalMs = pollIntervalMs;
+        this.sweepIntervalMs = sweepIntervalMs;
+        AtomicInteger threads = new AtomicInteger();
+        this.workers = Executors.newScheduledThreadPool(workerCount + 1, r -> {
+            Thread thread = new Thread(r, "summary-job-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts polling once the application is ready, so that no job runs against a context that
+     * is still starting.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        for (int i = 0; i < workerCount; i++) {
+            workers.scheduleWithFixedDelay(this::drain, pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS);
+        }
+        workers.scheduleWithFixedDelay(this::failExhausted, sweepIntervalMs, sweepIntervalMs,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public SummaryJobResponse requestSummary(String eventId) {
+        if (!eventCache.exists(eventId)) {
+            throw new ResourceNotFoundException("Event", "id", eventId);
+        }
+
+        // A second attempt covers the active job finishing between the failed insert and the lookup
+        for (int attempt = 0; attempt < 2; attempt++) {
+            try {
+                SummaryJob job = jobRepository.insert(
+                        new SummaryJob(UUID.randomUUID().toString(), eventId, LocalDateTime.now()));
+                logger.info("Queued AI summary job {} for event: {}", job.getId(), eventId);
+                return jobMapper.toResponse(job);
+            } catch (DuplicateKeyException e) {
+                var active = jobRepository.findByActiveKey(eventId);
+                if (active.isPresent()) {
+                    return jobMapper.toResponse(active.get());
+                }
+            }
+        }
+        throw new IllegalStateException("Could not queue an AI summary job for event " + eventId);
+    }
+
+    @Override
+    public SummaryJobResponse getJob(String eventId, String jobId) {
+        return jobRepository.findByIdAndEventId(jobId, eventId)
+                .map(jobMapper::toResponse)
+                .orElseThrow(() -> new ResourceNotFoundException("SummaryJob", "id", jobId));
+    }
+
+    void drain() {
+        try {
+            SummaryJob job;
+            while (!stopping && (job = claim()) != null) {
+                run(job);
+            }
+        } catch (RuntimeException e) {
+            logger.error("AI summary worker failed", e);
+        }
+    }
+
+    private SummaryJob claim() {
+        LocalDateTime now = LocalDateTime.now();
+        Update lease = new Update()
+                .set("status", SummaryJobStatus.RUNNING)
+                .set("leaseOwner", owner)
+                .set("leaseExpiresAt", now.plusNanos(TimeUnit.MILLISECONDS.toNanos(leaseMs)))
+                .set("updatedAt", now)
+                .inc("attempts", 1);
+        // Jobs of a stopped worker first, then due ones in order
+        SummaryJob abandoned = mongoTemplate.findAndModify(
+                new Query(Criteria.where("status").is(SummaryJobStatus.RUNNING).and("leaseExpiresAt").lte(now)
+                        .and("attempts").lt(maxAttempts)),
+                lease, FindAndModifyOptions.options().returnNew(true), SummaryJob.class);
+        if (abandoned != null) {
+            return abandoned;
+        }
+        return mongoTemplate.findAndModify(new Query(Criteria.where("status").is(SummaryJobStatus.PENDING)
+                        .and("nextAttemptAt").lte(now)).with(Sort.by("nextAttemptAt")), lease,
+                FindAndModifyOptions.options().returnNew(true), SummaryJob.class);
+    }
+
+    /**
+     * Fails jobs whose lease expired on their last attempt, which claims skip, so that a job that
+     * keeps taking its worker down is not claimed forever. Runs on its own schedule so that
+     * claiming a job stays a single write.
+     */
+    void failExhausted() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            Query exhausted = new Query(Criteria.where("status").is(SummaryJobStatus.RUNNING)
+                    .and("leaseExpiresAt").lte(now)
+                    .and("attempts").gte(maxAttempts));
+            long failed = mongoTemplate.updateMulti(exhausted, new Update()
+                    .set("status", SummaryJobStatus.FAILED)
+                    .set("error", "The worker stopped during the last attempt")
+                    .set("completedAt", now)
+                    .set("updatedAt", now)
+                    .unset("activeKey")
+                    .unset("leaseOwner")
+                    .unset("leaseExpiresAt"), SummaryJob.class).getModifiedCount();
+            if (failed > 0) {
+                logger.error("Failed {} AI summary jobs whose lease expired after {} attempts", failed, maxAttempts);
+            }
+        } catch (RuntimeException e) {
+            logger.error("Failing exhausted AI summary jobs failed", e);
+        }
+    }
+
+    private void run(SummaryJob job) {
+        logger.info("Running AI summary job {} for event: {}, attempt {}", job.getId(), job.getEventId(),
+                job.getAttempts());
+        try {
+            // Writes the summary back to the event, or returns at once if one is already fresh.
+            // Queued jobs yield LLM slots to requests that wait for an answer.
+            eventService.generateEventSummary(job.getEventId(), LlmPriority.BACKGROUND);
+            finish(job, SummaryJobStatus.COMPLETED, null);
+        } catch (ResourceNotFoundException e) {
+            finish(job, SummaryJobStatus.FAILED, e.getMessage());
+        } catch (RuntimeException e) {
+            if (job.getAttempts() >= maxAttempts) {
+                logger.error("AI summary job {} failed after {} attempts", job.getId(), job.getAttempts(), e);
+                finish(job, SummaryJobStatus.FAILED, e.getMessage());
+            } else {
+                logger.warn("AI summary job {} failed, retrying: {}", job.getId(), e.getMessage());
+                LocalDateTime retryAt = LocalDateTime.now().plusNanos(
+                        TimeUnit.MILLISECONDS.toNanos(backoffMs << (job.getAttempts() - 1)));
+                release(job, new Update()
+                        .set("status", SummaryJobStatus.PENDING)
+                        .set("nextAttemptAt", retryAt)
+                        .set("error", e.getMessage()));
+            }
+        }
+    }
+
+    private void finish(SummaryJob job, SummaryJobStatus status, String error) {
+        release(job, new Update()
+                .set("status", status)
+                .set("error", error)
+                .set("completedAt", LocalDateTime.now())
+                .unset("activeKey"));
+    }
+
+    /**
+     * Applies the update only while this worker still holds the lease.
+     */
+    private void release(SummaryJob job, Update update) {
+        update.set("updatedAt", LocalDateTime.now())
+                .unset("leaseOwner")
+                .unset("leaseExpiresAt");
+        Query leased = new Query(Criteria.where("id").is(job.getId())
+                .and("status").is(SummaryJobStatus.RUNNING)
+                .and("leaseOwner").is(owner));
+        if (mongoTemplate.updateFirst(leased, update, SummaryJob.class).getMatchedCount() == 0) {
+            logger.warn("Lease on AI summary job {} expired before it was released", job.getId());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        // Jobs cut short are claimed again, here or elsewhere, once their lease expires
+        stopping = true;
+        workers.shutdown();
+        workers.awaitTermination(30, TimeUnit.SECONDS);
+    }
+}
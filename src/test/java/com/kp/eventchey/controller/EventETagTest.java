@@ -0,0 +1,78 @@
+package com.kp.eventchey.controller;
+
+import com.kp.eventchey.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EventETagTest {
+
+	@Test
+	void tagsAreTheQuotedVersion() {
+		assertThat(EventETag.of(7L)).isEqualTo("\"7\"");
+		assertThat(EventETag.of((Long) null)).isEqualTo("\"0\"");
+		assertThat(EventETag.of("7.42")).isEqualTo("\"7.42\"");
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"\"7\"", "W/\"7\"", "*", " * ", "\"6\", \"7\"", "\"6\",W/\"7\"", "  \"7\"  "})
+	void ifNoneMatchMatchesTheCurrentTag(String ifNoneMatch) {
+		assertThat(EventETag.matchesIfNoneMatch(ifNoneMatch, "\"7\"")).isTrue();
+	}
+
+	@Test
+	void ifNoneMatchComparesWeaklyAgainstAWeakCurrentTag() {
+		assertThat(EventETag.matchesIfNoneMatch("\"7\"", "W/\"7\"")).isTrue();
+	}
+
+	@ParameterizedTest
+	@NullAndEmptySource
+	@ValueSource(strings = {" ", "\"6\"", "W/\"6\"", "7", "\"70\"", "\"6\", \"8\"", "\"7"})
+	void ifNoneMatchDoesNotMatchOtherTags(String ifNoneMatch) {
+		assertThat(EventETag.matchesIfNoneMatch(ifNoneMatch, "\"7\"")).isFalse();
+	}
+
+	@Test
+	void notModifiedCarriesTheTag() {
+		ResponseEntity<Object> response = EventETag.notModified("\"7\"");
+
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+		assertThat(response.getHeaders().getETag()).isEqualTo("\"7\"");
+		assertThat(response.getBody()).isNull();
+	}
+
+	@ParameterizedTest
+	@NullAndEmptySource
+	@ValueSource(strings = {" ", "*"})
+	void ifMatchWithoutAVersionIsNoPrecondition(String ifMatch) {
+		assertThat(EventETag.parseIfMatch(ifMatch)).isNull();
+	}
+
+	@Test
+	void ifMatchParsesQuotedAndBareVersions() {
+		assertThat(EventETag.parseIfMatch("\"12\"")).isEqualTo(12L);
+		assertThat(EventETag.parseIfMatch(" 12 ")).isEqualTo(12L);
+	}
+
+	@Test
+	void ifMatchRejectsWeakTags() {
+		assertThatThrownBy(() -> EventETag.parseIfMatch("W/\"12\""))
+				.isInstanceOf(BadRequestException.class)
+				.hasMessageContaining("strong entity tag");
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"\"abc\"", "\"12\", \"13\"", "\"\"", "\""})
+	void ifMatchRejectsTagsThatAreNotAVersion(String ifMatch) {
+		assertThatThrownBy(() -> EventETag.parseIfMatch(ifMatch))
+				.isInstanceOf(BadRequestException.class)
+				.hasMessageStartingWith("Invalid If-Match entity tag");
+	}
+
+}
@@ -0,0 +1,37 @@
+package com.kp.eventchey.domain;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventIndexesTest {
+
+	private final MongoMappingContext mappingContext = new MongoMappingContext();
+
+	EventIndexesTest() {
+		mappingContext.setSimpleTypeHolder(new MongoCustomConversions(List.of()).getSimpleTypeHolder());
+	}
+
+	@Test
+	void questionIndexesAreOnlyCreatedOnTheQuestionsCollection() {
+		assertThat(indexedKeys(Event.class)).noneMatch(key -> key.startsWith("agenda.questions"));
+		assertThat(indexedKeys(Question.class)).contains("eventId", "agendaId", "timestamp");
+	}
+
+	private List<String> indexedKeys(Class<?> type) {
+		mappingContext.getPersistentEntity(type);
+		List<String> keys = new ArrayList<>();
+		for (IndexDefinition index : IndexResolver.create(mappingContext).resolveIndexFor(type)) {
+			keys.addAll(index.getIndexKeys().keySet());
+		}
+		return keys;
+	}
+
+}
@@ -0,0 +1,101 @@
+package com.kp.eventchey.dto.request;
+
+import com.kp.eventchey.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FieldSelectionTest {
+
+	@Test
+	void noParametersMeansTheFullEvent() {
+		assertThat(FieldSelection.forEvent(null, null)).isNull();
+		assertThat(FieldSelection.forAgendaItem(null, null)).isNull();
+	}
+
+	@Test
+	void selectedFieldsAlwaysIncludeTheId() {
+		FieldSelection selection = FieldSelection.forEvent("name,startDate", null);
+
+		assertThat(selection.fields()).containsExactlyInAnyOrder("id", "name", "startDate");
+		assertThat(selection.expand()).isEmpty();
+	}
+
+	@Test
+	void namesAreTrimmedAndEmptyNamesSkipped() {
+		FieldSelection selection = FieldSelection.forEvent(" name , ,version,", " agenda ");
+
+		assertThat(selection.fields()).containsExactlyInAnyOrder("id", "name", "version");
+		assertThat(selection.expand()).containsExactly("agenda");
+	}
+
+	@Test
+	void expandAloneKeepsEveryField() {
+		FieldSelection selection = FieldSelection.forEvent(null, "attendees");
+
+		assertThat(selection.fields()).isEqualTo(FieldSelection.EVENT_FIELDS);
+		assertThat(selection.expand()).containsExactly("attendees");
+	}
+
+	@Test
+	void emptyFieldsSelectOnlyTheId() {
+		assertThat(FieldSelection.forEvent("", null).fields()).containsExactly("id");
+	}
+
+	@Test
+	void nestedExpansionsExpandTheirParent() {
+		FieldSelection selection = FieldSelection.forEvent("name", "agenda.polls");
+
+		assertThat(selection.expands("agenda")).isTrue();
+		assertThat(selection.expands("agenda.polls")).isTrue();
+		assertThat(selection.expands("agenda.questions")).isFalse();
+		assertThat(selection.expands("attendees")).isFalse();
+		// A prefix of a name is not a parent
+		assertThat(FieldSelection.forEvent(null, "agenda").expands("agend")).isFalse();
+	}
+
+	@Test
+	void withExpansionAddsAPathWithoutChangingTheOriginal() {
+		FieldSelection selection = FieldSelection.forEvent("name", null);
+
+		FieldSelection expanded = selection.withExpansion("agenda");
+
+		assertThat(expanded.expand()).containsExactly("agenda");
+		assertThat(expanded.fields()).isEqualTo(selection.fields());
+		assertThat(selection.expand()).isEmpty();
+	}
+
+	@Test
+	void agendaItemsHaveTheirOwnNames() {
+		FieldSelection selection = FieldSelection.forAgendaItem("title,speaker", "polls");
+
+		assertThat(selection.fields()).containsExactlyInAnyOrder("id", "title", "speaker");
+		assertThat(selection.expand()).isEqualTo(Set.of("polls"));
+		assertThatThrownBy(() -> FieldSelection.forAgendaItem("name", null))
+				.isInstanceOf(BadRequestException.class);
+	}
+
+	@Test
+	void unknownFieldsAreRejected() {
+		assertThatThrownBy(() -> FieldSelection.forEvent("name,password", null))
+				.isInstanceOf(BadRequestException.class)
+				.hasMessage("Unknown field: password");
+	}
+
+	@Test
+	void unknownExpansionsAreRejected() {
+		assertThatThrownBy(() -> FieldSelection.forEvent(null, "agenda.speakers"))
+				.isInstanceOf(BadRequestException.class)
+				.hasMessage("Unknown expansion: agenda.speakers");
+	}
+
+	@Test
+	void namesAreCaseSensitive() {
+		assertThatThrownBy(() -> FieldSelection.forEvent("Name", null))
+				.isInstanceOf(BadRequestException.class);
+	}
+
+}
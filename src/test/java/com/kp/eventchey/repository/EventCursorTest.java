@@ -0,0 +1,69 @@
+package com.kp.eventchey.repository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+class EventCursorTest {
+
+	@Test
+	void decodesWhatItEncodes() {
+		EventCursor cursor = new EventCursor(LocalDateTime.of(2025, 3, 14, 9, 30, 15, 123_000_000), "65f2a1c0e4b0a1b2c3d4e5f6");
+
+		assertThat(EventCursor.decode(cursor.encode())).isEqualTo(cursor);
+	}
+
+	@Test
+	void keepsDatesWithoutSecondsAndIdsContainingTheSeparator() {
+		EventCursor cursor = new EventCursor(LocalDateTime.of(2025, 3, 14, 9, 30), "a|b");
+
+		assertThat(EventCursor.decode(cursor.encode())).isEqualTo(cursor);
+	}
+
+	@Test
+	void encodesToAUrlSafeTokenWithoutPadding() {
+		String token = new EventCursor(LocalDateTime.of(2025, 1, 1, 0, 0), "id?&/+=").encode();
+
+		assertThat(token).matches("[A-Za-z0-9_-]+");
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"not base64!", "%%%", "a"})
+	void rejectsTokensThatAreNotBase64(String token) {
+		assertThatThrownBy(() -> EventCursor.decode(token)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"2025-01-01T00:00", "yesterday|id", "|id", "2025-13-01T00:00|id", "2025-01-01T00:00:00Z|id"})
+	void rejectsTamperedContent(String raw) {
+		String token = Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+
+		assertThatThrownBy(() -> EventCursor.decode(token))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Malformed cursor");
+	}
+
+	@Test
+	void tokensWithAnyCharacterChangedDecodeOrFailAsMalformed() {
+		String token = new EventCursor(LocalDateTime.of(2025, 6, 1, 12, 0), "event-1").encode();
+
+		for (int i = 0; i < token.length(); i++) {
+			char flipped = token.charAt(i) == 'A' ? 'B' : 'A';
+			String tampered = token.substring(0, i) + flipped + token.substring(i + 1);
+			Throwable thrown = catchThrowable(() -> EventCursor.decode(tampered));
+			// Either another position or IllegalArgumentException, which the service answers with a 400
+			if (thrown != null) {
+				assertThat(thrown).isInstanceOf(IllegalArgumentException.class);
+			}
+		}
+	}
+
+}
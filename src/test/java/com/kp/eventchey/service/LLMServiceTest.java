@@ -0,0 +1,126 @@
+package com.kp.eventchey.service;
+
+import com.kp.eventchey.domain.AgendaItem;
+import com.kp.eventchey.domain.Attendee;
+import com.kp.eventchey.domain.AttendeeStatus;
+import com.kp.eventchey.domain.Event;
+import com.kp.eventchey.domain.Poll;
+import com.kp.eventchey.domain.Question;
+import com.theokanning.openai.service.OpenAiService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LLMServiceTest {
+
+	private LlmResponseCache responseCache;
+	private LLMService llmService;
+	private Event event;
+
+	@BeforeEach
+	void setUp() {
+		responseCache = mock(LlmResponseCache.class);
+		when(responseCache.get(any(), any())).thenReturn("summary");
+		llmService = new LLMService(mock(OpenAiService.class),
+				new LlmBulkhead(new SimpleMeterRegistry(), 1, 1, 1000), responseCache, "gpt-4");
+		event = event();
+	}
+
+	@Test
+	void votesUpvotesAndContactDetailsDoNotChangeTheCacheKey() {
+		String before = cacheKey();
+
+		Poll poll = event.getAgenda().get(0).getPolls().get(0);
+		poll.getVotes().merge("Yes", 1, Integer::sum);
+		event.getAgenda().get(0).getQuestions().get(0).setUpvotes(12);
+		event.getAgenda().get(0).setAiSummary("A new agenda summary");
+		event.getAttendees().get(0).setEmail("ada@elsewhere.example");
+		event.setUpdatedAt(LocalDateTime.now());
+		event.setVersion(event.getVersion() + 1);
+
+		assertThat(cacheKey()).isEqualTo(before);
+	}
+
+	@Test
+	void attendeeOrderDoesNotChangeTheCacheKey() {
+		String before = cacheKey();
+
+		event.setAttendees(new ArrayList<>(event.getAttendees().reversed()));
+
+		assertThat(cacheKey()).isEqualTo(before);
+	}
+
+	@Test
+	void contentChangesChangeTheCacheKey() {
+		String before = cacheKey();
+		event.getAgenda().get(0).getQuestions().get(0).setAnswer("At noon");
+		String answered = cacheKey();
+		event.getAttendees().get(1).setStatus(AttendeeStatus.DECLINED);
+		String declined = cacheKey();
+
+		assertThat(List.of(before, answered, declined)).doesNotHaveDuplicates();
+	}
+
+	private String cacheKey() {
+		llmService.summarizeEvent(event, LlmPriority.BACKGROUND);
+		ArgumentCaptor<String> key = ArgumentCaptor.forClass(String.class);
+		verify(responseCache, times(1)).get(key.capture(), any());
+		clearInvocations(responseCache);
+		return key.getValue();
+	}
+
+	private static Event event() {
+		Poll poll = new Poll("poll-1", "Lunch?", List.of("Yes", "No"), new HashMap<>(Map.of("Yes", 3, "No", 1)));
+		Question question = new Question();
+		question.setId("question-1");
+		question.setAgendaId("agenda-1");
+		question.setAskedBy("attendee-1");
+		question.setQuestion("When is lunch?");
+		question.setUpvotes(2);
+		AgendaItem item = new AgendaItem();
+		item.setId("agenda-1");
+		item.setTitle("Keynote");
+		item.setSpeaker("Grace");
+		item.setStartTime(LocalDateTime.of(2030, 5, 1, 9, 0));
+		item.setEndTime(LocalDateTime.of(2030, 5, 1, 10, 0));
+		item.getPolls().add(poll);
+		item.getQuestions().add(question);
+
+		Event event = new Event();
+		event.setId("event-1");
+		event.setName("Conference");
+		event.setDescription("Talks");
+		event.setStartDate(LocalDateTime.of(2030, 5, 1, 9, 0));
+		event.setEndDate(LocalDateTime.of(2030, 5, 1, 17, 0));
+		event.setCreatedBy("organizer");
+		event.setVersion(4L);
+		event.setAgenda(new ArrayList<>(List.of(item)));
+		event.setAttendees(new ArrayList<>(List.of(attendee("attendee-1", "Ada"), attendee("attendee-2", "Alan"))));
+		return event;
+	}
+
+	private static Attendee attendee(String id, String name) {
+		Attendee attendee = new Attendee();
+		attendee.setId(id);
+		attendee.setName(name);
+		attendee.setEmail(name.toLowerCase() + "@example.com");
+		attendee.setStatus(AttendeeStatus.ACCEPTED);
+		return attendee;
+	}
+
+}
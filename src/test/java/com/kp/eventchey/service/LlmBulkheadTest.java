@@ -0,0 +1,118 @@
+package com.kp.eventchey.service;
+
+import com.kp.eventchey.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+class LlmBulkheadTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final ExecutorService callers = Executors.newCachedThreadPool();
+	private final CountDownLatch release = new CountDownLatch(1);
+
+	@AfterEach
+	void tearDown() {
+		release.countDown();
+		callers.shutdownNow();
+	}
+
+	@Test
+	void callsWithinTheLimitRunAtOnce() {
+		LlmBulkhead bulkhead = new LlmBulkhead(meterRegistry, 2, 4, 5000);
+
+		assertThat(bulkhead.call(LlmPriority.BACKGROUND, () -> "summary")).isEqualTo("summary");
+		assertThat(gauge("llm.bulkhead.active")).isZero();
+	}
+
+	@Test
+	void interactiveCallsOvertakeQueuedBackgroundCalls() throws Exception {
+		LlmBulkhead bulkhead = new LlmBulkhead(meterRegistry, 1, 4, 5000);
+		List<String> order = new CopyOnWriteArrayList<>();
+
+		Future<?> holder = occupy(bulkhead);
+		Future<?> background = callers.submit(() -> bulkhead.call(LlmPriority.BACKGROUND, () -> order.add("background")));
+		await().until(() -> gauge("llm.bulkhead.queued") == 1);
+		Future<?> firstInteractive = callers.submit(() -> bulkhead.call(LlmPriority.INTERACTIVE, () -> order.add("interactive-1")));
+		await().until(() -> gauge("llm.bulkhead.queued") == 2);
+		Future<?> secondInteractive = callers.submit(() -> bulkhead.call(LlmPriority.INTERACTIVE, () -> order.add("interactive-2")));
+		await().until(() -> gauge("llm.bulkhead.queued") == 3);
+
+		release.countDown();
+		for (Future<?> call : List.of(holder, background, firstInteractive, secondInteractive)) {
+			call.get(5, TimeUnit.SECONDS);
+		}
+
+		// By priority, then in arrival order
+		assertThat(order).containsExactly("interactive-1", "interactive-2", "background");
+		assertThat(gauge("llm.bulkhead.active")).isZero();
+	}
+
+	@Test
+	void callsAreRejectedAtOnceWhenTheQueueIsFull() {
+		LlmBulkhead bulkhead = new LlmBulkhead(meterRegistry, 1, 1, 5000);
+
+		occupy(bulkhead);
+		callers.submit(() -> bulkhead.call(LlmPriority.BACKGROUND, () -> "queued"));
+		await().until(() -> gauge("llm.bulkhead.queued") == 1);
+
+		assertThatThrownBy(() -> bulkhead.call(LlmPriority.INTERACTIVE, () -> "rejected"))
+				.isInstanceOf(ServiceUnavailableException.class)
+				.hasMessageStartingWith("LLM queue is full");
+		assertThat(rejected(LlmPriority.INTERACTIVE)).isEqualTo(1);
+		assertThat(rejected(LlmPriority.BACKGROUND)).isZero();
+	}
+
+	@Test
+	void callsAreRejectedAfterWaitingTooLong() {
+		LlmBulkhead bulkhead = new LlmBulkhead(meterRegistry, 1, 4, 50);
+
+		occupy(bulkhead);
+
+		assertThatThrownBy(() -> bulkhead.call(LlmPriority.BACKGROUND, () -> "timed out"))
+				.isInstanceOf(ServiceUnavailableException.class)
+				.hasMessageStartingWith("Timed out waiting for an LLM slot")
+				.satisfies(e -> assertThat(((ServiceUnavailableException) e).getRetryAfterSeconds()).isEqualTo(1));
+		assertThat(rejected(LlmPriority.BACKGROUND)).isEqualTo(1);
+		// The timed out call left the queue, so the slot is not handed to it later
+		assertThat(gauge("llm.bulkhead.queued")).isZero();
+		release.countDown();
+		await().until(() -> gauge("llm.bulkhead.active") == 0);
+	}
+
+	private Future<?> occupy(LlmBulkhead bulkhead) {
+		CountDownLatch running = new CountDownLatch(1);
+		Future<?> holder = callers.submit(() -> bulkhead.call(LlmPriority.INTERACTIVE, () -> {
+			running.countDown();
+			try {
+				return release.await(5, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return false;
+			}
+		}));
+		await().until(() -> running.getCount() == 0);
+		return holder;
+	}
+
+	private double gauge(String name) {
+		return meterRegistry.get(name).gauge().value();
+	}
+
+	private double rejected(LlmPriority priority) {
+		return meterRegistry.get("llm.bulkhead.rejected").tag("priority", priority.name().toLowerCase()).counter().count();
+	}
+
+}
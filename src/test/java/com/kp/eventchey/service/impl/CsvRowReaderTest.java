@@ -0,0 +1,91 @@
+package com.kp.eventchey.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvRowReaderTest {
+
+	@Test
+	void splitsRecordsIntoFields() throws IOException {
+		assertThat(read("name,email\nAda,ada@example.com\n")).containsExactly(
+				List.of("name", "email"),
+				List.of("Ada", "ada@example.com"));
+	}
+
+	@Test
+	void keepsEmptyFields() throws IOException {
+		assertThat(read(",a,,\n\n")).containsExactly(
+				List.of("", "a", "", ""),
+				List.of(""));
+	}
+
+	@Test
+	void quotedFieldsMayContainCommasAndDoubledQuotes() throws IOException {
+		assertThat(read("\"Lovelace, Ada\",\"She said \"\"hi\"\"\",\"\"\n")).containsExactly(
+				List.of("Lovelace, Ada", "She said \"hi\"", ""));
+	}
+
+	@Test
+	void quotesInsideAFieldAreJoinedWithTheRest() throws IOException {
+		assertThat(read("a\"b,c\"d\n")).containsExactly(List.of("ab,cd"));
+	}
+
+	@Test
+	void quotedFieldsMayContainLineBreaks() throws IOException {
+		assertThat(read("\"line one\nline two\",next\nlast,row\n")).containsExactly(
+				List.of("line one\nline two", "next"),
+				List.of("last", "row"));
+	}
+
+	@Test
+	void lineBreaksInsideQuotedFieldsAreNormalized() throws IOException {
+		assertThat(read("\"one\r\ntwo\r\n\r\nthree\",x\r\ny,z\r\n")).containsExactly(
+				List.of("one\ntwo\n\nthree", "x"),
+				List.of("y", "z"));
+	}
+
+	@Test
+	void stripsTheByteOrderMarkOfTheFirstRecordOnly() throws IOException {
+		assertThat(read("\uFEFFname,email\n\uFEFFAda,ada@example.com")).containsExactly(
+				List.of("name", "email"),
+				List.of("\uFEFFAda", "ada@example.com"));
+	}
+
+	@Test
+	void readsALastRecordWithoutLineBreak() throws IOException {
+		assertThat(read("a,b")).containsExactly(List.of("a", "b"));
+	}
+
+	@Test
+	void returnsNullAtTheEnd() throws IOException {
+		try (CsvRowReader reader = new CsvRowReader(new StringReader(""))) {
+			assertThat(reader.next()).isNull();
+		}
+	}
+
+	@Test
+	void failsOnAnUnterminatedQuotedField() {
+		assertThatThrownBy(() -> read("a,\"never closed\nstill open\n"))
+				.isInstanceOf(IOException.class)
+				.hasMessage("Unterminated quoted field at end of file");
+	}
+
+	private static List<List<String>> read(String csv) throws IOException {
+		List<List<String>> records = new ArrayList<>();
+		try (CsvRowReader reader = new CsvRowReader(new StringReader(csv))) {
+			List<String> record;
+			while ((record = reader.next()) != null) {
+				records.add(record);
+			}
+		}
+		return records;
+	}
+
+}
@@ -0,0 +1,102 @@
+package com.kp.eventchey.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EmailTemplateTest {
+
+	@Test
+	void rendersTextAndSlots() {
+		EmailTemplate template = EmailTemplate.compile("<p>Hi {{name}}, welcome to {{event}}!</p>");
+
+		assertThat(template.render(Map.of("name", "Ada", "event", "JavaConf")))
+				.isEqualTo("<p>Hi Ada, welcome to JavaConf!</p>");
+	}
+
+	@Test
+	void trimsSlotNames() {
+		assertThat(EmailTemplate.compile("{{ name }}").render(Map.of("name", "Ada"))).isEqualTo("Ada");
+	}
+
+	@Test
+	void rendersTemplatesWithoutSlotsAsIs() {
+		assertThat(EmailTemplate.compile("plain } text }}").render(Map.of())).isEqualTo("plain } text }}");
+	}
+
+	@Test
+	void fillsAdjacentAndRepeatedSlots() {
+		EmailTemplate template = EmailTemplate.compile("{{a}}{{b}}-{{a}}");
+
+		assertThat(template.render(Map.of("a", "1", "b", "2"))).isEqualTo("12-1");
+	}
+
+	@Test
+	void rejectsAnUnclosedSlot() {
+		assertThatThrownBy(() -> EmailTemplate.compile("Hi {{name}}, see {{event"))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Unclosed slot at 17");
+	}
+
+	@Test
+	void rejectsRenderingWithoutAValueForASlot() {
+		EmailTemplate template = EmailTemplate.compile("Hi {{name}} at {{event}}");
+
+		assertThatThrownBy(() -> template.render(Map.of("name", "Ada")))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("No value for slot event");
+	}
+
+	@Test
+	void rendersANullValueLikeStringValueOf() {
+		Map<String, String> values = new HashMap<>();
+		values.put("name", null);
+
+		assertThat(EmailTemplate.compile("Hi {{name}}").render(values)).isEqualTo("Hi null");
+	}
+
+	@Test
+	void bindingFillsBoundSlotsAndKeepsUnboundOnes() {
+		EmailTemplate template = EmailTemplate.compile("Hi {{name}}, {{event}} starts {{date}}. Bye {{name}}");
+
+		EmailTemplate bound = template.bind(Map.of("event", "JavaConf", "date", "today"));
+
+		assertThat(bound.render(Map.of("name", "Ada")))
+				.isEqualTo("Hi Ada, JavaConf starts today. Bye Ada");
+		// Values for slots that were already bound are ignored
+		assertThat(bound.render(Map.of("name", "Bob", "event", "Other")))
+				.isEqualTo("Hi Bob, JavaConf starts today. Bye Bob");
+		assertThatThrownBy(() -> bound.render(Map.of("event", "JavaConf")))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("No value for slot name");
+	}
+
+	@Test
+	void bindingLeavesTheOriginalTemplateUnchanged() {
+		EmailTemplate template = EmailTemplate.compile("{{greeting}} {{name}}");
+
+		template.bind(Map.of("greeting", "Hello"));
+
+		assertThat(template.render(Map.of("greeting", "Hi", "name", "Ada"))).isEqualTo("Hi Ada");
+	}
+
+	@Test
+	void bindingEverySlotLeavesOnlyText() {
+		EmailTemplate bound = EmailTemplate.compile("{{a}} and {{b}}").bind(Map.of("a", "x", "b", "y"));
+
+		assertThat(bound.render(Map.of())).isEqualTo("x and y");
+	}
+
+	@Test
+	void boundValuesAreNotParsedAsSlots() {
+		EmailTemplate bound = EmailTemplate.compile("{{description}} by {{name}}")
+				.bind(Map.of("description", "Use {{name}} here"));
+
+		assertThat(bound.render(Map.of("name", "Ada"))).isEqualTo("Use {{name}} here by Ada");
+	}
+
+}
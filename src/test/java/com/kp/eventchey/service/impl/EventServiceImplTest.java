@@ -0,0 +1,119 @@
+package com.kp.eventchey.service.impl;
+
+import com.kp.eventchey.ai.AiSummaryService;
+import com.kp.eventchey.domain.Attendee;
+import com.kp.eventchey.domain.AttendeeStatus;
+import com.kp.eventchey.domain.Event;
+import com.kp.eventchey.exception.PreconditionFailedException;
+import com.kp.eventchey.mapper.EventMapper;
+import com.kp.eventchey.repository.AttendeeRepository;
+import com.kp.eventchey.repository.EventRepository;
+import com.kp.eventchey.repository.QuestionRepository;
+import com.kp.eventchey.service.LLMService;
+import com.mongodb.client.result.UpdateResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EventServiceImplTest {
+
+	private MongoTemplate mongoTemplate;
+	private EventServiceImpl eventService;
+
+	@BeforeEach
+	void setUp() {
+		mongoTemplate = mock(MongoTemplate.class);
+		eventService = new EventServiceImpl(mock(EventRepository.class), mock(EventMapper.class),
+				mock(AiSummaryService.class), mock(EmailOutbox.class), mock(LLMService.class),
+				mock(QuestionRepository.class), mock(AttendeeRepository.class), mongoTemplate,
+				mock(EventMutationRetry.class), mock(QuestionLeaderboard.class), mock(EventCache.class),
+				new SimpleMeterRegistry(), 200, 60000);
+	}
+
+	@Test
+	void attendeeStatusWithAStaleVersionFailsBeforeTheAttendeeIsWritten() {
+		when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(Event.class)))
+				.thenReturn(UpdateResult.acknowledged(0, 0L, null));
+		when(mongoTemplate.findOne(any(Query.class), eq(Event.class))).thenReturn(event(8L));
+
+		assertThatThrownBy(() -> eventService.updateAttendeeStatus("event-1", "attendee-1",
+				AttendeeStatus.ACCEPTED, 7L))
+				.isInstanceOf(PreconditionFailedException.class)
+				.hasMessageContaining("version 8, not 7");
+		verify(mongoTemplate, never()).findAndModify(any(Query.class), any(Update.class), eq(Attendee.class));
+	}
+
+	@Test
+	void attendeeStatusComparesAndBumpsTheVersionInOneWrite() {
+		when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(Event.class)))
+				.thenReturn(UpdateResult.acknowledged(1, 1L, null));
+		when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), eq(Attendee.class)))
+				.thenReturn(attendee());
+		when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+				eq(Event.class))).thenReturn(event(8L));
+
+		eventService.updateAttendeeStatus("event-1", "attendee-1", AttendeeStatus.ACCEPTED, 7L);
+
+		ArgumentCaptor<Query> claim = ArgumentCaptor.forClass(Query.class);
+		ArgumentCaptor<Update> claimUpdate = ArgumentCaptor.forClass(Update.class);
+		verify(mongoTemplate).updateFirst(claim.capture(), claimUpdate.capture(), eq(Event.class));
+		assertThat(claim.getValue().getQueryObject())
+				.isEqualTo(new Document("id", "event-1").append("version", 7L));
+		assertThat(claimUpdate.getValue().getUpdateObject().get("$inc", Document.class))
+				.isEqualTo(new Document("version", 1));
+
+		// The digest is folded in without bumping the version a second time
+		ArgumentCaptor<Update> touch = ArgumentCaptor.forClass(Update.class);
+		verify(mongoTemplate).findAndModify(any(Query.class), touch.capture(), any(FindAndModifyOptions.class),
+				eq(Event.class));
+		assertThat(touch.getValue().getUpdateObject()).containsOnlyKeys("$bit");
+	}
+
+	@Test
+	void attendeeStatusWithoutIfMatchBumpsTheVersionWithTheDigest() {
+		when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), eq(Attendee.class)))
+				.thenReturn(attendee());
+		when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+				eq(Event.class))).thenReturn(event(8L));
+
+		eventService.updateAttendeeStatus("event-1", "attendee-1", AttendeeStatus.ACCEPTED, null);
+
+		verify(mongoTemplate, never()).updateFirst(any(Query.class), any(Update.class), eq(Event.class));
+		ArgumentCaptor<Update> touch = ArgumentCaptor.forClass(Update.class);
+		verify(mongoTemplate).findAndModify(any(Query.class), touch.capture(), any(FindAndModifyOptions.class),
+				eq(Event.class));
+		assertThat(touch.getValue().getUpdateObject()).containsKeys("$bit", "$inc");
+	}
+
+	private static Event event(long version) {
+		Event event = new Event();
+		event.setId("event-1");
+		event.setVersion(version);
+		return event;
+	}
+
+	private static Attendee attendee() {
+		Attendee attendee = new Attendee();
+		attendee.setId("attendee-1");
+		attendee.setEventId("event-1");
+		attendee.setName("Ada");
+		attendee.setStatus(AttendeeStatus.INVITED);
+		return attendee;
+	}
+
+}
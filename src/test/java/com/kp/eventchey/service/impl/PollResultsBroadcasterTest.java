@@ -0,0 +1,150 @@
+package com.kp.eventchey.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kp.eventchey.domain.Poll;
+import com.kp.eventchey.dto.response.PollResponse;
+import com.kp.eventchey.mapper.PollMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class PollResultsBroadcasterTest {
+
+	private final AtomicInteger mapped = new AtomicInteger();
+	private final PollMapper pollMapper = poll -> {
+		mapped.incrementAndGet();
+		return new PollResponse(poll.getId(), poll.getQuestion(), poll.getOptions(), poll.getVotes());
+	};
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private PollResultsBroadcaster broadcaster;
+
+	@AfterEach
+	void tearDown() {
+		broadcaster.shutdown();
+	}
+
+	@Test
+	void sendsTheSnapshotThenOneMessagePerWindowWithTheLatestResults() {
+		broadcaster = broadcaster(16);
+		RecordingSubscriber subscriber = new RecordingSubscriber();
+
+		broadcaster.subscribe("event-1", "agenda-1", List.of(response(1)), subscriber);
+		broadcaster.publish("event-1", "agenda-1", poll(2));
+		broadcaster.publish("event-1", "agenda-1", poll(3));
+
+		await().atMost(Duration.ofSeconds(5)).until(() -> subscriber.payloads.size() == 2);
+		assertThat(subscriber.payloads.get(0)).contains("\"yes\":1");
+		assertThat(subscriber.payloads.get(1)).contains("\"yes\":3").doesNotContain("\"yes\":2");
+		assertThat(mapped).hasValue(1);
+	}
+
+	@Test
+	void publishesOnlyToTheAgendaItemsSubscribers() throws InterruptedException {
+		broadcaster = broadcaster(16);
+		RecordingSubscriber watching = new RecordingSubscriber();
+		RecordingSubscriber elsewhere = new RecordingSubscriber();
+		broadcaster.subscribe("event-1", "agenda-1", List.of(), watching);
+		broadcaster.subscribe("event-1", "agenda-2", List.of(), elsewhere);
+
+		broadcaster.publish("event-1", "agenda-1", poll(1));
+
+		await().atMost(Duration.ofSeconds(5)).until(() -> watching.payloads.size() == 2);
+		Thread.sleep(200);
+		assertThat(elsewhere.payloads).hasSize(1);
+	}
+
+	@Test
+	void removesTheChannelOnceTheLastSubscriberLeaves() throws InterruptedException {
+		broadcaster = broadcaster(16);
+		RecordingSubscriber first = new RecordingSubscriber();
+		RecordingSubscriber second = new RecordingSubscriber();
+		Runnable unsubscribeFirst = broadcaster.subscribe("event-1", "agenda-1", List.of(), first);
+		Runnable unsubscribeSecond = broadcaster.subscribe("event-1", "agenda-1", List.of(), second);
+		assertThat(subscribers()).isEqualTo(2);
+
+		unsubscribeFirst.run();
+		assertThat(subscribers()).isEqualTo(1);
+		assertThat(first.closed.getCount()).isZero();
+
+		unsubscribeSecond.run();
+		unsubscribeSecond.run();
+		assertThat(subscribers()).isZero();
+		assertThat(second.closed.getCount()).isZero();
+
+		// Nobody is watching, so a vote is not even mapped
+		broadcaster.publish("event-1", "agenda-1", poll(1));
+		Thread.sleep(200);
+		assertThat(mapped).hasValue(0);
+	}
+
+	@Test
+	void dropsASubscriberThatFallsBehind() throws InterruptedException {
+		broadcaster = broadcaster(1);
+		CountDownLatch release = new CountDownLatch(1);
+		RecordingSubscriber slow = new RecordingSubscriber() {
+			@Override
+			public void send(String payload) {
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				super.send(payload);
+			}
+		};
+		broadcaster.subscribe("event-1", "agenda-1", List.of(), slow);
+
+		// The writer is stuck on the snapshot, so the second window finds the backlog full
+		for (int votes = 1; slow.closed.getCount() > 0 && votes < 100; votes++) {
+			broadcaster.publish("event-1", "agenda-1", poll(votes));
+			Thread.sleep(60);
+		}
+		release.countDown();
+
+		assertThat(slow.closed.getCount()).isZero();
+		assertThat(meterRegistry.counter("polls.results.dropped").count()).isEqualTo(1.0);
+		assertThat(subscribers()).isZero();
+	}
+
+	private PollResultsBroadcaster broadcaster(int maxQueued) {
+		return new PollResultsBroadcaster(pollMapper, new ObjectMapper(), meterRegistry, 50, maxQueued);
+	}
+
+	private double subscribers() {
+		return meterRegistry.get("polls.results.subscribers").gauge().value();
+	}
+
+	private static Poll poll(int yes) {
+		return new Poll("poll-1", "Coffee?", List.of("yes", "no"), Map.of("yes", yes, "no", 0));
+	}
+
+	private static PollResponse response(int yes) {
+		return new PollResponse("poll-1", "Coffee?", List.of("yes", "no"), Map.of("yes", yes, "no", 0));
+	}
+
+	private static class RecordingSubscriber implements PollResultsBroadcaster.Subscriber {
+		final List<String> payloads = new CopyOnWriteArrayList<>();
+		final CountDownLatch closed = new CountDownLatch(1);
+
+		@Override
+		public void send(String payload) {
+			payloads.add(payload);
+		}
+
+		@Override
+		public void close() {
+			closed.countDown();
+		}
+	}
+
+}
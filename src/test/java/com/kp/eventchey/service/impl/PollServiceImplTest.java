@@ -0,0 +1,90 @@
+package com.kp.eventchey.service.impl;
+
+import com.kp.eventchey.domain.Event;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.convert.UpdateMapper;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PollServiceImplTest {
+
+	private MongoPersistentEntity<?> eventEntity;
+	private QueryMapper queryMapper;
+	private UpdateMapper updateMapper;
+
+	@BeforeEach
+	void setUp() {
+		MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+		MongoMappingContext mappingContext = new MongoMappingContext();
+		mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+		MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+		converter.setCustomConversions(conversions);
+		converter.afterPropertiesSet();
+		eventEntity = mappingContext.getRequiredPersistentEntity(Event.class);
+		queryMapper = new QueryMapper(converter);
+		updateMapper = new UpdateMapper(converter);
+	}
+
+	@Test
+	void voteQueryMatchesThePollOptionAndProjectsOnlyTheAgendaItem() {
+		Query query = PollServiceImpl.voteQuery("event-1", "agenda-1", "poll-1", "yes");
+
+		Document filter = queryMapper.getMappedObject(query.getQueryObject(), eventEntity);
+		Document projection = queryMapper.getMappedFields(query.getFieldsObject(), eventEntity);
+
+		assertThat(filter).isEqualTo(Document.parse("""
+				{"_id": "event-1",
+				 "agenda": {"$elemMatch": {"_id": "agenda-1",
+				   "polls": {"$elemMatch": {"_id": "poll-1", "options": "yes"}}}}}
+				"""));
+		assertThat(projection).isEqualTo(Document.parse("""
+				{"agenda": {"$elemMatch": {"_id": "agenda-1"}}}
+				"""));
+	}
+
+	@Test
+	void agendaItemQueryProjectsTheStoredIdOfTheAgendaItem() {
+		Query query = PollServiceImpl.agendaItemQuery("event-1", "agenda-1");
+
+		assertThat(queryMapper.getMappedObject(query.getQueryObject(), eventEntity))
+				.isEqualTo(Document.parse("{\"_id\": \"event-1\"}"));
+		assertThat(queryMapper.getMappedFields(query.getFieldsObject(), eventEntity))
+				.isEqualTo(Document.parse("{\"agenda\": {\"$elemMatch\": {\"_id\": \"agenda-1\"}}}"));
+	}
+
+	@Test
+	void voteUpdateIncrementsTheOptionThroughArrayFilters() {
+		Update update = PollServiceImpl.voteUpdate("agenda-1", "poll-1", "yes");
+
+		Document mapped = updateMapper.getMappedObject(update.getUpdateObject(), eventEntity);
+
+		assertThat(mapped.get("$inc", Document.class)).isEqualTo(Document.parse("""
+				{"agenda.$[a].polls.$[p].votes.yes": 1, "version": 1}
+				"""));
+		Document set = mapped.get("$set", Document.class);
+		assertThat(set.keySet()).containsExactly("updatedAt");
+		assertThat(set.get("updatedAt")).isInstanceOf(Date.class);
+		assertThat(mapped.keySet()).containsExactlyInAnyOrder("$inc", "$set");
+
+		List<Document> arrayFilters = update.getArrayFilters().stream()
+				.map(filter -> filter.asDocument())
+				.toList();
+		assertThat(arrayFilters).containsExactly(
+				Document.parse("{\"a._id\": \"agenda-1\"}"),
+				Document.parse("{\"p._id\": \"poll-1\"}"));
+	}
+
+}
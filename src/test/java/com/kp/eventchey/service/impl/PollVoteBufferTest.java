@@ -0,0 +1,219 @@
+package com.kp.eventchey.service.impl;
+
+import com.kp.eventchey.domain.AgendaItem;
+import com.kp.eventchey.domain.Event;
+import com.kp.eventchey.domain.Poll;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PollVoteBufferTest {
+
+	private static final List<String> OPTIONS = List.of("yes", "no");
+
+	private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+	private final EventCache eventCache = mock(EventCache.class);
+	// Option -> votes written by every executed bulk
+	private final Map<String, AtomicLong> written = new ConcurrentHashMap<>();
+	private final AtomicBoolean failNextBulk = new AtomicBoolean();
+
+	@BeforeEach
+	void setUp() {
+		OPTIONS.forEach(option -> written.put(option, new AtomicLong()));
+		when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Event.class)).thenAnswer(invocation -> bulk());
+	}
+
+	@Test
+	void concurrentVotesAreWrittenExactlyOnceAcrossFlushes() throws Exception {
+		PollVoteBuffer buffer = buffer(300000);
+		int voters = 8;
+		int votesEach = 2000;
+		Map<String, AtomicLong> cast = new ConcurrentHashMap<>();
+		OPTIONS.forEach(option -> cast.put(option, new AtomicLong()));
+
+		ExecutorService executor = Executors.newFixedThreadPool(voters + 1);
+		CountDownLatch startLine = new CountDownLatch(1);
+		AtomicBoolean voting = new AtomicBoolean(true);
+		try {
+			List<Future<?>> votes = new ArrayList<>();
+			for (int i = 0; i < voters; i++) {
+				votes.add(executor.submit(() -> {
+					startLine.await();
+					for (int v = 0; v < votesEach; v++) {
+						String option = OPTIONS.get(ThreadLocalRandom.current().nextInt(OPTIONS.size()));
+						buffer.record("event-1", "agenda-1", "poll-1", option, PollVoteBufferTest::persistedPoll);
+						cast.get(option).incrementAndGet();
+					}
+					return null;
+				}));
+			}
+			Future<?> flusher = executor.submit(() -> {
+				startLine.await();
+				while (voting.get()) {
+					// About one bulk in three fails, so its votes have to be written by a later one
+					failNextBulk.set(ThreadLocalRandom.current().nextInt(3) == 0);
+					buffer.flush();
+				}
+				return null;
+			});
+
+			startLine.countDown();
+			for (Future<?> vote : votes) {
+				vote.get();
+			}
+			voting.set(false);
+			flusher.get();
+		} finally {
+			executor.shutdownNow();
+		}
+		failNextBulk.set(false);
+		buffer.flush();
+
+		assertThat(written.get("yes").get() + written.get("no").get()).isEqualTo((long) voters * votesEach);
+		assertThat(written.get("yes").get()).isEqualTo(cast.get("yes").get());
+		assertThat(written.get("no").get()).isEqualTo(cast.get("no").get());
+		assertThat(buffer.pendingVotes("event-1", "agenda-1", "poll-1")).isEmpty();
+		verify(eventCache, atLeastOnce()).invalidate("event-1");
+	}
+
+	@Test
+	void resultsIncludeVotesBeforeTheyAreFlushedAndDoNotDoubleAfter() {
+		PollVoteBuffer buffer = buffer(300000);
+
+		vote(buffer, "yes");
+		Poll beforeFlush = vote(buffer, "yes");
+		buffer.flush();
+		Poll afterFlush = vote(buffer, "no");
+
+		assertThat(beforeFlush.getVotes()).containsEntry("yes", 4).containsEntry("no", 1);
+		assertThat(afterFlush.getVotes()).containsEntry("yes", 4).containsEntry("no", 2);
+		assertThat(buffer.pendingVotes("event-1", "agenda-1", "poll-1")).containsExactly(Map.entry("no", 1L));
+	}
+
+	@Test
+	void refreshPicksUpVotesWrittenByOtherInstances() {
+		PollVoteBuffer buffer = buffer(300000);
+		vote(buffer, "yes");
+		vote(buffer, "yes");
+		buffer.flush();
+
+		// Persisted: 2 initially, 2 written here, 5 from elsewhere
+		when(mongoTemplate.find(any(Query.class), eq(Event.class)))
+				.thenReturn(List.of(persistedEvent(Map.of("yes", 9, "no", 1))));
+		buffer.refresh();
+
+		assertThat(vote(buffer, "no").getVotes()).containsEntry("yes", 9).containsEntry("no", 2);
+		assertThat(buffer.pendingVotes("event-1", "agenda-1", "poll-1")).containsExactly(Map.entry("no", 1L));
+	}
+
+	@Test
+	void evictsIdlePollsOnceTheirVotesAreWritten() {
+		PollVoteBuffer buffer = buffer(0);
+		vote(buffer, "yes");
+		failNextBulk.set(true);
+
+		buffer.flush();
+		assertThat(buffer.isTracked("event-1", "agenda-1", "poll-1")).isTrue();
+		assertThat(buffer.acceptedVotes("event-1", "agenda-1")).isEqualTo(1);
+
+		buffer.flush();
+		assertThat(buffer.isTracked("event-1", "agenda-1", "poll-1")).isFalse();
+		assertThat(buffer.acceptedVotes("event-1", "agenda-1")).isZero();
+		assertThat(written.get("yes").get()).isEqualTo(1);
+		// A caller that still saw the poll tracked has to load it again
+		assertThatThrownBy(() -> buffer.record("event-1", "agenda-1", "poll-1", "yes", () -> null))
+				.isInstanceOf(PollVoteBuffer.PollNotTrackedException.class);
+	}
+
+	@Test
+	void keepsPollsWithRecentVotes() {
+		PollVoteBuffer buffer = buffer(300000);
+		vote(buffer, "yes");
+
+		buffer.flush();
+		buffer.flush();
+
+		assertThat(buffer.isTracked("event-1", "agenda-1", "poll-1")).isTrue();
+	}
+
+	private PollVoteBuffer buffer(long evictIdleMs) {
+		return new PollVoteBuffer(mongoTemplate, eventCache, new SimpleMeterRegistry(), true, 250, 1000,
+				evictIdleMs);
+	}
+
+	private static Poll vote(PollVoteBuffer buffer, String option) {
+		return buffer.record("event-1", "agenda-1", "poll-1", option, PollVoteBufferTest::persistedPoll);
+	}
+
+	private static Poll persistedPoll() {
+		return new Poll("poll-1", "Coffee?", OPTIONS, new HashMap<>(Map.of("yes", 2, "no", 1)));
+	}
+
+	private static Event persistedEvent(Map<String, Integer> votes) {
+		AgendaItem item = new AgendaItem();
+		item.setId("agenda-1");
+		item.setPolls(List.of(new Poll("poll-1", "Coffee?", OPTIONS, new HashMap<>(votes))));
+		Event event = new Event();
+		event.setId("event-1");
+		event.setAgenda(List.of(item));
+		return event;
+	}
+
+	/**
+	 * A bulk that adds the $inc of its updates to {@link #written} when executed, or fails
+	 * whole when {@link #failNextBulk} is set.
+	 */
+	private BulkOperations bulk() {
+		List<Update> queued = new ArrayList<>();
+		BulkOperations bulk = mock(BulkOperations.class);
+		when(bulk.updateOne(any(Query.class), any(Update.class))).thenAnswer(invocation -> {
+			queued.add(invocation.getArgument(1));
+			return bulk;
+		});
+		when(bulk.execute()).thenAnswer(invocation -> {
+			if (failNextBulk.getAndSet(false)) {
+				throw new DataAccessResourceFailureException("MongoDB unavailable");
+			}
+			for (Update update : queued) {
+				Document inc = update.getUpdateObject().get("$inc", Document.class);
+				for (String option : OPTIONS) {
+					Number delta = (Number) inc.get("agenda.$[a].polls.$[p].votes." + option);
+					if (delta != null) {
+						written.get(option).addAndGet(delta.longValue());
+					}
+				}
+			}
+			return null;
+		});
+		return bulk;
+	}
+
+}
@@ -0,0 +1,137 @@
+package com.kp.eventchey.service.impl;
+
+import com.kp.eventchey.domain.Question;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QuestionLeaderboardTest {
+
+	private static final LocalDateTime T0 = LocalDateTime.of(2026, 5, 1, 9, 0);
+
+	private final QuestionLeaderboard leaderboard = leaderboard(30000);
+
+	@Test
+	void ranksByUpvotesThenNewestThenId() {
+		List<Question> top = leaderboard.load("event-1", "agenda-1", List.of(
+				question("q1", 2, T0),
+				question("q2", 5, T0),
+				question("q3", 2, T0.plusMinutes(1)),
+				question("q4", 2, T0.plusMinutes(1)),
+				question("q5", 0, null)), 10);
+
+		assertThat(ids(top)).containsExactly("q2", "q3", "q4", "q1", "q5");
+	}
+
+	@Test
+	void returnsOnlyTheTopLimit() {
+		List<Question> top = leaderboard.load("event-1", "agenda-1", List.of(
+				question("q1", 1, T0), question("q2", 3, T0), question("q3", 2, T0)), 2);
+
+		assertThat(ids(top)).containsExactly("q2", "q3");
+	}
+
+	@Test
+	void upvotesAndNewQuestionsMoveUpTheBoard() {
+		leaderboard.load("event-1", "agenda-1", List.of(question("q1", 3, T0), question("q2", 1, T0)), 10);
+
+		leaderboard.record(question("q2", 4, T0));
+		leaderboard.record(question("q3", 0, T0.plusMinutes(5)));
+
+		assertThat(ids(top())).containsExactly("q2", "q1", "q3");
+		assertThat(top().get(0).getUpvotes()).isEqualTo(4);
+	}
+
+	@Test
+	void aLateWriteDoesNotLowerUpvotes() {
+		leaderboard.load("event-1", "agenda-1", List.of(question("q1", 3, T0), question("q2", 2, T0)), 10);
+
+		leaderboard.record(question("q2", 5, T0));
+		// The answer was written before the last upvotes were counted
+		Question answered = question("q2", 4, T0);
+		answered.setAnswer("Yes");
+		leaderboard.record(answered);
+
+		Question first = top().get(0);
+		assertThat(first.getId()).isEqualTo("q2");
+		assertThat(first.getUpvotes()).isEqualTo(5);
+		assertThat(first.getAnswer()).isEqualTo("Yes");
+	}
+
+	@Test
+	void changingARecordedQuestionDoesNotChangeTheBoard() {
+		Question question = question("q1", 1, T0);
+		leaderboard.load("event-1", "agenda-1", List.of(question), 10);
+
+		question.setUpvotes(10);
+		question.setQuestion("Changed");
+
+		assertThat(top().get(0).getUpvotes()).isEqualTo(1);
+		assertThat(top().get(0).getQuestion()).isEqualTo("Question q1");
+	}
+
+	@Test
+	void loadsAMissingBoardOnceAndIgnoresWritesUntilThen() {
+		AtomicInteger loads = new AtomicInteger();
+		Supplier<List<Question>> loader = () -> {
+			loads.incrementAndGet();
+			return List.of(question("q1", 1, T0));
+		};
+		leaderboard.record(question("q2", 9, T0));
+
+		assertThat(ids(leaderboard.top("event-1", "agenda-1", 10, loader))).containsExactly("q1");
+		assertThat(ids(leaderboard.top("event-1", "agenda-1", 10, loader))).containsExactly("q1");
+		assertThat(loads).hasValue(1);
+	}
+
+	@Test
+	void reloadsAStaleBoardFromWhatIsPersisted() {
+		QuestionLeaderboard stale = leaderboard(-1);
+		stale.load("event-1", "agenda-1", List.of(question("q1", 5, T0), question("q2", 1, T0)), 10);
+
+		assertThat(stale.topIfFresh("event-1", "agenda-1", 10)).isEmpty();
+		// Upvotes made on another instance reordered the persisted questions
+		List<Question> top = stale.top("event-1", "agenda-1", 10,
+				() -> List.of(question("q1", 5, T0), question("q2", 7, T0), question("q3", 0, T0)));
+
+		assertThat(ids(top)).containsExactly("q2", "q1", "q3");
+	}
+
+	@Test
+	void evictingAnEventDropsOnlyItsBoards() {
+		leaderboard.load("event-1", "agenda-1", List.of(question("q1", 1, T0)), 10);
+		leaderboard.load("event-1", "agenda-2", List.of(question("q2", 1, T0)), 10);
+		leaderboard.load("event-2", "agenda-1", List.of(question("q3", 1, T0)), 10);
+
+		leaderboard.evictEvent("event-1");
+
+		assertThat(leaderboard.topIfFresh("event-1", "agenda-1", 10)).isEmpty();
+		assertThat(leaderboard.topIfFresh("event-1", "agenda-2", 10)).isEmpty();
+		assertThat(leaderboard.topIfFresh("event-2", "agenda-1", 10)).hasValueSatisfying(
+				top -> assertThat(ids(top)).containsExactly("q3"));
+	}
+
+	private static QuestionLeaderboard leaderboard(long refreshIntervalMs) {
+		return new QuestionLeaderboard(new SimpleMeterRegistry(), refreshIntervalMs, 100, 600000);
+	}
+
+	private List<Question> top() {
+		return leaderboard.topIfFresh("event-1", "agenda-1", 10).orElseThrow();
+	}
+
+	private static List<String> ids(List<Question> questions) {
+		return questions.stream().map(Question::getId).toList();
+	}
+
+	private static Question question(String id, int upvotes, LocalDateTime timestamp) {
+		return new Question(id, "event-1", "agenda-1", "attendee@example.com", "Question " + id, null,
+				timestamp, upvotes);
+	}
+
+}
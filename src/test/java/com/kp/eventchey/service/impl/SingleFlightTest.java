@@ -0,0 +1,143 @@
+package com.kp.eventchey.service.impl;
+
+import com.kp.eventchey.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+class SingleFlightTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final ExecutorService callers = Executors.newCachedThreadPool();
+
+	@AfterEach
+	void tearDown() {
+		callers.shutdownNow();
+	}
+
+	@Test
+	void concurrentCallsForTheSameKeyShareOneComputation() throws Exception {
+		SingleFlight<String, String> flight = new SingleFlight<>("test", 5000, meterRegistry);
+		AtomicInteger computations = new AtomicInteger();
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+
+		Future<String> first = callers.submit(() -> flight.execute("key", () -> {
+			computations.incrementAndGet();
+			started.countDown();
+			awaitRelease(release);
+			return "value";
+		}));
+		assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+		Future<String> second = callers.submit(() -> flight.execute("key", () -> {
+			computations.incrementAndGet();
+			return "other";
+		}));
+		await().until(() -> collapsed() == 1);
+		release.countDown();
+
+		assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+		assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+		assertThat(computations).hasValue(1);
+	}
+
+	@Test
+	void callsForDifferentKeysRunIndependently() {
+		SingleFlight<String, String> flight = new SingleFlight<>("test", 5000, meterRegistry);
+
+		String outer = flight.execute("a", () -> flight.execute("b", () -> "b") + "a");
+
+		assertThat(outer).isEqualTo("ba");
+		assertThat(collapsed()).isZero();
+	}
+
+	@Test
+	void callsAfterTheComputationFinishedComputeAgain() {
+		SingleFlight<String, Integer> flight = new SingleFlight<>("test", 5000, meterRegistry);
+		AtomicInteger computations = new AtomicInteger();
+
+		flight.execute("key", computations::incrementAndGet);
+		int second = flight.execute("key", computations::incrementAndGet);
+
+		assertThat(second).isEqualTo(2);
+	}
+
+	@Test
+	void waitersSeeTheExceptionOfTheComputingCaller() throws Exception {
+		SingleFlight<String, String> flight = new SingleFlight<>("test", 5000, meterRegistry);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		IllegalStateException failure = new IllegalStateException("LLM failed");
+
+		Future<String> first = callers.submit(() -> flight.execute("key", () -> {
+			started.countDown();
+			awaitRelease(release);
+			throw failure;
+		}));
+		assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+		Future<Throwable> second = callers.submit(() -> {
+			try {
+				flight.execute("key", () -> "unused");
+				return null;
+			} catch (RuntimeException e) {
+				return e;
+			}
+		});
+		await().until(() -> collapsed() == 1);
+		release.countDown();
+
+		assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS)).hasCause(failure);
+		assertThat(second.get(5, TimeUnit.SECONDS)).isSameAs(failure);
+		// A failed computation is not kept
+		assertThat(flight.execute("key", () -> "retried")).isEqualTo("retried");
+	}
+
+	@Test
+	void waitersGiveUpAfterTheTimeout() throws Exception {
+		SingleFlight<String, String> flight = new SingleFlight<>("test", 50, meterRegistry);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+
+		Future<String> first = callers.submit(() -> flight.execute("key", () -> {
+			started.countDown();
+			awaitRelease(release);
+			return "value";
+		}));
+		assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+		assertThatThrownBy(() -> flight.execute("key", () -> "unused"))
+				.isInstanceOf(ServiceUnavailableException.class)
+				.satisfies(e -> assertThat(((ServiceUnavailableException) e).getRetryAfterSeconds()).isEqualTo(1));
+		assertThat(meterRegistry.get("singleflight.timeouts").tag("flight", "test").counter().count()).isEqualTo(1);
+
+		release.countDown();
+		assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+	}
+
+	private double collapsed() {
+		return meterRegistry.get("singleflight.collapsed").tag("flight", "test").counter().count();
+	}
+
+	private static void awaitRelease(CountDownLatch latch) {
+		try {
+			if (!latch.await(5, TimeUnit.SECONDS)) {
+				throw new IllegalStateException("Latch was not released");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+
+}
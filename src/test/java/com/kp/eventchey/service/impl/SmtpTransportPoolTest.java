@@ -0,0 +1,151 @@
+package com.kp.eventchey.service.impl;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SmtpTransportPoolTest {
+
+	@RegisterExtension
+	static final GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP.dynamicPort());
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+	private SmtpTransportPool pool;
+
+	@BeforeEach
+	void setUp() {
+		mailSender.setHost("localhost");
+		mailSender.setPort(greenMail.getSmtp().getPort());
+	}
+
+	@AfterEach
+	void tearDown() {
+		if (pool != null) {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	void reusesAConnectionForMessagesPerConnectionMessages() throws Exception {
+		pool = new SmtpTransportPool(mailSender, meterRegistry, 1, 3, 10000);
+
+		for (int i = 0; i < 7; i++) {
+			pool.send(message("attendee" + i + "@example.com"));
+		}
+
+		// 3 + 3 + 1 messages
+		assertThat(opened()).isEqualTo(3);
+		assertThat(openNow()).isEqualTo(1);
+		assertThat(greenMail.getReceivedMessages()).hasSize(7);
+		assertThat(sent()).isEqualTo(7);
+	}
+
+	@Test
+	void concurrentSendsOpenNoMoreConnectionsThanThePoolSize() throws Exception {
+		pool = new SmtpTransportPool(mailSender, meterRegistry, 2, 100, 10000);
+
+		try (ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor()) {
+			List<Future<?>> sends = new ArrayList<>();
+			for (int i = 0; i < 20; i++) {
+				MimeMessage message = message("attendee" + i + "@example.com");
+				sends.add(senders.submit(() -> {
+					pool.send(message);
+					return null;
+				}));
+			}
+			for (Future<?> send : sends) {
+				send.get();
+			}
+		}
+
+		assertThat(opened()).isBetween(1.0, 2.0);
+		assertThat(greenMail.getReceivedMessages()).hasSize(20);
+
+		// The next send reuses an idle connection
+		pool.send(message("late@example.com"));
+		assertThat(opened()).isBetween(1.0, 2.0);
+	}
+
+	@Test
+	void aRejectedMessageLeavesItsConnectionInThePool() throws Exception {
+		pool = new SmtpTransportPool(mailSender, meterRegistry, 1, 100, 10000);
+
+		// No recipient, which the server connection rejects
+		assertThatThrownBy(() -> pool.send(message(null))).isInstanceOf(SendFailedException.class);
+		pool.send(message("attendee@example.com"));
+
+		assertThat(opened()).isEqualTo(1);
+		assertThat(openNow()).isEqualTo(1);
+		assertThat(failed()).isEqualTo(1);
+		assertThat(sent()).isEqualTo(1);
+	}
+
+	@Test
+	void aRuntimeExceptionClosesTheBorrowedConnection() throws Exception {
+		pool = new SmtpTransportPool(mailSender, meterRegistry, 1, 100, 10000);
+		MimeMessage broken = new MimeMessage(message("attendee@example.com")) {
+			@Override
+			public void saveChanges() {
+				throw new IllegalStateException("Broken message");
+			}
+		};
+
+		assertThatThrownBy(() -> pool.send(broken)).isInstanceOf(IllegalStateException.class);
+
+		assertThat(openNow()).isZero();
+		assertThat(failed()).isEqualTo(1);
+
+		// The permit was released and the next send connects again
+		pool.send(message("attendee@example.com"));
+		assertThat(opened()).isEqualTo(2);
+		assertThat(openNow()).isEqualTo(1);
+	}
+
+	private MimeMessage message(String to) throws MessagingException {
+		MimeMessage message = new MimeMessage(mailSender.getSession());
+		message.setFrom(new InternetAddress("noreply@eventchey.com"));
+		if (to != null) {
+			message.setRecipient(Message.RecipientType.TO, new InternetAddress(to));
+		}
+		message.setSubject("You're Invited");
+		message.setText("Hello");
+		return message;
+	}
+
+	private double opened() {
+		return meterRegistry.get("email.smtp.connections.opened").counter().count();
+	}
+
+	private double openNow() {
+		return meterRegistry.get("email.smtp.connections.open").gauge().value();
+	}
+
+	private double failed() {
+		return meterRegistry.get("email.smtp.messages").tag("result", "failed").counter().count();
+	}
+
+	private double sent() {
+		return meterRegistry.get("email.smtp.messages").tag("result", "sent").counter().count();
+	}
+
+}
@@ -0,0 +1,159 @@
+package com.kp.eventchey.service.impl;
+
+import com.kp.eventchey.domain.AgendaItem;
+import com.kp.eventchey.domain.Attendee;
+import com.kp.eventchey.domain.AttendeeStatus;
+import com.kp.eventchey.domain.Event;
+import com.kp.eventchey.domain.Poll;
+import com.kp.eventchey.domain.Question;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SummaryFingerprintTest {
+
+	private final Event event = event();
+	// The QuestionDigest document, as the $bit xor updates of the question services leave it
+	private long questionDigest;
+
+	@Test
+	void addingAQuestionChangesTheFingerprintAndRemovingItRestoresIt() {
+		String empty = fingerprint();
+		Question question = question("q1", null);
+
+		add(question);
+		String withQuestion = fingerprint();
+		remove(question);
+
+		assertThat(withQuestion).isNotEqualTo(empty);
+		assertThat(fingerprint()).isEqualTo(empty);
+		assertThat(questionDigest).isZero();
+	}
+
+	@Test
+	void answeringAQuestionChangesTheFingerprintAndRevertingTheAnswerRestoresIt() {
+		add(question("q1", null));
+		String unanswered = fingerprint();
+
+		answer(question("q1", null), "After lunch");
+		String answered = fingerprint();
+		answer(question("q1", "After lunch"), null);
+
+		assertThat(answered).isNotEqualTo(unanswered);
+		assertThat(fingerprint()).isEqualTo(unanswered);
+	}
+
+	@Test
+	void theDigestDoesNotDependOnTheOrderOfChanges() {
+		add(question("q1", null));
+		add(question("q2", null));
+		answer(question("q1", null), "Yes");
+		long oneOrder = questionDigest;
+
+		questionDigest = 0;
+		add(question("q2", null));
+		add(question("q1", "Yes"));
+
+		assertThat(questionDigest).isEqualTo(oneOrder);
+	}
+
+	@Test
+	void upvotesAndVotesDoNotChangeTheFingerprint() {
+		Question question = question("q1", null);
+		add(question);
+		String before = fingerprint();
+
+		question.setUpvotes(12);
+		event.getAgenda().get(0).getPolls().get(0).getVotes().merge("yes", 1, Integer::sum);
+		event.setUpdatedAt(LocalDateTime.now());
+		event.setVersion(event.getVersion() + 1);
+
+		assertThat(SummaryFingerprint.question(question)).isEqualTo(SummaryFingerprint.question(question("q1", null)));
+		assertThat(fingerprint()).isEqualTo(before);
+	}
+
+	@Test
+	void attendeeChangesAreFoldedIntoTheEventAndUndoneByRevertingThem() {
+		Attendee accepted = new Attendee("a1", "event-1", "ada@example.com", null, "Ada", AttendeeStatus.ACCEPTED);
+		Attendee declined = new Attendee("a1", "event-1", "ada@example.com", null, "Ada", AttendeeStatus.DECLINED);
+		event.setAttendeeDigest(SummaryFingerprint.attendees(List.of(accepted)));
+		String before = fingerprint();
+
+		long change = SummaryFingerprint.attendee(accepted) ^ SummaryFingerprint.attendee(declined);
+		event.setAttendeeDigest(apply(event.getAttendeeDigest(),
+				SummaryFingerprint.xor(new Update(), SummaryFingerprint.ATTENDEE_DIGEST, change),
+				SummaryFingerprint.ATTENDEE_DIGEST));
+		String afterDeclining = fingerprint();
+		event.setAttendeeDigest(event.getAttendeeDigest() ^ change);
+
+		assertThat(afterDeclining).isNotEqualTo(before);
+		assertThat(fingerprint()).isEqualTo(before);
+	}
+
+	@Test
+	void aMissingDigestIsTheDigestOfNoEntries() {
+		event.setAttendeeDigest(null);
+		String missing = fingerprint();
+
+		event.setAttendeeDigest(0L);
+
+		assertThat(fingerprint()).isEqualTo(missing);
+	}
+
+	private String fingerprint() {
+		return SummaryFingerprint.of(event, questionDigest);
+	}
+
+	private void add(Question question) {
+		fold(SummaryFingerprint.question(question));
+	}
+
+	private void answer(Question question, String answer) {
+		long before = SummaryFingerprint.question(question);
+		question.setAnswer(answer);
+		fold(before ^ SummaryFingerprint.question(question));
+	}
+
+	private void remove(Question question) {
+		fold(SummaryFingerprint.question(question));
+	}
+
+	private void fold(long change) {
+		questionDigest = apply(questionDigest, SummaryFingerprint.questionDigestUpdate(change), "digest");
+	}
+
+	/**
+	 * Applies the {@code $bit xor} of the update to a stored digest, as MongoDB would.
+	 */
+	private static long apply(long stored, Update update, String field) {
+		Document bit = update.getUpdateObject().get("$bit", Document.class);
+		return stored ^ bit.get(field, Document.class).getLong("xor");
+	}
+
+	private static Question question(String id, String answer) {
+		return new Question(id, "event-1", "agenda-1", "ada@example.com", "When is the break?", answer,
+				LocalDateTime.of(2026, 5, 1, 9, 30), 0);
+	}
+
+	private static Event event() {
+		AgendaItem item = new AgendaItem();
+		item.setId("agenda-1");
+		item.setTitle("Keynote");
+		item.setPolls(List.of(new Poll("poll-1", "Coffee?", List.of("yes", "no"), new HashMap<>(Map.of("yes", 3)))));
+		Event event = new Event();
+		event.setId("event-1");
+		event.setName("Launch");
+		event.setAgenda(List.of(item));
+		event.setVersion(1L);
+		event.setAttendeeDigest(0L);
+		return event;
+	}
+
+}
@@ -0,0 +1,266 @@
+package com.kp.eventchey.service.impl;
+
+import com.kp.eventchey.domain.SummaryJob;
+import com.kp.eventchey.domain.SummaryJobStatus;
+import com.kp.eventchey.dto.response.SummaryJobResponse;
+import com.kp.eventchey.exception.ResourceNotFoundException;
+import com.kp.eventchey.mapper.SummaryJobMapper;
+import com.kp.eventchey.repository.SummaryJobRepository;
+import com.kp.eventchey.service.EventService;
+import com.kp.eventchey.service.LlmPriority;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatcher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SummaryJobServiceImplTest {
+
+	private static final int MAX_ATTEMPTS = 3;
+	private static final long BACKOFF_MS = 10000;
+
+	private final SummaryJobRepository jobRepository = mock(SummaryJobRepository.class);
+	private final SummaryJobMapper jobMapper = mock(SummaryJobMapper.class);
+	private final EventService eventService = mock(EventService.class);
+	private final EventCache eventCache = mock(EventCache.class);
+	private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+	private SummaryJobServiceImpl service;
+
+	@BeforeEach
+	void setUp() {
+		service = new SummaryJobServiceImpl(jobRepository, jobMapper, eventService, eventCache, mongoTemplate,
+				1, 1000, 5000, 180000, MAX_ATTEMPTS, BACKOFF_MS);
+		when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(SummaryJob.class)))
+				.thenReturn(UpdateResult.acknowledged(1, 1L, null));
+	}
+
+	@AfterEach
+	void tearDown() throws InterruptedException {
+		service.shutdown();
+	}
+
+	@Test
+	void completesAClaimedJobWhileHoldingItsLease() {
+		SummaryJob job = claimedJob(1);
+		whenClaiming(SummaryJobStatus.PENDING, job);
+
+		service.drain();
+
+		verify(eventService).generateEventSummary("event-1", LlmPriority.BACKGROUND);
+		ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+		ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+		verify(mongoTemplate).updateFirst(query.capture(), update.capture(), eq(SummaryJob.class));
+		assertThat(query.getValue().getQueryObject())
+				.containsEntry("id", "job-1")
+				.containsEntry("status", SummaryJobStatus.RUNNING)
+				.containsKey("leaseOwner");
+		assertThat(set(update.getValue())).containsEntry("status", SummaryJobStatus.COMPLETED);
+		assertThat(unset(update.getValue())).containsKeys("activeKey", "leaseOwner", "leaseExpiresAt");
+	}
+
+	@Test
+	void claimsExpiredLeasesWithAttemptsLeftBeforePendingJobs() {
+		SummaryJob job = claimedJob(2);
+		whenClaiming(SummaryJobStatus.RUNNING, job);
+		whenClaiming(SummaryJobStatus.PENDING, null);
+
+		service.drain();
+
+		verify(eventService).generateEventSummary("event-1", LlmPriority.BACKGROUND);
+		ArgumentCaptor<Query> claims = ArgumentCaptor.forClass(Query.class);
+		ArgumentCaptor<Update> lease = ArgumentCaptor.forClass(Update.class);
+		// Abandoned job, then nothing left of either kind
+		verify(mongoTemplate, times(3)).findAndModify(claims.capture(), lease.capture(),
+				any(FindAndModifyOptions.class), eq(SummaryJob.class));
+		Query abandoned = claims.getAllValues().get(0);
+		assertThat(abandoned.getQueryObject().get("attempts", Document.class)).containsEntry("$lt", MAX_ATTEMPTS);
+		assertThat(set(lease.getAllValues().get(0))).containsEntry("status", SummaryJobStatus.RUNNING);
+		assertThat(lease.getAllValues().get(0).getUpdateObject().get("$inc", Document.class))
+				.containsEntry("attempts", 1);
+	}
+
+	@Test
+	void claimingNeverSweepsExhaustedJobs() {
+		whenClaiming(SummaryJobStatus.PENDING, null);
+
+		service.drain();
+		service.drain();
+
+		verify(mongoTemplate, never()).updateMulti(any(Query.class), any(Update.class), eq(SummaryJob.class));
+	}
+
+	@Test
+	void retriesAFailedAttemptAfterABackoffThatDoubles() {
+		SummaryJob job = claimedJob(2);
+		whenClaiming(SummaryJobStatus.PENDING, job);
+		when(eventService.generateEventSummary("event-1", LlmPriority.BACKGROUND))
+				.thenThrow(new IllegalStateException("LLM unavailable"));
+
+		LocalDateTime before = LocalDateTime.now();
+		service.drain();
+		LocalDateTime after = LocalDateTime.now();
+
+		Update update = released();
+		assertThat(set(update))
+				.containsEntry("status", SummaryJobStatus.PENDING)
+				.containsEntry("error", "LLM unavailable");
+		assertThat((LocalDateTime) set(update).get("nextAttemptAt"))
+				.isBetween(before.plusNanos(2 * BACKOFF_MS * 1_000_000), after.plusNanos(2 * BACKOFF_MS * 1_000_000));
+		// Still the active job of the event, so requests keep getting it
+		assertThat(unset(update)).doesNotContainKey("activeKey");
+	}
+
+	@Test
+	void failsAJobWhoseLastAttemptFails() {
+		SummaryJob job = claimedJob(MAX_ATTEMPTS);
+		whenClaiming(SummaryJobStatus.PENDING, job);
+		when(eventService.generateEventSummary("event-1", LlmPriority.BACKGROUND))
+				.thenThrow(new IllegalStateException("LLM unavailable"));
+
+		service.drain();
+
+		Update update = released();
+		assertThat(set(update))
+				.containsEntry("status", SummaryJobStatus.FAILED)
+				.containsEntry("error", "LLM unavailable")
+				.containsKey("completedAt");
+		assertThat(unset(update)).containsKey("activeKey");
+	}
+
+	@Test
+	void failsAJobOfADeletedEventWithoutRetrying() {
+		SummaryJob job = claimedJob(1);
+		whenClaiming(SummaryJobStatus.PENDING, job);
+		when(eventService.generateEventSummary("event-1", LlmPriority.BACKGROUND))
+				.thenThrow(new ResourceNotFoundException("Event", "id", "event-1"));
+
+		service.drain();
+
+		assertThat(set(released())).containsEntry("status", SummaryJobStatus.FAILED);
+	}
+
+	@Test
+	void sweepFailsRunningJobsWhoseLeaseExpiredOnTheLastAttempt() {
+		when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(SummaryJob.class)))
+				.thenReturn(UpdateResult.acknowledged(2, 2L, null));
+
+		service.failExhausted();
+
+		ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+		ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+		verify(mongoTemplate).updateMulti(query.capture(), update.capture(), eq(SummaryJob.class));
+		assertThat(query.getValue().getQueryObject()).containsEntry("status", SummaryJobStatus.RUNNING);
+		assertThat(query.getValue().getQueryObject().get("attempts", Document.class))
+				.containsEntry("$gte", MAX_ATTEMPTS);
+		assertThat(query.getValue().getQueryObject().get("leaseExpiresAt", Document.class)).containsKey("$lte");
+		assertThat(set(update.getValue())).containsEntry("status", SummaryJobStatus.FAILED);
+		assertThat(unset(update.getValue())).containsKeys("activeKey", "leaseOwner", "leaseExpiresAt");
+	}
+
+	@Test
+	void requestSummaryQueuesAPendingJob() {
+		when(eventCache.exists("event-1")).thenReturn(true);
+		when(jobRepository.insert(any(SummaryJob.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+		service.requestSummary("event-1");
+
+		ArgumentCaptor<SummaryJob> job = ArgumentCaptor.forClass(SummaryJob.class);
+		verify(jobRepository).insert(job.capture());
+		assertThat(job.getValue().getStatus()).isEqualTo(SummaryJobStatus.PENDING);
+		assertThat(job.getValue().getActiveKey()).isEqualTo("event-1");
+	}
+
+	@Test
+	void requestSummaryReturnsTheActiveJobOfTheEvent() {
+		SummaryJob active = claimedJob(1);
+		SummaryJobResponse response = response(active);
+		when(eventCache.exists("event-1")).thenReturn(true);
+		when(jobRepository.insert(any(SummaryJob.class))).thenThrow(new DuplicateKeyException("active_event_unique"));
+		when(jobRepository.findByActiveKey("event-1")).thenReturn(Optional.of(active));
+		when(jobMapper.toResponse(active)).thenReturn(response);
+
+		assertThat(service.requestSummary("event-1")).isSameAs(response);
+		verify(jobRepository).insert(any(SummaryJob.class));
+	}
+
+	@Test
+	void requestSummaryQueuesAgainWhenTheActiveJobFinishedMeanwhile() {
+		when(eventCache.exists("event-1")).thenReturn(true);
+		when(jobRepository.insert(any(SummaryJob.class)))
+				.thenThrow(new DuplicateKeyException("active_event_unique"))
+				.thenAnswer(invocation -> invocation.getArgument(0));
+		when(jobRepository.findByActiveKey("event-1")).thenReturn(Optional.empty());
+
+		service.requestSummary("event-1");
+
+		verify(jobRepository, times(2)).insert(any(SummaryJob.class));
+	}
+
+	@Test
+	void requestSummaryOfAnUnknownEventThrows() {
+		when(eventCache.exists("event-1")).thenReturn(false);
+
+		assertThatThrownBy(() -> service.requestSummary("event-1")).isInstanceOf(ResourceNotFoundException.class);
+		verify(jobRepository, never()).insert(any(SummaryJob.class));
+	}
+
+	private void whenClaiming(SummaryJobStatus status, SummaryJob job) {
+		when(mongoTemplate.findAndModify(argThat(byStatus(status)), any(Update.class),
+				any(FindAndModifyOptions.class), eq(SummaryJob.class)))
+				.thenReturn(job)
+				.thenReturn(null);
+	}
+
+	private static ArgumentMatcher<Query> byStatus(SummaryJobStatus status) {
+		return query -> query != null && status.equals(query.getQueryObject().get("status"));
+	}
+
+	private Update released() {
+		ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+		verify(mongoTemplate).updateFirst(any(Query.class), update.capture(), eq(SummaryJob.class));
+		return update.getValue();
+	}
+
+	private static Document set(Update update) {
+		return update.getUpdateObject().get("$set", Document.class);
+	}
+
+	private static Document unset(Update update) {
+		Document unset = update.getUpdateObject().get("$unset", Document.class);
+		return unset != null ? unset : new Document();
+	}
+
+	private static SummaryJob claimedJob(int attempts) {
+		SummaryJob job = new SummaryJob("job-1", "event-1", LocalDateTime.now());
+		job.setStatus(SummaryJobStatus.RUNNING);
+		job.setAttempts(attempts);
+		return job;
+	}
+
+	private static SummaryJobResponse response(SummaryJob job) {
+		return new SummaryJobResponse(job.getId(), job.getEventId(), job.getStatus(), job.getAttempts(), null,
+				job.getCreatedAt(), job.getUpdatedAt(), null);
+	}
+
+}